@@ -3,6 +3,30 @@
 -- 包含：部门、人员、职位、分组、组织树及各关联关系表
 -- ============================================================================
 
+-- ----------------------------
+-- 扩展：pg_trgm，支持组织树别名的前缀/中缀模糊搜索
+-- ----------------------------
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- ----------------------------
+-- 扩展：btree_gin，允许标量列（层级、实体类型）与路径数组组成复合 GIN 索引
+-- ----------------------------
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+-- ----------------------------
+-- 通用函数：生成 UUIDv7（毫秒时间戳 + 随机数），供集合式插入（如子树复制）在 SQL 中生成主键
+-- ----------------------------
+CREATE OR REPLACE FUNCTION uuid_generate_v7()
+RETURNS uuid AS $$
+    SELECT encode(
+        set_bit(set_bit(
+            overlay(uuid_send(gen_random_uuid())
+                    PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                    FROM 1 FOR 6),
+            52, 1), 53, 1),
+        'hex')::uuid;
+$$ LANGUAGE sql VOLATILE;
+
 -- ----------------------------
 -- 通用触发器函数：自动更新 update_time 字段
 -- ----------------------------
@@ -35,7 +59,10 @@ CREATE TABLE IF NOT EXISTS org_department (
     tenant_id UUID NOT NULL DEFAULT '00000000-0000-0000-0000-000000000000'  -- 租户ID
 );
 
-CREATE INDEX IF NOT EXISTS idx_org_department_name ON org_department(name);
+-- 名称索引包含 id，按名称键集分页时直接走索引顺序
+-- 旧库中的 idx_org_department_name 只含 name，替换为包含 id 的索引
+DROP INDEX IF EXISTS idx_org_department_name;
+CREATE INDEX IF NOT EXISTS idx_org_department_name_id ON org_department(name, id);
 CREATE INDEX IF NOT EXISTS idx_org_department_org_code ON org_department(org_code);
 CREATE INDEX IF NOT EXISTS idx_org_department_tenant_id ON org_department(tenant_id);
 CREATE INDEX IF NOT EXISTS idx_org_department_removed ON org_department(removed);
@@ -78,7 +105,9 @@ CREATE TABLE IF NOT EXISTS org_personnel (
     tenant_id UUID NOT NULL DEFAULT '00000000-0000-0000-0000-000000000000'  -- 租户ID
 );
 
-CREATE INDEX IF NOT EXISTS idx_org_personnel_name ON org_personnel(name);
+-- 旧库中的 idx_org_personnel_name 只含 name，替换为包含 id 的索引
+DROP INDEX IF EXISTS idx_org_personnel_name;
+CREATE INDEX IF NOT EXISTS idx_org_personnel_name_id ON org_personnel(name, id);
 CREATE INDEX IF NOT EXISTS idx_org_personnel_id_card ON org_personnel(id_card);
 CREATE INDEX IF NOT EXISTS idx_org_personnel_mobile ON org_personnel(mobile);
 CREATE INDEX IF NOT EXISTS idx_org_personnel_tenant_id ON org_personnel(tenant_id);
@@ -115,7 +144,9 @@ CREATE TABLE IF NOT EXISTS org_group (
     tenant_id UUID NOT NULL DEFAULT '00000000-0000-0000-0000-000000000000'  -- 租户ID
 );
 
-CREATE INDEX IF NOT EXISTS idx_org_group_name ON org_group(name);
+-- 旧库中的 idx_org_group_name 只含 name，替换为包含 id 的索引
+DROP INDEX IF EXISTS idx_org_group_name;
+CREATE INDEX IF NOT EXISTS idx_org_group_name_id ON org_group(name, id);
 CREATE INDEX IF NOT EXISTS idx_org_group_tenant_id ON org_group(tenant_id);
 CREATE INDEX IF NOT EXISTS idx_org_group_removed ON org_group(removed);
 CREATE INDEX IF NOT EXISTS idx_org_group_tenant_removed ON org_group(tenant_id, removed);
@@ -149,7 +180,9 @@ CREATE TABLE IF NOT EXISTS org_position (
     tenant_id UUID NOT NULL DEFAULT '00000000-0000-0000-0000-000000000000'  -- 租户ID
 );
 
-CREATE INDEX IF NOT EXISTS idx_org_position_name ON org_position(name);
+-- 旧库中的 idx_org_position_name 只含 name，替换为包含 id 的索引
+DROP INDEX IF EXISTS idx_org_position_name;
+CREATE INDEX IF NOT EXISTS idx_org_position_name_id ON org_position(name, id);
 CREATE INDEX IF NOT EXISTS idx_org_position_code ON org_position(code);
 CREATE INDEX IF NOT EXISTS idx_org_position_job_level ON org_position(job_level);
 CREATE INDEX IF NOT EXISTS idx_org_position_job_category ON org_position(job_category);
@@ -269,6 +302,10 @@ CREATE INDEX IF NOT EXISTS idx_org_tree_parent ON org_tree(parent_id, sort_rank)
 CREATE INDEX IF NOT EXISTS idx_org_tree_entity ON org_tree(entity_type, entity_id);
 -- 路径数组的 GIN 索引，支持 ANY(path) 查询
 CREATE INDEX IF NOT EXISTS idx_org_tree_path_gin ON org_tree USING GIN (path);
+-- 路径、层级与实体类型的复合 GIN 索引，支持“N 层以内（指定类型）的后代”在一次索引扫描中完成
+CREATE INDEX IF NOT EXISTS idx_org_tree_path_level_gin ON org_tree USING GIN (path, level, entity_type);
+-- 别名的三元组 GIN 索引，支持 ILIKE '%关键字%' 搜索（不少于 3 个字符时生效）
+CREATE INDEX IF NOT EXISTS idx_org_tree_alias_trgm ON org_tree USING GIN (alias gin_trgm_ops);
 
 COMMENT ON TABLE org_tree IS '组织树节点表';
 COMMENT ON COLUMN org_tree.id IS '主键，UUIDv7';
@@ -296,3 +333,120 @@ CREATE TRIGGER update_org_tree_updated_at
     BEFORE UPDATE ON org_tree
     FOR EACH ROW
     EXECUTE FUNCTION update_org_tree_updated_at();
+
+-- ============================================================================
+-- 13. 组织树统计汇总表 (org_tree_stats)
+-- 每个节点子树内各类型节点数量的汇总，节点增删移动时沿 path 增量维护
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS org_tree_stats (
+    node_id UUID NOT NULL,                                -- 组织树节点ID
+    sub_group_count INTEGER NOT NULL DEFAULT 0,           -- 子树内分组节点数（不含自身）
+    sub_department_count INTEGER NOT NULL DEFAULT 0,      -- 子树内部门节点数（不含自身）
+    personnel_count INTEGER NOT NULL DEFAULT 0,           -- 子树内人员节点数（不含自身）
+    subtree_version BIGINT NOT NULL DEFAULT 0,            -- 子树版本号，子树内任一节点变更时递增，用作 ETag
+    CONSTRAINT pk_org_tree_stats PRIMARY KEY (node_id),
+    CONSTRAINT fk_org_tree_stats_node FOREIGN KEY (node_id) REFERENCES org_tree(id) ON DELETE CASCADE
+);
+
+COMMENT ON TABLE org_tree_stats IS '组织树统计汇总表';
+COMMENT ON COLUMN org_tree_stats.node_id IS '组织树节点ID';
+COMMENT ON COLUMN org_tree_stats.sub_group_count IS '子树内分组节点数（不含自身）';
+COMMENT ON COLUMN org_tree_stats.sub_department_count IS '子树内部门节点数（不含自身）';
+COMMENT ON COLUMN org_tree_stats.personnel_count IS '子树内人员节点数（不含自身）';
+COMMENT ON COLUMN org_tree_stats.subtree_version IS '子树版本号，子树内任一节点变更时递增，用作 ETag';
+
+-- ============================================================================
+-- 14. 组织树变更日志表 (org_tree_change_log)
+-- 每次树节点变更追加一行，version 即树版本号，下游系统按版本号增量拉取变更
+-- 移动与删除只记录子树根节点，后代随之移动或删除
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS org_tree_change_log (
+    version BIGSERIAL NOT NULL,                           -- 树版本号，单调递增
+    node_id UUID NOT NULL,                                -- 变更的节点ID
+    change_type VARCHAR(20) NOT NULL,                     -- 变更类型：CREATED、UPDATED、MOVED、REMOVED
+    parent_id UUID,                                       -- 变更后的父节点ID（删除时为删除前的父节点）
+    entity_type VARCHAR(20) NOT NULL,                     -- 实体类型
+    entity_id UUID NOT NULL,                              -- 关联业务实体ID
+    alias VARCHAR(100) NOT NULL,                          -- 节点别名
+    level INTEGER NOT NULL,                               -- 层级深度
+    sort_rank VARCHAR(12) NOT NULL,                       -- LexoRank 排序值
+    change_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    CONSTRAINT pk_org_tree_change_log PRIMARY KEY (version)
+);
+
+COMMENT ON TABLE org_tree_change_log IS '组织树变更日志表';
+COMMENT ON COLUMN org_tree_change_log.version IS '树版本号，单调递增';
+COMMENT ON COLUMN org_tree_change_log.node_id IS '变更的节点ID';
+COMMENT ON COLUMN org_tree_change_log.change_type IS '变更类型：CREATED、UPDATED、MOVED、REMOVED';
+COMMENT ON COLUMN org_tree_change_log.parent_id IS '变更后的父节点ID（删除时为删除前的父节点）';
+COMMENT ON COLUMN org_tree_change_log.entity_type IS '实体类型';
+COMMENT ON COLUMN org_tree_change_log.entity_id IS '关联业务实体ID';
+COMMENT ON COLUMN org_tree_change_log.alias IS '节点别名';
+COMMENT ON COLUMN org_tree_change_log.level IS '层级深度';
+COMMENT ON COLUMN org_tree_change_log.sort_rank IS 'LexoRank 排序值';
+COMMENT ON COLUMN org_tree_change_log.change_time IS '变更时间';
+
+-- ============================================================================
+-- 15. 组织树待删除子树表 (org_tree_removal)
+-- 后台删除的大子树：请求时删除子树根节点并登记，后代在删除完成前对读写不可见；
+-- 删除失败的任务保留在表中，由定时任务重试
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS org_tree_removal (
+    node_id UUID NOT NULL,                                -- 待删除子树的根节点ID（该行已删除）
+    attempts INTEGER NOT NULL DEFAULT 0,                  -- 失败次数
+    create_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    update_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(), -- 最近一次删除进展或失败的时间
+    CONSTRAINT pk_org_tree_removal PRIMARY KEY (node_id)
+);
+
+COMMENT ON TABLE org_tree_removal IS '组织树待删除子树表';
+COMMENT ON COLUMN org_tree_removal.node_id IS '待删除子树的根节点ID（该行已删除）';
+COMMENT ON COLUMN org_tree_removal.attempts IS '失败次数';
+COMMENT ON COLUMN org_tree_removal.create_time IS '登记时间';
+COMMENT ON COLUMN org_tree_removal.update_time IS '最近一次删除进展或失败的时间';
+
+-- ============================================================================
+-- 16. 批量导入任务表 (org_import_job)
+-- 每提交一批数据累加一次计数，processed_rows 即续传断点
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS org_import_job (
+    id UUID PRIMARY KEY,                                  -- 主键，UUIDv7
+    import_type VARCHAR(30) NOT NULL,                     -- 导入类型：PERSONNEL、DEPARTMENT、POSITION、PERSONNEL_POSITION
+    status VARCHAR(20) NOT NULL,                          -- 状态：RUNNING、FAILED、COMPLETED
+    claim_token UUID NOT NULL,                            -- 执行令牌，创建或接管任务时重新生成
+    processed_rows BIGINT NOT NULL DEFAULT 0,             -- 已提交的数据行数
+    batch_count INTEGER NOT NULL DEFAULT 0,               -- 已提交的批次数
+    imported_count BIGINT NOT NULL DEFAULT 0,             -- 导入成功行数
+    skipped_count BIGINT NOT NULL DEFAULT 0,              -- 重复跳过行数
+    error_count BIGINT NOT NULL DEFAULT 0,                -- 校验失败行数
+    message VARCHAR(500) NOT NULL DEFAULT '',             -- 失败原因
+    create_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT current_timestamp, -- 创建时间
+    update_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT current_timestamp, -- 更新时间
+    tenant_id UUID NOT NULL DEFAULT '00000000-0000-0000-0000-000000000000'  -- 租户ID
+);
+
+COMMENT ON TABLE org_import_job IS '批量导入任务表';
+-- 早于执行令牌创建的库补充该列
+ALTER TABLE org_import_job ADD COLUMN IF NOT EXISTS claim_token UUID NOT NULL DEFAULT gen_random_uuid();
+ALTER TABLE org_import_job ALTER COLUMN claim_token DROP DEFAULT;
+
+COMMENT ON COLUMN org_import_job.processed_rows IS '已提交的数据行数，续传时跳过这些行';
+COMMENT ON COLUMN org_import_job.claim_token IS '执行令牌，批次与状态只在令牌一致时写入，被接管的请求无法再提交';
+
+-- ============================================================================
+-- 17. 批量导入错误表 (org_import_error)
+-- 未导入的数据行及原因，按批次号归组
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS org_import_error (
+    id BIGSERIAL PRIMARY KEY,                             -- 主键
+    job_id UUID NOT NULL,                                 -- 导入任务ID
+    batch_no INTEGER NOT NULL,                            -- 批次号，从 1 开始
+    line_number BIGINT NOT NULL,                          -- 文件中的行号
+    message VARCHAR(500) NOT NULL,                        -- 错误原因
+    create_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT current_timestamp -- 创建时间
+);
+
+CREATE INDEX IF NOT EXISTS idx_org_import_error_job ON org_import_error(job_id, batch_no);
+
+COMMENT ON TABLE org_import_error IS '批量导入错误表';
+
@@ -250,6 +250,28 @@ VALUES (
     '00000000-0000-0000-0000-000000000000'
 ) ON CONFLICT (parent_id, entity_type, entity_id) DO NOTHING;
 
+-- 组织树统计汇总（一次性全量计算）
+INSERT INTO org_tree_stats (node_id, sub_group_count, sub_department_count, personnel_count)
+SELECT t.id,
+       COALESCE(c.sub_group_count, 0),
+       COALESCE(c.sub_department_count, 0),
+       COALESCE(c.personnel_count, 0)
+FROM org_tree t
+LEFT JOIN (
+    SELECT a.ancestor_id,
+           COUNT(*) FILTER (WHERE d.entity_type = 'GROUP') AS sub_group_count,
+           COUNT(*) FILTER (WHERE d.entity_type = 'DEPARTMENT') AS sub_department_count,
+           COUNT(*) FILTER (WHERE d.entity_type = 'PERSONNEL') AS personnel_count
+    FROM org_tree d
+    CROSS JOIN LATERAL unnest(d.path) AS a(ancestor_id)
+    WHERE a.ancestor_id <> d.id
+    GROUP BY a.ancestor_id
+) c ON c.ancestor_id = t.id
+ON CONFLICT (node_id) DO UPDATE SET
+    sub_group_count = EXCLUDED.sub_group_count,
+    sub_department_count = EXCLUDED.sub_department_count,
+    personnel_count = EXCLUDED.personnel_count;
+
 -- ============================================================================
 -- 五、标签库示例数据
 -- ============================================================================
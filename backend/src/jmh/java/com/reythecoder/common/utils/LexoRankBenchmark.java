@@ -0,0 +1,104 @@
+package com.reythecoder.common.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LexoRankUtils 与 BigLexoRankUtils 的性能对比
+ *
+ * 短排序值（不超过 12 位）两者都能处理，长排序值只有 BigLexoRankUtils 支持。
+ * 运行：gradle jmh -PjmhInclude=LexoRankBenchmark，加上 -prof gc 可查看每次调用的分配量。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LexoRankBenchmark {
+
+    private static final int BULK_COUNT = 100;
+
+    @State(Scope.Benchmark)
+    public static class ShortRanks {
+
+        @Param({"2", "6", "12"})
+        int length;
+
+        String lower;
+        String upper;
+
+        @Setup
+        public void setUp() {
+            lower = "a" + "0".repeat(length - 1);
+            upper = "b" + "0".repeat(length - 1);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class LongRanks {
+
+        @Param({"32", "128"})
+        int length;
+
+        String lower;
+        String upper;
+
+        @Setup
+        public void setUp() {
+            lower = "a" + "0".repeat(length - 1);
+            upper = "a" + "0".repeat(length - 2) + "1";
+        }
+    }
+
+    @Benchmark
+    public String betweenLegacy(ShortRanks ranks) {
+        return LexoRankUtils.between(ranks.lower, ranks.upper);
+    }
+
+    @Benchmark
+    public String betweenDigits(ShortRanks ranks) {
+        return BigLexoRankUtils.between(ranks.lower, ranks.upper);
+    }
+
+    @Benchmark
+    public String afterLegacy(ShortRanks ranks) {
+        return LexoRankUtils.after(ranks.lower);
+    }
+
+    @Benchmark
+    public String afterDigits(ShortRanks ranks) {
+        return BigLexoRankUtils.after(ranks.lower);
+    }
+
+    @Benchmark
+    public List<String> spreadLegacy(ShortRanks ranks) {
+        return LexoRankUtils.spread(ranks.lower, ranks.upper, BULK_COUNT);
+    }
+
+    @Benchmark
+    public List<String> spreadDigits(ShortRanks ranks) {
+        return BigLexoRankUtils.between(ranks.lower, ranks.upper, BULK_COUNT);
+    }
+
+    @Benchmark
+    public String betweenDigitsLong(LongRanks ranks) {
+        return BigLexoRankUtils.between(ranks.lower, ranks.upper);
+    }
+
+    @Benchmark
+    public List<String> spreadDigitsLong(LongRanks ranks) {
+        return BigLexoRankUtils.between(ranks.lower, ranks.upper, BULK_COUNT);
+    }
+}
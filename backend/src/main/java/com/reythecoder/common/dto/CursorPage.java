@@ -0,0 +1,33 @@
+package com.reythecoder.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    /**
+     * Items of this page.
+     */
+    private List<T> items;
+
+    /**
+     * Opaque token for the next page, null when this is the last page.
+     */
+    private String nextPageToken;
+
+    /**
+     * Whether more items follow this page.
+     */
+    private boolean hasMore;
+}
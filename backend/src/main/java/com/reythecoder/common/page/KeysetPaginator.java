@@ -0,0 +1,122 @@
+package com.reythecoder.common.page;
+
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.exception.ApiException;
+import com.reythecoder.common.utils.CursorTokenUtils;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * 通用键集（keyset）分页
+ *
+ * 按 (排序键, id) 排序，下一页从上一页最后一条记录之后开始，
+ * 条件为 {@code key > :lastKey OR (key = :lastKey AND id > :lastId)}，降序时方向相反。
+ * 每页只读取 pageSize + 1 行，不做 OFFSET 和总数统计，单页的耗时与内存与表大小无关；
+ * 排序列需要有以 (排序键, id) 开头的索引。
+ *
+ * 令牌中记录排序键和方向，换用其他排序方式时旧令牌会被拒绝。
+ */
+@Component
+public class KeysetPaginator {
+
+    private static final String ID = "id";
+
+    private final PageProperties properties;
+
+    public KeysetPaginator(PageProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 查询一页数据
+     *
+     * @param repository 支持 Specification 的仓库
+     * @param filter     过滤条件
+     * @param query      分页请求
+     * @param idOf       读取实体 id
+     * @param nameOf     读取实体名称，为 null 表示不支持按名称排序
+     * @param mapper     实体到响应对象的转换
+     * @return 当前页及下一页令牌
+     * @throws ApiException 排序字段不支持或令牌非法时（400）
+     */
+    public <E, R> CursorPage<R> page(JpaSpecificationExecutor<E> repository, Specification<E> filter,
+                                     PageQuery query, Function<E, UUID> idOf, Function<E, String> nameOf,
+                                     Function<E, R> mapper) {
+        KeysetSort sort = query.sort();
+        Sort.Direction direction = query.direction();
+        if (sort == KeysetSort.NAME && nameOf == null) {
+            throw new ApiException(400, "不支持的排序字段：" + sort);
+        }
+        int size = query.pageSize() == null
+                ? properties.getDefaultSize()
+                : Math.min(Math.max(query.pageSize(), 1), properties.getMaxSize());
+
+        Specification<E> specification = filter;
+        if (query.pageToken() != null && !query.pageToken().isBlank()) {
+            // 令牌：排序键、方向、id、名称；名称放在最后，允许其中出现分隔符
+            String[] keys = CursorTokenUtils.decode(query.pageToken(), 4);
+            if (!keys[0].equals(sort.name()) || !keys[1].equals(direction.name())) {
+                throw new ApiException(400, "分页令牌与排序方式不匹配");
+            }
+            UUID afterId;
+            try {
+                afterId = UUID.fromString(keys[2]);
+            } catch (IllegalArgumentException e) {
+                throw new ApiException(400, "无效的分页令牌", e);
+            }
+            specification = specification.and(after(sort, direction, keys[3], afterId));
+        }
+
+        Sort order = sort == KeysetSort.ID
+                ? Sort.by(direction, ID)
+                : Sort.by(direction, sort.getAttribute(), ID);
+        // 多取一行判断是否还有下一页
+        List<E> rows = repository.findBy(specification, q -> q.sortBy(order).limit(size + 1).all());
+        boolean hasMore = rows.size() > size;
+        List<E> items = hasMore ? rows.subList(0, size) : rows;
+
+        String nextPageToken = null;
+        if (hasMore) {
+            E last = items.get(items.size() - 1);
+            nextPageToken = CursorTokenUtils.encode(sort.name(), direction.name(), idOf.apply(last).toString(),
+                    sort == KeysetSort.NAME ? nameOf.apply(last) : "");
+        }
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextPageToken, hasMore);
+    }
+
+    /**
+     * 属性等于给定值的过滤条件，值为 null 时不过滤
+     *
+     * @param attribute 实体属性名
+     * @param value     过滤值
+     * @return 过滤条件
+     */
+    public static <E> Specification<E> equalTo(String attribute, Object value) {
+        return (root, query, cb) -> value == null ? null : cb.equal(root.get(attribute), value);
+    }
+
+    /**
+     * 位于 (lastKey, lastId) 之后的记录
+     */
+    private static <E> Specification<E> after(KeysetSort sort, Sort.Direction direction, String lastKey,
+                                              UUID lastId) {
+        return (root, query, cb) -> {
+            Path<UUID> id = root.get(ID);
+            Predicate idAfter = direction.isAscending() ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+            if (sort == KeysetSort.ID) {
+                return idAfter;
+            }
+            Path<String> key = root.get(sort.getAttribute());
+            Predicate keyAfter = direction.isAscending() ? cb.greaterThan(key, lastKey) : cb.lessThan(key, lastKey);
+            return cb.or(keyAfter, cb.and(cb.equal(key, lastKey), idAfter));
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.reythecoder.common.page;
+
+/**
+ * 键集分页的排序键
+ *
+ * 每种排序都以 id 作为最后一级排序，保证顺序唯一；UUIDv7 的 id 按生成时间递增，
+ * 因此按 id 排序即按创建顺序排序。
+ */
+public enum KeysetSort {
+
+    /**
+     * 按 id 排序
+     */
+    ID(null),
+
+    /**
+     * 按名称排序，名称相同时按 id 排序
+     */
+    NAME("name");
+
+    private final String attribute;
+
+    KeysetSort(String attribute) {
+        this.attribute = attribute;
+    }
+
+    /**
+     * @return id 之前的排序属性名，按 id 排序时为 null
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+}
@@ -0,0 +1,12 @@
+package com.reythecoder.common.page;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 列表分页配置
+ */
+@Configuration
+@EnableConfigurationProperties(PageProperties.class)
+public class PageConfig {
+}
@@ -0,0 +1,22 @@
+package com.reythecoder.common.page;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 列表分页配置
+ */
+@Data
+@ConfigurationProperties(prefix = "pagination")
+public class PageProperties {
+
+    /**
+     * 未指定页大小时使用的默认值
+     */
+    private int defaultSize = 20;
+
+    /**
+     * 页大小上限，超过时按上限返回
+     */
+    private int maxSize = 200;
+}
@@ -0,0 +1,26 @@
+package com.reythecoder.common.page;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * 一次键集分页请求
+ *
+ * @param pageToken 上一页返回的令牌，首页为空
+ * @param pageSize  页大小，为空时使用默认值，超过上限时按上限处理
+ * @param sort      排序键，为空时按 id 排序
+ * @param direction 排序方向，为空时升序
+ */
+public record PageQuery(String pageToken, Integer pageSize, KeysetSort sort, Sort.Direction direction) {
+
+    public PageQuery {
+        sort = sort == null ? KeysetSort.ID : sort;
+        direction = direction == null ? Sort.Direction.ASC : direction;
+    }
+
+    /**
+     * 首页、默认页大小、按 id 升序
+     */
+    public static PageQuery firstPage() {
+        return new PageQuery(null, null, null, null);
+    }
+}
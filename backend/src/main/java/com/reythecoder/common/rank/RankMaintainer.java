@@ -0,0 +1,14 @@
+package com.reythecoder.common.rank;
+
+/**
+ * 维护自身排序值的服务，供定时重排任务统一调用
+ */
+public interface RankMaintainer {
+
+    /**
+     * 重排排序值长度超过阈值的所有同级集合
+     *
+     * @return 重排结果统计
+     */
+    RankRebalanceReport rebalanceRanks();
+}
@@ -0,0 +1,23 @@
+package com.reythecoder.common.rank;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 排序值重排配置
+ */
+@Configuration
+@EnableConfigurationProperties(RankRebalanceProperties.class)
+public class RankRebalanceConfig {
+
+    /**
+     * 开启 rank.rebalance.scheduled 后启用定时任务
+     */
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "rank.rebalance", name = "scheduled", havingValue = "true")
+    static class SchedulingConfig {
+    }
+}
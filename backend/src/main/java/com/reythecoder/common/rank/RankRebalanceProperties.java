@@ -0,0 +1,32 @@
+package com.reythecoder.common.rank;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 排序值重排配置
+ */
+@Data
+@ConfigurationProperties(prefix = "rank.rebalance")
+public class RankRebalanceProperties {
+
+    /**
+     * 是否启用定时重排；关闭时仍可通过接口手动触发
+     */
+    private boolean scheduled = false;
+
+    /**
+     * 定时重排的 cron 表达式
+     */
+    private String cron = "0 30 3 * * *";
+
+    /**
+     * 长度阈值，同级集合中存在超过该长度的排序值时需要重排
+     */
+    private int threshold = 8;
+
+    /**
+     * 每次重排最多处理的同级集合数
+     */
+    private int maxGroups = 1000;
+}
@@ -0,0 +1,78 @@
+package com.reythecoder.common.rank;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 排序值重排结果统计
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankRebalanceReport {
+
+    /**
+     * 重排的表名
+     */
+    private String table;
+
+    /**
+     * 重排的同级集合数
+     */
+    private int groups;
+
+    /**
+     * 改写的行数
+     */
+    private int rows;
+
+    /**
+     * 重排前排序值的总字符数
+     */
+    private long charsBefore;
+
+    /**
+     * 重排后排序值的总字符数
+     */
+    private long charsAfter;
+
+    /**
+     * 重排前最长排序值的长度
+     */
+    private int maxLengthBefore;
+
+    /**
+     * 重排后最长排序值的长度
+     */
+    private int maxLengthAfter;
+
+    public RankRebalanceReport(String table) {
+        this.table = table;
+    }
+
+    /**
+     * 重排回收的字符数
+     */
+    public long getReclaimedChars() {
+        return charsBefore - charsAfter;
+    }
+
+    /**
+     * 累加另一次重排的统计
+     *
+     * @param other 另一次重排结果（可为 null）
+     * @return 当前对象
+     */
+    public RankRebalanceReport add(RankRebalanceReport other) {
+        if (other != null) {
+            groups += other.groups;
+            rows += other.rows;
+            charsBefore += other.charsBefore;
+            charsAfter += other.charsAfter;
+            maxLengthBefore = Math.max(maxLengthBefore, other.maxLengthBefore);
+            maxLengthAfter = Math.max(maxLengthAfter, other.maxLengthAfter);
+        }
+        return this;
+    }
+}
@@ -0,0 +1,39 @@
+package com.reythecoder.common.rank;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 定时重排所有 {@link RankMaintainer} 的排序值
+ */
+@Component
+@ConditionalOnProperty(prefix = "rank.rebalance", name = "scheduled", havingValue = "true")
+public class RankRebalanceScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RankRebalanceScheduler.class);
+
+    private final List<RankMaintainer> maintainers;
+
+    public RankRebalanceScheduler(List<RankMaintainer> maintainers) {
+        this.maintainers = maintainers;
+    }
+
+    @Scheduled(cron = "${rank.rebalance.cron:0 30 3 * * *}")
+    public void rebalance() {
+        for (RankMaintainer maintainer : maintainers) {
+            try {
+                RankRebalanceReport report = maintainer.rebalanceRanks();
+                logger.info("定时排序值重排完成：table={}, groups={}, rows={}, reclaimedChars={}, maxLength={}->{}",
+                        report.getTable(), report.getGroups(), report.getRows(), report.getReclaimedChars(),
+                        report.getMaxLengthBefore(), report.getMaxLengthAfter());
+            } catch (RuntimeException e) {
+                logger.error("定时排序值重排失败：maintainer={}", maintainer.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.reythecoder.common.rank;
+
+import com.reythecoder.common.utils.LexoRankUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * LexoRank 排序值重排引擎
+ *
+ * 追加和插入会让排序值不断变长，直至触及列长度上限。本引擎找出排序值过长的同级集合，
+ * 按现有顺序（sort_rank, id）为其重新分配等间距的短排序值，并用一条基于 unnest
+ * 数组的 UPDATE 语句整体改写，相对顺序保持不变。
+ *
+ * 引擎本身不加锁，调用方需保证重排期间同级集合不会并发分配新的排序值。
+ */
+@Component
+public class RankRebalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RankRebalancer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RankRebalancer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 查找存在过长排序值的同级集合
+     *
+     * @param scope 重排范围
+     * @param threshold 长度阈值，排序值长度超过该值的集合需要重排
+     * @param limit 最多返回的集合数
+     * @return 各集合的分组列取值，按分组列排序，保证多个实例的加锁顺序一致
+     */
+    public List<Object[]> findOversizedGroups(RankScope scope, int threshold, int limit) {
+        String columns = String.join(", ", scope.groupColumns());
+        String filter = scope.filter() == null ? "" : " AND " + scope.filter();
+        String sql = "SELECT DISTINCT " + columns + " FROM " + scope.table() +
+                " WHERE length(sort_rank) > ?" + filter + " ORDER BY " + columns + " LIMIT ?";
+        int width = scope.groupColumns().size();
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            Object[] key = new Object[width];
+            for (int i = 0; i < width; i++) {
+                key[i] = rs.getObject(i + 1);
+            }
+            return key;
+        }, threshold, limit);
+    }
+
+    /**
+     * 用一条基于 unnest 数组的 UPDATE 语句批量改写排序值，需在事务中调用
+     *
+     * @param scope 重排范围
+     * @param ids 需要改写的行 ID
+     * @param ranks 新排序值，与 ids 一一对应
+     * @return 改写的行数
+     */
+    public int applyRanks(RankScope scope, List<UUID> ids, List<String> ranks) {
+        if (ids.size() != ranks.size()) {
+            throw new IllegalArgumentException("Expected " + ids.size() + " ranks, got: " + ranks.size());
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement("UPDATE " + scope.table() + " t SET sort_rank = v.sort_rank, " +
+                    "update_time = now() FROM unnest(?, ?) AS v(id, sort_rank) WHERE t.id = v.id");
+            ps.setArray(1, con.createArrayOf("uuid", ids.toArray()));
+            ps.setArray(2, con.createArrayOf("varchar", ranks.toArray()));
+            return ps;
+        });
+    }
+
+    /**
+     * 重排一个同级集合，需在事务中调用
+     *
+     * @param scope 重排范围
+     * @param listener 改写完成后接收按新顺序排列的 ID 和排序值（可为 null）
+     * @param groupKey 分组列取值，与 {@link RankScope#groupColumns()} 一一对应
+     * @return 重排结果统计
+     */
+    public RankRebalanceReport rebalanceGroup(RankScope scope, BiConsumer<List<UUID>, List<String>> listener,
+                                              Object... groupKey) {
+        if (groupKey.length != scope.groupColumns().size()) {
+            throw new IllegalArgumentException("Expected " + scope.groupColumns().size()
+                    + " group key values, got: " + groupKey.length);
+        }
+
+        // NULL 分组值单独写成 IS NULL，其余用等值条件以便走索引
+        StringBuilder where = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+        for (int i = 0; i < groupKey.length; i++) {
+            where.append(i == 0 ? " WHERE " : " AND ").append(scope.groupColumns().get(i));
+            if (groupKey[i] == null) {
+                where.append(" IS NULL");
+            } else {
+                where.append(" = ?");
+                args.add(groupKey[i]);
+            }
+        }
+        if (scope.filter() != null) {
+            where.append(" AND ").append(scope.filter());
+        }
+
+        List<UUID> ids = new ArrayList<>();
+        List<String> oldRanks = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, sort_rank FROM " + scope.table() + where + " ORDER BY sort_rank, id",
+                rs -> {
+                    ids.add(rs.getObject(1, UUID.class));
+                    oldRanks.add(rs.getString(2));
+                }, args.toArray());
+
+        RankRebalanceReport report = new RankRebalanceReport(scope.table());
+        if (ids.isEmpty()) {
+            return report;
+        }
+
+        List<String> newRanks = LexoRankUtils.spread(null, null, ids.size());
+        applyRanks(scope, ids, newRanks);
+
+        report.setGroups(1);
+        report.setRows(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            String oldRank = oldRanks.get(i);
+            String newRank = newRanks.get(i);
+            report.setCharsBefore(report.getCharsBefore() + oldRank.length());
+            report.setCharsAfter(report.getCharsAfter() + newRank.length());
+            report.setMaxLengthBefore(Math.max(report.getMaxLengthBefore(), oldRank.length()));
+            report.setMaxLengthAfter(Math.max(report.getMaxLengthAfter(), newRank.length()));
+        }
+        logger.info("排序值重排完成：table={}, group={}, rows={}, reclaimedChars={}",
+                scope.table(), Arrays.asList(groupKey), report.getRows(), report.getReclaimedChars());
+
+        if (listener != null) {
+            listener.accept(ids, newRanks);
+        }
+        return report;
+    }
+}
@@ -0,0 +1,23 @@
+package com.reythecoder.common.rank;
+
+import java.util.List;
+
+/**
+ * 排序值重排范围：一张带 LexoRank 排序列的表，以及划分同级集合的分组列
+ *
+ * 表名和列名会直接拼入 SQL，只能使用代码中定义的常量。
+ *
+ * @param table 表名，表需包含 id、sort_rank 和 update_time 列
+ * @param groupColumns 分组列，取值相同的行构成一个同级集合（允许为 NULL）
+ * @param filter 附加的行过滤条件，不满足的行不参与重排（可为 null）
+ */
+public record RankScope(String table, List<String> groupColumns, String filter) {
+
+    public RankScope {
+        groupColumns = List.copyOf(groupColumns);
+    }
+
+    public RankScope(String table, List<String> groupColumns) {
+        this(table, groupColumns, null);
+    }
+}
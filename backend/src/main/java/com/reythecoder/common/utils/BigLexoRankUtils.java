@@ -0,0 +1,368 @@
+package com.reythecoder.common.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 任意精度 LexoRank 排序工具类
+ *
+ * 与 {@link LexoRankUtils} 使用相同的 36 进制字符集，但把排序值视为 36 进制小数 0.d1d2d3...，
+ * 在 byte 数组上逐位做加减和除法，不经过 long 转换，因此不受长度限制，也不会溢出。
+ * 字符与数值之间通过查表转换；计算使用线程内复用的缓冲区，除结果字符串外不产生临时对象。
+ *
+ * 字典序与小数大小一致：若 lower 与 upper 作为小数不相等，二者之间一定存在排序值；
+ * 若相等（如 "a0" 与 "a00"），则不存在严格位于其间的排序值。
+ */
+public final class BigLexoRankUtils {
+
+    private static final char[] DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final int BASE = 36;
+    private static final int MIN_LENGTH = 2;
+
+    /**
+     * 追加时步长所在的位数：在前 APPEND_WIDTH 位的末位加一，每次追加只消耗一个固定单位
+     */
+    private static final int APPEND_WIDTH = 6;
+
+    /**
+     * 字符到数值的查找表，非法字符为 -1
+     */
+    private static final byte[] VALUES = new byte[128];
+
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < DIGITS.length; i++) {
+            VALUES[DIGITS[i]] = (byte) i;
+        }
+    }
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private BigLexoRankUtils() {
+        // Utility class, prevent instantiation
+    }
+
+    /**
+     * 计算两个排序值的中间值
+     *
+     * @param lower 下界排序值（可为 null，表示无下界）
+     * @param upper 上界排序值（可为 null，表示无上界）
+     * @return 严格位于 (lower, upper) 之间、靠近中点的最短排序值
+     * @throws IllegalArgumentException 当排序值非法，或两者之间不存在排序值时
+     */
+    public static String between(String lower, String upper) {
+        int width = checkBounds(lower, upper);
+        Scratch scratch = SCRATCH.get();
+        byte[] digits = scratch.digits(width + 1);
+
+        // lower + upper，无上界时按 1.0 计入整数位
+        int carry = 0;
+        for (int i = width - 1; i >= 0; i--) {
+            int sum = digitAt(lower, i) + digitAt(upper, i) + carry;
+            digits[i] = (byte) (sum % BASE);
+            carry = sum / BASE;
+        }
+        int remainder = carry + (upper == null ? 1 : 0);
+
+        // 从高位逐位除以 2
+        for (int i = 0; i < width; i++) {
+            int current = remainder * BASE + digits[i];
+            digits[i] = (byte) (current >> 1);
+            remainder = current & 1;
+        }
+        int length = width;
+        if (remainder != 0) {
+            digits[length++] = BASE / 2;
+        }
+
+        // 取最短的结果：中点 m 截断到 k + 1 位（k 为 m 与 lower 首个不同位）仍大于 lower；
+        // 更短的前缀与 lower 相同，只能在 lower 前缀上进一位，且需仍小于 upper
+        int best = Math.max(MIN_LENGTH, firstDifference(digits, length, lower) + 1);
+        int split = upper == null ? -1 : firstDifference(lower, upper);
+        boolean roomAtSplit = split >= 0 && (digitAt(lower, split) + 1 < digitAt(upper, split)
+                || hasNonZeroAfter(upper, split));
+        int carryStop = -1;
+        for (int prefix = 1; prefix < best; prefix++) {
+            // carryStop 为前缀内最后一个不是 'z' 的位，进一位的进位停在这里
+            if (digitAt(lower, prefix - 1) < BASE - 1) {
+                carryStop = prefix - 1;
+            }
+            if (prefix >= MIN_LENGTH && carryStop >= 0 && (carryStop > split || (carryStop == split && roomAtSplit))) {
+                for (int i = 0; i < prefix; i++) {
+                    digits[i] = (byte) digitAt(lower, i);
+                }
+                increment(digits, prefix);
+                return toRank(scratch, digits, prefix);
+            }
+        }
+        return toRank(scratch, digits, best);
+    }
+
+    /**
+     * 在两个排序值之间一次生成 n 个等间距的排序值
+     *
+     * 间隔取 (upper - lower) / (n + 1)，精度按需延长到间隔的首个非零位之后再多一位，
+     * 为后续插入留出空间。
+     *
+     * @param lower 下界排序值（可为 null，表示无下界）
+     * @param upper 上界排序值（可为 null，表示无上界）
+     * @param n 需要生成的排序值个数
+     * @return 严格递增且位于 (lower, upper) 之间的排序值列表
+     * @throws IllegalArgumentException 当排序值非法、n 为负数，或两者之间不存在排序值时
+     */
+    public static List<String> between(String lower, String upper, int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Count must be non-negative, got: " + n);
+        }
+        int width = checkBounds(lower, upper);
+        List<String> ranks = new ArrayList<>(n);
+        if (n == 0) {
+            return ranks;
+        }
+
+        Scratch scratch = SCRATCH.get();
+        byte[] diff = scratch.digits(width);
+
+        // upper - lower，无上界时按 1.0 计算；两者不相等，因此差值为正
+        int borrow = 0;
+        for (int i = width - 1; i >= 0; i--) {
+            int d = digitAt(upper, i) - digitAt(lower, i) - borrow;
+            borrow = d < 0 ? 1 : 0;
+            diff[i] = (byte) (d + borrow * BASE);
+        }
+        long remainder = upper == null ? 1 - borrow : 0;
+
+        // 长除法求间隔，超出 width 的被除数位为 0，直到首个非零商位之后再多一位
+        long divisor = (long) n + 1;
+        byte[] step = scratch.step(width + 2);
+        int firstNonZero = -1;
+        int stepLength = 0;
+        for (int i = 0; firstNonZero < 0 || i <= Math.max(width - 1, firstNonZero + 1); i++) {
+            long current = remainder * BASE + (i < width ? diff[i] : 0);
+            step = scratch.step(i + 1);
+            step[i] = (byte) (current / divisor);
+            remainder = current % divisor;
+            if (firstNonZero < 0 && step[i] != 0) {
+                firstNonZero = i;
+            }
+            stepLength = i + 1;
+        }
+
+        // 从 lower 开始逐次累加间隔
+        byte[] acc = scratch.digits(stepLength);
+        for (int i = 0; i < stepLength; i++) {
+            acc[i] = (byte) digitAt(lower, i);
+        }
+        for (int k = 0; k < n; k++) {
+            int carry = 0;
+            for (int i = stepLength - 1; i >= 0; i--) {
+                int sum = acc[i] + step[i] + carry;
+                carry = sum >= BASE ? 1 : 0;
+                acc[i] = (byte) (sum - carry * BASE);
+            }
+            ranks.add(toRank(scratch, acc, stepLength));
+        }
+        return ranks;
+    }
+
+    /**
+     * 在当前排序值之后生成新值
+     *
+     * 取 current 的前 {@value #APPEND_WIDTH} 位（不足补 '0'）在末位加一，而不是取到无上界的中点，
+     * 因此连续追加时长度保持不变；只有这些位全为 'z'、加一会溢出时才延长一位。
+     *
+     * @param current 当前排序值（可为 null）
+     * @return 大于 current 的排序值；current 为 null 时返回中间值
+     * @throws IllegalArgumentException 当排序值非法时
+     */
+    public static String after(String current) {
+        if (current == null) {
+            return between(null, null);
+        }
+        if (!isValidRank(current)) {
+            throw new IllegalArgumentException("Invalid rank format: " + current);
+        }
+        int width = APPEND_WIDTH;
+        while (isAllMax(current, width)) {
+            width++;
+        }
+        Scratch scratch = SCRATCH.get();
+        byte[] digits = scratch.digits(width);
+        for (int i = 0; i < width; i++) {
+            digits[i] = (byte) digitAt(current, i);
+        }
+        increment(digits, width);
+        return toRank(scratch, digits, width);
+    }
+
+    /**
+     * 在当前排序值之前生成新值
+     *
+     * @param current 当前排序值（可为 null）
+     * @return 位于无下界与 current 之间的中间值
+     */
+    public static String before(String current) {
+        return between(null, current);
+    }
+
+    /**
+     * 验证排序值是否合法
+     *
+     * @param rank 排序值
+     * @return 是否合法
+     */
+    public static boolean isValidRank(String rank) {
+        if (rank == null || rank.length() < MIN_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < rank.length(); i++) {
+            char c = rank.charAt(i);
+            if (c >= VALUES.length || VALUES[c] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 校验上下界并返回计算宽度（两者中较长者的长度）
+     */
+    private static int checkBounds(String lower, String upper) {
+        if (lower != null && !isValidRank(lower)) {
+            throw new IllegalArgumentException("Invalid rank format: " + lower);
+        }
+        if (upper != null && !isValidRank(upper)) {
+            throw new IllegalArgumentException("Invalid rank format: " + upper);
+        }
+        int width = Math.max(MIN_LENGTH, Math.max(lower == null ? 0 : lower.length(),
+                upper == null ? 0 : upper.length()));
+        if (upper != null && compareFraction(lower, upper, width) >= 0) {
+            throw new IllegalArgumentException("No rank exists between " + lower + " and " + upper);
+        }
+        return width;
+    }
+
+    /**
+     * 按小数比较两个排序值，短者末尾视为补 '0'；lower 为 null 时视为 0
+     */
+    private static int compareFraction(String a, String b, int width) {
+        for (int i = 0; i < width; i++) {
+            int diff = digitAt(a, i) - digitAt(b, i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * digits 的前 length 位与排序值按小数比较时首个不同的位置，相同时返回 length
+     */
+    private static int firstDifference(byte[] digits, int length, String rank) {
+        for (int i = 0; i < length; i++) {
+            if (digits[i] != digitAt(rank, i)) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * 两个排序值按小数比较时首个不同的位置，调用方保证两者不相等
+     */
+    private static int firstDifference(String a, String b) {
+        int i = 0;
+        while (digitAt(a, i) == digitAt(b, i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * 前 width 位（不足补 '0'）是否全为 'z'
+     */
+    private static boolean isAllMax(String rank, int width) {
+        for (int i = 0; i < width; i++) {
+            if (digitAt(rank, i) != BASE - 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasNonZeroAfter(String rank, int index) {
+        for (int i = index + 1; i < rank.length(); i++) {
+            if (digitAt(rank, i) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 前 length 位加一个末位单位，调用方保证不会进位到整数位
+     */
+    private static void increment(byte[] digits, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (digits[i] < BASE - 1) {
+                digits[i]++;
+                return;
+            }
+            digits[i] = 0;
+        }
+    }
+
+    private static int digitAt(String rank, int index) {
+        return rank == null || index >= rank.length() ? 0 : VALUES[rank.charAt(index)];
+    }
+
+    /**
+     * 去除末尾多余的 '0'（至少保留 2 位）后生成排序值字符串
+     */
+    private static String toRank(Scratch scratch, byte[] digits, int length) {
+        while (length > MIN_LENGTH && digits[length - 1] == 0) {
+            length--;
+        }
+        int size = Math.max(length, MIN_LENGTH);
+        char[] chars = scratch.chars(size);
+        for (int i = 0; i < size; i++) {
+            chars[i] = i < length ? DIGITS[digits[i]] : DIGITS[0];
+        }
+        return new String(chars, 0, size);
+    }
+
+    /**
+     * 线程内复用的计算缓冲区，按需扩容
+     */
+    private static final class Scratch {
+
+        private byte[] digits = new byte[32];
+        private byte[] step = new byte[32];
+        private char[] chars = new char[32];
+
+        byte[] digits(int size) {
+            if (digits.length < size) {
+                digits = new byte[Math.max(size, digits.length << 1)];
+            }
+            return digits;
+        }
+
+        /**
+         * 扩容时保留已写入的商位
+         */
+        byte[] step(int size) {
+            if (step.length < size) {
+                step = Arrays.copyOf(step, Math.max(size, step.length << 1));
+            }
+            return step;
+        }
+
+        char[] chars(int size) {
+            if (chars.length < size) {
+                chars = new char[Math.max(size, chars.length << 1)];
+            }
+            return chars;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.reythecoder.common.utils;
+
+/**
+ * HTTP 内容编码协商工具类
+ */
+public final class ContentEncodingUtils {
+
+    private ContentEncodingUtils() {
+        // Utility class, prevent instantiation
+    }
+
+    /**
+     * 判断 Accept-Encoding 请求头是否接受 gzip，q=0 的条目视为拒绝
+     *
+     * @param acceptEncoding Accept-Encoding 请求头（可为 null）
+     * @return 是否可以使用 gzip 编码响应
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].replace(" ", "");
+                    if (param.matches("q=0(\\.0{0,3})?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+}
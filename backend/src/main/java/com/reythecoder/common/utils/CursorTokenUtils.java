@@ -0,0 +1,58 @@
+package com.reythecoder.common.utils;
+
+import com.reythecoder.common.exception.ApiException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 游标分页令牌工具类
+ *
+ * 将上一页最后一条记录的排序键编码为不透明的 URL 安全令牌，
+ * 下一页查询时解码还原，用于键集（keyset）分页。
+ */
+public final class CursorTokenUtils {
+
+    /**
+     * 排序键之间的分隔符，不会出现在 UUID、LexoRank 等键值中
+     */
+    private static final char SEPARATOR = '\n';
+
+    private CursorTokenUtils() {
+        // Utility class, prevent instantiation
+    }
+
+    /**
+     * 编码排序键
+     *
+     * @param keys 排序键，按排序优先级依次给出
+     * @return URL 安全的 Base64 令牌
+     */
+    public static String encode(String... keys) {
+        String joined = String.join(String.valueOf(SEPARATOR), keys);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码排序键
+     *
+     * 最后一个排序键按原样保留其中的分隔符，因此可以放置名称等任意文本。
+     *
+     * @param token 分页令牌
+     * @param expectedKeys 期望的排序键个数
+     * @return 排序键数组
+     * @throws ApiException 当令牌格式不合法时（400）
+     */
+    public static String[] decode(String token, int expectedKeys) {
+        try {
+            String joined = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] keys = joined.split(String.valueOf(SEPARATOR), expectedKeys);
+            if (keys.length != expectedKeys) {
+                throw new ApiException(400, "无效的分页令牌");
+            }
+            return keys;
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, "无效的分页令牌", e);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.reythecoder.common.utils;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * LexoRank 排序工具类
  *
@@ -16,6 +19,11 @@ public final class LexoRankUtils {
     private static final String CHARSET = "0123456789abcdefghijklmnopqrstuvwxyz";
     private static final int BASE = 36;
 
+    /**
+     * 排序值最大长度，与数据库 sort_rank 列 VARCHAR(12) 一致
+     */
+    public static final int MAX_LENGTH = 12;
+
     private LexoRankUtils() {
         // Utility class, prevent instantiation
     }
@@ -129,6 +137,47 @@ public final class LexoRankUtils {
         return current + CHARSET.charAt(0);
     }
 
+    /**
+     * 在两个排序值之间一次生成 count 个等间距的排序值
+     *
+     * 所有结果等宽，宽度取能容纳 count 个值且相邻间隔不小于一个字符位的最小宽度，
+     * 为后续插入留出空间。适用于批量创建时一次性分配同级节点的排序值。
+     *
+     * @param lower 下界排序值（可为 null，表示无下界）
+     * @param upper 上界排序值（可为 null，表示无上界）
+     * @param count 需要生成的排序值个数
+     * @return 严格递增且位于 (lower, upper) 之间的排序值列表
+     * @throws IllegalArgumentException 当 lower >= upper，或在最大长度内无法容纳 count 个值时
+     */
+    public static List<String> spread(String lower, String upper, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must be non-negative, got: " + count);
+        }
+        if (lower != null && upper != null && lower.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("lower must be less than upper, got: " + lower + " >= " + upper);
+        }
+        if (count == 0) {
+            return new ArrayList<>();
+        }
+
+        int width = Math.max(2, Math.max(lower == null ? 0 : lower.length(), upper == null ? 0 : upper.length()));
+        for (; width <= MAX_LENGTH; width++) {
+            // 按 width 右侧补 '0' 后比较：补齐后的上界是以 upper 为前缀的最小等宽值，
+            // 因此小于它的等宽值在字典序上也一定小于 upper
+            long lowerVal = lower == null ? 0 : toNumeric(padRight(lower, width));
+            long upperVal = upper == null ? power(width) : toNumeric(padRight(upper, width));
+            long step = (upperVal - lowerVal) / (count + 1);
+            if (step >= BASE || (width == MAX_LENGTH && step >= 1)) {
+                List<String> ranks = new ArrayList<>(count);
+                for (int i = 1; i <= count; i++) {
+                    ranks.add(padLeft(fromNumeric(lowerVal + step * i), width));
+                }
+                return ranks;
+            }
+        }
+        throw new IllegalArgumentException("Cannot fit " + count + " ranks between " + lower + " and " + upper);
+    }
+
     /**
      * 验证排序值是否合法
      *
@@ -161,6 +210,33 @@ public final class LexoRankUtils {
         return result;
     }
 
+    /**
+     * 36 的 width 次幂，即等宽排序值的取值上界（不含）
+     */
+    private static long power(int width) {
+        long result = 1;
+        for (int i = 0; i < width; i++) {
+            result *= BASE;
+        }
+        return result;
+    }
+
+    private static String padRight(String rank, int width) {
+        StringBuilder sb = new StringBuilder(width).append(rank);
+        while (sb.length() < width) {
+            sb.append(CHARSET.charAt(0));
+        }
+        return sb.toString();
+    }
+
+    private static String padLeft(String rank, int width) {
+        StringBuilder sb = new StringBuilder(width);
+        for (int i = rank.length(); i < width; i++) {
+            sb.append(CHARSET.charAt(0));
+        }
+        return sb.append(rank).toString();
+    }
+
     /**
      * 从数值生成排序值
      */
@@ -0,0 +1,786 @@
+package com.reythecoder.organization.cache;
+
+import com.reythecoder.organization.config.OrgTreeProperties;
+import com.reythecoder.organization.entity.EntityType;
+import com.reythecoder.organization.entity.TreeChangeType;
+import com.reythecoder.organization.repository.OrgTreeNodeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Resident in-memory index of the organization tree.
+ *
+ * Nodes are addressed by int slots; parent, first/last child, sibling links,
+ * level and child count live in primitive arrays, and a {@link UuidIntMap}
+ * translates node IDs to slots. Only the alias and sort rank strings are kept
+ * per node, no {@code OrgTreeNodeEntity} instances are retained.
+ *
+ * The index is loaded once on startup when {@code organization.tree.index.enabled}
+ * is set, then kept current from {@code org_tree_change_log}: the load records
+ * the latest log version of its snapshot, and {@link #catchUp()} applies later
+ * changes in version order. Writers take an advisory lock before drawing
+ * versions, so versions become visible in ascending order and reading past the
+ * last applied version never skips a change. The service catches up after each
+ * of its own commits, so reads on the writing instance see the write. Writes
+ * of other instances sharing the database are picked up by a poll every
+ * {@code organization.tree.index.poll-interval}; reads never query the log, so
+ * the poll interval (plus the time to apply a page of changes) bounds how far
+ * the index may trail those writes.
+ */
+@Component
+public class OrgTreeIndex implements InfoContributor {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrgTreeIndex.class);
+
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final EntityType[] ENTITY_TYPES = EntityType.values();
+    private static final String LOAD_SQL =
+            "SELECT id, parent_id, entity_type, alias, level, sort_rank FROM org_tree " +
+                    "WHERE " + OrgTreeNodeRepository.NOT_DETACHED + " ORDER BY level ASC, sort_rank ASC";
+    private static final String LATEST_VERSION_SQL =
+            "SELECT COALESCE(MAX(version), 0) FROM org_tree_change_log";
+    private static final String CHANGES_SQL =
+            "SELECT version, node_id, change_type, parent_id, entity_type, alias, level, sort_rank " +
+                    "FROM org_tree_change_log WHERE version > ? ORDER BY version ASC LIMIT ?";
+
+    /**
+     * Immutable view of an indexed node.
+     */
+    public record IndexedNode(UUID id, UUID parentId, EntityType entityType, String alias, int level,
+                              String sortRank) {
+    }
+
+    /**
+     * Memory footprint of the index.
+     */
+    public record IndexStats(int nodeCount, int capacity, long retainedBytes, long bytesPerNode) {
+    }
+
+    /**
+     * One row of the change log.
+     */
+    private record Change(long version, UUID id, TreeChangeType changeType, UUID parentId, EntityType type,
+                          String alias, int level, String sortRank) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final OrgTreeProperties properties;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Serializes loading and catching up, so changes are applied once and in version order.
+     */
+    private final ReentrantLock feedLock = new ReentrantLock();
+
+    private volatile boolean ready;
+
+    /**
+     * Highest change log version reflected in the index; only changed under the feed lock.
+     */
+    private volatile long appliedVersion;
+
+    /**
+     * {@link System#nanoTime()} at which the last catch-up started reading the log.
+     */
+    private long lastCatchUpStart;
+
+    private UuidIntMap slots;
+    private long[] idMsb;
+    private long[] idLsb;
+    private int[] parent;
+    private int[] firstChild;
+    private int[] lastChild;
+    private int[] nextSibling;
+    private int[] prevSibling;
+    private int[] level;
+    private int[] childCount;
+    private byte[] entityType;
+    private String[] alias;
+    private String[] sortRank;
+    private int highWater;
+    private int freeHead;
+    private int size;
+
+    public OrgTreeIndex(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                        OrgTreeProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        // The load and the log version it starts from must come from one snapshot
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.properties = properties;
+        reset(INITIAL_CAPACITY);
+    }
+
+    public boolean isEnabled() {
+        return properties.getIndex().isEnabled();
+    }
+
+    /**
+     * Whether the index has been loaded and may answer reads.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Highest change log version the index reflects.
+     */
+    public long appliedVersion() {
+        return appliedVersion;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (isEnabled()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reload the whole index from {@code org_tree}, then apply the changes
+     * committed while it was loading.
+     */
+    public void rebuild() {
+        logger.info("开始加载组织树内存索引");
+        long start = System.currentTimeMillis();
+
+        feedLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                ready = false;
+                reset(INITIAL_CAPACITY);
+                // PostgreSQL only honours the fetch size inside a transaction
+                appliedVersion = snapshotTransaction.execute(status -> {
+                    Long version = jdbcTemplate.queryForObject(LATEST_VERSION_SQL, Long.class);
+                    jdbcTemplate.query(con -> {
+                        PreparedStatement ps = con.prepareStatement(LOAD_SQL);
+                        ps.setFetchSize(properties.getIndex().getFetchSize());
+                        return ps;
+                    }, (RowCallbackHandler) rs -> upsertLocked(
+                            rs.getObject("id", UUID.class),
+                            rs.getObject("parent_id", UUID.class),
+                            EntityType.valueOf(rs.getString("entity_type")),
+                            rs.getString("alias"),
+                            rs.getInt("level"),
+                            rs.getString("sort_rank")));
+                    return version;
+                });
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            catchUp();
+        } finally {
+            feedLock.unlock();
+        }
+
+        IndexStats stats = getStats();
+        logger.info("组织树内存索引加载完成：nodes={}, version={}, bytesPerNode={}, retainedBytes={}, 耗时={}ms",
+                stats.nodeCount(), appliedVersion, stats.bytesPerNode(), stats.retainedBytes(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Apply every change committed to {@code org_tree_change_log} after the
+     * applied version. Callers that need the index to reflect their own
+     * commit call this after the commit; a call that waits while another
+     * thread catches up returns as soon as that thread has read the log
+     * from a point after this call started.
+     *
+     * @return the number of applied changes
+     */
+    public int catchUp() {
+        if (!ready) {
+            return 0;
+        }
+        long requested = System.nanoTime();
+        feedLock.lock();
+        try {
+            if (lastCatchUpStart - requested >= 0) {
+                return 0;
+            }
+            lastCatchUpStart = System.nanoTime();
+
+            int pageSize = properties.getIndex().getFetchSize();
+            int applied = 0;
+            List<Change> changes;
+            do {
+                changes = jdbcTemplate.query(CHANGES_SQL, (rs, rowNum) -> new Change(
+                        rs.getLong("version"),
+                        rs.getObject("node_id", UUID.class),
+                        TreeChangeType.valueOf(rs.getString("change_type")),
+                        rs.getObject("parent_id", UUID.class),
+                        EntityType.valueOf(rs.getString("entity_type")),
+                        rs.getString("alias"),
+                        rs.getInt("level"),
+                        rs.getString("sort_rank")), appliedVersion, pageSize);
+                if (changes.isEmpty()) {
+                    break;
+                }
+                lock.writeLock().lock();
+                try {
+                    applyLocked(changes);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                appliedVersion = changes.get(changes.size() - 1).version();
+                applied += changes.size();
+            } while (changes.size() == pageSize);
+            return applied;
+        } finally {
+            feedLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${organization.tree.index.poll-interval:1s}")
+    public void pollChanges() {
+        if (!ready) {
+            return;
+        }
+        try {
+            int applied = catchUp();
+            if (applied > 0) {
+                logger.debug("组织树内存索引已同步变更：count={}, version={}", applied, appliedVersion);
+            }
+        } catch (RuntimeException e) {
+            logger.error("组织树内存索引同步变更失败：version={}", appliedVersion, e);
+        }
+    }
+
+    // =====================================================
+    // Queries
+    // =====================================================
+
+    public Optional<IndexedNode> getNode(UUID id) {
+        lock.readLock().lock();
+        try {
+            int slot = slots.get(id);
+            return slot == NONE ? Optional.empty() : Optional.of(node(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Direct children ordered by sort rank.
+     */
+    public List<IndexedNode> getChildren(UUID parentId) {
+        lock.readLock().lock();
+        try {
+            int slot = slots.get(parentId);
+            if (slot == NONE) {
+                return Collections.emptyList();
+            }
+            List<IndexedNode> result = new ArrayList<>(childCount[slot]);
+            for (int child = firstChild[slot]; child != NONE; child = nextSibling[child]) {
+                result.add(node(child));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Descendants up to an absolute level, in breadth-first order so that
+     * parents precede their children and siblings are sorted by rank.
+     */
+    public List<IndexedNode> getSubTreeNodes(UUID id, int maxLevel) {
+        lock.readLock().lock();
+        try {
+            int slot = slots.get(id);
+            if (slot == NONE) {
+                return Collections.emptyList();
+            }
+            List<IndexedNode> result = new ArrayList<>();
+            int[] queue = new int[16];
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = slot;
+            while (head < tail) {
+                int current = queue[head++];
+                for (int child = firstChild[current]; child != NONE; child = nextSibling[child]) {
+                    if (level[child] > maxLevel) {
+                        break;
+                    }
+                    result.add(node(child));
+                    if (tail == queue.length) {
+                        queue = Arrays.copyOf(queue, tail << 1);
+                    }
+                    queue[tail++] = child;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * All descendants in pre-order.
+     */
+    public List<IndexedNode> getDescendants(UUID id) {
+        lock.readLock().lock();
+        try {
+            int slot = slots.get(id);
+            if (slot == NONE) {
+                return Collections.emptyList();
+            }
+            List<IndexedNode> result = new ArrayList<>();
+            int[] stack = new int[Math.max(16, childCount[slot])];
+            pushChildrenReversed(slot, stack, 0);
+            int top = childCount[slot];
+            while (top > 0) {
+                int current = stack[--top];
+                result.add(node(current));
+                int needed = top + childCount[current];
+                if (needed > stack.length) {
+                    stack = Arrays.copyOf(stack, Math.max(stack.length << 1, needed));
+                }
+                pushChildrenReversed(current, stack, top);
+                top = needed;
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ancestors ordered from the root down to the direct parent.
+     */
+    public List<IndexedNode> getAncestors(UUID id) {
+        lock.readLock().lock();
+        try {
+            int slot = slots.get(id);
+            if (slot == NONE) {
+                return Collections.emptyList();
+            }
+            List<IndexedNode> result = new ArrayList<>(level[slot]);
+            for (int current = parent[slot]; current != NONE; current = parent[current]) {
+                result.add(node(current));
+            }
+            Collections.reverse(result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Nodes whose alias contains a keyword, case-insensitively, ranked as the
+     * database search does: prefix matches first, then shorter aliases, then
+     * alias and ID. One pass over the slots keeps only the best {@code limit}
+     * candidates, and the virtual root is excluded.
+     *
+     * @param keyword the keyword
+     * @param type entity type filter, null for all types
+     * @param limit the maximum number of nodes
+     */
+    public List<IndexedNode> searchByAlias(String keyword, EntityType type, int limit) {
+        Comparator<IndexedNode> ranking = Comparator
+                .comparing((IndexedNode node) -> !node.alias().regionMatches(true, 0, keyword, 0, keyword.length()))
+                .thenComparingInt(node -> node.alias().length())
+                .thenComparing(IndexedNode::alias)
+                .thenComparing(IndexedNode::id);
+        // Worst candidate on top so it can be replaced
+        PriorityQueue<IndexedNode> best = new PriorityQueue<>(limit + 1, ranking.reversed());
+
+        lock.readLock().lock();
+        try {
+            for (int slot = 0; slot < highWater; slot++) {
+                String name = alias[slot];
+                if (name == null || parent[slot] == NONE || !containsIgnoreCase(name, keyword)
+                        || (type != null && ENTITY_TYPES[entityType[slot]] != type)) {
+                    continue;
+                }
+                best.add(node(slot));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<IndexedNode> result = new ArrayList<>(best);
+        result.sort(ranking);
+        return result;
+    }
+
+    public long countChildren(UUID parentId) {
+        lock.readLock().lock();
+        try {
+            int slot = slots.get(parentId);
+            return slot == NONE ? 0 : childCount[slot];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public IndexStats getStats() {
+        lock.readLock().lock();
+        try {
+            int capacity = parent.length;
+            // 2 longs, 7 ints, 1 byte and 2 references (compressed oops) per slot
+            long bytes = (long) capacity * (Long.BYTES * 2 + Integer.BYTES * 7 + 1 + 4 * 2);
+            bytes += slots.retainedBytes();
+            for (int slot = 0; slot < highWater; slot++) {
+                bytes += stringBytes(alias[slot]) + stringBytes(sortRank[slot]);
+            }
+            return new IndexStats(size, capacity, bytes, size == 0 ? 0 : bytes / size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("enabled", isEnabled());
+        details.put("ready", ready);
+        if (ready) {
+            IndexStats stats = getStats();
+            details.put("version", appliedVersion);
+            details.put("nodes", stats.nodeCount());
+            details.put("retainedBytes", stats.retainedBytes());
+            details.put("bytesPerNode", stats.bytesPerNode());
+        }
+        builder.withDetail("orgTreeIndex", details);
+    }
+
+    // =====================================================
+    // Helper methods (callers hold the lock)
+    // =====================================================
+
+    /**
+     * Apply change log rows in version order. Consecutive updates of siblings,
+     * as written by a reorder or a rank rebalance, are unlinked together and
+     * relinked in rank order.
+     */
+    private void applyLocked(List<Change> changes) {
+        int i = 0;
+        while (i < changes.size()) {
+            Change change = changes.get(i);
+            if (change.changeType() == TreeChangeType.REMOVED) {
+                removeLocked(change.id());
+                i++;
+            } else if (change.changeType() == TreeChangeType.UPDATED) {
+                int end = i + 1;
+                while (end < changes.size() && changes.get(end).changeType() == TreeChangeType.UPDATED
+                        && Objects.equals(changes.get(end).parentId(), change.parentId())) {
+                    end++;
+                }
+                updateSiblingsLocked(changes.subList(i, end));
+                i = end;
+            } else {
+                upsertLocked(change.id(), change.parentId(), change.type(), change.alias(), change.level(),
+                        change.sortRank());
+                i++;
+            }
+        }
+    }
+
+    private void updateSiblingsLocked(List<Change> siblings) {
+        int[] moved = new int[siblings.size()];
+        for (int i = 0; i < moved.length; i++) {
+            int slot = slots.get(siblings.get(i).id());
+            moved[i] = slot;
+            if (slot != NONE) {
+                unlink(slot);
+            }
+        }
+        for (int i = 0; i < moved.length; i++) {
+            Change change = siblings.get(i);
+            int slot = moved[i];
+            if (slot == NONE) {
+                upsertLocked(change.id(), change.parentId(), change.type(), change.alias(), change.level(),
+                        change.sortRank());
+                continue;
+            }
+            entityType[slot] = (byte) change.type().ordinal();
+            alias[slot] = change.alias();
+            sortRank[slot] = change.sortRank();
+            link(slot, parentSlot(change.id(), change.parentId()));
+        }
+    }
+
+    private int removeLocked(UUID id) {
+        int slot = slots.get(id);
+        if (slot == NONE) {
+            return 0;
+        }
+        unlink(slot);
+
+        int removed = 0;
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = slot;
+        while (top > 0) {
+            int current = stack[--top];
+            for (int child = firstChild[current]; child != NONE; child = nextSibling[child]) {
+                if (top == stack.length) {
+                    stack = Arrays.copyOf(stack, top << 1);
+                }
+                stack[top++] = child;
+            }
+            release(current);
+            removed++;
+        }
+        return removed;
+    }
+
+    private int parentSlot(UUID id, UUID parentId) {
+        // The virtual root points to itself
+        return parentId == null || parentId.equals(id) ? NONE : slots.get(parentId);
+    }
+
+    /**
+     * Insert a node or apply its new parent, level, alias and sort rank.
+     * Moving a node re-levels its whole subtree.
+     */
+    private void upsertLocked(UUID id, UUID parentId, EntityType type, String nodeAlias, int nodeLevel, String rank) {
+        int parentSlot = parentSlot(id, parentId);
+
+        int slot = slots.get(id);
+        if (slot == NONE) {
+            slot = allocate(id);
+            entityType[slot] = (byte) type.ordinal();
+            alias[slot] = nodeAlias;
+            sortRank[slot] = rank;
+            level[slot] = nodeLevel;
+            link(slot, parentSlot);
+            return;
+        }
+
+        entityType[slot] = (byte) type.ordinal();
+        alias[slot] = nodeAlias;
+        if (parent[slot] != parentSlot || !Objects.equals(sortRank[slot], rank)) {
+            unlink(slot);
+            sortRank[slot] = rank;
+            link(slot, parentSlot);
+        }
+        int delta = nodeLevel - level[slot];
+        if (delta != 0) {
+            shiftLevels(slot, delta);
+        }
+    }
+
+    /**
+     * Insert {@code slot} among the children of {@code parentSlot} by sort rank.
+     * Walks backwards from the tail, so appends are O(1).
+     */
+    private void link(int slot, int parentSlot) {
+        parent[slot] = parentSlot;
+        prevSibling[slot] = NONE;
+        nextSibling[slot] = NONE;
+        if (parentSlot == NONE) {
+            return;
+        }
+
+        int after = lastChild[parentSlot];
+        while (after != NONE && compareRank(sortRank[after], sortRank[slot]) > 0) {
+            after = prevSibling[after];
+        }
+
+        int before = after == NONE ? firstChild[parentSlot] : nextSibling[after];
+        prevSibling[slot] = after;
+        nextSibling[slot] = before;
+        if (after == NONE) {
+            firstChild[parentSlot] = slot;
+        } else {
+            nextSibling[after] = slot;
+        }
+        if (before == NONE) {
+            lastChild[parentSlot] = slot;
+        } else {
+            prevSibling[before] = slot;
+        }
+        childCount[parentSlot]++;
+    }
+
+    private void unlink(int slot) {
+        int parentSlot = parent[slot];
+        if (parentSlot == NONE) {
+            return;
+        }
+        int prev = prevSibling[slot];
+        int next = nextSibling[slot];
+        if (prev == NONE) {
+            firstChild[parentSlot] = next;
+        } else {
+            nextSibling[prev] = next;
+        }
+        if (next == NONE) {
+            lastChild[parentSlot] = prev;
+        } else {
+            prevSibling[next] = prev;
+        }
+        childCount[parentSlot]--;
+        parent[slot] = NONE;
+        prevSibling[slot] = NONE;
+        nextSibling[slot] = NONE;
+    }
+
+    private void shiftLevels(int slot, int delta) {
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = slot;
+        while (top > 0) {
+            int current = stack[--top];
+            level[current] += delta;
+            for (int child = firstChild[current]; child != NONE; child = nextSibling[child]) {
+                if (top == stack.length) {
+                    stack = Arrays.copyOf(stack, top << 1);
+                }
+                stack[top++] = child;
+            }
+        }
+    }
+
+    private void pushChildrenReversed(int slot, int[] stack, int top) {
+        int i = top + childCount[slot];
+        for (int child = firstChild[slot]; child != NONE; child = nextSibling[child]) {
+            stack[--i] = child;
+        }
+    }
+
+    private int allocate(UUID id) {
+        int slot;
+        if (freeHead != NONE) {
+            slot = freeHead;
+            freeHead = nextSibling[slot];
+        } else {
+            if (highWater == parent.length) {
+                grow(parent.length + (parent.length >> 1));
+            }
+            slot = highWater++;
+        }
+        idMsb[slot] = id.getMostSignificantBits();
+        idLsb[slot] = id.getLeastSignificantBits();
+        parent[slot] = NONE;
+        firstChild[slot] = NONE;
+        lastChild[slot] = NONE;
+        nextSibling[slot] = NONE;
+        prevSibling[slot] = NONE;
+        childCount[slot] = 0;
+        slots.put(id, slot);
+        size++;
+        return slot;
+    }
+
+    private void release(int slot) {
+        slots.remove(new UUID(idMsb[slot], idLsb[slot]));
+        alias[slot] = null;
+        sortRank[slot] = null;
+        parent[slot] = NONE;
+        firstChild[slot] = NONE;
+        lastChild[slot] = NONE;
+        prevSibling[slot] = NONE;
+        childCount[slot] = 0;
+        nextSibling[slot] = freeHead;
+        freeHead = slot;
+        size--;
+    }
+
+    private IndexedNode node(int slot) {
+        int parentSlot = parent[slot];
+        return new IndexedNode(
+                new UUID(idMsb[slot], idLsb[slot]),
+                parentSlot == NONE ? null : new UUID(idMsb[parentSlot], idLsb[parentSlot]),
+                ENTITY_TYPES[entityType[slot]],
+                alias[slot],
+                level[slot],
+                sortRank[slot]);
+    }
+
+    private void reset(int capacity) {
+        slots = new UuidIntMap(capacity);
+        idMsb = new long[capacity];
+        idLsb = new long[capacity];
+        parent = new int[capacity];
+        firstChild = new int[capacity];
+        lastChild = new int[capacity];
+        nextSibling = new int[capacity];
+        prevSibling = new int[capacity];
+        level = new int[capacity];
+        childCount = new int[capacity];
+        entityType = new byte[capacity];
+        alias = new String[capacity];
+        sortRank = new String[capacity];
+        highWater = 0;
+        freeHead = NONE;
+        size = 0;
+    }
+
+    private void grow(int capacity) {
+        idMsb = Arrays.copyOf(idMsb, capacity);
+        idLsb = Arrays.copyOf(idLsb, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        firstChild = Arrays.copyOf(firstChild, capacity);
+        lastChild = Arrays.copyOf(lastChild, capacity);
+        nextSibling = Arrays.copyOf(nextSibling, capacity);
+        prevSibling = Arrays.copyOf(prevSibling, capacity);
+        level = Arrays.copyOf(level, capacity);
+        childCount = Arrays.copyOf(childCount, capacity);
+        entityType = Arrays.copyOf(entityType, capacity);
+        alias = Arrays.copyOf(alias, capacity);
+        sortRank = Arrays.copyOf(sortRank, capacity);
+    }
+
+    private static boolean containsIgnoreCase(String text, String keyword) {
+        int last = text.length() - keyword.length();
+        for (int i = 0; i <= last; i++) {
+            if (text.regionMatches(true, i, keyword, 0, keyword.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int compareRank(String a, String b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        return a.compareTo(b);
+    }
+
+    private static long stringBytes(String value) {
+        if (value == null) {
+            return 0;
+        }
+        boolean latin1 = value.chars().allMatch(c -> c < 256);
+        // String object header and fields + byte[] header + payload
+        return 24 + 16 + (long) value.length() * (latin1 ? 1 : 2);
+    }
+}
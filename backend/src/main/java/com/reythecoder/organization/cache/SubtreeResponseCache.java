@@ -0,0 +1,189 @@
+package com.reythecoder.organization.cache;
+
+import com.reythecoder.organization.config.OrgTreeProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Byte-level cache of serialized subtree responses.
+ *
+ * Entries are keyed by {@code (nodeId, depth)} and tagged with the subtree
+ * version of the node at the time the body was built. The version moves
+ * whenever any node in the subtree changes, so a lookup with the current
+ * version either returns a body that is still exact or misses; stale entries
+ * are never served and are overwritten on the next load. The version must be
+ * read before the body is built, so a concurrent write can only make the
+ * entry look older than it is, never newer.
+ *
+ * Bodies are kept as JSON bytes, plus a gzip copy when large enough, and are
+ * written to the response as-is. The map is bounded by entry count and total
+ * bytes and evicts in least-recently-used order.
+ */
+@Component
+public class SubtreeResponseCache implements InfoContributor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubtreeResponseCache.class);
+
+    /**
+     * Depth key used for unlimited subtrees.
+     */
+    private static final int UNLIMITED = -1;
+
+    /**
+     * A serialized response body.
+     *
+     * @param json the JSON bytes
+     * @param gzip the gzip-compressed JSON bytes, or null when not precompressed
+     */
+    public record CachedBody(byte[] json, byte[] gzip) {
+
+        long size() {
+            return json.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+
+    private record Key(UUID nodeId, int depth) {
+    }
+
+    private record Entry(String version, CachedBody body) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final OrgTreeProperties.ResponseCache settings;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public SubtreeResponseCache(ObjectMapper objectMapper, OrgTreeProperties properties) {
+        this.objectMapper = objectMapper;
+        this.settings = properties.getResponseCache();
+    }
+
+    /**
+     * Return the serialized body for a subtree, loading and caching it on a miss.
+     *
+     * @param nodeId the subtree root node ID
+     * @param depth the requested depth as passed to the subtree query
+     * @param version the current subtree version, or null to bypass the cache
+     * @param loader builds the response object on a miss
+     * @return the serialized body
+     */
+    public CachedBody get(UUID nodeId, Integer depth, String version, Supplier<?> loader) {
+        if (!settings.isEnabled() || version == null) {
+            return serialize(loader.get());
+        }
+
+        Key key = new Key(nodeId, normalizeDepth(depth));
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version().equals(version)) {
+                hits.increment();
+                return entry.body();
+            }
+        }
+
+        misses.increment();
+        CachedBody body = serialize(loader.get());
+        if (body.size() <= settings.getMaxEntryBytes()) {
+            put(key, new Entry(version, body));
+        } else {
+            logger.debug("子树响应过大，不缓存：nodeId={}, depth={}, bytes={}", nodeId, depth, body.size());
+        }
+        return body;
+    }
+
+    /**
+     * Drop all cached bodies.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    /**
+     * @return the number of cached bodies
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the total bytes held by cached bodies
+     */
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("enabled", settings.isEnabled());
+        synchronized (this) {
+            details.put("entries", entries.size());
+            details.put("bytes", totalBytes);
+        }
+        details.put("hits", hits.sum());
+        details.put("misses", misses.sum());
+        builder.withDetail("subtreeResponseCache", details);
+    }
+
+    private synchronized void put(Key key, Entry entry) {
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            totalBytes -= previous.body().size();
+        }
+        totalBytes += entry.body().size();
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while ((entries.size() > settings.getMaxEntries() || totalBytes > settings.getMaxBytes())
+                && eldest.hasNext()) {
+            totalBytes -= eldest.next().body().size();
+            eldest.remove();
+        }
+    }
+
+    private CachedBody serialize(Object response) {
+        byte[] json = objectMapper.writeValueAsBytes(response);
+        byte[] gzip = settings.isGzip() && json.length >= settings.getGzipMinBytes() ? gzip(json) : null;
+        return new CachedBody(json, gzip);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Map request depths that load the same tree onto one key, as the subtree
+     * query does: missing or below 1 means the root only, -1 means unlimited.
+     */
+    private static int normalizeDepth(Integer depth) {
+        if (depth != null && depth == UNLIMITED) {
+            return UNLIMITED;
+        }
+        return depth == null || depth < 1 ? 1 : depth;
+    }
+}
@@ -0,0 +1,146 @@
+package com.reythecoder.organization.cache;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Open-addressing hash map from UUID to int.
+ *
+ * Keys are kept as two parallel long arrays, so no UUID or boxed Integer
+ * objects are retained per entry. Not thread-safe.
+ */
+final class UuidIntMap {
+
+    static final int MISSING = -1;
+
+    private long[] msb;
+    private long[] lsb;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    UuidIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2) - 1) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(UUID key) {
+        long m = key.getMostSignificantBits();
+        long l = key.getLeastSignificantBits();
+        int i = hash(m, l) & mask;
+        while (values[i] != MISSING) {
+            if (msb[i] == m && lsb[i] == l) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    void put(UUID key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must be non-negative: " + value);
+        }
+        if ((size + 1) * 2 > values.length) {
+            resize(values.length << 1);
+        }
+        insert(key.getMostSignificantBits(), key.getLeastSignificantBits(), value);
+    }
+
+    int remove(UUID key) {
+        long m = key.getMostSignificantBits();
+        long l = key.getLeastSignificantBits();
+        int i = hash(m, l) & mask;
+        while (values[i] != MISSING) {
+            if (msb[i] == m && lsb[i] == l) {
+                int old = values[i];
+                values[i] = MISSING;
+                size--;
+                shiftBack(i);
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    /**
+     * Approximate retained size of the backing arrays in bytes.
+     */
+    long retainedBytes() {
+        return (long) values.length * (Long.BYTES * 2 + Integer.BYTES);
+    }
+
+    private void insert(long m, long l, int value) {
+        int i = hash(m, l) & mask;
+        while (values[i] != MISSING) {
+            if (msb[i] == m && lsb[i] == l) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        msb[i] = m;
+        lsb[i] = l;
+        values[i] = value;
+        size++;
+    }
+
+    /**
+     * Backward-shift deletion: close the gap at {@code free} so that linear
+     * probing chains stay intact without tombstones.
+     */
+    private void shiftBack(int free) {
+        int j = free;
+        while (true) {
+            j = (j + 1) & mask;
+            if (values[j] == MISSING) {
+                return;
+            }
+            int home = hash(msb[j], lsb[j]) & mask;
+            boolean homeInGap = free <= j
+                    ? home > free && home <= j
+                    : home > free || home <= j;
+            if (!homeInGap) {
+                msb[free] = msb[j];
+                lsb[free] = lsb[j];
+                values[free] = values[j];
+                values[j] = MISSING;
+                free = j;
+            }
+        }
+    }
+
+    private void resize(int newCapacity) {
+        long[] oldMsb = msb;
+        long[] oldLsb = lsb;
+        int[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != MISSING) {
+                insert(oldMsb[i], oldLsb[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        msb = new long[capacity];
+        lsb = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, MISSING);
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private static int hash(long m, long l) {
+        long h = m ^ (l * 0x9E3779B97F4A7C15L);
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
@@ -0,0 +1,12 @@
+package com.reythecoder.organization.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 批量导出配置
+ */
+@Configuration
+@EnableConfigurationProperties(ExportProperties.class)
+public class ExportConfig {
+}
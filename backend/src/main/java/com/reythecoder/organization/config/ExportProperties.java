@@ -0,0 +1,17 @@
+package com.reythecoder.organization.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 批量导出配置
+ */
+@Data
+@ConfigurationProperties(prefix = "organization.export")
+public class ExportProperties {
+
+    /**
+     * 游标每次从数据库读取的行数，决定导出时内存中最多保留的行数
+     */
+    private int fetchSize = 5000;
+}
@@ -0,0 +1,34 @@
+package com.reythecoder.organization.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 批量导入配置
+ */
+@Data
+@ConfigurationProperties(prefix = "organization.import")
+public class ImportProperties {
+
+    /**
+     * 每批处理的数据行数，每批在一个事务中校验、去重并写入
+     */
+    private int batchSize = 1000;
+
+    /**
+     * 每个任务最多保存的错误明细（被拒绝或跳过的行）条数，超出部分只计数
+     */
+    private int maxErrors = 10000;
+
+    /**
+     * 单条 CSV 记录的最大字符数，防止异常文件占满内存
+     */
+    private int maxRecordLength = 65536;
+
+    /**
+     * 执行中的任务超过该时长无进展时，允许续传接管
+     */
+    private Duration staleAfter = Duration.ofMinutes(10);
+}
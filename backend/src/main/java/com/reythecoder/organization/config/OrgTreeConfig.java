@@ -0,0 +1,15 @@
+package com.reythecoder.organization.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Organization tree configuration. Scheduling drives the retries of
+ * background subtree removals.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(OrgTreeProperties.class)
+public class OrgTreeConfig {
+}
@@ -0,0 +1,192 @@
+package com.reythecoder.organization.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for organization tree features.
+ */
+@Data
+@ConfigurationProperties(prefix = "organization.tree")
+public class OrgTreeProperties {
+
+    /**
+     * Resident in-memory tree index settings.
+     */
+    private final Index index = new Index();
+
+    /**
+     * Subtree removal settings.
+     */
+    private final Remove remove = new Remove();
+
+    /**
+     * Keyset pagination settings for child listings.
+     */
+    private final Page page = new Page();
+
+    /**
+     * Bulk node creation settings.
+     */
+    private final Bulk bulk = new Bulk();
+
+    /**
+     * Change feed settings.
+     */
+    private final Changes changes = new Changes();
+
+    /**
+     * Streaming subtree export settings.
+     */
+    private final Export export = new Export();
+
+    /**
+     * Serialized subtree response cache settings.
+     */
+    private final ResponseCache responseCache = new ResponseCache();
+
+    /**
+     * Alias search settings.
+     */
+    private final Search search = new Search();
+
+    @Data
+    public static class Index {
+
+        /**
+         * Whether to load and serve tree reads from the in-memory index.
+         */
+        private boolean enabled = false;
+
+        /**
+         * JDBC fetch size used while loading the index, also the number of change log rows read per query.
+         */
+        private int fetchSize = 5000;
+
+        /**
+         * How often the index applies changes committed by other instances from the change log;
+         * this bounds how long index reads may trail those changes.
+         */
+        private Duration pollInterval = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Remove {
+
+        /**
+         * Maximum number of rows deleted per statement for large subtrees.
+         */
+        private int batchSize = 5000;
+
+        /**
+         * Subtree size from which removal runs in the background; 0 disables async removal.
+         */
+        private int asyncThreshold = 0;
+
+        /**
+         * Background removals that made no progress for this long are retried.
+         */
+        private Duration retryInterval = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Page {
+
+        /**
+         * Page size used when the request does not give one.
+         */
+        private int defaultSize = 100;
+
+        /**
+         * Upper bound for the requested page size.
+         */
+        private int maxSize = 500;
+    }
+
+    @Data
+    public static class Bulk {
+
+        /**
+         * Maximum number of nodes accepted by one bulk creation request.
+         */
+        private int maxNodes = 10000;
+
+        /**
+         * Number of rows sent per JDBC batch.
+         */
+        private int batchSize = 1000;
+    }
+
+    @Data
+    public static class Changes {
+
+        /**
+         * Number of changes returned when the request does not give a limit.
+         */
+        private int defaultSize = 1000;
+
+        /**
+         * Upper bound for the requested limit.
+         */
+        private int maxSize = 10000;
+    }
+
+    @Data
+    public static class Export {
+
+        /**
+         * Rows fetched per cursor round trip while streaming an export.
+         */
+        private int fetchSize = 5000;
+    }
+
+    @Data
+    public static class ResponseCache {
+
+        /**
+         * Whether subtree responses are cached as serialized bytes.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of cached (node, depth) bodies.
+         */
+        private int maxEntries = 256;
+
+        /**
+         * Upper bound for the bytes held by all cached bodies.
+         */
+        private long maxBytes = 64L * 1024 * 1024;
+
+        /**
+         * Bodies larger than this are served but not cached.
+         */
+        private long maxEntryBytes = 8L * 1024 * 1024;
+
+        /**
+         * Whether to keep a gzip copy of each body for clients that accept it.
+         */
+        private boolean gzip = true;
+
+        /**
+         * Bodies smaller than this are not precompressed.
+         */
+        private int gzipMinBytes = 1024;
+    }
+
+    @Data
+    public static class Search {
+
+        /**
+         * Number of hits returned when the request does not give a limit.
+         */
+        private int defaultLimit = 20;
+
+        /**
+         * Upper bound for the requested limit.
+         */
+        private int maxLimit = 200;
+    }
+}
@@ -3,14 +3,20 @@ package com.reythecoder.organization.controller;
 import com.reythecoder.organization.dto.request.DepartmentCreateReq;
 import com.reythecoder.organization.dto.request.DepartmentUpdateReq;
 import com.reythecoder.common.dto.ApiResult;
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.KeysetSort;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.response.DepartmentRsp;
 import com.reythecoder.organization.service.DepartmentService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,12 +31,28 @@ public class DepartmentController {
     }
 
     @GetMapping
-    public ApiResult<List<DepartmentRsp>> getAllDepartments() {
-        logger.info("收到获取所有部门请求");
-        List<DepartmentRsp> departments = departmentService.getAllDepartments();
+    public ApiResult<List<DepartmentRsp>> getAllDepartments(
+            @RequestParam(required = false) Integer status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate effectiveDate) {
+        logger.info("收到获取所有部门请求：status={}, effectiveDate={}", status, effectiveDate);
+        List<DepartmentRsp> departments = departmentService.getAllDepartments(status, effectiveDate);
         return ApiResult.success(departments);
     }
 
+    @GetMapping("/page")
+    public ApiResult<CursorPage<DepartmentRsp>> getDepartmentPage(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String orgCode,
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(required = false) Integer pageSize,
+            @RequestParam(required = false) KeysetSort sort,
+            @RequestParam(required = false) Sort.Direction direction) {
+        logger.info("收到分页获取部门请求：name={}, orgCode={}, pageSize={}, sort={}", name, orgCode, pageSize, sort);
+        CursorPage<DepartmentRsp> page = departmentService.getDepartmentPage(name, orgCode,
+                new PageQuery(pageToken, pageSize, sort, direction));
+        return ApiResult.success(page);
+    }
+
     @GetMapping("/{id}")
     public ApiResult<DepartmentRsp> getDepartmentById(@PathVariable UUID id) {
         logger.info("收到根据ID获取部门请求: {}", id);
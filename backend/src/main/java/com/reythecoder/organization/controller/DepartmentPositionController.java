@@ -2,11 +2,15 @@ package com.reythecoder.organization.controller;
 
 import com.reythecoder.organization.dto.request.DepartmentPositionReq;
 import com.reythecoder.common.dto.ApiResult;
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.KeysetSort;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.response.DepartmentPositionRsp;
 import com.reythecoder.organization.service.DepartmentPositionService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
@@ -30,6 +34,20 @@ public class DepartmentPositionController {
         return ApiResult.success(relations);
     }
 
+    @GetMapping("/page")
+    public ApiResult<CursorPage<DepartmentPositionRsp>> getDepartmentPositionPage(
+            @RequestParam(required = false) UUID departmentId,
+            @RequestParam(required = false) UUID positionId,
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(required = false) Integer pageSize,
+            @RequestParam(required = false) Sort.Direction direction) {
+        logger.info("收到分页获取部门岗位关联请求：departmentId={}, positionId={}, pageSize={}",
+                departmentId, positionId, pageSize);
+        CursorPage<DepartmentPositionRsp> page = departmentPositionService.getDepartmentPositionPage(
+                departmentId, positionId, new PageQuery(pageToken, pageSize, KeysetSort.ID, direction));
+        return ApiResult.success(page);
+    }
+
     @GetMapping("/department/{departmentId}")
     public ApiResult<List<DepartmentPositionRsp>> getPositionsByDepartmentId(@PathVariable UUID departmentId) {
         logger.info("收到根据部门 ID 获取岗位列表请求：{}", departmentId);
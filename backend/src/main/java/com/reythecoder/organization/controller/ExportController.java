@@ -0,0 +1,58 @@
+package com.reythecoder.organization.controller;
+
+import com.reythecoder.common.utils.ContentEncodingUtils;
+import com.reythecoder.organization.dto.request.ExportType;
+import com.reythecoder.organization.dto.request.TreeExportFormat;
+import com.reythecoder.organization.service.ExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/exports")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @Autowired
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * 流式导出全部数据，客户端接受 gzip 时边写边压缩
+     */
+    @GetMapping("/{type}")
+    public void export(@PathVariable String type,
+                       @RequestParam(defaultValue = "NDJSON") TreeExportFormat format,
+                       HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        // 先解析类型，不支持的类型仍以 JSON 错误响应返回
+        ExportType exportType = ExportType.fromPath(type);
+
+        response.setContentType(format.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(exportType.getPath() + "." + format.getExtension())
+                .build()
+                .toString());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (!ContentEncodingUtils.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            exportService.export(exportType, format, response.getOutputStream());
+            return;
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        GZIPOutputStream gzip = new GZIPOutputStream(response.getOutputStream(), 64 * 1024);
+        exportService.export(exportType, format, gzip);
+        // 只结束压缩流，响应流由容器关闭
+        gzip.finish();
+    }
+}
@@ -3,11 +3,15 @@ package com.reythecoder.organization.controller;
 import com.reythecoder.organization.dto.request.GroupCreateReq;
 import com.reythecoder.organization.dto.request.GroupUpdateReq;
 import com.reythecoder.common.dto.ApiResult;
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.KeysetSort;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.response.GroupRsp;
 import com.reythecoder.organization.service.GroupService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
@@ -33,6 +37,17 @@ public class GroupController {
         return ApiResult.success(groups);
     }
     
+    @GetMapping("/page")
+    public ApiResult<CursorPage<GroupRsp>> getGroupPage(@RequestParam(required = false) String name,
+                                                        @RequestParam(required = false) String pageToken,
+                                                        @RequestParam(required = false) Integer pageSize,
+                                                        @RequestParam(required = false) KeysetSort sort,
+                                                        @RequestParam(required = false) Sort.Direction direction) {
+        logger.info("收到分页获取分组请求：name={}, pageSize={}, sort={}", name, pageSize, sort);
+        CursorPage<GroupRsp> page = groupService.getGroupPage(name, new PageQuery(pageToken, pageSize, sort, direction));
+        return ApiResult.success(page);
+    }
+    
     @GetMapping("/{id}")
     public ApiResult<GroupRsp> getGroupById(@PathVariable UUID id) {
         logger.info("收到根据ID获取分组请求: {}", id);
@@ -0,0 +1,51 @@
+package com.reythecoder.organization.controller;
+
+import com.reythecoder.common.dto.ApiResult;
+import com.reythecoder.organization.dto.response.ImportErrorRsp;
+import com.reythecoder.organization.dto.response.ImportJobRsp;
+import com.reythecoder.organization.entity.ImportType;
+import com.reythecoder.organization.service.ImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/imports")
+public class ImportController {
+
+    private final ImportService importService;
+
+    @Autowired
+    public ImportController(ImportService importService) {
+        this.importService = importService;
+    }
+
+    /**
+     * 上传 CSV 文件导入，请求体直接流式读取；失败的任务可带 jobId 重新上传同一文件续传
+     */
+    @PostMapping(value = "/{type}",
+            consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ApiResult<ImportJobRsp> importCsv(@PathVariable String type,
+                                             @RequestParam(required = false) UUID jobId,
+                                             InputStream body) {
+        ImportJobRsp job = importService.importCsv(ImportType.fromPath(type), body, jobId);
+        return ApiResult.success(job);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ApiResult<ImportJobRsp> getImportJob(@PathVariable UUID jobId) {
+        ImportJobRsp job = importService.getImportJob(jobId);
+        return ApiResult.success(job);
+    }
+
+    @GetMapping("/jobs/{jobId}/errors")
+    public ApiResult<List<ImportErrorRsp>> getImportErrors(@PathVariable UUID jobId,
+                                                           @RequestParam(required = false) Integer batchNo) {
+        List<ImportErrorRsp> errors = importService.getImportErrors(jobId, batchNo);
+        return ApiResult.success(errors);
+    }
+}
@@ -1,17 +1,43 @@
 package com.reythecoder.organization.controller;
 
+import com.reythecoder.organization.dto.request.BreadcrumbBatchReq;
+import com.reythecoder.organization.dto.request.BulkCreateTreeNodeReq;
+import com.reythecoder.organization.dto.request.CloneTreeNodeReq;
 import com.reythecoder.organization.dto.request.CreateTreeNodeReq;
+import com.reythecoder.organization.dto.request.EntityNodeBatchReq;
 import com.reythecoder.organization.dto.request.MoveTreeNodeReq;
+import com.reythecoder.organization.dto.request.ReorderTreeNodesReq;
+import com.reythecoder.organization.dto.request.TreeExportFormat;
 import com.reythecoder.organization.dto.request.UpdateTreeNodeReq;
 import com.reythecoder.common.dto.ApiResult;
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.rank.RankRebalanceReport;
+import com.reythecoder.common.utils.ContentEncodingUtils;
+import com.reythecoder.organization.cache.SubtreeResponseCache;
+import com.reythecoder.organization.cache.SubtreeResponseCache.CachedBody;
+import com.reythecoder.organization.dto.response.BreadcrumbRsp;
+import com.reythecoder.organization.dto.response.BulkCreateTreeNodeRsp;
+import com.reythecoder.organization.dto.response.CloneTreeNodeRsp;
+import com.reythecoder.organization.dto.response.EntityNodesRsp;
+import com.reythecoder.organization.dto.response.RemoveNodeRsp;
+import com.reythecoder.organization.dto.response.ReorderTreeNodesRsp;
+import com.reythecoder.organization.dto.response.TreeChangesRsp;
 import com.reythecoder.organization.dto.response.TreeNodeRsp;
+import com.reythecoder.organization.entity.EntityType;
 import com.reythecoder.organization.service.OrgTreeNodeService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,9 +51,12 @@ public class OrgTreeNodeController {
     private static final Logger logger = LoggerFactory.getLogger(OrgTreeNodeController.class);
 
     private final OrgTreeNodeService orgTreeNodeService;
+    private final SubtreeResponseCache subtreeResponseCache;
 
-    public OrgTreeNodeController(OrgTreeNodeService orgTreeNodeService) {
+    public OrgTreeNodeController(OrgTreeNodeService orgTreeNodeService,
+                                 SubtreeResponseCache subtreeResponseCache) {
         this.orgTreeNodeService = orgTreeNodeService;
+        this.subtreeResponseCache = subtreeResponseCache;
     }
 
     /**
@@ -51,6 +80,21 @@ public class OrgTreeNodeController {
         return ApiResult.success("节点创建成功", node);
     }
 
+    /**
+     * Create many tree nodes under an existing parent in one transaction.
+     *
+     * @param req the bulk create request, nested or flat
+     * @return the created node IDs in request order
+     */
+    @PostMapping("/bulk")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ApiResult<BulkCreateTreeNodeRsp> createNodes(@Valid @RequestBody BulkCreateTreeNodeReq req) {
+        logger.info("收到批量创建树节点请求：parentId={}, topLevelCount={}", req.getParentId(), req.getNodes().size());
+
+        BulkCreateTreeNodeRsp created = orgTreeNodeService.createNodes(req.getParentId(), req.getNodes());
+        return ApiResult.success("批量创建节点成功", created);
+    }
+
     /**
      * Get a tree node by ID.
      *
@@ -83,18 +127,17 @@ public class OrgTreeNodeController {
     }
 
     /**
-     * Remove a tree node.
+     * Remove a tree node and its whole subtree.
      *
      * @param nodeId the node ID
-     * @return success response
+     * @return the removed node count, flagged async when deletion runs in the background
      */
     @PostMapping("/{nodeId}/remove")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public ApiResult<Void> removeNode(@PathVariable UUID nodeId) {
+    public ApiResult<RemoveNodeRsp> removeNode(@PathVariable UUID nodeId) {
         logger.info("收到删除树节点请求：nodeId={}", nodeId);
 
-        orgTreeNodeService.removeNode(nodeId);
-        return ApiResult.success("节点删除成功", null);
+        RemoveNodeRsp removed = orgTreeNodeService.removeNode(nodeId);
+        return ApiResult.success(removed.isAsync() ? "节点删除任务已提交" : "节点删除成功", removed);
     }
 
     /**
@@ -113,50 +156,176 @@ public class OrgTreeNodeController {
         return ApiResult.success("节点移动成功", node);
     }
 
+    /**
+     * Copy a subtree, or its top levels, under another parent.
+     *
+     * @param nodeId the subtree root to copy
+     * @param req the target parent and depth
+     * @return the new root ID and the number of created nodes
+     */
+    @PostMapping("/{nodeId}/clone")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ApiResult<CloneTreeNodeRsp> cloneSubTree(@PathVariable UUID nodeId,
+                                                    @Valid @RequestBody CloneTreeNodeReq req) {
+        logger.info("收到复制子树请求：nodeId={}, targetParentId={}, depth={}",
+                nodeId, req.getTargetParentId(), req.getDepth());
+
+        CloneTreeNodeRsp cloned = orgTreeNodeService.cloneSubTree(nodeId, req.getTargetParentId(), req.getDepth());
+        return ApiResult.success("子树复制成功", cloned);
+    }
+
+    /**
+     * Reorder the children of a parent in one batch.
+     *
+     * @param nodeId the parent node ID
+     * @param req the target order or move-after instructions
+     * @return the children whose sort rank changed
+     */
+    @PostMapping("/{nodeId}/children/reorder")
+    public ApiResult<ReorderTreeNodesRsp> reorderChildren(@PathVariable UUID nodeId,
+                                                          @Valid @RequestBody ReorderTreeNodesReq req) {
+        logger.info("收到批量调整子节点顺序请求：nodeId={}", nodeId);
+
+        ReorderTreeNodesRsp reordered = orgTreeNodeService.reorderChildren(nodeId, req.getOrderedIds(), req.getMoves());
+        return ApiResult.success("子节点顺序调整成功", reordered);
+    }
+
     /**
      * Get all direct children of a parent node.
      *
      * @param nodeId the parent node ID
-     * @return list of child nodes
+     * @param request the current request, checked against the subtree ETag
+     * @return list of child nodes, or 304 when unchanged
      */
     @GetMapping("/{nodeId}/children")
-    public ApiResult<List<TreeNodeRsp>> getChildren(@PathVariable UUID nodeId) {
+    public ApiResult<List<TreeNodeRsp>> getChildren(@PathVariable UUID nodeId, WebRequest request) {
         logger.info("收到获取子节点列表请求：nodeId={}", nodeId);
 
+        if (isNotModified(request, nodeId, "children")) {
+            return null;
+        }
+
         List<TreeNodeRsp> children = orgTreeNodeService.getChildren(nodeId);
         return ApiResult.success(children);
     }
 
+    /**
+     * Get one page of direct children of a parent node.
+     *
+     * @param nodeId the parent node ID
+     * @param pageToken continuation token from the previous page
+     * @param pageSize the page size, capped by configuration
+     * @param type optional entity type filter
+     * @return the page of child nodes
+     */
+    @GetMapping("/{nodeId}/children/page")
+    public ApiResult<CursorPage<TreeNodeRsp>> getChildrenPage(@PathVariable UUID nodeId,
+                                                              @RequestParam(required = false) String pageToken,
+                                                              @RequestParam(required = false) Integer pageSize,
+                                                              @RequestParam(required = false) EntityType type) {
+        logger.info("收到分页获取子节点列表请求：nodeId={}, pageSize={}, type={}", nodeId, pageSize, type);
+
+        CursorPage<TreeNodeRsp> page = orgTreeNodeService.getChildrenPage(nodeId, pageToken, pageSize, type);
+        return ApiResult.success(page);
+    }
+
     /**
      * Get a subtree starting from the specified node.
      *
+     * The body is served from the serialized response cache while the subtree
+     * version is unchanged, gzip-encoded when the client accepts it.
+     *
      * @param nodeId the root node ID of the subtree
      * @param depth the maximum depth to load (-1 for unlimited)
-     * @return the subtree
+     * @param request the current request, checked against the subtree ETag
+     * @param response the response the serialized subtree is written to
+     * @throws IOException when writing to the client fails
      */
     @GetMapping("/{nodeId}/subtree")
-    public ApiResult<TreeNodeRsp> getSubtree(@PathVariable UUID nodeId,
-                                             @RequestParam(required = false) Integer depth) {
+    public void getSubtree(@PathVariable UUID nodeId,
+                           @RequestParam(required = false) Integer depth,
+                           WebRequest request,
+                           HttpServletResponse response) throws IOException {
         logger.info("收到获取子树请求：nodeId={}, depth={}", nodeId, depth);
 
-        TreeNodeRsp subtree = orgTreeNodeService.getSubTree(nodeId, depth);
-        return ApiResult.success(subtree);
+        // Read the version before the body so a cached body is never newer than its tag
+        String version = orgTreeNodeService.getSubtreeVersion(nodeId);
+        if (isNotModified(request, nodeId, "subtree-" + depth, version)) {
+            return;
+        }
+
+        CachedBody body = subtreeResponseCache.get(nodeId, depth, version,
+                () -> ApiResult.success(orgTreeNodeService.getSubTree(nodeId, depth)));
+        byte[] bytes = body.json();
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (body.gzip() != null && ContentEncodingUtils.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            bytes = body.gzip();
+        }
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
     }
 
     /**
-     * Get all descendant nodes of a given node.
+     * Get the descendant nodes of a given node, optionally only those within
+     * a number of levels below it or of one entity type.
      *
      * @param nodeId the node ID
-     * @return list of all descendant nodes
+     * @param depth the number of levels below the node (omit or -1 for all levels)
+     * @param type optional entity type filter
+     * @param request the current request, checked against the subtree ETag
+     * @return list of matching descendant nodes, or 304 when unchanged
      */
     @GetMapping("/{nodeId}/descendants")
-    public ApiResult<List<TreeNodeRsp>> getDescendants(@PathVariable UUID nodeId) {
-        logger.info("收到获取所有后代节点请求：nodeId={}", nodeId);
+    public ApiResult<List<TreeNodeRsp>> getDescendants(@PathVariable UUID nodeId,
+                                                       @RequestParam(required = false) Integer depth,
+                                                       @RequestParam(required = false) EntityType type,
+                                                       WebRequest request) {
+        logger.info("收到获取后代节点请求：nodeId={}, depth={}, type={}", nodeId, depth, type);
+
+        boolean bounded = depth != null || type != null;
+        if (isNotModified(request, nodeId, bounded ? "descendants-" + depth + "-" + type : "descendants")) {
+            return null;
+        }
 
-        List<TreeNodeRsp> descendants = orgTreeNodeService.getAllDescendants(nodeId);
+        List<TreeNodeRsp> descendants = bounded
+                ? orgTreeNodeService.getDescendants(nodeId, depth, type)
+                : orgTreeNodeService.getAllDescendants(nodeId);
         return ApiResult.success(descendants);
     }
 
+    /**
+     * Stream a subtree as NDJSON or CSV in pre-order, without building the
+     * whole result in memory.
+     *
+     * @param nodeId the subtree root node ID
+     * @param format the output format
+     * @param depth the maximum depth counting the root as 1 (omit or -1 for unlimited)
+     * @param type optional entity type filter
+     * @param response the response the export is written to
+     * @throws IOException when writing to the client fails
+     */
+    @GetMapping("/{nodeId}/export")
+    public void exportSubtree(@PathVariable UUID nodeId,
+                              @RequestParam(defaultValue = "NDJSON") TreeExportFormat format,
+                              @RequestParam(required = false) Integer depth,
+                              @RequestParam(required = false) EntityType type,
+                              HttpServletResponse response) throws IOException {
+        logger.info("收到导出子树请求：nodeId={}, format={}, depth={}, type={}", nodeId, format, depth, type);
+
+        // Resolve the node first so that an unknown ID is still answered as JSON
+        orgTreeNodeService.getNode(nodeId);
+
+        response.setContentType(format.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("subtree-" + nodeId + "." + format.getExtension())
+                .build()
+                .toString());
+        orgTreeNodeService.exportSubTree(nodeId, depth, type, format, response.getOutputStream());
+    }
+
     /**
      * Get all ancestor nodes of a given node.
      *
@@ -171,6 +340,107 @@ public class OrgTreeNodeController {
         return ApiResult.success(ancestors);
     }
 
+    /**
+     * Resolve the tree nodes of many business entities in one request.
+     *
+     * @param req the entities and whether to include breadcrumbs
+     * @return one entry per distinct entity in request order
+     */
+    @PostMapping("/by-entities")
+    public ApiResult<List<EntityNodesRsp>> getNodesByEntities(@Valid @RequestBody EntityNodeBatchReq req) {
+        logger.info("收到批量获取实体树节点请求：count={}, includePath={}", req.getEntities().size(), req.isIncludePath());
+
+        List<EntityNodesRsp> nodes = orgTreeNodeService.getNodesByEntities(req.getEntities(), req.isIncludePath());
+        return ApiResult.success(nodes);
+    }
+
+    /**
+     * Search nodes by name, matching the keyword as prefix or infix.
+     *
+     * @param keyword the keyword
+     * @param type optional entity type filter
+     * @param limit the maximum number of hits, capped by configuration
+     * @return the best hits with their breadcrumbs
+     */
+    @GetMapping("/search")
+    public ApiResult<List<BreadcrumbRsp>> searchNodes(@RequestParam String keyword,
+                                                      @RequestParam(required = false) EntityType type,
+                                                      @RequestParam(required = false) Integer limit) {
+        logger.info("收到搜索树节点请求：keyword={}, type={}, limit={}", keyword, type, limit);
+
+        List<BreadcrumbRsp> hits = orgTreeNodeService.searchNodes(keyword, type, limit);
+        return ApiResult.success(hits);
+    }
+
+    /**
+     * Get breadcrumbs for multiple nodes in one request.
+     *
+     * @param req the node IDs to resolve
+     * @return breadcrumbs in request order, unknown nodes skipped
+     */
+    @PostMapping("/breadcrumbs")
+    public ApiResult<List<BreadcrumbRsp>> getBreadcrumbs(@Valid @RequestBody BreadcrumbBatchReq req) {
+        logger.info("收到批量获取节点路径请求：count={}", req.getNodeIds().size());
+
+        List<BreadcrumbRsp> breadcrumbs = orgTreeNodeService.getBreadcrumbs(req.getNodeIds());
+        return ApiResult.success(breadcrumbs);
+    }
+
+    /**
+     * Recompute statistics rollups for the whole tree.
+     *
+     * @return the number of rollup rows written
+     */
+    @PostMapping("/statistics/rebuild")
+    public ApiResult<Integer> rebuildStatistics() {
+        logger.info("收到重建组织树统计请求");
+
+        int rows = orgTreeNodeService.rebuildStatistics();
+        return ApiResult.success("统计重建成功", rows);
+    }
+
+    /**
+     * Rebalance sibling sort ranks that exceed the configured length threshold.
+     *
+     * @return the rebalanced groups, rows and reclaimed characters
+     */
+    @PostMapping("/ranks/rebalance")
+    public ApiResult<RankRebalanceReport> rebalanceRanks() {
+        logger.info("收到重排组织树排序值请求");
+
+        RankRebalanceReport report = orgTreeNodeService.rebalanceRanks();
+        return ApiResult.success("排序值重排成功", report);
+    }
+
+    /**
+     * Get the current tree version.
+     *
+     * @return the current tree version
+     */
+    @GetMapping("/version")
+    public ApiResult<Long> getTreeVersion() {
+        logger.info("收到获取树版本号请求");
+
+        long version = orgTreeNodeService.getTreeVersion();
+        return ApiResult.success(version);
+    }
+
+    /**
+     * Get tree changes after a version.
+     *
+     * @param sinceVersion the last version the caller has applied
+     * @param limit the maximum number of changes, capped by configuration
+     * @return the changes and the version to continue from
+     */
+    @GetMapping("/changes")
+    public ApiResult<TreeChangesRsp> getChanges(@RequestParam(required = false) Long sinceVersion,
+                                                @RequestParam(required = false) Integer limit) {
+        logger.info("收到获取树变更记录请求：sinceVersion={}, limit={}", sinceVersion, limit);
+
+        TreeChangesRsp changes = orgTreeNodeService.getChanges(sinceVersion, limit);
+        return ApiResult.success(changes);
+    }
+
     /**
      * Get the root node of the organization tree.
      *
@@ -198,4 +468,40 @@ public class OrgTreeNodeController {
         List<TreeNodeRsp> children = orgTreeNodeService.getChildren(root.getId());
         return ApiResult.success(children);
     }
+
+    /**
+     * Get one page of direct children of the root node.
+     *
+     * @param pageToken continuation token from the previous page
+     * @param pageSize the page size, capped by configuration
+     * @param type optional entity type filter
+     * @return the page of root's child nodes
+     */
+    @GetMapping("/root/children/page")
+    public ApiResult<CursorPage<TreeNodeRsp>> getRootChildrenPage(@RequestParam(required = false) String pageToken,
+                                                                  @RequestParam(required = false) Integer pageSize,
+                                                                  @RequestParam(required = false) EntityType type) {
+        logger.info("收到分页获取根节点子节点请求：pageSize={}, type={}", pageSize, type);
+
+        TreeNodeRsp root = orgTreeNodeService.getRootNode();
+        CursorPage<TreeNodeRsp> page = orgTreeNodeService.getChildrenPage(root.getId(), pageToken, pageSize, type);
+        return ApiResult.success(page);
+    }
+
+    /**
+     * Set a strong ETag from the subtree version and check {@code If-None-Match}.
+     * A match is answered with 304 before the subtree is loaded.
+     *
+     * @param request the current request
+     * @param nodeId the subtree root node ID
+     * @param variant the representation variant, distinguishing endpoints and parameters
+     * @return true when the client's copy is current
+     */
+    private boolean isNotModified(WebRequest request, UUID nodeId, String variant) {
+        return isNotModified(request, nodeId, variant, orgTreeNodeService.getSubtreeVersion(nodeId));
+    }
+
+    private boolean isNotModified(WebRequest request, UUID nodeId, String variant, String version) {
+        return version != null && request.checkNotModified(variant + "-" + nodeId + "-" + version);
+    }
 }
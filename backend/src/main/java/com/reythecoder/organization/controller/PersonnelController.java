@@ -3,10 +3,14 @@ package com.reythecoder.organization.controller;
 import com.reythecoder.organization.dto.request.PersonnelCreateReq;
 import com.reythecoder.organization.dto.request.PersonnelUpdateReq;
 import com.reythecoder.common.dto.ApiResult;
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.KeysetSort;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.response.PersonnelRsp;
 import com.reythecoder.organization.service.PersonnelService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
@@ -30,6 +34,19 @@ public class PersonnelController {
         return ApiResult.success(personnel);
     }
 
+    @GetMapping("/page")
+    public ApiResult<CursorPage<PersonnelRsp>> getPersonnelPage(@RequestParam(required = false) String name,
+                                                               @RequestParam(required = false) String idCard,
+                                                               @RequestParam(required = false) String mobile,
+                                                               @RequestParam(required = false) String pageToken,
+                                                               @RequestParam(required = false) Integer pageSize,
+                                                               @RequestParam(required = false) KeysetSort sort,
+                                                               @RequestParam(required = false) Sort.Direction direction) {
+        CursorPage<PersonnelRsp> page = personnelService.getPersonnelPage(name, idCard, mobile,
+                new PageQuery(pageToken, pageSize, sort, direction));
+        return ApiResult.success(page);
+    }
+
     @GetMapping("/{id}")
     public ApiResult<PersonnelRsp> getPersonnelById(@PathVariable UUID id) {
         PersonnelRsp personnel = personnelService.getPersonnelById(id);
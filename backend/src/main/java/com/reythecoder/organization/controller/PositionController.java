@@ -3,11 +3,15 @@ package com.reythecoder.organization.controller;
 import com.reythecoder.organization.dto.request.PositionCreateReq;
 import com.reythecoder.organization.dto.request.PositionUpdateReq;
 import com.reythecoder.common.dto.ApiResult;
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.KeysetSort;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.response.PositionRsp;
 import com.reythecoder.organization.service.PositionService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
@@ -31,6 +35,24 @@ public class PositionController {
         return ApiResult.success(positions);
     }
 
+    @GetMapping("/page")
+    public ApiResult<CursorPage<PositionRsp>> getPositionPage(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String code,
+            @RequestParam(required = false) String jobLevel,
+            @RequestParam(required = false) String jobCategory,
+            @RequestParam(required = false) Integer status,
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(required = false) Integer pageSize,
+            @RequestParam(required = false) KeysetSort sort,
+            @RequestParam(required = false) Sort.Direction direction) {
+        logger.info("收到分页获取岗位请求：jobLevel={}, jobCategory={}, status={}, pageSize={}, sort={}",
+                jobLevel, jobCategory, status, pageSize, sort);
+        CursorPage<PositionRsp> page = positionService.getPositionPage(name, code, jobLevel, jobCategory, status,
+                new PageQuery(pageToken, pageSize, sort, direction));
+        return ApiResult.success(page);
+    }
+
     @GetMapping("/{id}")
     public ApiResult<PositionRsp> getPositionById(@PathVariable UUID id) {
         logger.info("收到根据 ID 获取岗位请求：{}", id);
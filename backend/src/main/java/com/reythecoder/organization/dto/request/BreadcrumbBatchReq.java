@@ -0,0 +1,28 @@
+package com.reythecoder.organization.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request DTO for resolving breadcrumbs of multiple tree nodes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BreadcrumbBatchReq {
+
+    /**
+     * Tree node IDs to resolve.
+     */
+    @NotEmpty(message = "节点 ID 列表不能为空")
+    @Size(max = 1000, message = "单次最多查询 1000 个节点")
+    private List<UUID> nodeIds;
+}
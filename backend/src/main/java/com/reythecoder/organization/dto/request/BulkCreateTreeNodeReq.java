@@ -0,0 +1,35 @@
+package com.reythecoder.organization.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request DTO for creating many tree nodes at once.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateTreeNodeReq {
+
+    /**
+     * Existing node under which the top-level nodes are appended.
+     */
+    @NotNull(message = "父节点 ID 不能为空")
+    private UUID parentId;
+
+    /**
+     * Nodes to create, nested or flat, in display order.
+     */
+    @NotEmpty(message = "节点列表不能为空")
+    @Valid
+    private List<BulkTreeNodeItem> nodes;
+}
@@ -0,0 +1,65 @@
+package com.reythecoder.organization.dto.request;
+
+import com.reythecoder.organization.entity.EntityType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One node of a bulk creation request.
+ *
+ * Nodes may be nested through {@code children}, or given as a flat list where
+ * {@code parentRef} points at the {@code ref} of another node in the same request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTreeNodeItem {
+
+    /**
+     * Client-side reference, unique within the request.
+     */
+    @Size(max = 64, message = "引用标识长度不能超过 64 个字符")
+    private String ref;
+
+    /**
+     * Reference of the parent node in the same request (flat lists only).
+     * Top-level nodes without it are created under the request's parent.
+     */
+    @Size(max = 64, message = "父节点引用标识长度不能超过 64 个字符")
+    private String parentRef;
+
+    /**
+     * Entity type (GROUP, DEPARTMENT, PERSONNEL).
+     */
+    @NotNull(message = "实体类型不能为空")
+    private EntityType entityType;
+
+    /**
+     * Entity ID (the actual group/department/personnel ID).
+     */
+    @NotNull(message = "实体 ID 不能为空")
+    private UUID entityId;
+
+    /**
+     * Node alias (display name in the tree).
+     */
+    @NotBlank(message = "节点别名不能为空")
+    @Size(max = 100, message = "节点别名长度不能超过 100 个字符")
+    private String alias;
+
+    /**
+     * Nested child nodes, in display order.
+     */
+    @Valid
+    private List<BulkTreeNodeItem> children;
+}
@@ -0,0 +1,30 @@
+package com.reythecoder.organization.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Request DTO for copying a subtree under another parent.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CloneTreeNodeReq {
+
+    /**
+     * Parent node the copy is attached to.
+     */
+    @NotNull(message = "目标父节点 ID 不能为空")
+    private UUID targetParentId;
+
+    /**
+     * Depth to copy, counting the subtree root as 1; null or -1 copies the whole subtree.
+     */
+    private Integer depth;
+}
@@ -0,0 +1,34 @@
+package com.reythecoder.organization.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for resolving the tree nodes of multiple business entities.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntityNodeBatchReq {
+
+    /**
+     * Entities to resolve.
+     */
+    @NotEmpty(message = "实体列表不能为空")
+    @Valid
+    @Size(max = 5000, message = "单次最多查询 5000 个实体")
+    private List<EntityRefItem> entities;
+
+    /**
+     * Whether to include each node's breadcrumb.
+     */
+    private boolean includePath;
+}
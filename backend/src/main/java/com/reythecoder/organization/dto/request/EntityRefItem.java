@@ -0,0 +1,32 @@
+package com.reythecoder.organization.dto.request;
+
+import com.reythecoder.organization.entity.EntityType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * A business entity referenced by type and ID.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntityRefItem {
+
+    /**
+     * Entity type (GROUP, DEPARTMENT, PERSONNEL).
+     */
+    @NotNull(message = "实体类型不能为空")
+    private EntityType type;
+
+    /**
+     * Business entity ID.
+     */
+    @NotNull(message = "实体 ID 不能为空")
+    private UUID entityId;
+}
@@ -0,0 +1,76 @@
+package com.reythecoder.organization.dto.request;
+
+import com.reythecoder.common.exception.ApiException;
+
+import java.util.List;
+
+/**
+ * 批量导出类型
+ *
+ * 列名与批量导入的列名一致（下划线形式），导出的 CSV 去掉 id 等只读列后可直接再导入。
+ */
+public enum ExportType {
+
+    /**
+     * 未删除的人员
+     */
+    PERSONNEL("personnel", List.of("id", "name", "gender", "id_card", "mobile", "telephone", "fax", "email",
+            "create_time", "update_time")),
+
+    /**
+     * 未删除的部门
+     */
+    DEPARTMENT("departments", List.of("id", "name", "english_name", "short_name", "org_code", "phone", "fax",
+            "email", "address", "postal_code", "create_time", "update_time")),
+
+    /**
+     * 岗位
+     */
+    POSITION("positions", List.of("id", "name", "code", "description", "job_level", "job_category",
+            "min_salary", "max_salary", "status", "create_time", "update_time")),
+
+    /**
+     * 人员岗位任职，附带人员身份证号、岗位编码和部门组织编码
+     */
+    PERSONNEL_POSITION("personnel-positions", List.of("id", "personnel_id", "id_card", "position_id",
+            "position_code", "department_id", "org_code", "is_primary", "start_date", "end_date", "status",
+            "create_time", "update_time"));
+
+    private final String path;
+    private final List<String> columns;
+
+    ExportType(String path, List<String> columns) {
+        this.path = path;
+        this.columns = columns;
+    }
+
+    /**
+     * @return 导出接口中使用的路径名
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return 导出的列名，按输出顺序排列
+     */
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * 根据路径名查找导出类型
+     *
+     * @param path 路径名
+     * @return 导出类型
+     * @throws ApiException 不支持的导出类型（400）
+     */
+    public static ExportType fromPath(String path) {
+        for (ExportType type : values()) {
+            if (type.path.equals(path)) {
+                return type;
+            }
+        }
+        throw new ApiException(400, "不支持的导出类型：" + path);
+    }
+}
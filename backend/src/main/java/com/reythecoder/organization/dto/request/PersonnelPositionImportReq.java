@@ -0,0 +1,39 @@
+package com.reythecoder.organization.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 人员岗位任职导入行，人员、岗位、部门分别按身份证号、岗位编码、组织编码关联
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonnelPositionImportReq {
+
+    @NotBlank(message = "身份证号不能为空")
+    @Size(max = 18, message = "身份证号长度不能超过 18 个字符")
+    private String idCard;
+
+    @NotBlank(message = "岗位编码不能为空")
+    @Size(max = 50, message = "岗位编码长度不能超过 50 个字符")
+    private String positionCode;
+
+    @Size(max = 50, message = "组织编码长度不能超过 50 个字符")
+    private String orgCode;
+
+    private Boolean isPrimary;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private Integer status;
+}
@@ -0,0 +1,30 @@
+package com.reythecoder.organization.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * A single move-after instruction of a sibling reorder.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReorderMoveItem {
+
+    /**
+     * Child node to move.
+     */
+    @NotNull(message = "节点 ID 不能为空")
+    private UUID nodeId;
+
+    /**
+     * Sibling to place the node after; null moves it to the first position.
+     */
+    private UUID afterNodeId;
+}
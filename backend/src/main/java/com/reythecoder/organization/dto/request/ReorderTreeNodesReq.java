@@ -0,0 +1,35 @@
+package com.reythecoder.organization.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request DTO for reordering the children of a parent in one batch.
+ * Exactly one of {@code orderedIds} and {@code moves} must be given.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReorderTreeNodesReq {
+
+    /**
+     * Target order of all children of the parent.
+     */
+    @Size(max = 10000, message = "单次最多排序 10000 个节点")
+    private List<UUID> orderedIds;
+
+    /**
+     * Move-after instructions, applied in order.
+     */
+    @Valid
+    @Size(max = 10000, message = "单次最多包含 10000 条移动指令")
+    private List<ReorderMoveItem> moves;
+}
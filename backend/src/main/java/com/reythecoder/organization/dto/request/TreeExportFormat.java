@@ -0,0 +1,32 @@
+package com.reythecoder.organization.dto.request;
+
+/**
+ * Output format of a streamed export.
+ */
+public enum TreeExportFormat {
+    /**
+     * One JSON object per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * RFC 4180 CSV with a header row.
+     */
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    TreeExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,34 @@
+package com.reythecoder.organization.dto.response;
+
+import com.reythecoder.organization.entity.EntityType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * A single breadcrumb segment.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BreadcrumbItem {
+
+    /**
+     * Tree node ID.
+     */
+    private UUID id;
+
+    /**
+     * Entity type (ROOT, GROUP, DEPARTMENT, PERSONNEL).
+     */
+    private EntityType type;
+
+    /**
+     * Node name/alias.
+     */
+    private String name;
+}
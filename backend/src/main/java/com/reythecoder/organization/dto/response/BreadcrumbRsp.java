@@ -0,0 +1,29 @@
+package com.reythecoder.organization.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for the breadcrumb of a tree node.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BreadcrumbRsp {
+
+    /**
+     * Tree node ID.
+     */
+    private UUID nodeId;
+
+    /**
+     * Path segments from the root down to the node itself.
+     */
+    private List<BreadcrumbItem> path;
+}
@@ -0,0 +1,34 @@
+package com.reythecoder.organization.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for a bulk node creation.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateTreeNodeRsp {
+
+    /**
+     * Parent node the batch was created under.
+     */
+    private UUID parentId;
+
+    /**
+     * Number of nodes created.
+     */
+    private int createdCount;
+
+    /**
+     * IDs of the created nodes, in request order (depth-first for nested input).
+     */
+    private List<UUID> nodeIds;
+}
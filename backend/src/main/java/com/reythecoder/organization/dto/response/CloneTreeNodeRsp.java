@@ -0,0 +1,38 @@
+package com.reythecoder.organization.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Response DTO for a subtree copy.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CloneTreeNodeRsp {
+
+    /**
+     * Root of the copied source subtree.
+     */
+    private UUID sourceId;
+
+    /**
+     * Root of the new copy.
+     */
+    private UUID nodeId;
+
+    /**
+     * Parent the copy was attached to.
+     */
+    private UUID parentId;
+
+    /**
+     * Number of nodes created, including the new root.
+     */
+    private int createdCount;
+}
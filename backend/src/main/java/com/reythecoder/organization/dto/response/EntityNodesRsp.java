@@ -0,0 +1,40 @@
+package com.reythecoder.organization.dto.response;
+
+import com.reythecoder.organization.entity.EntityType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for the tree nodes of one business entity.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntityNodesRsp {
+
+    /**
+     * Entity type.
+     */
+    private EntityType type;
+
+    /**
+     * Business entity ID.
+     */
+    private UUID entityId;
+
+    /**
+     * Tree nodes of the entity, empty when it is not placed in the tree.
+     */
+    private List<TreeNodeRsp> nodes;
+
+    /**
+     * Breadcrumbs of the nodes in the same order, or null when not requested.
+     */
+    private List<BreadcrumbRsp> paths;
+}
@@ -0,0 +1,19 @@
+package com.reythecoder.organization.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量导入中未导入的一行
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportErrorRsp {
+    private int batchNo;
+    private long lineNumber;
+    private String message;
+}
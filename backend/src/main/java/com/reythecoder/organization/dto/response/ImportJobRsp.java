@@ -0,0 +1,40 @@
+package com.reythecoder.organization.dto.response;
+
+import com.reythecoder.organization.entity.ImportStatus;
+import com.reythecoder.organization.entity.ImportType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * 批量导入任务进度
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobRsp {
+    private UUID id;
+    private ImportType type;
+    private ImportStatus status;
+
+    /**
+     * 已提交的数据行数，续传时从其后继续
+     */
+    private long processedRows;
+    private int batchCount;
+    private long importedCount;
+    private long skippedCount;
+    private long errorCount;
+
+    /**
+     * 失败原因，未失败时为空
+     */
+    private String message;
+    private OffsetDateTime createTime;
+    private OffsetDateTime updateTime;
+}
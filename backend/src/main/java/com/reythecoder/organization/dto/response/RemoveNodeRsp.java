@@ -0,0 +1,33 @@
+package com.reythecoder.organization.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Response DTO for a subtree removal.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RemoveNodeRsp {
+
+    /**
+     * Removed subtree root node ID.
+     */
+    private UUID nodeId;
+
+    /**
+     * Number of nodes deleted, or scheduled for deletion when async.
+     */
+    private long removedCount;
+
+    /**
+     * Whether the deletion runs in the background.
+     */
+    private boolean async;
+}
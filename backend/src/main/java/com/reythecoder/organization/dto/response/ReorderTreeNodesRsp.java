@@ -0,0 +1,34 @@
+package com.reythecoder.organization.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for a batch sibling reorder.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReorderTreeNodesRsp {
+
+    /**
+     * Parent node whose children were reordered.
+     */
+    private UUID parentId;
+
+    /**
+     * Number of children whose sort rank changed.
+     */
+    private int changedCount;
+
+    /**
+     * Children whose sort rank changed, in the new order.
+     */
+    private List<SortRankItem> changes;
+}
@@ -0,0 +1,28 @@
+package com.reythecoder.organization.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * A node together with its new sort rank.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SortRankItem {
+
+    /**
+     * Tree node ID.
+     */
+    private UUID id;
+
+    /**
+     * New sort rank (LexoRank format).
+     */
+    private String sortRank;
+}
@@ -0,0 +1,71 @@
+package com.reythecoder.organization.dto.response;
+
+import com.reythecoder.organization.entity.EntityType;
+import com.reythecoder.organization.entity.TreeChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Response DTO for one entry of the tree change feed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TreeChangeItem {
+
+    /**
+     * Tree version produced by this change.
+     */
+    private long version;
+
+    /**
+     * Change type; MOVED and REMOVED apply to the node's whole subtree.
+     */
+    private TreeChangeType changeType;
+
+    /**
+     * Changed node ID.
+     */
+    private UUID nodeId;
+
+    /**
+     * Parent node ID after the change, or before it for REMOVED.
+     */
+    private UUID parentId;
+
+    /**
+     * Entity type (ROOT, GROUP, DEPARTMENT, PERSONNEL).
+     */
+    private EntityType type;
+
+    /**
+     * Related business entity ID.
+     */
+    private UUID entityId;
+
+    /**
+     * Node name/alias.
+     */
+    private String name;
+
+    /**
+     * Tree level of the node.
+     */
+    private Integer level;
+
+    /**
+     * Sort rank among siblings.
+     */
+    private String sortRank;
+
+    /**
+     * Time the change was recorded.
+     */
+    private OffsetDateTime changeTime;
+}
@@ -0,0 +1,39 @@
+package com.reythecoder.organization.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for the incremental tree change feed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TreeChangesRsp {
+
+    /**
+     * Version the caller has caught up to after applying these changes;
+     * pass it as {@code sinceVersion} on the next call.
+     */
+    private long version;
+
+    /**
+     * Current tree version at the time of the call.
+     */
+    private long latestVersion;
+
+    /**
+     * Whether more changes follow after {@code version}.
+     */
+    private boolean hasMore;
+
+    /**
+     * Changes in version order.
+     */
+    private List<TreeChangeItem> changes;
+}
@@ -0,0 +1,41 @@
+package com.reythecoder.organization.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * 批量导入的行级错误报告
+ *
+ * 记录未导入的数据行：校验失败、引用不存在或重复跳过，按批次号归组。
+ */
+@Entity
+@Table(name = "org_import_error")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportErrorEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private UUID jobId;
+
+    @Column(name = "batch_no", nullable = false)
+    private int batchNo;
+
+    @Column(name = "line_number", nullable = false)
+    private long lineNumber;
+
+    @Column(name = "message", length = 500, nullable = false)
+    private String message;
+
+    @Column(name = "create_time", nullable = false)
+    private OffsetDateTime createTime;
+}
@@ -0,0 +1,66 @@
+package com.reythecoder.organization.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * 批量导入任务
+ *
+ * 每提交一个批次，已处理行数与各项计数在同一事务中累加，因此 processedRows 即断点：
+ * 续传时跳过文件中前 processedRows 个数据行，从下一批开始。
+ * 每次创建或接管任务都生成新的 claimToken，批次与状态只在令牌一致时写入，
+ * 被接管的旧请求因此无法再提交批次。
+ */
+@Entity
+@Table(name = "org_import_job")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobEntity {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "import_type", length = 30, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ImportType importType;
+
+    @Column(name = "status", length = 20, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ImportStatus status;
+
+    @Column(name = "claim_token", nullable = false)
+    private UUID claimToken;
+
+    @Column(name = "processed_rows", nullable = false)
+    private long processedRows;
+
+    @Column(name = "batch_count", nullable = false)
+    private int batchCount;
+
+    @Column(name = "imported_count", nullable = false)
+    private long importedCount;
+
+    @Column(name = "skipped_count", nullable = false)
+    private long skippedCount;
+
+    @Column(name = "error_count", nullable = false)
+    private long errorCount;
+
+    @Column(name = "message", length = 500, nullable = false)
+    private String message;
+
+    @Column(name = "create_time", nullable = false)
+    private OffsetDateTime createTime;
+
+    @Column(name = "update_time", nullable = false)
+    private OffsetDateTime updateTime;
+
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+}
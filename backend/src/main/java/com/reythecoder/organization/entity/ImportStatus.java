@@ -0,0 +1,22 @@
+package com.reythecoder.organization.entity;
+
+/**
+ * 批量导入任务状态
+ */
+public enum ImportStatus {
+
+    /**
+     * 执行中
+     */
+    RUNNING,
+
+    /**
+     * 中途失败，可从断点续传
+     */
+    FAILED,
+
+    /**
+     * 全部数据行已处理
+     */
+    COMPLETED
+}
@@ -0,0 +1,58 @@
+package com.reythecoder.organization.entity;
+
+import com.reythecoder.common.exception.ApiException;
+
+/**
+ * 批量导入类型
+ */
+public enum ImportType {
+
+    /**
+     * 人员，按身份证号去重
+     */
+    PERSONNEL("personnel"),
+
+    /**
+     * 部门，按组织编码去重（编码为空的行不去重）
+     */
+    DEPARTMENT("departments"),
+
+    /**
+     * 岗位，按岗位编码去重
+     */
+    POSITION("positions"),
+
+    /**
+     * 人员岗位任职，按身份证号、岗位编码、组织编码关联
+     */
+    PERSONNEL_POSITION("personnel-positions");
+
+    private final String path;
+
+    ImportType(String path) {
+        this.path = path;
+    }
+
+    /**
+     * @return 导入接口中使用的路径名
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * 根据路径名查找导入类型
+     *
+     * @param path 路径名
+     * @return 导入类型
+     * @throws ApiException 不支持的导入类型（400）
+     */
+    public static ImportType fromPath(String path) {
+        for (ImportType type : values()) {
+            if (type.path.equals(path)) {
+                return type;
+            }
+        }
+        throw new ApiException(400, "不支持的导入类型：" + path);
+    }
+}
@@ -0,0 +1,59 @@
+package com.reythecoder.organization.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Organization tree change log entity.
+ *
+ * One row per node change, appended in the transaction that made the change.
+ * The version is the tree version after the change; versions grow
+ * monotonically in commit order, so consumers can poll for every change
+ * after the last version they applied. Moves and removals are recorded for
+ * the subtree root only; its descendants follow it.
+ */
+@Entity
+@Table(name = "org_tree_change_log")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrgTreeChangeEntity {
+
+    @Id
+    @Column(name = "version")
+    private Long version;
+
+    @Column(name = "node_id", nullable = false)
+    private UUID nodeId;
+
+    @Column(name = "change_type", length = 20, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TreeChangeType changeType;
+
+    @Column(name = "parent_id")
+    private UUID parentId;
+
+    @Column(name = "entity_type", length = 20, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private UUID entityId;
+
+    @Column(name = "alias", length = 100, nullable = false)
+    private String alias;
+
+    @Column(name = "level", nullable = false)
+    private Integer level;
+
+    @Column(name = "sort_rank", length = 12, nullable = false)
+    private String sortRank;
+
+    @Column(name = "change_time", nullable = false)
+    private OffsetDateTime changeTime;
+}
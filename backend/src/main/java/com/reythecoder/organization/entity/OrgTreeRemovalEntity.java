@@ -0,0 +1,37 @@
+package com.reythecoder.organization.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Pending background removal of an organization tree subtree.
+ *
+ * The subtree root row is deleted when the removal is requested; this row
+ * keeps its ID so that the descendants stay hidden from reads and writes
+ * until they are deleted, and so that a failed removal can be retried.
+ */
+@Entity
+@Table(name = "org_tree_removal")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrgTreeRemovalEntity {
+
+    @Id
+    @Column(name = "node_id")
+    private UUID nodeId;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "create_time", nullable = false)
+    private OffsetDateTime createTime;
+
+    @Column(name = "update_time", nullable = false)
+    private OffsetDateTime updateTime;
+}
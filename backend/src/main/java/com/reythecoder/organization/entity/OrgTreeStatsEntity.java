@@ -0,0 +1,41 @@
+package com.reythecoder.organization.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Organization tree statistics entity.
+ *
+ * Holds the number of group, department and personnel nodes in the subtree
+ * of one tree node (excluding the node itself). Rows are maintained
+ * incrementally along the node's path whenever nodes are created, moved or
+ * removed, so statistics for any node are read with a primary key lookup.
+ *
+ * The table also carries a {@code subtree_version} counter, bumped with
+ * native statements whenever anything in the subtree changes. It backs the
+ * ETags of tree reads and is deliberately not mapped here.
+ */
+@Entity
+@Table(name = "org_tree_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrgTreeStatsEntity {
+
+    @Id
+    @Column(name = "node_id")
+    private UUID nodeId;
+
+    @Column(name = "sub_group_count", nullable = false)
+    private Integer subGroupCount;
+
+    @Column(name = "sub_department_count", nullable = false)
+    private Integer subDepartmentCount;
+
+    @Column(name = "personnel_count", nullable = false)
+    private Integer personnelCount;
+}
@@ -0,0 +1,26 @@
+package com.reythecoder.organization.entity;
+
+/**
+ * Change type recorded in the organization tree change log.
+ */
+public enum TreeChangeType {
+    /**
+     * Node was created.
+     */
+    CREATED,
+
+    /**
+     * Node alias or sort rank changed.
+     */
+    UPDATED,
+
+    /**
+     * Node moved to a new parent together with its subtree.
+     */
+    MOVED,
+
+    /**
+     * Node was removed together with its subtree.
+     */
+    REMOVED
+}
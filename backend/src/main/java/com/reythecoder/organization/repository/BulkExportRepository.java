@@ -0,0 +1,25 @@
+package com.reythecoder.organization.repository;
+
+import com.reythecoder.organization.dto.request.ExportType;
+
+import java.util.function.Consumer;
+
+/**
+ * 批量导出的游标查询
+ */
+public interface BulkExportRepository {
+
+    /**
+     * 以服务端游标按 id 顺序逐行读取导出数据
+     *
+     * 必须在事务中调用，PostgreSQL 只在事务内按 fetchSize 分批读取，否则会一次读入全部结果。
+     * 每行的值按 {@link ExportType#getColumns()} 的顺序排列；为避免逐行分配，
+     * 各行复用同一个数组，consumer 不应在返回后继续持有它。
+     *
+     * @param type      导出类型
+     * @param fetchSize 每次从数据库读取的行数
+     * @param consumer  逐行处理导出数据
+     * @return 导出的行数
+     */
+    long stream(ExportType type, int fetchSize, Consumer<Object[]> consumer);
+}
@@ -0,0 +1,86 @@
+package com.reythecoder.organization.repository;
+
+import com.reythecoder.organization.dto.request.ExportType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.function.Consumer;
+
+/**
+ * 基于 JdbcTemplate 的 {@link BulkExportRepository} 实现，使用外层事务的连接
+ */
+@Repository
+public class BulkExportRepositoryImpl implements BulkExportRepository {
+
+    private static final String PERSONNEL_SQL =
+            "SELECT id, name, gender, id_card, mobile, telephone, fax, email, create_time, update_time " +
+                    "FROM org_personnel WHERE removed = FALSE ORDER BY id";
+
+    private static final String DEPARTMENT_SQL =
+            "SELECT id, name, english_name, short_name, org_code, phone, fax, email, address, postal_code, " +
+                    "create_time, update_time FROM org_department WHERE removed = FALSE ORDER BY id";
+
+    private static final String POSITION_SQL =
+            "SELECT id, name, code, description, job_level, job_category, min_salary, max_salary, status, " +
+                    "create_time, update_time FROM org_position ORDER BY id";
+
+    private static final String PERSONNEL_POSITION_SQL =
+            "SELECT pp.id, pp.personnel_id, p.id_card, pp.position_id, pos.code AS position_code, " +
+                    "pp.department_id, d.org_code, pp.is_primary, pp.start_date, pp.end_date, pp.status, " +
+                    "pp.create_time, pp.update_time " +
+                    "FROM org_personnel_position pp " +
+                    "JOIN org_personnel p ON p.id = pp.personnel_id " +
+                    "JOIN org_position pos ON pos.id = pp.position_id " +
+                    "LEFT JOIN org_department d ON d.id = pp.department_id " +
+                    "ORDER BY pp.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BulkExportRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public long stream(ExportType type, int fetchSize, Consumer<Object[]> consumer) {
+        String sql = switch (type) {
+            case PERSONNEL -> PERSONNEL_SQL;
+            case DEPARTMENT -> DEPARTMENT_SQL;
+            case POSITION -> POSITION_SQL;
+            case PERSONNEL_POSITION -> PERSONNEL_POSITION_SQL;
+        };
+        Long count = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, (ResultSetExtractor<Long>) rs -> {
+            ResultSetMetaData meta = rs.getMetaData();
+            int[] sqlTypes = new int[meta.getColumnCount()];
+            for (int i = 0; i < sqlTypes.length; i++) {
+                sqlTypes[i] = meta.getColumnType(i + 1);
+            }
+            Object[] row = new Object[sqlTypes.length];
+            long rows = 0;
+            while (rs.next()) {
+                for (int i = 0; i < row.length; i++) {
+                    // 时间列转换为 java.time 类型，输出 ISO-8601 格式
+                    row[i] = switch (sqlTypes[i]) {
+                        case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> rs.getObject(i + 1, OffsetDateTime.class);
+                        case Types.DATE -> rs.getObject(i + 1, LocalDate.class);
+                        default -> rs.getObject(i + 1);
+                    };
+                }
+                consumer.accept(row);
+                rows++;
+            }
+            return rows;
+        });
+        return count == null ? 0 : count;
+    }
+}
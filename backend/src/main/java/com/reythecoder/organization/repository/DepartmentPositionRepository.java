@@ -2,6 +2,7 @@ package com.reythecoder.organization.repository;
 
 import com.reythecoder.organization.entity.DepartmentPositionEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,7 +10,8 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface DepartmentPositionRepository extends JpaRepository<DepartmentPositionEntity, UUID> {
+public interface DepartmentPositionRepository extends JpaRepository<DepartmentPositionEntity, UUID>,
+        JpaSpecificationExecutor<DepartmentPositionEntity> {
     
     /**
      * 根据部门 ID 查找所有岗位关联
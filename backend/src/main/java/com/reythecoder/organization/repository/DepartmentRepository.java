@@ -2,10 +2,12 @@ package com.reythecoder.organization.repository;
 
 import com.reythecoder.organization.entity.DepartmentEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.UUID;
 
 @Repository
-public interface DepartmentRepository extends JpaRepository<DepartmentEntity, UUID> {
+public interface DepartmentRepository extends JpaRepository<DepartmentEntity, UUID>,
+        JpaSpecificationExecutor<DepartmentEntity> {
 }
@@ -2,10 +2,12 @@ package com.reythecoder.organization.repository;
 
 import com.reythecoder.organization.entity.GroupEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.UUID;
 
 @Repository
-public interface GroupRepository extends JpaRepository<GroupEntity, UUID> {
+public interface GroupRepository extends JpaRepository<GroupEntity, UUID>,
+        JpaSpecificationExecutor<GroupEntity> {
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.reythecoder.organization.repository;
+
+import com.reythecoder.organization.entity.DepartmentEntity;
+import com.reythecoder.organization.entity.ImportErrorEntity;
+import com.reythecoder.organization.entity.ImportType;
+import com.reythecoder.organization.entity.PersonnelEntity;
+import com.reythecoder.organization.entity.PersonnelPositionEntity;
+import com.reythecoder.organization.entity.PositionEntity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 批量导入的集合查询与批量写入
+ *
+ * 查询以一批数据的键为数组参数（= ANY），每批一次往返；写入使用 JDBC 批量插入。
+ */
+public interface ImportBatchRepository {
+
+    /**
+     * 人员岗位任职的唯一键
+     */
+    record AssignmentKey(UUID personnelId, UUID positionId, UUID departmentId) {
+    }
+
+    /**
+     * 获取导入类型的事务级咨询锁，事务结束时释放
+     *
+     * 同类型的导入批次串行执行，避免并发导入在"查重后插入"之间写入相同的身份证号、组织编码或岗位编码。
+     *
+     * @param type 导入类型
+     */
+    void lockImportType(ImportType type);
+
+    /**
+     * 按身份证号查找未删除的人员
+     *
+     * @param idCards 身份证号
+     * @return 身份证号到人员 ID 的映射
+     */
+    Map<String, UUID> findPersonnelIdsByIdCard(Collection<String> idCards);
+
+    /**
+     * 按组织编码查找未删除的部门
+     *
+     * @param orgCodes 组织编码
+     * @return 组织编码到部门 ID 的映射
+     */
+    Map<String, UUID> findDepartmentIdsByOrgCode(Collection<String> orgCodes);
+
+    /**
+     * 按岗位编码查找岗位
+     *
+     * @param codes 岗位编码
+     * @return 岗位编码到岗位 ID 的映射
+     */
+    Map<String, UUID> findPositionIdsByCode(Collection<String> codes);
+
+    /**
+     * 查找给定人员已有的任职
+     *
+     * @param personnelIds 人员 ID
+     * @return 已有任职的唯一键
+     */
+    Set<AssignmentKey> findAssignments(Collection<UUID> personnelIds);
+
+    int insertPersonnel(List<PersonnelEntity> personnel);
+
+    int insertDepartments(List<DepartmentEntity> departments);
+
+    int insertPositions(List<PositionEntity> positions);
+
+    int insertAssignments(List<PersonnelPositionEntity> assignments);
+
+    int insertErrors(List<ImportErrorEntity> errors);
+}
@@ -0,0 +1,223 @@
+package com.reythecoder.organization.repository;
+
+import com.reythecoder.organization.entity.DepartmentEntity;
+import com.reythecoder.organization.entity.ImportErrorEntity;
+import com.reythecoder.organization.entity.ImportType;
+import com.reythecoder.organization.entity.PersonnelEntity;
+import com.reythecoder.organization.entity.PersonnelPositionEntity;
+import com.reythecoder.organization.entity.PositionEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 基于 JdbcTemplate 的 {@link ImportBatchRepository} 实现，使用外层事务的连接
+ */
+public class ImportBatchRepositoryImpl implements ImportBatchRepository {
+
+    private static final String LOCK_IMPORT_TYPE_SQL =
+            "SELECT pg_advisory_xact_lock(hashtextextended(?, 0))";
+
+    private static final String PERSONNEL_BY_ID_CARD_SQL =
+            "SELECT id_card, id FROM org_personnel WHERE removed = FALSE AND id_card = ANY(?)";
+
+    private static final String DEPARTMENT_BY_ORG_CODE_SQL =
+            "SELECT org_code, id FROM org_department WHERE removed = FALSE AND org_code = ANY(?)";
+
+    private static final String POSITION_BY_CODE_SQL =
+            "SELECT code, id FROM org_position WHERE code = ANY(?)";
+
+    private static final String ASSIGNMENTS_SQL =
+            "SELECT personnel_id, position_id, department_id FROM org_personnel_position " +
+                    "WHERE personnel_id = ANY(?)";
+
+    private static final String INSERT_PERSONNEL_SQL =
+            "INSERT INTO org_personnel (id, name, gender, id_card, mobile, telephone, fax, email, removed, " +
+                    "create_time, update_time, tenant_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, FALSE, ?, ?, ?)";
+
+    private static final String INSERT_DEPARTMENT_SQL =
+            "INSERT INTO org_department (id, name, english_name, short_name, org_code, phone, fax, email, " +
+                    "address, postal_code, removed, create_time, update_time, tenant_id) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, ?, ?, ?)";
+
+    private static final String INSERT_POSITION_SQL =
+            "INSERT INTO org_position (id, name, code, description, job_level, job_category, min_salary, " +
+                    "max_salary, status, create_time, update_time, tenant_id) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ASSIGNMENT_SQL =
+            "INSERT INTO org_personnel_position (id, personnel_id, position_id, department_id, is_primary, " +
+                    "start_date, end_date, status, create_time, update_time, tenant_id) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ERROR_SQL =
+            "INSERT INTO org_import_error (job_id, batch_no, line_number, message, create_time) " +
+                    "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ImportBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void lockImportType(ImportType type) {
+        jdbcTemplate.query(LOCK_IMPORT_TYPE_SQL, rs -> {
+        }, "org_import:" + type.name());
+    }
+
+    @Override
+    public Map<String, UUID> findPersonnelIdsByIdCard(Collection<String> idCards) {
+        return findIdsByKey(PERSONNEL_BY_ID_CARD_SQL, idCards);
+    }
+
+    @Override
+    public Map<String, UUID> findDepartmentIdsByOrgCode(Collection<String> orgCodes) {
+        return findIdsByKey(DEPARTMENT_BY_ORG_CODE_SQL, orgCodes);
+    }
+
+    @Override
+    public Map<String, UUID> findPositionIdsByCode(Collection<String> codes) {
+        return findIdsByKey(POSITION_BY_CODE_SQL, codes);
+    }
+
+    @Override
+    public Set<AssignmentKey> findAssignments(Collection<UUID> personnelIds) {
+        Set<AssignmentKey> keys = new HashSet<>();
+        if (personnelIds.isEmpty()) {
+            return keys;
+        }
+        jdbcTemplate.query(ASSIGNMENTS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", personnelIds.toArray())),
+                rs -> {
+                    keys.add(new AssignmentKey(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class),
+                            rs.getObject(3, UUID.class)));
+                });
+        return keys;
+    }
+
+    @Override
+    public int insertPersonnel(List<PersonnelEntity> personnel) {
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_PERSONNEL_SQL, personnel, personnel.size(), (ps, p) -> {
+            ps.setObject(1, p.getId());
+            ps.setString(2, text(p.getName()));
+            ps.setString(3, text(p.getGender()));
+            ps.setString(4, text(p.getIdCard()));
+            ps.setString(5, text(p.getMobile()));
+            ps.setString(6, text(p.getTelephone()));
+            ps.setString(7, text(p.getFax()));
+            ps.setString(8, text(p.getEmail()));
+            ps.setObject(9, p.getCreateTime());
+            ps.setObject(10, p.getUpdateTime());
+            ps.setObject(11, p.getTenantId());
+        });
+        return sum(counts);
+    }
+
+    @Override
+    public int insertDepartments(List<DepartmentEntity> departments) {
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_DEPARTMENT_SQL, departments, departments.size(),
+                (ps, d) -> {
+                    ps.setObject(1, d.getId());
+                    ps.setString(2, text(d.getName()));
+                    ps.setString(3, text(d.getEnglishName()));
+                    ps.setString(4, text(d.getShortName()));
+                    ps.setString(5, text(d.getOrgCode()));
+                    ps.setString(6, text(d.getPhone()));
+                    ps.setString(7, text(d.getFax()));
+                    ps.setString(8, text(d.getEmail()));
+                    ps.setString(9, text(d.getAddress()));
+                    ps.setString(10, text(d.getPostalCode()));
+                    ps.setObject(11, d.getCreateTime());
+                    ps.setObject(12, d.getUpdateTime());
+                    ps.setObject(13, d.getTenantId());
+                });
+        return sum(counts);
+    }
+
+    @Override
+    public int insertPositions(List<PositionEntity> positions) {
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_POSITION_SQL, positions, positions.size(), (ps, p) -> {
+            ps.setObject(1, p.getId());
+            ps.setString(2, text(p.getName()));
+            ps.setString(3, text(p.getCode()));
+            ps.setString(4, text(p.getDescription()));
+            ps.setString(5, text(p.getJobLevel()));
+            ps.setString(6, text(p.getJobCategory()));
+            ps.setBigDecimal(7, p.getMinSalary());
+            ps.setBigDecimal(8, p.getMaxSalary());
+            ps.setInt(9, p.getStatus());
+            ps.setObject(10, p.getCreateTime());
+            ps.setObject(11, p.getUpdateTime());
+            ps.setObject(12, p.getTenantId());
+        });
+        return sum(counts);
+    }
+
+    @Override
+    public int insertAssignments(List<PersonnelPositionEntity> assignments) {
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_ASSIGNMENT_SQL, assignments, assignments.size(),
+                (ps, a) -> {
+                    ps.setObject(1, a.getId());
+                    ps.setObject(2, a.getPersonnelId());
+                    ps.setObject(3, a.getPositionId());
+                    ps.setObject(4, a.getDepartmentId());
+                    ps.setBoolean(5, a.getIsPrimary());
+                    ps.setObject(6, a.getStartDate());
+                    ps.setObject(7, a.getEndDate());
+                    ps.setInt(8, a.getStatus());
+                    ps.setObject(9, a.getCreateTime());
+                    ps.setObject(10, a.getUpdateTime());
+                    ps.setObject(11, a.getTenantId());
+                });
+        return sum(counts);
+    }
+
+    @Override
+    public int insertErrors(List<ImportErrorEntity> errors) {
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_ERROR_SQL, errors, errors.size(), (ps, e) -> {
+            ps.setObject(1, e.getJobId());
+            ps.setInt(2, e.getBatchNo());
+            ps.setLong(3, e.getLineNumber());
+            ps.setString(4, e.getMessage());
+            ps.setObject(5, e.getCreateTime());
+        });
+        return sum(counts);
+    }
+
+    private Map<String, UUID> findIdsByKey(String sql, Collection<String> keys) {
+        Map<String, UUID> ids = new HashMap<>();
+        if (keys.isEmpty()) {
+            return ids;
+        }
+        jdbcTemplate.query(sql,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", keys.toArray())),
+                rs -> {
+                    ids.put(rs.getString(1), rs.getObject(2, UUID.class));
+                });
+        return ids;
+    }
+
+    private static String text(String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * 开启 reWriteBatchedInserts 时驱动返回 SUCCESS_NO_INFO（负数），按一行计
+     */
+    private static int sum(int[][] counts) {
+        int total = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                total += count < 0 ? 1 : count;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,22 @@
+package com.reythecoder.organization.repository;
+
+import com.reythecoder.organization.entity.ImportErrorEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ImportErrorRepository extends JpaRepository<ImportErrorEntity, Long> {
+
+    /**
+     * 查询任务的全部错误行，条数受每任务错误上限约束
+     */
+    List<ImportErrorEntity> findByJobIdOrderByIdAsc(UUID jobId);
+
+    /**
+     * 查询任务某一批次的错误行
+     */
+    List<ImportErrorEntity> findByJobIdAndBatchNoOrderByIdAsc(UUID jobId, int batchNo);
+}
@@ -0,0 +1,59 @@
+package com.reythecoder.organization.repository;
+
+import com.reythecoder.organization.entity.ImportJobEntity;
+import com.reythecoder.organization.entity.ImportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJobEntity, UUID>, ImportBatchRepository {
+
+    /**
+     * 接管任务以续传：只有失败的任务，或超过 staleBefore 仍无进展的执行中任务可以接管，
+     * 同一任务不会被两个请求同时续传；接管后原请求持有的令牌失效
+     *
+     * @param id          任务 ID
+     * @param token       本次接管的令牌
+     * @param now         当前时间
+     * @param staleBefore 执行中任务最后一次进展早于该时间时视为中断
+     * @return 接管成功时为 1
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ImportJobEntity j SET j.status = :running, j.message = '', j.claimToken = :token, " +
+            "j.updateTime = :now " +
+            "WHERE j.id = :id AND (j.status = :failed OR (j.status = :running AND j.updateTime < :staleBefore))")
+    int claim(@Param("id") UUID id, @Param("token") UUID token, @Param("now") OffsetDateTime now,
+              @Param("staleBefore") OffsetDateTime staleBefore,
+              @Param("running") ImportStatus running, @Param("failed") ImportStatus failed);
+
+    /**
+     * 记录一个已提交的批次，与该批数据在同一事务中执行，断点与数据一致
+     *
+     * @return 令牌已失效（任务被其他请求接管）时为 0
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ImportJobEntity j SET j.processedRows = j.processedRows + :rows, " +
+            "j.batchCount = j.batchCount + 1, j.importedCount = j.importedCount + :imported, " +
+            "j.skippedCount = j.skippedCount + :skipped, j.errorCount = j.errorCount + :errors, " +
+            "j.updateTime = :now WHERE j.id = :id AND j.claimToken = :token")
+    int recordBatch(@Param("id") UUID id, @Param("token") UUID token, @Param("rows") long rows, @Param("imported") long imported,
+                    @Param("skipped") long skipped, @Param("errors") long errors,
+                    @Param("now") OffsetDateTime now);
+
+    /**
+     * 更新任务状态与原因
+     *
+     * @return 令牌已失效（任务被其他请求接管）时为 0
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ImportJobEntity j SET j.status = :status, j.message = :message, j.updateTime = :now " +
+            "WHERE j.id = :id AND j.claimToken = :token")
+    int updateStatus(@Param("id") UUID id, @Param("token") UUID token, @Param("status") ImportStatus status,
+                     @Param("message") String message, @Param("now") OffsetDateTime now);
+}
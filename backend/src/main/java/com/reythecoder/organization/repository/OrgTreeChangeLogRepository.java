@@ -0,0 +1,85 @@
+package com.reythecoder.organization.repository;
+
+import com.reythecoder.organization.entity.OrgTreeChangeEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for the organization tree change log.
+ *
+ * Writers take a transaction-scoped advisory lock before drawing versions, so
+ * a transaction that holds a version keeps later writers waiting until it
+ * commits or rolls back. Versions therefore become visible in ascending
+ * order and a reader never skips a change that commits late.
+ */
+@Repository
+public interface OrgTreeChangeLogRepository extends JpaRepository<OrgTreeChangeEntity, Long> {
+
+    // =====================================================
+    // Native SQL queries (change recording)
+    // =====================================================
+
+    /**
+     * Record the current state of the given nodes, parents before children.
+     *
+     * @param changeType the change type name
+     * @param nodeIds the changed node IDs
+     * @return the number of recorded changes
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "WITH version_lock AS (" +
+            "SELECT pg_advisory_xact_lock(hashtextextended('org_tree_change_log', 0))) " +
+            "INSERT INTO org_tree_change_log " +
+            "(node_id, change_type, parent_id, entity_type, entity_id, alias, level, sort_rank) " +
+            "SELECT n.id, :changeType, n.parent_id, n.entity_type, n.entity_id, n.alias, n.level, n.sort_rank " +
+            "FROM org_tree n CROSS JOIN version_lock WHERE n.id IN (:nodeIds) " +
+            "ORDER BY n.level ASC, n.sort_rank ASC", nativeQuery = true)
+    int recordNodes(@Param("changeType") String changeType, @Param("nodeIds") Collection<UUID> nodeIds);
+
+    /**
+     * Record the current state of every child of a parent in sibling order.
+     *
+     * @param changeType the change type name
+     * @param parentId the parent node ID
+     * @return the number of recorded changes
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "WITH version_lock AS (" +
+            "SELECT pg_advisory_xact_lock(hashtextextended('org_tree_change_log', 0))) " +
+            "INSERT INTO org_tree_change_log " +
+            "(node_id, change_type, parent_id, entity_type, entity_id, alias, level, sort_rank) " +
+            "SELECT n.id, :changeType, n.parent_id, n.entity_type, n.entity_id, n.alias, n.level, n.sort_rank " +
+            "FROM org_tree n CROSS JOIN version_lock WHERE n.parent_id = :parentId AND n.id <> :parentId " +
+            "ORDER BY n.sort_rank ASC", nativeQuery = true)
+    int recordChildren(@Param("changeType") String changeType, @Param("parentId") UUID parentId);
+
+    // =====================================================
+    // Native SQL queries (change feed)
+    // =====================================================
+
+    /**
+     * Find changes after a version in version order.
+     *
+     * @param sinceVersion the last version the caller has applied
+     * @param limit the maximum number of rows
+     * @return changes with a version greater than {@code sinceVersion}
+     */
+    @Query(value = "SELECT * FROM org_tree_change_log WHERE version > :sinceVersion " +
+            "ORDER BY version ASC LIMIT :limit", nativeQuery = true)
+    List<OrgTreeChangeEntity> findChangesSince(@Param("sinceVersion") long sinceVersion, @Param("limit") int limit);
+
+    /**
+     * Find the current tree version.
+     *
+     * @return the highest committed version, or 0 before the first change
+     */
+    @Query(value = "SELECT COALESCE(MAX(version), 0) FROM org_tree_change_log", nativeQuery = true)
+    long findLatestVersion();
+}
@@ -0,0 +1,66 @@
+package com.reythecoder.organization.repository;
+
+import com.reythecoder.organization.entity.EntityType;
+import com.reythecoder.organization.entity.OrgTreeNodeEntity;
+import com.reythecoder.organization.entity.OrgTreeStatsEntity;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * JDBC batch operations for organization tree nodes, bypassing the
+ * persistence context for large read and write sets.
+ */
+public interface OrgTreeNodeBatchRepository {
+
+    /**
+     * Insert nodes with multi-row JDBC batches. The entities must carry their
+     * IDs, paths, levels and sort ranks; parents must precede their children.
+     *
+     * @param nodes the nodes to insert
+     * @param batchSize the number of rows per batch
+     * @return the number of inserted rows
+     */
+    int batchInsert(List<OrgTreeNodeEntity> nodes, int batchSize);
+
+    /**
+     * Insert statistics rollup rows for newly inserted nodes with JDBC batches.
+     *
+     * @param rows the rollup rows to insert
+     * @param batchSize the number of rows per batch
+     * @return the number of inserted rows
+     */
+    int batchInsertStatistics(List<OrgTreeStatsEntity> rows, int batchSize);
+
+    /**
+     * Stream a subtree in pre-order (parents before children, siblings by
+     * sort rank) through a forward-only cursor. Must run inside a
+     * transaction, since PostgreSQL only honours the fetch size there.
+     * The entities passed to the consumer carry no path.
+     *
+     * @param nodeId the subtree root node ID
+     * @param maxDepth the maximum depth, counting the root as 1
+     * @param entityType the entity type to emit, or null for all; filtered
+     *                   nodes are still traversed
+     * @param fetchSize the number of rows fetched per round trip
+     * @param consumer receives each node as it is read
+     * @return the number of emitted nodes
+     */
+    long streamSubTree(UUID nodeId, int maxDepth, EntityType entityType, int fetchSize,
+                       Consumer<OrgTreeNodeEntity> consumer);
+
+    /**
+     * Copy a subtree under another parent with one INSERT ... SELECT. Each
+     * copied row gets a new UUIDv7 generated in SQL; parent links, paths and
+     * levels are rewritten through the old-to-new ID mapping, and sort ranks
+     * are kept so siblings stay in the same relative order.
+     *
+     * @param sourceId the subtree root to copy, must not be the virtual root
+     * @param maxLevel the maximum absolute level of the source rows to copy
+     * @param targetParent the new parent, already loaded
+     * @param rootRank the sort rank of the copied root under the new parent
+     * @return the new node IDs, the copied root first
+     */
+    List<UUID> cloneSubTree(UUID sourceId, int maxLevel, OrgTreeNodeEntity targetParent, String rootRank);
+}
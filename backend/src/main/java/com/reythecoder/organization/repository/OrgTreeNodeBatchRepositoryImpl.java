@@ -0,0 +1,168 @@
+package com.reythecoder.organization.repository;
+
+import com.reythecoder.organization.entity.EntityType;
+import com.reythecoder.organization.entity.OrgTreeNodeEntity;
+import com.reythecoder.organization.entity.OrgTreeStatsEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * JdbcTemplate-backed implementation of {@link OrgTreeNodeBatchRepository}.
+ * Runs on the connection of the surrounding transaction.
+ */
+public class OrgTreeNodeBatchRepositoryImpl implements OrgTreeNodeBatchRepository {
+
+    private static final String INSERT_NODE_SQL =
+            "INSERT INTO org_tree (id, parent_id, entity_type, entity_id, alias, level, path, sort_rank, " +
+                    "create_time, update_time, tenant_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_STATS_SQL =
+            "INSERT INTO org_tree_stats (node_id, sub_group_count, sub_department_count, personnel_count) " +
+                    "VALUES (?, ?, ?, ?)";
+
+    /**
+     * Pre-order walk: each row carries the sort ranks from the subtree root
+     * down to itself, so ordering by that array lists every parent before its
+     * children and siblings by rank. The node ID breaks rank ties.
+     */
+    private static final String STREAM_SUBTREE_SQL =
+            "WITH RECURSIVE subtree AS (" +
+                    "SELECT n.id, n.parent_id, n.entity_type, n.entity_id, n.alias, n.level, n.sort_rank, 1 AS depth, " +
+                    "ARRAY[CAST('' AS text) COLLATE \"C\"] AS rank_path " +
+                    "FROM org_tree n WHERE n.id = ? AND " + OrgTreeNodeRepository.NOT_DETACHED + " " +
+                    "UNION ALL " +
+                    "SELECT c.id, c.parent_id, c.entity_type, c.entity_id, c.alias, c.level, c.sort_rank, s.depth + 1, " +
+                    "s.rank_path || (CAST(c.sort_rank || ' ' || c.id AS text) COLLATE \"C\") " +
+                    "FROM subtree s JOIN org_tree c ON c.parent_id = s.id AND c.id <> c.parent_id " +
+                    "WHERE s.depth < ?) " +
+                    "SELECT id, parent_id, entity_type, entity_id, alias, level, sort_rank FROM subtree " +
+                    "WHERE (CAST(? AS varchar) = '' OR entity_type = CAST(? AS varchar)) " +
+                    "ORDER BY rank_path";
+
+    /**
+     * Set-based subtree copy. Both CTEs are materialized so every source row
+     * gets exactly one new ID; a copied path is the new parent's path followed
+     * by the mapped tail of the source path from the subtree root down.
+     */
+    private static final String CLONE_SUBTREE_SQL =
+            "WITH src AS MATERIALIZED (" +
+                    "SELECT id, parent_id, entity_type, entity_id, alias, level, path, sort_rank, tenant_id " +
+                    "FROM org_tree WHERE (id = ? OR path @> ARRAY[CAST(? AS uuid)]) AND level <= ? " +
+                    "AND " + OrgTreeNodeRepository.NOT_DETACHED + "), " +
+                    "root AS (SELECT id, level, cardinality(path) AS depth FROM src WHERE id = ?), " +
+                    "mapping AS MATERIALIZED (SELECT id AS old_id, uuid_generate_v7() AS new_id FROM src), " +
+                    "inserted AS (" +
+                    "INSERT INTO org_tree (id, parent_id, entity_type, entity_id, alias, level, path, sort_rank, " +
+                    "create_time, update_time, tenant_id) " +
+                    "SELECT m.new_id, CASE WHEN s.id = r.id THEN CAST(? AS uuid) ELSE pm.new_id END, " +
+                    "s.entity_type, s.entity_id, s.alias, s.level - r.level + ?, " +
+                    "CAST(? AS uuid[]) || ARRAY(SELECT am.new_id FROM unnest(s.path[r.depth + 1:]) " +
+                    "WITH ORDINALITY AS p(old_id, ord) JOIN mapping am ON am.old_id = p.old_id ORDER BY p.ord), " +
+                    "CASE WHEN s.id = r.id THEN ? ELSE s.sort_rank END, NOW(), NOW(), s.tenant_id " +
+                    "FROM src s CROSS JOIN root r JOIN mapping m ON m.old_id = s.id " +
+                    "LEFT JOIN mapping pm ON pm.old_id = s.parent_id " +
+                    "RETURNING id, level) " +
+                    "SELECT id FROM inserted ORDER BY level";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrgTreeNodeBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int batchInsert(List<OrgTreeNodeEntity> nodes, int batchSize) {
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_NODE_SQL, nodes, batchSize, (ps, node) -> {
+            ps.setObject(1, node.getId());
+            ps.setObject(2, node.getParentId());
+            ps.setString(3, node.getEntityType().name());
+            ps.setObject(4, node.getEntityId());
+            ps.setString(5, node.getAlias());
+            ps.setInt(6, node.getLevel());
+            ps.setArray(7, ps.getConnection().createArrayOf("uuid", node.getPath()));
+            ps.setString(8, node.getSortRank());
+            ps.setObject(9, node.getCreateTime());
+            ps.setObject(10, node.getUpdateTime());
+            ps.setObject(11, node.getTenantId());
+        });
+        return sum(counts);
+    }
+
+    @Override
+    public int batchInsertStatistics(List<OrgTreeStatsEntity> rows, int batchSize) {
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_STATS_SQL, rows, batchSize, (ps, row) -> {
+            ps.setObject(1, row.getNodeId());
+            ps.setInt(2, row.getSubGroupCount());
+            ps.setInt(3, row.getSubDepartmentCount());
+            ps.setInt(4, row.getPersonnelCount());
+        });
+        return sum(counts);
+    }
+
+    @Override
+    public long streamSubTree(UUID nodeId, int maxDepth, EntityType entityType, int fetchSize,
+                              Consumer<OrgTreeNodeEntity> consumer) {
+        String type = entityType == null ? "" : entityType.name();
+        long[] count = new long[1];
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(STREAM_SUBTREE_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setObject(1, nodeId);
+            ps.setInt(2, maxDepth);
+            ps.setString(3, type);
+            ps.setString(4, type);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            // One entity per row, released once consumed; the heap stays flat
+            OrgTreeNodeEntity node = new OrgTreeNodeEntity();
+            node.setId(rs.getObject("id", UUID.class));
+            node.setParentId(rs.getObject("parent_id", UUID.class));
+            node.setEntityType(EntityType.valueOf(rs.getString("entity_type")));
+            node.setEntityId(rs.getObject("entity_id", UUID.class));
+            node.setAlias(rs.getString("alias"));
+            node.setLevel(rs.getInt("level"));
+            node.setSortRank(rs.getString("sort_rank"));
+            consumer.accept(node);
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    @Override
+    public List<UUID> cloneSubTree(UUID sourceId, int maxLevel, OrgTreeNodeEntity targetParent, String rootRank) {
+        UUID[] targetPath = Arrays.copyOf(targetParent.getPath(), targetParent.getPath().length + 1);
+        targetPath[targetPath.length - 1] = targetParent.getId();
+        return jdbcTemplate.query(CLONE_SUBTREE_SQL, ps -> {
+            ps.setObject(1, sourceId);
+            ps.setObject(2, sourceId);
+            ps.setInt(3, maxLevel);
+            ps.setObject(4, sourceId);
+            ps.setObject(5, targetParent.getId());
+            ps.setInt(6, targetParent.getLevel() + 1);
+            ps.setArray(7, ps.getConnection().createArrayOf("uuid", targetPath));
+            ps.setString(8, rootRank);
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
+    /**
+     * Sum per-statement update counts. Rewritten multi-row batches report
+     * {@code SUCCESS_NO_INFO}, which is counted as one row each.
+     */
+    private static int sum(int[][] counts) {
+        int total = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                total += count < 0 ? 1 : count;
+            }
+        }
+        return total;
+    }
+}
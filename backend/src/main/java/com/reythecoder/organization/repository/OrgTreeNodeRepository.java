@@ -3,10 +3,12 @@ package com.reythecoder.organization.repository;
 import com.reythecoder.organization.entity.EntityType;
 import com.reythecoder.organization.entity.OrgTreeNodeEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,7 +17,14 @@ import java.util.UUID;
  * Repository interface for organization tree node operations.
  */
 @Repository
-public interface OrgTreeNodeRepository extends JpaRepository<OrgTreeNodeEntity, UUID> {
+public interface OrgTreeNodeRepository extends JpaRepository<OrgTreeNodeEntity, UUID>, OrgTreeNodeBatchRepository {
+
+    /**
+     * Native SQL condition excluding the descendants of a subtree whose
+     * removal is still running in the background. The subtree root row is
+     * already gone, so only rows with the root on their path are left.
+     */
+    String NOT_DETACHED = "NOT path && ARRAY(SELECT node_id FROM org_tree_removal)";
 
     // =====================================================
     // Standard query methods (method naming convention)
@@ -27,7 +36,9 @@ public interface OrgTreeNodeRepository extends JpaRepository<OrgTreeNodeEntity,
      * @param parentId the parent node ID
      * @return list of child nodes ordered by sort rank
      */
-    List<OrgTreeNodeEntity> findByParentIdOrderBySortRankAsc(UUID parentId);
+    @Query(value = "SELECT * FROM org_tree WHERE parent_id = :parentId AND " + NOT_DETACHED +
+            " ORDER BY sort_rank ASC", nativeQuery = true)
+    List<OrgTreeNodeEntity> findByParentIdOrderBySortRankAsc(@Param("parentId") UUID parentId);
 
     /**
      * Find node by entity type and entity ID.
@@ -45,7 +56,24 @@ public interface OrgTreeNodeRepository extends JpaRepository<OrgTreeNodeEntity,
      * @param entityId the entity ID
      * @return list of nodes
      */
-    List<OrgTreeNodeEntity> findAllByEntityTypeAndEntityId(EntityType entityType, UUID entityId);
+    @Query(value = "SELECT * FROM org_tree WHERE entity_type = :#{#entityType.name()} AND entity_id = :entityId " +
+            "AND " + NOT_DETACHED, nativeQuery = true)
+    List<OrgTreeNodeEntity> findAllByEntityTypeAndEntityId(@Param("entityType") EntityType entityType,
+                                                           @Param("entityId") UUID entityId);
+
+    /**
+     * Find nodes of many entities in one query served by {@code idx_org_tree_entity}.
+     * Matches every combination of the given types and IDs, so callers with
+     * (type, ID) pairs filter the exact pairs afterwards.
+     *
+     * @param entityTypes the entity types
+     * @param entityIds the entity IDs
+     * @return list of nodes
+     */
+    @Query(value = "SELECT * FROM org_tree WHERE entity_type IN (:#{#entityTypes.![name()]}) " +
+            "AND entity_id IN (:entityIds) AND " + NOT_DETACHED, nativeQuery = true)
+    List<OrgTreeNodeEntity> findAllByEntityTypeInAndEntityIdIn(@Param("entityTypes") Collection<EntityType> entityTypes,
+                                                                @Param("entityIds") Collection<UUID> entityIds);
 
     /**
      * Count child nodes by parent ID.
@@ -74,6 +102,17 @@ public interface OrgTreeNodeRepository extends JpaRepository<OrgTreeNodeEntity,
      */
     long countByParentIdAndEntityType(UUID parentId, EntityType entityType);
 
+    /**
+     * Find the children of a parent whose entity ID is in the given set.
+     * Served by the {@code uk_org_tree_parent_entity} index, so a whole batch
+     * of candidates is checked for duplicates in one query.
+     *
+     * @param parentId the parent node ID
+     * @param entityIds the candidate entity IDs
+     * @return existing children referencing any of the entity IDs
+     */
+    List<OrgTreeNodeEntity> findByParentIdAndEntityIdIn(UUID parentId, Collection<UUID> entityIds);
+
     // =====================================================
     // JPQL queries
     // =====================================================
@@ -100,24 +139,228 @@ public interface OrgTreeNodeRepository extends JpaRepository<OrgTreeNodeEntity,
     // Native SQL queries (array operations)
     // =====================================================
 
+    /**
+     * Find a node unless it lies in a subtree whose removal is pending.
+     *
+     * @param id the node ID
+     * @return the node if found and not detached
+     */
+    @Query(value = "SELECT * FROM org_tree WHERE id = :id AND " + NOT_DETACHED, nativeQuery = true)
+    Optional<OrgTreeNodeEntity> findLiveById(@Param("id") UUID id);
+
+    /**
+     * Find nodes by ID, skipping those in a subtree whose removal is pending.
+     *
+     * @param ids the node IDs
+     * @return the nodes found, in no particular order
+     */
+    @Query(value = "SELECT * FROM org_tree WHERE id IN (:ids) AND " + NOT_DETACHED, nativeQuery = true)
+    List<OrgTreeNodeEntity> findAllLiveById(@Param("ids") Collection<UUID> ids);
+
     /**
      * Find all descendant nodes using PostgreSQL array contains operator.
      *
      * @param nodeId the node ID to find descendants for
      * @return list of descendant nodes
      */
-    @Query(value = "SELECT * FROM org_tree WHERE :nodeId = ANY(path)", nativeQuery = true)
+    @Query(value = "SELECT * FROM org_tree WHERE :nodeId = ANY(path) AND " + NOT_DETACHED, nativeQuery = true)
     List<OrgTreeNodeEntity> findAllDescendants(@Param("nodeId") UUID nodeId);
 
+    /**
+     * Find all descendant nodes within a level bound in a single query.
+     * Uses the array containment operator so the lookup is served by the
+     * {@code idx_org_tree_path_gin} index. Rows are ordered by level and
+     * sort rank so that parents always precede their children.
+     *
+     * @param nodeId the subtree root node ID
+     * @param maxLevel the maximum absolute level to include
+     * @return list of descendant nodes ordered by level and sort rank
+     */
+    @Query(value = "SELECT * FROM org_tree WHERE path @> ARRAY[CAST(:nodeId AS uuid)] AND level <= :maxLevel " +
+            "AND " + NOT_DETACHED + " ORDER BY level ASC, sort_rank ASC", nativeQuery = true)
+    List<OrgTreeNodeEntity> findSubTreeNodes(@Param("nodeId") UUID nodeId, @Param("maxLevel") int maxLevel);
+
+    /**
+     * Find descendants whose absolute level lies within a range. The path
+     * containment and the level range are both served by the composite
+     * {@code idx_org_tree_path_level_gin} index, so the next few levels under
+     * a large subtree cost one index scan instead of a walk.
+     *
+     * @param nodeId the subtree root node ID
+     * @param minLevel the minimum absolute level to include
+     * @param maxLevel the maximum absolute level to include
+     * @return descendant nodes ordered by level and sort rank
+     */
+    @Query(value = "SELECT * FROM org_tree WHERE path @> ARRAY[CAST(:nodeId AS uuid)] " +
+            "AND level BETWEEN :minLevel AND :maxLevel AND " + NOT_DETACHED + " ORDER BY level ASC, sort_rank ASC",
+            nativeQuery = true)
+    List<OrgTreeNodeEntity> findDescendantsByLevel(@Param("nodeId") UUID nodeId,
+                                                   @Param("minLevel") int minLevel,
+                                                   @Param("maxLevel") int maxLevel);
+
+    /**
+     * Find descendants of one entity type whose absolute level lies within a
+     * range, using the same composite index as {@link #findDescendantsByLevel}.
+     *
+     * @param nodeId the subtree root node ID
+     * @param entityType the entity type name
+     * @param minLevel the minimum absolute level to include
+     * @param maxLevel the maximum absolute level to include
+     * @return matching descendant nodes ordered by level and sort rank
+     */
+    @Query(value = "SELECT * FROM org_tree WHERE path @> ARRAY[CAST(:nodeId AS uuid)] " +
+            "AND level BETWEEN :minLevel AND :maxLevel AND entity_type = :entityType AND " + NOT_DETACHED +
+            " ORDER BY level ASC, sort_rank ASC", nativeQuery = true)
+    List<OrgTreeNodeEntity> findDescendantsByTypeAndLevel(@Param("nodeId") UUID nodeId,
+                                                          @Param("entityType") String entityType,
+                                                          @Param("minLevel") int minLevel,
+                                                          @Param("maxLevel") int maxLevel);
+
+    /**
+     * Re-path and re-level every descendant of a moved node in one statement.
+     * Each descendant keeps the tail of its path starting at the moved node and
+     * takes the moved node's current path as the new prefix, so the moved node
+     * row must already be flushed with its new path and level.
+     *
+     * @param nodeId the moved node ID
+     * @return the number of descendant rows updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE org_tree d " +
+            "SET path = n.path || d.path[array_position(d.path, n.id):], " +
+            "level = n.level + 1 + cardinality(d.path) - array_position(d.path, n.id) " +
+            "FROM org_tree n " +
+            "WHERE n.id = :nodeId AND d.path @> ARRAY[n.id]", nativeQuery = true)
+    int repathDescendants(@Param("nodeId") UUID nodeId);
+
+    /**
+     * Delete a node together with its whole subtree in one statement.
+     *
+     * @param nodeId the subtree root node ID
+     * @return the number of deleted rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM org_tree WHERE id = :nodeId OR path @> ARRAY[CAST(:nodeId AS uuid)]",
+            nativeQuery = true)
+    int deleteSubTree(@Param("nodeId") UUID nodeId);
+
+    /**
+     * Delete one batch of descendants, deepest levels first, so that an
+     * interrupted removal never leaves nodes whose parent is gone below the
+     * subtree root.
+     *
+     * @param nodeId the subtree root node ID
+     * @param batchSize the maximum number of rows to delete
+     * @return the number of deleted rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM org_tree WHERE id IN (" +
+            "SELECT id FROM org_tree WHERE path @> ARRAY[CAST(:nodeId AS uuid)] " +
+            "ORDER BY level DESC LIMIT :batchSize)", nativeQuery = true)
+    int deleteDescendantBatch(@Param("nodeId") UUID nodeId, @Param("batchSize") int batchSize);
+
     /**
      * Find direct children by parent ID using native SQL.
      *
      * @param parentId the parent node ID
      * @return list of child nodes
      */
-    @Query(value = "SELECT * FROM org_tree WHERE parent_id = :parentId ORDER BY sort_rank ASC", nativeQuery = true)
+    @Query(value = "SELECT * FROM org_tree WHERE parent_id = :parentId AND " + NOT_DETACHED +
+            " ORDER BY sort_rank ASC", nativeQuery = true)
     List<OrgTreeNodeEntity> findChildrenByParentId(@Param("parentId") UUID parentId);
 
+    /**
+     * Find one page of direct children after a keyset position.
+     * Rows are ordered by {@code (sort_rank, id)} and the row-value comparison
+     * lets {@code idx_org_tree_parent} seek straight to the position, so every
+     * page costs the same regardless of how deep into the list it is.
+     * Pass an empty rank and the nil UUID for the first page, and an empty
+     * entity type to include all types. The virtual root, which is its own
+     * parent, is not listed among its children.
+     *
+     * @param parentId the parent node ID
+     * @param afterRank sort rank of the last row of the previous page
+     * @param afterId ID of the last row of the previous page
+     * @param entityType entity type filter, empty for all types
+     * @param limit the maximum number of rows
+     * @return child nodes ordered by sort rank and ID
+     */
+    @Query(value = "SELECT * FROM org_tree WHERE parent_id = :parentId AND id <> parent_id AND " + NOT_DETACHED +
+            " AND (sort_rank, id) > (CAST(:afterRank AS varchar), CAST(:afterId AS uuid)) " +
+            "AND (CAST(:entityType AS varchar) = '' OR entity_type = CAST(:entityType AS varchar)) " +
+            "ORDER BY sort_rank ASC, id ASC LIMIT :limit", nativeQuery = true)
+    List<OrgTreeNodeEntity> findChildrenPage(@Param("parentId") UUID parentId,
+                                             @Param("afterRank") String afterRank,
+                                             @Param("afterId") UUID afterId,
+                                             @Param("entityType") String entityType,
+                                             @Param("limit") int limit);
+
+    /**
+     * Search nodes whose alias contains a keyword, case-insensitively.
+     * {@code idx_org_tree_alias_trgm} narrows the candidates for keywords of
+     * three or more characters. Prefix matches rank first, then shorter
+     * aliases; the virtual root is excluded. Both patterns must already have
+     * {@code %}, {@code _} and {@code \} escaped with a backslash.
+     *
+     * @param pattern the infix pattern, e.g. {@code %keyword%}
+     * @param prefix the prefix pattern, e.g. {@code keyword%}
+     * @param entityType entity type filter, empty for all types
+     * @param limit the maximum number of rows
+     * @return matching nodes, best first
+     */
+    @Query(value = "SELECT * FROM org_tree WHERE alias ILIKE :pattern ESCAPE '\\' AND id <> parent_id " +
+            "AND " + NOT_DETACHED + " AND (CAST(:entityType AS varchar) = '' OR entity_type = CAST(:entityType AS varchar)) " +
+            "ORDER BY CASE WHEN alias ILIKE :prefix ESCAPE '\\' THEN 0 ELSE 1 END, " +
+            "char_length(alias), alias, id LIMIT :limit", nativeQuery = true)
+    List<OrgTreeNodeEntity> searchByAlias(@Param("pattern") String pattern,
+                                          @Param("prefix") String prefix,
+                                          @Param("entityType") String entityType,
+                                          @Param("limit") int limit);
+
+    /**
+     * Find the greatest sort rank among a parent's children.
+     * Reads only the tail of {@code idx_org_tree_parent}.
+     *
+     * @param parentId the parent node ID
+     * @return the greatest child sort rank, or null when the parent has no children
+     */
+    @Query(value = "SELECT MAX(sort_rank) FROM org_tree WHERE parent_id = :parentId", nativeQuery = true)
+    String findMaxSortRank(@Param("parentId") UUID parentId);
+
+    /**
+     * Read the current sort rank of a node without loading the entity.
+     *
+     * @param id the node ID
+     * @return the sort rank, or null if the node does not exist
+     */
+    @Query(value = "SELECT sort_rank FROM org_tree WHERE id = :id", nativeQuery = true)
+    String findSortRankById(@Param("id") UUID id);
+
+    /**
+     * Find the smallest sort rank among a parent's children that is greater
+     * than the given rank, i.e. the rank of the next sibling.
+     * Reads a single entry of {@code idx_org_tree_parent}.
+     *
+     * @param parentId the parent node ID
+     * @param afterRank the sort rank to search after
+     * @return the next sibling's sort rank, or null when there is none
+     */
+    @Query(value = "SELECT MIN(sort_rank) FROM org_tree WHERE parent_id = :parentId AND sort_rank > :afterRank",
+            nativeQuery = true)
+    String findNextSortRank(@Param("parentId") UUID parentId, @Param("afterRank") String afterRank);
+
+    /**
+     * Take a transaction-scoped advisory lock on a parent's child list.
+     * Blocks until concurrent transactions holding the same lock complete;
+     * the lock is released at commit or rollback.
+     *
+     * @param parentId the parent node ID
+     * @return always 1
+     */
+    @Query(value = "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(hashtextextended(CAST(:parentId AS text), 0))) l",
+            nativeQuery = true)
+    long lockChildren(@Param("parentId") UUID parentId);
+
     /**
      * Find the root node (level = 0) using native SQL.
      *
@@ -148,6 +391,16 @@ public interface OrgTreeNodeRepository extends JpaRepository<OrgTreeNodeEntity,
     @Query(value = "SELECT COUNT(*) FROM org_tree WHERE parent_id = :parentId", nativeQuery = true)
     long countChildrenByType(@Param("parentId") UUID parentId);
 
+    /**
+     * Count all descendants of a node without loading them.
+     *
+     * @param nodeId the node ID
+     * @return the number of descendant nodes
+     */
+    @Query(value = "SELECT COUNT(*) FROM org_tree WHERE path @> ARRAY[CAST(:nodeId AS uuid)] AND " + NOT_DETACHED,
+            nativeQuery = true)
+    long countDescendants(@Param("nodeId") UUID nodeId);
+
     /**
      * Count nodes by entity type and entity ID.
      *
@@ -0,0 +1,64 @@
+package com.reythecoder.organization.repository;
+
+import com.reythecoder.organization.entity.OrgTreeRemovalEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for pending background subtree removals.
+ */
+@Repository
+public interface OrgTreeRemovalRepository extends JpaRepository<OrgTreeRemovalEntity, UUID> {
+
+    /**
+     * Register a subtree whose descendants are deleted in the background.
+     *
+     * @param nodeId the subtree root node ID
+     * @return the number of inserted rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO org_tree_removal (node_id) VALUES (:nodeId) ON CONFLICT (node_id) DO NOTHING",
+            nativeQuery = true)
+    int insertPending(@Param("nodeId") UUID nodeId);
+
+    /**
+     * Record progress on a removal so that it is not retried while it runs.
+     *
+     * @param nodeId the subtree root node ID
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query(value = "UPDATE org_tree_removal SET update_time = NOW() WHERE node_id = :nodeId", nativeQuery = true)
+    int touch(@Param("nodeId") UUID nodeId);
+
+    /**
+     * Record a failed removal attempt.
+     *
+     * @param nodeId the subtree root node ID
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query(value = "UPDATE org_tree_removal SET attempts = attempts + 1, update_time = NOW() " +
+            "WHERE node_id = :nodeId", nativeQuery = true)
+    int recordFailure(@Param("nodeId") UUID nodeId);
+
+    /**
+     * Claim removals that made no progress since the given time by marking
+     * them as progressing now. A concurrent claim re-checks the time after
+     * waiting for the row lock, so each stalled removal is claimed by one
+     * caller only. Must run inside a read-write transaction.
+     *
+     * @param before the cut-off time
+     * @return the claimed subtree root node IDs
+     */
+    @Query(value = "UPDATE org_tree_removal SET update_time = NOW() WHERE update_time < :before " +
+            "RETURNING node_id", nativeQuery = true)
+    List<UUID> claimStalledNodeIds(@Param("before") OffsetDateTime before);
+}
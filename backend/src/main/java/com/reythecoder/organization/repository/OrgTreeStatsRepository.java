@@ -0,0 +1,172 @@
+package com.reythecoder.organization.repository;
+
+import com.reythecoder.organization.entity.OrgTreeStatsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for organization tree statistics rollups.
+ */
+@Repository
+public interface OrgTreeStatsRepository extends JpaRepository<OrgTreeStatsEntity, UUID> {
+
+    // =====================================================
+    // Native SQL queries (rollup maintenance)
+    // =====================================================
+
+    /**
+     * Create an empty rollup row for a newly inserted node.
+     *
+     * @param nodeId the node ID
+     * @return the number of inserted rows
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO org_tree_stats (node_id, sub_group_count, sub_department_count, personnel_count) " +
+            "VALUES (:nodeId, 0, 0, 0) ON CONFLICT (node_id) DO NOTHING", nativeQuery = true)
+    int initNode(@Param("nodeId") UUID nodeId);
+
+    /**
+     * Add deltas to the rollups of every ancestor listed in a node's current path.
+     * Ancestors without a rollup row get one created.
+     *
+     * @param nodeId the node whose path ancestors are updated
+     * @param groups delta for the group count
+     * @param departments delta for the department count
+     * @param personnel delta for the personnel count
+     * @return the number of ancestor rows touched
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO org_tree_stats (node_id, sub_group_count, sub_department_count, personnel_count) " +
+            "SELECT a.ancestor_id, :groups, :departments, :personnel " +
+            "FROM org_tree n CROSS JOIN LATERAL unnest(n.path) AS a(ancestor_id) " +
+            "WHERE n.id = :nodeId AND a.ancestor_id <> n.id " +
+            "ON CONFLICT (node_id) DO UPDATE SET " +
+            "sub_group_count = org_tree_stats.sub_group_count + EXCLUDED.sub_group_count, " +
+            "sub_department_count = org_tree_stats.sub_department_count + EXCLUDED.sub_department_count, " +
+            "personnel_count = org_tree_stats.personnel_count + EXCLUDED.personnel_count", nativeQuery = true)
+    int addToAncestors(@Param("nodeId") UUID nodeId, @Param("groups") int groups,
+                       @Param("departments") int departments, @Param("personnel") int personnel);
+
+    /**
+     * Recompute every rollup from {@code org_tree} in one pass: each node's
+     * path is unnested once and counts are grouped by ancestor. Rows of
+     * subtrees pending background removal were already subtracted when they
+     * were detached and are not counted.
+     *
+     * @return the number of rollup rows written
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO org_tree_stats (node_id, sub_group_count, sub_department_count, personnel_count) " +
+            "SELECT t.id, COALESCE(c.group_count, 0), COALESCE(c.department_count, 0), COALESCE(c.personnel_count, 0) " +
+            "FROM org_tree t LEFT JOIN (" +
+            "SELECT a.ancestor_id, " +
+            "COUNT(*) FILTER (WHERE d.entity_type = 'GROUP') AS group_count, " +
+            "COUNT(*) FILTER (WHERE d.entity_type = 'DEPARTMENT') AS department_count, " +
+            "COUNT(*) FILTER (WHERE d.entity_type = 'PERSONNEL') AS personnel_count " +
+            "FROM org_tree d CROSS JOIN LATERAL unnest(d.path) AS a(ancestor_id) " +
+            "WHERE a.ancestor_id <> d.id AND " + OrgTreeNodeRepository.NOT_DETACHED + " GROUP BY a.ancestor_id" +
+            ") c ON c.ancestor_id = t.id " +
+            "ON CONFLICT (node_id) DO UPDATE SET " +
+            "sub_group_count = EXCLUDED.sub_group_count, " +
+            "sub_department_count = EXCLUDED.sub_department_count, " +
+            "personnel_count = EXCLUDED.personnel_count, " +
+            "subtree_version = org_tree_stats.subtree_version + 1", nativeQuery = true)
+    int rebuildAll();
+
+    /**
+     * Compute the rollups of a node and its descendants from {@code org_tree},
+     * e.g. for a freshly copied subtree. Only counts below the node are
+     * considered; ancestors above it are left unchanged.
+     *
+     * @param nodeId the subtree root node ID
+     * @return the number of rollup rows written
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO org_tree_stats (node_id, sub_group_count, sub_department_count, personnel_count) " +
+            "SELECT t.id, COALESCE(c.group_count, 0), COALESCE(c.department_count, 0), COALESCE(c.personnel_count, 0) " +
+            "FROM org_tree t LEFT JOIN (" +
+            "SELECT a.ancestor_id, " +
+            "COUNT(*) FILTER (WHERE d.entity_type = 'GROUP') AS group_count, " +
+            "COUNT(*) FILTER (WHERE d.entity_type = 'DEPARTMENT') AS department_count, " +
+            "COUNT(*) FILTER (WHERE d.entity_type = 'PERSONNEL') AS personnel_count " +
+            "FROM org_tree d CROSS JOIN LATERAL unnest(d.path) AS a(ancestor_id) " +
+            "WHERE d.path @> ARRAY[CAST(:nodeId AS uuid)] AND a.ancestor_id <> d.id " +
+            "AND " + OrgTreeNodeRepository.NOT_DETACHED + " GROUP BY a.ancestor_id" +
+            ") c ON c.ancestor_id = t.id " +
+            "WHERE t.id = :nodeId OR t.path @> ARRAY[CAST(:nodeId AS uuid)] " +
+            "ON CONFLICT (node_id) DO UPDATE SET " +
+            "sub_group_count = EXCLUDED.sub_group_count, " +
+            "sub_department_count = EXCLUDED.sub_department_count, " +
+            "personnel_count = EXCLUDED.personnel_count, " +
+            "subtree_version = org_tree_stats.subtree_version + 1", nativeQuery = true)
+    int rebuildSubTree(@Param("nodeId") UUID nodeId);
+
+    /**
+     * Bump the subtree version of each given node and of every ancestor in
+     * its current path, invalidating cached representations that include it.
+     *
+     * @param nodeIds the changed node IDs
+     * @return the number of rollup rows touched
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE org_tree_stats SET subtree_version = subtree_version + 1 " +
+            "WHERE node_id IN (SELECT a.node_id FROM org_tree n " +
+            "CROSS JOIN LATERAL unnest(n.path || n.id) AS a(node_id) WHERE n.id IN (:nodeIds))",
+            nativeQuery = true)
+    int touchPaths(@Param("nodeIds") Collection<UUID> nodeIds);
+
+    /**
+     * Bump the subtree version of every descendant of a node, for changes
+     * such as moves that alter the representation of the whole subtree.
+     *
+     * @param nodeId the subtree root node ID
+     * @return the number of rollup rows touched
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE org_tree_stats SET subtree_version = subtree_version + 1 " +
+            "WHERE node_id IN (SELECT id FROM org_tree WHERE path @> ARRAY[CAST(:nodeId AS uuid)])",
+            nativeQuery = true)
+    int touchDescendants(@Param("nodeId") UUID nodeId);
+
+    // =====================================================
+    // Native SQL queries (batched reads)
+    // =====================================================
+
+    /**
+     * Find rollups of a node and its descendants within a level bound.
+     *
+     * @param nodeId the subtree root node ID
+     * @param maxLevel the maximum absolute level to include
+     * @return rollups of the subtree nodes
+     */
+    @Query(value = "SELECT s.* FROM org_tree_stats s JOIN org_tree n ON n.id = s.node_id " +
+            "WHERE n.id = :nodeId OR (n.path @> ARRAY[CAST(:nodeId AS uuid)] AND n.level <= :maxLevel)",
+            nativeQuery = true)
+    List<OrgTreeStatsEntity> findSubTreeStats(@Param("nodeId") UUID nodeId, @Param("maxLevel") int maxLevel);
+
+    /**
+     * Find rollups of the direct children of a node.
+     *
+     * @param parentId the parent node ID
+     * @return rollups of the child nodes
+     */
+    @Query(value = "SELECT s.* FROM org_tree_stats s JOIN org_tree n ON n.id = s.node_id " +
+            "WHERE n.parent_id = :parentId", nativeQuery = true)
+    List<OrgTreeStatsEntity> findChildStats(@Param("parentId") UUID parentId);
+
+    /**
+     * Find the subtree version of a node with a primary key lookup.
+     *
+     * @param nodeId the node ID
+     * @return the subtree version, or null when the node has no rollup row
+     */
+    @Query(value = "SELECT subtree_version FROM org_tree_stats WHERE node_id = :nodeId", nativeQuery = true)
+    Long findSubtreeVersion(@Param("nodeId") UUID nodeId);
+}
@@ -1,16 +1,96 @@
 package com.reythecoder.organization.repository;
 
+import com.reythecoder.organization.dto.response.PersonnelPositionRsp;
 import com.reythecoder.organization.entity.PersonnelPositionEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface PersonnelPositionRepository extends JpaRepository<PersonnelPositionEntity, UUID> {
+
+    /**
+     * 关联记录连同人员、岗位、部门名称的投影查询，名称缺失时为空字符串
+     */
+    String SELECT_WITH_NAMES = "SELECT new com.reythecoder.organization.dto.response.PersonnelPositionRsp(" +
+            "pp.id, pp.personnelId, COALESCE(p.name, ''), pp.positionId, COALESCE(pos.name, ''), " +
+            "pp.departmentId, COALESCE(d.name, ''), pp.isPrimary, pp.startDate, pp.endDate, pp.status, " +
+            "pp.createTime, pp.updateTime) " +
+            "FROM PersonnelPositionEntity pp " +
+            "LEFT JOIN PersonnelEntity p ON p.id = pp.personnelId " +
+            "LEFT JOIN PositionEntity pos ON pos.id = pp.positionId " +
+            "LEFT JOIN DepartmentEntity d ON d.id = pp.departmentId";
+
+    /**
+     * 查询所有岗位关联，名称在同一条 SQL 中关联得到
+     */
+    @Query(SELECT_WITH_NAMES)
+    List<PersonnelPositionRsp> findAllWithNames();
+
+    /**
+     * 根据人员 ID 查询岗位关联及名称
+     */
+    @Query(SELECT_WITH_NAMES + " WHERE pp.personnelId = :personnelId")
+    List<PersonnelPositionRsp> findWithNamesByPersonnelId(@Param("personnelId") UUID personnelId);
+
+    /**
+     * 根据岗位 ID 查询人员关联及名称
+     */
+    @Query(SELECT_WITH_NAMES + " WHERE pp.positionId = :positionId")
+    List<PersonnelPositionRsp> findWithNamesByPositionId(@Param("positionId") UUID positionId);
+
+    /**
+     * 根据部门 ID 查询岗位关联及名称
+     */
+    @Query(SELECT_WITH_NAMES + " WHERE pp.departmentId = :departmentId")
+    List<PersonnelPositionRsp> findWithNamesByDepartmentId(@Param("departmentId") UUID departmentId);
     
+    /**
+     * 部门人数统计投影
+     */
+    interface DepartmentHeadcount {
+
+        UUID getDepartmentId();
+
+        long getPersonCount();
+    }
+
+    /**
+     * 按部门分组统计人数（同一人员在部门内的多个岗位只计一次），不加载关联实体
+     *
+     * @param status        关联状态，为 null 时不过滤
+     * @param effectiveDate 生效日期，为 null 时不过滤；否则只统计任职期间包含该日期的关联
+     * @return 有人员的部门及其人数
+     */
+    @Query("SELECT pp.departmentId AS departmentId, COUNT(DISTINCT pp.personnelId) AS personCount " +
+            "FROM PersonnelPositionEntity pp " +
+            "WHERE pp.departmentId IS NOT NULL " +
+            "AND (CAST(:status AS Integer) IS NULL OR pp.status = :status) " +
+            "AND (CAST(:effectiveDate AS LocalDate) IS NULL OR ((pp.startDate IS NULL OR pp.startDate <= :effectiveDate) " +
+            "AND (pp.endDate IS NULL OR pp.endDate >= :effectiveDate))) " +
+            "GROUP BY pp.departmentId")
+    List<DepartmentHeadcount> countPersonnelByDepartment(@Param("status") Integer status,
+                                                         @Param("effectiveDate") LocalDate effectiveDate);
+
+    /**
+     * 统计指定部门的人数，用于分页列表只统计当前页的部门
+     *
+     * @param departmentIds 部门 ID
+     * @return 有人员的部门及其人数
+     */
+    @Query("SELECT pp.departmentId AS departmentId, COUNT(DISTINCT pp.personnelId) AS personCount " +
+            "FROM PersonnelPositionEntity pp " +
+            "WHERE pp.departmentId IN :departmentIds " +
+            "GROUP BY pp.departmentId")
+    List<DepartmentHeadcount> countPersonnelInDepartments(@Param("departmentIds") Collection<UUID> departmentIds);
+
     /**
      * 根据人员 ID 查找所有岗位关联
      */
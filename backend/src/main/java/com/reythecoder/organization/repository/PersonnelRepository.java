@@ -2,10 +2,12 @@ package com.reythecoder.organization.repository;
 
 import com.reythecoder.organization.entity.PersonnelEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.UUID;
 
 @Repository
-public interface PersonnelRepository extends JpaRepository<PersonnelEntity, UUID> {
+public interface PersonnelRepository extends JpaRepository<PersonnelEntity, UUID>,
+        JpaSpecificationExecutor<PersonnelEntity> {
 }
\ No newline at end of file
@@ -2,13 +2,15 @@ package com.reythecoder.organization.repository;
 
 import com.reythecoder.organization.entity.PositionEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface PositionRepository extends JpaRepository<PositionEntity, UUID> {
+public interface PositionRepository extends JpaRepository<PositionEntity, UUID>,
+        JpaSpecificationExecutor<PositionEntity> {
     
     /**
      * 根据岗位编码查找岗位
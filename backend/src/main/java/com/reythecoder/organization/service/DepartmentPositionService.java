@@ -1,5 +1,7 @@
 package com.reythecoder.organization.service;
 
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.request.DepartmentPositionReq;
 import com.reythecoder.organization.dto.response.DepartmentPositionRsp;
 import jakarta.validation.constraints.NotNull;
@@ -15,6 +17,17 @@ public interface DepartmentPositionService {
      */
     List<DepartmentPositionRsp> getAllDepartmentPositions();
 
+    /**
+     * 键集分页获取部门岗位关联，只支持按 id 排序
+     * 
+     * @param departmentId 部门 ID，为 null 时不过滤
+     * @param positionId   岗位 ID，为 null 时不过滤
+     * @param query        分页请求
+     * @return 当前页关联及下一页令牌
+     */
+    CursorPage<DepartmentPositionRsp> getDepartmentPositionPage(UUID departmentId, UUID positionId,
+                                                                @NotNull PageQuery query);
+
     /**
      * 根据部门 ID 获取岗位列表
      * 
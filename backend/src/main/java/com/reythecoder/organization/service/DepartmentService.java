@@ -1,10 +1,13 @@
 package com.reythecoder.organization.service;
 
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.request.DepartmentCreateReq;
 import com.reythecoder.organization.dto.request.DepartmentUpdateReq;
 import com.reythecoder.organization.dto.response.DepartmentRsp;
 import jakarta.validation.constraints.NotNull;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,6 +19,25 @@ public interface DepartmentService {
      */
     List<DepartmentRsp> getAllDepartments();
 
+    /**
+     * 获取所有部门，人数按条件统计
+     * 
+     * @param status        岗位关联状态，为 null 时统计所有状态
+     * @param effectiveDate 生效日期，为 null 时不按任职期间过滤
+     * @return 部门列表
+     */
+    List<DepartmentRsp> getAllDepartments(Integer status, LocalDate effectiveDate);
+
+    /**
+     * 键集分页获取部门，人数只统计当前页的部门
+     * 
+     * @param name    部门名称，为 null 时不过滤
+     * @param orgCode 组织编码，为 null 时不过滤
+     * @param query   分页请求
+     * @return 当前页部门及下一页令牌
+     */
+    CursorPage<DepartmentRsp> getDepartmentPage(String name, String orgCode, @NotNull PageQuery query);
+
     /**
      * 根据ID获取部门
      * 
@@ -0,0 +1,21 @@
+package com.reythecoder.organization.service;
+
+import com.reythecoder.organization.dto.request.ExportType;
+import com.reythecoder.organization.dto.request.TreeExportFormat;
+
+import java.io.OutputStream;
+
+public interface ExportService {
+
+    /**
+     * 流式导出全部数据
+     *
+     * 在一个只读事务的快照中以游标逐行读取，写入输出流后即释放，内存占用与数据量无关。
+     *
+     * @param type   导出类型
+     * @param format 导出格式
+     * @param out    输出流，调用方负责关闭
+     * @return 导出的行数
+     */
+    long export(ExportType type, TreeExportFormat format, OutputStream out);
+}
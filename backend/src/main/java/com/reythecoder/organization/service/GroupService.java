@@ -1,5 +1,7 @@
 package com.reythecoder.organization.service;
 
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.request.GroupCreateReq;
 import com.reythecoder.organization.dto.request.GroupUpdateReq;
 import com.reythecoder.organization.dto.response.GroupRsp;
@@ -12,6 +14,8 @@ public interface GroupService {
     
     List<GroupRsp> getAllGroups();
     
+    CursorPage<GroupRsp> getGroupPage(String name, @NotNull PageQuery query);
+    
     GroupRsp getGroupById(@NotNull UUID id);
     
     GroupRsp createGroup(@NotNull GroupCreateReq req);
@@ -0,0 +1,32 @@
+package com.reythecoder.organization.service;
+
+import com.reythecoder.organization.dto.response.ImportErrorRsp;
+import com.reythecoder.organization.dto.response.ImportJobRsp;
+import com.reythecoder.organization.entity.ImportType;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+public interface ImportService {
+
+    /**
+     * 流式导入 CSV 文件，按批提交
+     *
+     * @param type  导入类型
+     * @param input CSV 内容（UTF-8，首行为表头）
+     * @param jobId 续传的任务 ID，为 null 时新建任务
+     * @return 导入结束（完成或失败）时的任务进度
+     */
+    ImportJobRsp importCsv(ImportType type, InputStream input, UUID jobId);
+
+    ImportJobRsp getImportJob(UUID jobId);
+
+    /**
+     * 查询任务未导入的行及原因
+     *
+     * @param jobId   任务 ID
+     * @param batchNo 批次号，为 null 时返回全部批次
+     */
+    List<ImportErrorRsp> getImportErrors(UUID jobId, Integer batchNo);
+}
@@ -1,16 +1,31 @@
 package com.reythecoder.organization.service;
 
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.rank.RankMaintainer;
+import com.reythecoder.common.rank.RankRebalanceReport;
+import com.reythecoder.organization.dto.request.BulkTreeNodeItem;
+import com.reythecoder.organization.dto.request.EntityRefItem;
+import com.reythecoder.organization.dto.request.ReorderMoveItem;
+import com.reythecoder.organization.dto.request.TreeExportFormat;
+import com.reythecoder.organization.dto.response.BreadcrumbRsp;
+import com.reythecoder.organization.dto.response.BulkCreateTreeNodeRsp;
+import com.reythecoder.organization.dto.response.CloneTreeNodeRsp;
+import com.reythecoder.organization.dto.response.EntityNodesRsp;
+import com.reythecoder.organization.dto.response.RemoveNodeRsp;
+import com.reythecoder.organization.dto.response.ReorderTreeNodesRsp;
+import com.reythecoder.organization.dto.response.TreeChangesRsp;
 import com.reythecoder.organization.dto.response.TreeNodeRsp;
 import com.reythecoder.organization.entity.EntityType;
 import jakarta.validation.constraints.NotNull;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
 
 /**
  * Service interface for organization tree node operations.
  */
-public interface OrgTreeNodeService {
+public interface OrgTreeNodeService extends RankMaintainer {
 
     // =====================================================
     // CRUD operations
@@ -39,6 +54,18 @@ public interface OrgTreeNodeService {
      */
     TreeNodeRsp createNodeAfter(UUID parentId, EntityType entityType, UUID entityId, String alias, UUID afterNodeId);
 
+    /**
+     * Create many nodes under an existing parent in one transaction.
+     * Levels, paths and evenly spaced sort ranks are computed in memory, duplicates
+     * are checked in one query, and rows are written with JDBC batch inserts.
+     * Top-level nodes are appended after the parent's existing children.
+     *
+     * @param parentId the existing parent node ID
+     * @param nodes the nodes to create, nested through children or flat through parentRef
+     * @return the created node IDs in request order
+     */
+    BulkCreateTreeNodeRsp createNodes(UUID parentId, List<BulkTreeNodeItem> nodes);
+
     /**
      * Update an existing tree node.
      *
@@ -69,11 +96,49 @@ public interface OrgTreeNodeService {
     TreeNodeRsp moveNodeAfter(UUID nodeId, UUID newParentId, UUID afterNodeId);
 
     /**
-     * Remove a tree node and all its descendants.
+     * Reorder the children of a parent in one transaction. Only the children
+     * whose rank must change are rewritten, with a single batched update.
+     *
+     * @param parentId the parent node ID
+     * @param orderedIds the target order of all children, or null when moves are given
+     * @param moves move-after instructions applied in order, or null when an order is given
+     * @return the children whose sort rank changed
+     */
+    ReorderTreeNodesRsp reorderChildren(UUID parentId, List<UUID> orderedIds, List<ReorderMoveItem> moves);
+
+    /**
+     * Copy a subtree, or its top levels, under another parent in one
+     * transaction. The copy is written with a single INSERT ... SELECT that
+     * assigns new IDs and rewrites parents, paths and levels; siblings keep
+     * their relative order and the copied root is appended after the target's
+     * existing children.
+     *
+     * @param nodeId the subtree root to copy
+     * @param targetParentId the parent to attach the copy to
+     * @param depth the depth to copy, counting the root as 1; null or -1 copies everything
+     * @return the new root ID and the number of created nodes
+     */
+    CloneTreeNodeRsp cloneSubTree(UUID nodeId, UUID targetParentId, Integer depth);
+
+    /**
+     * Remove a tree node and all its descendants with set-based deletes.
+     * Subtrees at or above the configured async threshold are detached when
+     * the request commits: the root row is deleted and the descendants are
+     * hidden from reads and writes, then deleted in the background.
      *
      * @param nodeId the node ID to remove
+     * @return the removed (or scheduled) node count
+     */
+    RemoveNodeRsp removeNode(UUID nodeId);
+
+    /**
+     * Run the background removals that failed or stopped making progress,
+     * e.g. because the instance running them went down. Each stalled removal
+     * is claimed by one instance before it runs.
+     *
+     * @return the number of removals run
      */
-    void removeNode(UUID nodeId);
+    int resumePendingRemovals();
 
     // =====================================================
     // Query operations
@@ -95,6 +160,17 @@ public interface OrgTreeNodeService {
      */
     List<TreeNodeRsp> getChildren(UUID parentId);
 
+    /**
+     * Get one page of direct children using keyset pagination.
+     *
+     * @param parentId the parent node ID
+     * @param pageToken opaque continuation token from the previous page, null for the first page
+     * @param pageSize requested page size, capped by configuration
+     * @param entityType optional entity type filter
+     * @return the page of child nodes ordered by sort rank
+     */
+    CursorPage<TreeNodeRsp> getChildrenPage(UUID parentId, String pageToken, Integer pageSize, EntityType entityType);
+
     /**
      * Get a subtree starting from the specified node.
      *
@@ -112,6 +188,31 @@ public interface OrgTreeNodeService {
      */
     List<TreeNodeRsp> getAllDescendants(UUID nodeId);
 
+    /**
+     * Get the descendants within a number of levels below a node, optionally
+     * only those of one entity type, with a single level-bounded query.
+     *
+     * @param nodeId the node ID
+     * @param depth the number of levels below the node; null or -1 for all levels
+     * @param entityType the entity type to return, or null for all types
+     * @return matching descendants ordered by level and sort rank
+     */
+    List<TreeNodeRsp> getDescendants(UUID nodeId, Integer depth, EntityType entityType);
+
+    /**
+     * Stream a subtree in pre-order to an output stream through a
+     * forward-only database cursor, so memory use does not grow with the
+     * size of the subtree.
+     *
+     * @param nodeId the subtree root node ID; an unknown ID yields an empty export
+     * @param depth the maximum depth counting the root as 1, null or -1 for unlimited
+     * @param entityType the entity type to export, or null for all
+     * @param format the output format
+     * @param out the stream to write to; flushed but not closed
+     * @return the number of exported nodes
+     */
+    long exportSubTree(UUID nodeId, Integer depth, EntityType entityType, TreeExportFormat format, OutputStream out);
+
     /**
      * Get all ancestor nodes of a given node.
      *
@@ -120,6 +221,71 @@ public interface OrgTreeNodeService {
      */
     List<TreeNodeRsp> getAllAncestors(UUID nodeId);
 
+    /**
+     * Recompute the statistics rollups of all nodes in one pass.
+     * Used for recovery when the incrementally maintained rollups drift.
+     *
+     * @return the number of rollup rows written
+     */
+    int rebuildStatistics();
+
+    /**
+     * Rebalance the children of every parent whose sort ranks exceed the
+     * configured length threshold, one parent per transaction.
+     *
+     * @return the rebalance report
+     */
+    @Override
+    RankRebalanceReport rebalanceRanks();
+
+    /**
+     * Get an opaque version token of a node's subtree, read with a primary
+     * key lookup. It changes whenever the node, any descendant or the
+     * statistics of the subtree change, and backs the ETags of tree reads.
+     *
+     * @param nodeId the subtree root node ID
+     * @return the version token, or null when the node is unknown
+     */
+    String getSubtreeVersion(UUID nodeId);
+
+    /**
+     * Get the current tree version. Every committed tree mutation raises it.
+     *
+     * @return the current tree version, 0 before the first change
+     */
+    long getTreeVersion();
+
+    /**
+     * Get tree changes after a version, in version order.
+     *
+     * @param sinceVersion the last version the caller has applied (null for 0)
+     * @param limit the maximum number of changes, capped by configuration
+     * @return the changes and the version to continue from
+     */
+    TreeChangesRsp getChanges(Long sinceVersion, Integer limit);
+
+    /**
+     * Get breadcrumbs for multiple nodes at once.
+     * Ancestors are resolved from each node's stored path in one batched lookup.
+     * Unknown node IDs are skipped.
+     *
+     * @param nodeIds the node IDs
+     * @return breadcrumbs in request order, each from the root down to the node itself
+     */
+    List<BreadcrumbRsp> getBreadcrumbs(List<UUID> nodeIds);
+
+    /**
+     * Search nodes whose name contains a keyword, case-insensitively.
+     * Prefix matches rank first, then shorter names. Breadcrumbs of all hits
+     * are resolved in one batched lookup.
+     *
+     * @param keyword the keyword, matched as prefix or infix
+     * @param entityType optional entity type filter
+     * @param limit the maximum number of hits, capped by configuration
+     * @return the best hits, each with its path from the root down to the node itself
+     */
+    List<BreadcrumbRsp> searchNodes(String keyword, EntityType entityType, Integer limit);
+
     /**
      * Get nodes by entity type and entity ID.
      *
@@ -129,6 +295,17 @@ public interface OrgTreeNodeService {
      */
     List<TreeNodeRsp> getNodesByEntity(EntityType entityType, UUID entityId);
 
+    /**
+     * Get the nodes of many entities at once.
+     * Nodes, their statistics and, when requested, the ancestors of all
+     * breadcrumbs are each loaded with one batched query.
+     *
+     * @param entities the entities, duplicates are resolved once
+     * @param includePath whether to include each node's breadcrumb
+     * @return one entry per distinct entity in request order, with empty nodes when not in the tree
+     */
+    List<EntityNodesRsp> getNodesByEntities(List<EntityRefItem> entities, boolean includePath);
+
     /**
      * Count the number of direct children of a parent node.
      *
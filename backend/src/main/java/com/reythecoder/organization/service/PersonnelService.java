@@ -1,5 +1,7 @@
 package com.reythecoder.organization.service;
 
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.request.PersonnelCreateReq;
 import com.reythecoder.organization.dto.request.PersonnelUpdateReq;
 import com.reythecoder.organization.dto.response.PersonnelRsp;
@@ -9,6 +11,7 @@ import java.util.UUID;
 
 public interface PersonnelService {
     List<PersonnelRsp> getAllPersonnel();
+    CursorPage<PersonnelRsp> getPersonnelPage(String name, String idCard, String mobile, PageQuery query);
     PersonnelRsp getPersonnelById(UUID id);
     PersonnelRsp createPersonnel(PersonnelCreateReq req);
     PersonnelRsp updatePersonnel(UUID id, PersonnelUpdateReq req);
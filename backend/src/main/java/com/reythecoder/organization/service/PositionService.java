@@ -1,5 +1,7 @@
 package com.reythecoder.organization.service;
 
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.request.PositionCreateReq;
 import com.reythecoder.organization.dto.request.PositionUpdateReq;
 import com.reythecoder.organization.dto.response.PositionRsp;
@@ -16,6 +18,20 @@ public interface PositionService {
      */
     List<PositionRsp> getAllPositions();
 
+    /**
+     * 键集分页获取岗位
+     * 
+     * @param name        岗位名称，为 null 时不过滤
+     * @param code        岗位编码，为 null 时不过滤
+     * @param jobLevel    职级，为 null 时不过滤
+     * @param jobCategory 岗位类别，为 null 时不过滤
+     * @param status      状态，为 null 时不过滤
+     * @param query       分页请求
+     * @return 当前页岗位及下一页令牌
+     */
+    CursorPage<PositionRsp> getPositionPage(String name, String code, String jobLevel, String jobCategory,
+                                            Integer status, @NotNull PageQuery query);
+
     /**
      * 根据 ID 获取岗位
      * 
@@ -0,0 +1,128 @@
+package com.reythecoder.organization.service.impl;
+
+import com.reythecoder.organization.dto.request.TreeExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 把导出的数据行逐行写为 CSV 或 NDJSON
+ *
+ * CSV 的表头使用列名（下划线形式），NDJSON 的键使用对应的驼峰形式；
+ * 数值与布尔值按原样输出，其余值按字符串输出，null 在 CSV 中为空字段、在 NDJSON 中为 null。
+ * 写完一行即不再引用该行，除写缓冲外不保留数据。
+ */
+final class BulkExportWriter {
+
+    private final TreeExportFormat format;
+    private final List<String> columns;
+    private final String[] jsonKeys;
+    private final Writer writer;
+
+    BulkExportWriter(TreeExportFormat format, List<String> columns, OutputStream out) {
+        this.format = format;
+        this.columns = columns;
+        this.jsonKeys = columns.stream().map(BulkExportWriter::toJsonKey).toArray(String[]::new);
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    /**
+     * 写 CSV 表头，NDJSON 没有表头
+     */
+    void writeHeader() {
+        if (format != TreeExportFormat.CSV) {
+            return;
+        }
+        try {
+            writer.write(String.join(",", columns));
+            writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void write(Object[] row) {
+        try {
+            if (format == TreeExportFormat.CSV) {
+                writeCsv(row);
+            } else {
+                writeJson(row);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCsv(Object[] row) throws IOException {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (row[i] != null) {
+                TreeExportWriter.writeCsvField(writer, toText(row[i]));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeJson(Object[] row) throws IOException {
+        writer.write('{');
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write('"');
+            writer.write(jsonKeys[i]);
+            writer.write("\":");
+            Object value = row[i];
+            if (value == null || value instanceof Number || value instanceof Boolean) {
+                writer.write(toText(value));
+            } else {
+                writer.write('"');
+                TreeExportWriter.writeJsonString(writer, toText(value));
+                writer.write('"');
+            }
+        }
+        writer.write("}\n");
+    }
+
+    private static String toText(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        return String.valueOf(value);
+    }
+
+    /**
+     * id_card -> idCard
+     */
+    private static String toJsonKey(String column) {
+        StringBuilder key = new StringBuilder(column.length());
+        boolean upper = false;
+        for (int i = 0; i < column.length(); i++) {
+            char c = column.charAt(i);
+            if (c == '_') {
+                upper = true;
+            } else {
+                key.append(upper ? Character.toUpperCase(c) : c);
+                upper = false;
+            }
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,161 @@
+package com.reythecoder.organization.service.impl;
+
+import com.reythecoder.common.exception.ApiException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 逐条读取 CSV 记录（RFC 4180）
+ *
+ * 支持双引号包裹的字段、字段内的 "" 转义与换行，以及 CR、LF、CRLF 三种行尾；
+ * 文件开头的 BOM 与空行被跳过。每次只在内存中保留当前一条记录，单条记录的字符数受上限约束，
+ * 因此读取任意大小的文件时占用的内存都是有界的。
+ */
+final class CsvRecordReader {
+
+    private static final int EOF = -1;
+    private static final int NONE = -2;
+    private static final char BOM = '\uFEFF';
+
+    private final Reader reader;
+    private final int maxRecordLength;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+
+    private int pushback = NONE;
+    private boolean started;
+    private long line = 1;
+    private long recordLine;
+    private int recordLength;
+
+    CsvRecordReader(Reader reader, int maxRecordLength) {
+        this.reader = reader;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * 读取下一条记录
+     *
+     * @return 记录的各字段，文件结束时为 null
+     * @throws ApiException 记录超过长度上限或引号未闭合时
+     */
+    String[] next() {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            endLine(c);
+            c = read();
+        }
+        if (c == EOF) {
+            return null;
+        }
+        unread(c);
+        return readRecord();
+    }
+
+    /**
+     * @return 最近一条记录起始的行号，从 1 开始
+     */
+    long getLineNumber() {
+        return recordLine;
+    }
+
+    private String[] readRecord() {
+        recordLine = line;
+        recordLength = 0;
+        fields.clear();
+        while (true) {
+            field.setLength(0);
+            int c = read();
+            if (c == '"') {
+                c = readQuoted();
+            }
+            while (c != ',' && c != '\r' && c != '\n' && c != EOF) {
+                append((char) c);
+                c = read();
+            }
+            fields.add(field.toString());
+            if (c != ',') {
+                endLine(c);
+                return fields.toArray(new String[0]);
+            }
+        }
+    }
+
+    /**
+     * 读取引号内的内容，返回闭合引号之后的第一个字符
+     */
+    private int readQuoted() {
+        while (true) {
+            int c = read();
+            if (c == EOF) {
+                throw new ApiException(400, "第 " + recordLine + " 行的引号未闭合");
+            }
+            if (c == '"') {
+                int following = read();
+                if (following != '"') {
+                    return following;
+                }
+            } else if (c == '\r' || c == '\n') {
+                append((char) c);
+                if (c == '\r') {
+                    int following = read();
+                    if (following == '\n') {
+                        append('\n');
+                    } else {
+                        unread(following);
+                    }
+                }
+                line++;
+                continue;
+            }
+            append((char) c);
+        }
+    }
+
+    private void append(char c) {
+        if (++recordLength > maxRecordLength) {
+            throw new ApiException(400, "第 " + recordLine + " 行的记录超过 " + maxRecordLength + " 个字符");
+        }
+        field.append(c);
+    }
+
+    private void endLine(int c) {
+        if (c == '\r') {
+            int following = read();
+            if (following != '\n') {
+                unread(following);
+            }
+        }
+        if (c != EOF) {
+            line++;
+        }
+    }
+
+    private int read() {
+        if (pushback != NONE) {
+            int c = pushback;
+            pushback = NONE;
+            return c;
+        }
+        try {
+            int c = reader.read();
+            if (!started) {
+                started = true;
+                if (c == BOM) {
+                    c = reader.read();
+                }
+            }
+            return c;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void unread(int c) {
+        pushback = c;
+    }
+}
@@ -1,5 +1,8 @@
 package com.reythecoder.organization.service.impl;
 
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.KeysetPaginator;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.request.DepartmentPositionReq;
 import com.reythecoder.organization.dto.response.DepartmentPositionRsp;
 import com.reythecoder.organization.entity.DepartmentEntity;
@@ -12,11 +15,15 @@ import com.reythecoder.organization.repository.PositionRepository;
 import com.reythecoder.organization.service.DepartmentPositionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,13 +33,16 @@ public class DepartmentPositionServiceImpl implements DepartmentPositionService
     private final DepartmentPositionRepository departmentPositionRepository;
     private final DepartmentRepository departmentRepository;
     private final PositionRepository positionRepository;
+    private final KeysetPaginator paginator;
 
     public DepartmentPositionServiceImpl(DepartmentPositionRepository departmentPositionRepository,
                                          DepartmentRepository departmentRepository,
-                                         PositionRepository positionRepository) {
+                                         PositionRepository positionRepository,
+                                         KeysetPaginator paginator) {
         this.departmentPositionRepository = departmentPositionRepository;
         this.departmentRepository = departmentRepository;
         this.positionRepository = positionRepository;
+        this.paginator = paginator;
     }
 
     @Override
@@ -44,6 +54,36 @@ public class DepartmentPositionServiceImpl implements DepartmentPositionService
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPage<DepartmentPositionRsp> getDepartmentPositionPage(UUID departmentId, UUID positionId,
+                                                                       PageQuery query) {
+        logger.info("分页获取部门岗位关联：departmentId={}, positionId={}, pageSize={}",
+                departmentId, positionId, query.pageSize());
+        Specification<DepartmentPositionEntity> filter = Specification.allOf(
+                KeysetPaginator.equalTo("departmentId", departmentId),
+                KeysetPaginator.equalTo("positionId", positionId));
+        CursorPage<DepartmentPositionEntity> page = paginator.page(departmentPositionRepository, filter, query,
+                DepartmentPositionEntity::getId, null, Function.identity());
+
+        // 部门、岗位名称按当前页批量查询，每页固定两次查询
+        List<DepartmentPositionEntity> entities = page.getItems();
+        Map<UUID, String> departmentNames = new HashMap<>();
+        Map<UUID, String> positionNames = new HashMap<>();
+        if (!entities.isEmpty()) {
+            departmentRepository.findAllById(entities.stream().map(DepartmentPositionEntity::getDepartmentId)
+                    .collect(Collectors.toSet()))
+                    .forEach(dept -> departmentNames.put(dept.getId(), dept.getName()));
+            positionRepository.findAllById(entities.stream().map(DepartmentPositionEntity::getPositionId)
+                    .collect(Collectors.toSet()))
+                    .forEach(pos -> positionNames.put(pos.getId(), pos.getName()));
+        }
+        List<DepartmentPositionRsp> items = entities.stream()
+                .map(entity -> toRsp(entity, departmentNames.getOrDefault(entity.getDepartmentId(), ""),
+                        positionNames.getOrDefault(entity.getPositionId(), "")))
+                .collect(Collectors.toList());
+        return new CursorPage<>(items, page.getNextPageToken(), page.isHasMore());
+    }
+
     @Override
     public List<DepartmentPositionRsp> getPositionsByDepartmentId(UUID departmentId) {
         logger.info("根据部门 ID 获取岗位列表：{}", departmentId);
@@ -110,13 +150,16 @@ public class DepartmentPositionServiceImpl implements DepartmentPositionService
     private DepartmentPositionRsp toRspWithDetails(DepartmentPositionEntity entity) {
         DepartmentEntity dept = departmentRepository.findById(entity.getDepartmentId()).orElse(null);
         PositionEntity pos = positionRepository.findById(entity.getPositionId()).orElse(null);
-        
+        return toRsp(entity, dept != null ? dept.getName() : "", pos != null ? pos.getName() : "");
+    }
+
+    private DepartmentPositionRsp toRsp(DepartmentPositionEntity entity, String departmentName, String positionName) {
         return DepartmentPositionRsp.builder()
                 .id(entity.getId())
                 .departmentId(entity.getDepartmentId())
-                .departmentName(dept != null ? dept.getName() : "")
+                .departmentName(departmentName)
                 .positionId(entity.getPositionId())
-                .positionName(pos != null ? pos.getName() : "")
+                .positionName(positionName)
                 .isPrimary(entity.getIsPrimary())
                 .sortOrder(entity.getSortOrder())
                 .createTime(entity.getCreateTime())
@@ -1,5 +1,8 @@
 package com.reythecoder.organization.service.impl;
 
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.KeysetPaginator;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.request.DepartmentCreateReq;
 import com.reythecoder.organization.dto.request.DepartmentUpdateReq;
 import com.reythecoder.organization.dto.response.DepartmentRsp;
@@ -11,10 +14,14 @@ import com.reythecoder.organization.repository.PersonnelPositionRepository;
 import com.reythecoder.organization.service.DepartmentService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -25,29 +32,62 @@ public class DepartmentServiceImpl implements DepartmentService {
     private final DepartmentRepository departmentRepository;
     private final DepartmentMapper departmentMapper;
     private final PersonnelPositionRepository personnelPositionRepository;
+    private final KeysetPaginator paginator;
 
     public DepartmentServiceImpl(DepartmentRepository departmentRepository, 
-                                  PersonnelPositionRepository personnelPositionRepository) {
+                                  PersonnelPositionRepository personnelPositionRepository,
+                                  KeysetPaginator paginator) {
         this.departmentRepository = departmentRepository;
         this.departmentMapper = DepartmentMapper.INSTANCE;
         this.personnelPositionRepository = personnelPositionRepository;
+        this.paginator = paginator;
     }
 
     @Override
     public List<DepartmentRsp> getAllDepartments() {
-        logger.info("获取所有部门");
+        return getAllDepartments(null, null);
+    }
+
+    @Override
+    public List<DepartmentRsp> getAllDepartments(Integer status, LocalDate effectiveDate) {
+        logger.info("获取所有部门：status={}, effectiveDate={}", status, effectiveDate);
         List<DepartmentEntity> entities = departmentRepository.findAll();
+        // 统计部门内人数：一次分组聚合，不加载岗位关联实体
+        Map<UUID, Long> counts = new HashMap<>();
+        for (PersonnelPositionRepository.DepartmentHeadcount row
+                : personnelPositionRepository.countPersonnelByDepartment(status, effectiveDate)) {
+            counts.put(row.getDepartmentId(), row.getPersonCount());
+        }
         return entities.stream()
                 .map(entity -> {
                     DepartmentRsp rsp = departmentMapper.toRsp(entity);
-                    // 统计部门内人数
-                    int count = personnelPositionRepository.findByDepartmentId(entity.getId()).size();
-                    rsp.setPersonCount(count);
+                    rsp.setPersonCount(counts.getOrDefault(entity.getId(), 0L).intValue());
                     return rsp;
                 })
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPage<DepartmentRsp> getDepartmentPage(String name, String orgCode, PageQuery query) {
+        logger.info("分页获取部门：name={}, orgCode={}, sort={}, pageSize={}", name, orgCode, query.sort(),
+                query.pageSize());
+        Specification<DepartmentEntity> filter = Specification.allOf(
+                KeysetPaginator.equalTo("name", name),
+                KeysetPaginator.equalTo("orgCode", orgCode));
+        CursorPage<DepartmentRsp> page = paginator.page(departmentRepository, filter, query,
+                DepartmentEntity::getId, DepartmentEntity::getName, departmentMapper::toRsp);
+        if (page.getItems().isEmpty()) {
+            return page;
+        }
+        Map<UUID, Long> counts = new HashMap<>();
+        for (PersonnelPositionRepository.DepartmentHeadcount row : personnelPositionRepository
+                .countPersonnelInDepartments(page.getItems().stream().map(DepartmentRsp::getId).toList())) {
+            counts.put(row.getDepartmentId(), row.getPersonCount());
+        }
+        page.getItems().forEach(rsp -> rsp.setPersonCount(counts.getOrDefault(rsp.getId(), 0L).intValue()));
+        return page;
+    }
+
     @Override
     public DepartmentRsp getDepartmentById(UUID id) {
         logger.info("根据ID获取部门: {}", id);
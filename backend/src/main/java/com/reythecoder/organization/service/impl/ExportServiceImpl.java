@@ -0,0 +1,52 @@
+package com.reythecoder.organization.service.impl;
+
+import com.reythecoder.organization.config.ExportProperties;
+import com.reythecoder.organization.dto.request.ExportType;
+import com.reythecoder.organization.dto.request.TreeExportFormat;
+import com.reythecoder.organization.repository.BulkExportRepository;
+import com.reythecoder.organization.service.ExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+
+@Service
+public class ExportServiceImpl implements ExportService {
+    private static final Logger logger = LoggerFactory.getLogger(ExportServiceImpl.class);
+
+    private final BulkExportRepository bulkExportRepository;
+    private final TransactionTemplate snapshotTransaction;
+    private final ExportProperties properties;
+
+    public ExportServiceImpl(BulkExportRepository bulkExportRepository,
+                             PlatformTransactionManager transactionManager,
+                             ExportProperties properties) {
+        this.bulkExportRepository = bulkExportRepository;
+        // REPEATABLE READ：整个导出读取同一个快照，不受导出期间的写入影响
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.properties = properties;
+    }
+
+    @Override
+    public long export(ExportType type, TreeExportFormat format, OutputStream out) {
+        logger.info("批量导出：type={}, format={}", type, format);
+        long start = System.currentTimeMillis();
+
+        BulkExportWriter writer = new BulkExportWriter(format, type.getColumns(), out);
+        writer.writeHeader();
+        // PostgreSQL 只在事务内按 fetchSize 分批读取
+        Long count = snapshotTransaction.execute(status -> bulkExportRepository.stream(type,
+                properties.getFetchSize(), writer::write));
+        writer.flush();
+
+        long exported = count == null ? 0 : count;
+        logger.info("批量导出完成：type={}, count={}, 耗时={}ms", type, exported, System.currentTimeMillis() - start);
+        return exported;
+    }
+}
@@ -1,5 +1,8 @@
 package com.reythecoder.organization.service.impl;
 
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.KeysetPaginator;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.request.GroupCreateReq;
 import com.reythecoder.organization.dto.request.GroupUpdateReq;
 import com.reythecoder.organization.dto.response.GroupRsp;
@@ -10,6 +13,7 @@ import com.reythecoder.organization.repository.GroupRepository;
 import com.reythecoder.organization.service.GroupService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
@@ -25,10 +29,12 @@ public class GroupServiceImpl implements GroupService {
     
     private final GroupRepository groupRepository;
     private final GroupMapper groupMapper;
+    private final KeysetPaginator paginator;
     
-    public GroupServiceImpl(GroupRepository groupRepository) {
+    public GroupServiceImpl(GroupRepository groupRepository, KeysetPaginator paginator) {
         this.groupRepository = groupRepository;
         this.groupMapper = GroupMapper.INSTANCE;
+        this.paginator = paginator;
     }
     
     @Override
@@ -40,6 +46,14 @@ public class GroupServiceImpl implements GroupService {
                 .collect(Collectors.toList());
     }
     
+    @Override
+    public CursorPage<GroupRsp> getGroupPage(String name, PageQuery query) {
+        logger.info("分页获取分组：name={}, sort={}, pageSize={}", name, query.sort(), query.pageSize());
+        Specification<GroupEntity> filter = KeysetPaginator.equalTo("name", name);
+        return paginator.page(groupRepository, filter, query,
+                GroupEntity::getId, GroupEntity::getName, groupMapper::toRsp);
+    }
+    
     @Override
     public GroupRsp getGroupById(UUID id) {
         logger.info("根据ID获取分组: {}", id);
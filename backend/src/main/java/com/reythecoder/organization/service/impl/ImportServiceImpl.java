@@ -0,0 +1,548 @@
+package com.reythecoder.organization.service.impl;
+
+import com.reythecoder.common.exception.ApiException;
+import com.reythecoder.organization.config.ImportProperties;
+import com.reythecoder.organization.dto.request.DepartmentCreateReq;
+import com.reythecoder.organization.dto.request.PersonnelCreateReq;
+import com.reythecoder.organization.dto.request.PersonnelPositionImportReq;
+import com.reythecoder.organization.dto.request.PositionCreateReq;
+import com.reythecoder.organization.dto.response.ImportErrorRsp;
+import com.reythecoder.organization.dto.response.ImportJobRsp;
+import com.reythecoder.organization.entity.DepartmentEntity;
+import com.reythecoder.organization.entity.ImportErrorEntity;
+import com.reythecoder.organization.entity.ImportJobEntity;
+import com.reythecoder.organization.entity.ImportStatus;
+import com.reythecoder.organization.entity.ImportType;
+import com.reythecoder.organization.entity.PersonnelEntity;
+import com.reythecoder.organization.entity.PersonnelPositionEntity;
+import com.reythecoder.organization.entity.PositionEntity;
+import com.reythecoder.organization.mapper.DepartmentMapper;
+import com.reythecoder.organization.mapper.PersonnelMapper;
+import com.reythecoder.organization.mapper.PositionMapper;
+import com.reythecoder.organization.repository.ImportBatchRepository.AssignmentKey;
+import com.reythecoder.organization.repository.ImportErrorRepository;
+import com.reythecoder.organization.repository.ImportJobRepository;
+import com.reythecoder.organization.service.ImportService;
+import io.github.robsonkades.uuidv7.UUIDv7;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.format.datetime.standard.DateTimeFormatterRegistrar;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.DataBinder;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * CSV 批量导入
+ *
+ * 文件逐条读取，每 batchSize 行为一批：批内先逐行绑定并校验，再以一次集合查询
+ * 对照数据库去重、解析关联，最后用 JDBC 批量插入写入，批次计数在同一事务中累加。
+ * 任一时刻内存中只有一批数据；失败的任务可携带 jobId 重新上传同一文件，从断点继续。
+ */
+@Service
+@Validated
+public class ImportServiceImpl implements ImportService {
+    private static final Logger logger = LoggerFactory.getLogger(ImportServiceImpl.class);
+
+    private static final UUID DEFAULT_TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000000");
+    private static final int MAX_MESSAGE_LENGTH = 500;
+    private static final String FAILURE_MESSAGE = "导入失败，请联系管理员查看服务日志";
+    private static final String TAKEN_OVER_MESSAGE = "导入任务已被其他请求接管";
+
+    private static final Map<ImportType, List<String>> COLUMNS = Map.of(
+            ImportType.PERSONNEL, List.of("name", "gender", "idCard", "mobile", "telephone", "fax", "email"),
+            ImportType.DEPARTMENT, List.of("name", "englishName", "shortName", "orgCode", "phone", "fax",
+                    "email", "address", "postalCode"),
+            ImportType.POSITION, List.of("name", "code", "description", "jobLevel", "jobCategory",
+                    "minSalary", "maxSalary", "status"),
+            ImportType.PERSONNEL_POSITION, List.of("idCard", "positionCode", "orgCode", "isPrimary",
+                    "startDate", "endDate", "status"));
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportErrorRepository importErrorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SpringValidatorAdapter validator;
+    private final DefaultFormattingConversionService conversionService;
+    private final ImportProperties properties;
+
+    public ImportServiceImpl(ImportJobRepository importJobRepository,
+                             ImportErrorRepository importErrorRepository,
+                             PlatformTransactionManager transactionManager,
+                             Validator validator,
+                             ImportProperties properties) {
+        this.importJobRepository = importJobRepository;
+        this.importErrorRepository = importErrorRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = new SpringValidatorAdapter(validator);
+        this.conversionService = new DefaultFormattingConversionService(false);
+        DateTimeFormatterRegistrar registrar = new DateTimeFormatterRegistrar();
+        registrar.setUseIsoFormat(true);
+        registrar.registerFormatters(conversionService);
+        this.properties = properties;
+    }
+
+    @Override
+    public ImportJobRsp importCsv(ImportType type, InputStream input, UUID jobId) {
+        CsvRecordReader reader = new CsvRecordReader(
+                new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024),
+                properties.getMaxRecordLength());
+        String[] columns = resolveColumns(type, reader.next());
+        ImportJobEntity job = jobId == null ? createJob(type) : claimJob(type, jobId);
+        logger.info("开始导入：job={}, type={}, 已处理={}", job.getId(), type, job.getProcessedRows());
+
+        try {
+            for (long skipped = 0; skipped < job.getProcessedRows(); skipped++) {
+                if (reader.next() == null) {
+                    throw new ApiException(400, "文件行数少于已导入的行数，请上传同一文件续传");
+                }
+            }
+
+            List<Row> batch = new ArrayList<>(properties.getBatchSize());
+            String[] fields;
+            while ((fields = reader.next()) != null) {
+                batch.add(new Row(reader.getLineNumber(), fields));
+                if (batch.size() == properties.getBatchSize()) {
+                    commitBatch(job, columns, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                commitBatch(job, columns, batch);
+            }
+            if (!finish(job, ImportStatus.COMPLETED, "")) {
+                throw new ApiException(409, TAKEN_OVER_MESSAGE);
+            }
+            logger.info("导入完成：job={}, 导入={}, 跳过={}, 错误={}", job.getId(), job.getImportedCount(),
+                    job.getSkippedCount(), job.getErrorCount());
+        } catch (RuntimeException e) {
+            logger.error("导入失败：job={}, 已处理={}", job.getId(), job.getProcessedRows(), e);
+            if (!finish(job, ImportStatus.FAILED, failureMessage(e))) {
+                throw new ApiException(409, TAKEN_OVER_MESSAGE);
+            }
+        }
+        return toRsp(job);
+    }
+
+    @Override
+    public ImportJobRsp getImportJob(UUID jobId) {
+        logger.info("获取导入任务：{}", jobId);
+        return toRsp(findJob(jobId));
+    }
+
+    @Override
+    public List<ImportErrorRsp> getImportErrors(UUID jobId, Integer batchNo) {
+        logger.info("获取导入错误：job={}, batch={}", jobId, batchNo);
+        findJob(jobId);
+        List<ImportErrorEntity> errors = batchNo == null
+                ? importErrorRepository.findByJobIdOrderByIdAsc(jobId)
+                : importErrorRepository.findByJobIdAndBatchNoOrderByIdAsc(jobId, batchNo);
+        return errors.stream()
+                .map(e -> new ImportErrorRsp(e.getBatchNo(), e.getLineNumber(), e.getMessage()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 把表头映射为导入 DTO 的属性名，列名不区分大小写，下划线形式（如 id_card）与驼峰形式等价
+     */
+    private String[] resolveColumns(ImportType type, String[] header) {
+        if (header == null) {
+            throw new ApiException(400, "导入文件为空");
+        }
+        Map<String, String> known = new HashMap<>();
+        for (String property : COLUMNS.get(type)) {
+            known.put(normalize(property), property);
+        }
+        String[] columns = new String[header.length];
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < header.length; i++) {
+            String property = known.get(normalize(header[i]));
+            if (property == null) {
+                throw new ApiException(400, "不支持的列：" + header[i].trim());
+            }
+            if (!seen.add(property)) {
+                throw new ApiException(400, "重复的列：" + header[i].trim());
+            }
+            columns[i] = property;
+        }
+        return columns;
+    }
+
+    private static String normalize(String column) {
+        return column.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private ImportJobEntity createJob(ImportType type) {
+        OffsetDateTime now = OffsetDateTime.now();
+        ImportJobEntity job = new ImportJobEntity();
+        job.setId(UUIDv7.randomUUID());
+        job.setImportType(type);
+        job.setStatus(ImportStatus.RUNNING);
+        job.setClaimToken(UUIDv7.randomUUID());
+        job.setMessage("");
+        job.setCreateTime(now);
+        job.setUpdateTime(now);
+        job.setTenantId(DEFAULT_TENANT_ID);
+        return importJobRepository.save(job);
+    }
+
+    /**
+     * 接管失败或中断的任务；同一任务同时只能有一个请求在续传，被接管的请求此后提交批次会失败
+     */
+    private ImportJobEntity claimJob(ImportType type, UUID jobId) {
+        ImportJobEntity job = findJob(jobId);
+        if (job.getImportType() != type) {
+            throw new ApiException(400, "导入任务类型不匹配");
+        }
+        if (job.getStatus() == ImportStatus.COMPLETED) {
+            throw new ApiException(409, "导入任务已完成");
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        UUID token = UUIDv7.randomUUID();
+        Integer claimed = transactionTemplate.execute(status -> importJobRepository.claim(jobId, token, now,
+                now.minus(properties.getStaleAfter()), ImportStatus.RUNNING, ImportStatus.FAILED));
+        if (claimed == null || claimed == 0) {
+            throw new ApiException(409, "导入任务正在执行");
+        }
+        ImportJobEntity claimedJob = findJob(jobId);
+        claimedJob.setClaimToken(token);
+        return claimedJob;
+    }
+
+    private ImportJobEntity findJob(UUID jobId) {
+        return importJobRepository.findById(java.util.Objects.requireNonNull(jobId))
+                .orElseThrow(() -> new ApiException(404, "导入任务不存在"));
+    }
+
+    /**
+     * 在一个事务中写入一批数据、错误明细和批次计数，提交后断点前移；
+     * 任务已被其他请求接管时整批回滚并中止导入
+     */
+    private void commitBatch(ImportJobEntity job, String[] columns, List<Row> rows) {
+        int batchNo = job.getBatchCount() + 1;
+        BatchReport report = transactionTemplate.execute(status -> {
+            importJobRepository.lockImportType(job.getImportType());
+            BatchReport result = switch (job.getImportType()) {
+                case PERSONNEL -> importPersonnel(columns, rows);
+                case DEPARTMENT -> importDepartments(columns, rows);
+                case POSITION -> importPositions(columns, rows);
+                case PERSONNEL_POSITION -> importAssignments(columns, rows);
+            };
+            saveIssues(job, batchNo, result.issues);
+            int recorded = importJobRepository.recordBatch(job.getId(), job.getClaimToken(), rows.size(),
+                    result.imported, result.skipped, result.rejected, OffsetDateTime.now());
+            if (recorded == 0) {
+                throw new ApiException(409, TAKEN_OVER_MESSAGE);
+            }
+            return result;
+        });
+        job.setProcessedRows(job.getProcessedRows() + rows.size());
+        job.setBatchCount(batchNo);
+        job.setImportedCount(job.getImportedCount() + report.imported);
+        job.setSkippedCount(job.getSkippedCount() + report.skipped);
+        job.setErrorCount(job.getErrorCount() + report.rejected);
+        logger.info("导入批次已提交：job={}, batch={}, 行数={}, 导入={}, 跳过={}, 错误={}", job.getId(), batchNo,
+                rows.size(), report.imported, report.skipped, report.rejected);
+    }
+
+    /**
+     * 保存错误明细，每个任务最多保存 maxErrors 条，超出部分只计数
+     */
+    private void saveIssues(ImportJobEntity job, int batchNo, List<Issue> issues) {
+        long stored = job.getErrorCount() + job.getSkippedCount();
+        long quota = Math.max(0, properties.getMaxErrors() - stored);
+        if (quota == 0 || issues.isEmpty()) {
+            return;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        List<ImportErrorEntity> errors = issues.stream()
+                .sorted(Comparator.comparingLong(Issue::lineNumber))
+                .limit(quota)
+                .map(issue -> new ImportErrorEntity(null, job.getId(), batchNo, issue.lineNumber(),
+                        truncate(issue.message()), now))
+                .collect(Collectors.toList());
+        importJobRepository.insertErrors(errors);
+    }
+
+    private BatchReport importPersonnel(String[] columns, List<Row> rows) {
+        BatchReport report = new BatchReport();
+        Map<Row, PersonnelCreateReq> valid = bindAll(columns, rows, PersonnelCreateReq::new, report);
+        Map<String, UUID> existing = importJobRepository.findPersonnelIdsByIdCard(
+                valid.values().stream().map(PersonnelCreateReq::getIdCard).collect(Collectors.toSet()));
+
+        Set<String> seen = new HashSet<>();
+        List<PersonnelEntity> entities = new ArrayList<>(valid.size());
+        OffsetDateTime now = OffsetDateTime.now();
+        valid.forEach((row, req) -> {
+            if (existing.containsKey(req.getIdCard())) {
+                report.skip(row, "身份证号已存在");
+            } else if (!seen.add(req.getIdCard())) {
+                report.skip(row, "身份证号在本批次中重复");
+            } else {
+                PersonnelEntity entity = PersonnelMapper.INSTANCE.toEntity(req);
+                entity.setId(UUIDv7.randomUUID());
+                entity.setCreateTime(now);
+                entity.setUpdateTime(now);
+                entity.setTenantId(DEFAULT_TENANT_ID);
+                entities.add(entity);
+            }
+        });
+        if (!entities.isEmpty()) {
+            report.imported = importJobRepository.insertPersonnel(entities);
+        }
+        return report;
+    }
+
+    private BatchReport importDepartments(String[] columns, List<Row> rows) {
+        BatchReport report = new BatchReport();
+        Map<Row, DepartmentCreateReq> valid = bindAll(columns, rows, DepartmentCreateReq::new, report);
+        Map<String, UUID> existing = importJobRepository.findDepartmentIdsByOrgCode(
+                valid.values().stream().map(DepartmentCreateReq::getOrgCode)
+                        .filter(java.util.Objects::nonNull).collect(Collectors.toSet()));
+
+        Set<String> seen = new HashSet<>();
+        List<DepartmentEntity> entities = new ArrayList<>(valid.size());
+        OffsetDateTime now = OffsetDateTime.now();
+        valid.forEach((row, req) -> {
+            String orgCode = req.getOrgCode();
+            if (orgCode != null && existing.containsKey(orgCode)) {
+                report.skip(row, "组织编码已存在");
+            } else if (orgCode != null && !seen.add(orgCode)) {
+                report.skip(row, "组织编码在本批次中重复");
+            } else {
+                DepartmentEntity entity = DepartmentMapper.INSTANCE.toEntity(req);
+                entity.setId(UUIDv7.randomUUID());
+                entity.setCreateTime(now);
+                entity.setUpdateTime(now);
+                entity.setTenantId(DEFAULT_TENANT_ID);
+                entities.add(entity);
+            }
+        });
+        if (!entities.isEmpty()) {
+            report.imported = importJobRepository.insertDepartments(entities);
+        }
+        return report;
+    }
+
+    private BatchReport importPositions(String[] columns, List<Row> rows) {
+        BatchReport report = new BatchReport();
+        Map<Row, PositionCreateReq> valid = bindAll(columns, rows, PositionCreateReq::new, report);
+        Map<String, UUID> existing = importJobRepository.findPositionIdsByCode(
+                valid.values().stream().map(PositionCreateReq::getCode).collect(Collectors.toSet()));
+
+        Set<String> seen = new HashSet<>();
+        List<PositionEntity> entities = new ArrayList<>(valid.size());
+        OffsetDateTime now = OffsetDateTime.now();
+        valid.forEach((row, req) -> {
+            if (existing.containsKey(req.getCode())) {
+                report.skip(row, "岗位编码已存在");
+            } else if (!seen.add(req.getCode())) {
+                report.skip(row, "岗位编码在本批次中重复");
+            } else {
+                PositionEntity entity = PositionMapper.INSTANCE.toEntity(req);
+                entity.setId(UUIDv7.randomUUID());
+                entity.setCreateTime(now);
+                entity.setUpdateTime(now);
+                entity.setTenantId(DEFAULT_TENANT_ID);
+                if (entity.getStatus() == null) {
+                    entity.setStatus(1);
+                }
+                entities.add(entity);
+            }
+        });
+        if (!entities.isEmpty()) {
+            report.imported = importJobRepository.insertPositions(entities);
+        }
+        return report;
+    }
+
+    private BatchReport importAssignments(String[] columns, List<Row> rows) {
+        BatchReport report = new BatchReport();
+        Map<Row, PersonnelPositionImportReq> valid = bindAll(columns, rows, PersonnelPositionImportReq::new, report);
+        Map<String, UUID> personnel = importJobRepository.findPersonnelIdsByIdCard(
+                valid.values().stream().map(PersonnelPositionImportReq::getIdCard).collect(Collectors.toSet()));
+        Map<String, UUID> positions = importJobRepository.findPositionIdsByCode(
+                valid.values().stream().map(PersonnelPositionImportReq::getPositionCode).collect(Collectors.toSet()));
+        Map<String, UUID> departments = importJobRepository.findDepartmentIdsByOrgCode(
+                valid.values().stream().map(PersonnelPositionImportReq::getOrgCode)
+                        .filter(java.util.Objects::nonNull).collect(Collectors.toSet()));
+        Set<AssignmentKey> existing = importJobRepository.findAssignments(new HashSet<>(personnel.values()));
+
+        Set<AssignmentKey> seen = new HashSet<>();
+        List<PersonnelPositionEntity> entities = new ArrayList<>(valid.size());
+        valid.forEach((row, req) -> {
+            UUID personnelId = personnel.get(req.getIdCard());
+            UUID positionId = positions.get(req.getPositionCode());
+            UUID departmentId = req.getOrgCode() == null ? null : departments.get(req.getOrgCode());
+            if (personnelId == null) {
+                report.reject(row, "人员不存在");
+            } else if (positionId == null) {
+                report.reject(row, "岗位不存在");
+            } else if (req.getOrgCode() != null && departmentId == null) {
+                report.reject(row, "部门不存在");
+            } else if (req.getStartDate() != null && req.getEndDate() != null
+                    && req.getEndDate().isBefore(req.getStartDate())) {
+                report.reject(row, "结束日期不能早于开始日期");
+            } else {
+                AssignmentKey key = new AssignmentKey(personnelId, positionId, departmentId);
+                if (existing.contains(key)) {
+                    report.skip(row, "该人员已配置此岗位");
+                } else if (!seen.add(key)) {
+                    report.skip(row, "任职在本批次中重复");
+                } else {
+                    entities.add(new PersonnelPositionEntity(personnelId, positionId, departmentId,
+                            req.getIsPrimary(), req.getStartDate(), req.getEndDate(), req.getStatus()));
+                }
+            }
+        });
+        if (!entities.isEmpty()) {
+            report.imported = importJobRepository.insertAssignments(entities);
+        }
+        return report;
+    }
+
+    /**
+     * 把一批行绑定到导入 DTO 并校验，未通过的行记入错误，返回按行序排列的有效行
+     */
+    private <T> Map<Row, T> bindAll(String[] columns, List<Row> rows, Supplier<T> factory, BatchReport report) {
+        Map<Row, T> valid = new LinkedHashMap<>();
+        for (Row row : rows) {
+            T target = factory.get();
+            String error = bind(columns, row.fields(), target);
+            if (error == null) {
+                valid.put(row, target);
+            } else {
+                report.reject(row, error);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * 绑定一行并校验，返回错误信息；错误信息不包含字段值，避免证件号等写入错误明细
+     */
+    private String bind(String[] columns, String[] fields, Object target) {
+        if (fields.length > columns.length) {
+            return "列数多于表头";
+        }
+        MutablePropertyValues values = new MutablePropertyValues();
+        for (int i = 0; i < fields.length; i++) {
+            String value = fields[i].trim();
+            if (!value.isEmpty()) {
+                values.add(columns[i], value);
+            }
+        }
+        DataBinder binder = new DataBinder(target);
+        binder.setConversionService(conversionService);
+        binder.setValidator(validator);
+        binder.bind(values);
+        binder.validate();
+        if (!binder.getBindingResult().hasErrors()) {
+            return null;
+        }
+        return binder.getBindingResult().getFieldErrors().stream()
+                .map(error -> error.isBindingFailure()
+                        ? "字段 " + error.getField() + " 格式不正确"
+                        : error.getDefaultMessage())
+                .distinct()
+                .collect(Collectors.joining("；"));
+    }
+
+    /**
+     * 写入任务的最终状态，任务已被其他请求接管时不写入并返回 false
+     */
+    private boolean finish(ImportJobEntity job, ImportStatus status, String message) {
+        OffsetDateTime now = OffsetDateTime.now();
+        Integer updated = transactionTemplate.execute(
+                s -> importJobRepository.updateStatus(job.getId(), job.getClaimToken(), status, message, now));
+        if (updated == null || updated == 0) {
+            logger.warn("导入任务已被其他请求接管，放弃本次结果：job={}", job.getId());
+            return false;
+        }
+        job.setStatus(status);
+        job.setMessage(message);
+        job.setUpdateTime(now);
+        return true;
+    }
+
+    /**
+     * 任务失败信息只保存业务校验的提示；其他异常（如 JDBC 异常）可能带有绑定的证件号等字段值，只写日志
+     */
+    private static String failureMessage(RuntimeException e) {
+        return e instanceof ApiException ? truncate(e.getMessage()) : FAILURE_MESSAGE;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return "";
+        }
+        return message.length() <= MAX_MESSAGE_LENGTH ? message : message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+
+    private ImportJobRsp toRsp(ImportJobEntity job) {
+        return ImportJobRsp.builder()
+                .id(job.getId())
+                .type(job.getImportType())
+                .status(job.getStatus())
+                .processedRows(job.getProcessedRows())
+                .batchCount(job.getBatchCount())
+                .importedCount(job.getImportedCount())
+                .skippedCount(job.getSkippedCount())
+                .errorCount(job.getErrorCount())
+                .message(job.getMessage())
+                .createTime(job.getCreateTime())
+                .updateTime(job.getUpdateTime())
+                .build();
+    }
+
+    /**
+     * CSV 数据行及其在文件中的起始行号
+     */
+    private record Row(long lineNumber, String[] fields) {
+    }
+
+    private record Issue(long lineNumber, String message) {
+    }
+
+    /**
+     * 一批数据的处理结果，issues 记录被拒绝和被跳过的行
+     */
+    private static final class BatchReport {
+        private final List<Issue> issues = new ArrayList<>();
+        private int imported;
+        private int skipped;
+        private int rejected;
+
+        void reject(Row row, String message) {
+            rejected++;
+            issues.add(new Issue(row.lineNumber(), message));
+        }
+
+        void skip(Row row, String message) {
+            skipped++;
+            issues.add(new Issue(row.lineNumber(), "已跳过：" + message));
+        }
+    }
+}
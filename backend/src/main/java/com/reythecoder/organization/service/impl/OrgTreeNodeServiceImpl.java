@@ -1,28 +1,75 @@
 package com.reythecoder.organization.service.impl;
 
+import com.reythecoder.organization.cache.OrgTreeIndex;
+import com.reythecoder.organization.cache.OrgTreeIndex.IndexedNode;
+import com.reythecoder.organization.config.OrgTreeProperties;
+import com.reythecoder.organization.dto.request.BulkTreeNodeItem;
+import com.reythecoder.organization.dto.request.EntityRefItem;
+import com.reythecoder.organization.dto.request.ReorderMoveItem;
+import com.reythecoder.organization.dto.request.TreeExportFormat;
+import com.reythecoder.organization.dto.response.BreadcrumbItem;
+import com.reythecoder.organization.dto.response.BreadcrumbRsp;
+import com.reythecoder.organization.dto.response.BulkCreateTreeNodeRsp;
+import com.reythecoder.organization.dto.response.CloneTreeNodeRsp;
+import com.reythecoder.organization.dto.response.EntityNodesRsp;
+import com.reythecoder.organization.dto.response.RemoveNodeRsp;
+import com.reythecoder.organization.dto.response.ReorderTreeNodesRsp;
+import com.reythecoder.organization.dto.response.SortRankItem;
+import com.reythecoder.organization.dto.response.TreeChangeItem;
+import com.reythecoder.organization.dto.response.TreeChangesRsp;
 import com.reythecoder.organization.dto.response.TreeNodeRsp;
 import com.reythecoder.organization.dto.response.TreeStatistics;
 import com.reythecoder.organization.entity.EntityType;
+import com.reythecoder.organization.entity.OrgTreeChangeEntity;
 import com.reythecoder.organization.entity.OrgTreeNodeEntity;
+import com.reythecoder.organization.entity.OrgTreeStatsEntity;
+import com.reythecoder.organization.entity.TreeChangeType;
 import com.reythecoder.common.exception.ApiException;
 import com.reythecoder.organization.mapper.OrgTreeNodeMapper;
+import com.reythecoder.organization.repository.OrgTreeChangeLogRepository;
+import com.reythecoder.organization.repository.OrgTreeRemovalRepository;
 import com.reythecoder.organization.repository.OrgTreeNodeRepository;
+import com.reythecoder.organization.repository.OrgTreeStatsRepository;
 import com.reythecoder.organization.service.OrgTreeNodeService;
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.rank.RankRebalanceProperties;
+import com.reythecoder.common.rank.RankRebalanceReport;
+import com.reythecoder.common.rank.RankRebalancer;
+import com.reythecoder.common.utils.CursorTokenUtils;
 import com.reythecoder.common.utils.LexoRankUtils;
 import io.github.robsonkades.uuidv7.UUIDv7;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.validation.annotation.Validated;
 
+import java.io.OutputStream;
 import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -35,13 +82,49 @@ public class OrgTreeNodeServiceImpl implements OrgTreeNodeService {
     private static final Logger logger = LoggerFactory.getLogger(OrgTreeNodeServiceImpl.class);
 
     private static final UUID ROOT_TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000000");
+    private static final UUID NIL_UUID = new UUID(0L, 0L);
+
+    /**
+     * Maximum number of node IDs bound into one change log statement.
+     */
+    private static final int CHANGE_LOG_CHUNK = 1000;
 
     private final OrgTreeNodeRepository repository;
+    private final OrgTreeStatsRepository statsRepository;
+    private final OrgTreeChangeLogRepository changeLogRepository;
+    private final OrgTreeRemovalRepository removalRepository;
     private final OrgTreeNodeMapper mapper;
-
-    public OrgTreeNodeServiceImpl(OrgTreeNodeRepository repository, OrgTreeNodeMapper mapper) {
+    private final OrgTreeIndex treeIndex;
+    private final SiblingRankAllocator rankAllocator;
+    private final RankRebalancer rankRebalancer;
+    private final OrgTreeProperties properties;
+    private final RankRebalanceProperties rankProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TaskExecutor taskExecutor;
+
+    public OrgTreeNodeServiceImpl(OrgTreeNodeRepository repository, OrgTreeStatsRepository statsRepository,
+                                  OrgTreeChangeLogRepository changeLogRepository,
+                                  OrgTreeRemovalRepository removalRepository,
+                                  OrgTreeNodeMapper mapper, OrgTreeIndex treeIndex, SiblingRankAllocator rankAllocator,
+                                  RankRebalancer rankRebalancer, OrgTreeProperties properties,
+                                  RankRebalanceProperties rankProperties,
+                                  PlatformTransactionManager transactionManager,
+                                  @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
         this.repository = repository;
+        this.statsRepository = statsRepository;
+        this.changeLogRepository = changeLogRepository;
+        this.removalRepository = removalRepository;
         this.mapper = mapper;
+        this.treeIndex = treeIndex;
+        this.rankAllocator = rankAllocator;
+        this.rankRebalancer = rankRebalancer;
+        this.properties = properties;
+        this.rankProperties = rankProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
     }
 
     @Override
@@ -68,21 +151,14 @@ public class OrgTreeNodeServiceImpl implements OrgTreeNodeService {
         UUID[] path = new UUID[0];
 
         if (parentId != null) {
-            parentEntity = repository.findById(parentId)
+            parentEntity = repository.findLiveById(parentId)
                     .orElseThrow(() -> new ApiException(404, "父节点不存在"));
             level = parentEntity.getLevel() + 1;
             path = concatenateArrays(parentEntity.getPath(), new UUID[]{parentEntity.getId()});
         }
 
-        // Get sort rank for the new node
-        List<OrgTreeNodeEntity> siblings = repository.findByParentIdOrderBySortRankAsc(parentId);
-        String sortRank;
-        if (siblings.isEmpty()) {
-            sortRank = LexoRankUtils.initialRank(0);
-        } else {
-            OrgTreeNodeEntity lastSibling = siblings.get(siblings.size() - 1);
-            sortRank = LexoRankUtils.after(lastSibling.getSortRank());
-        }
+        // Append after the last sibling, serialized per parent
+        String sortRank = parentId != null ? rankAllocator.allocateAppend(parentId) : LexoRankUtils.initialRank(0);
 
         // Create new node
         OrgTreeNodeEntity newNode = new OrgTreeNodeEntity();
@@ -99,9 +175,13 @@ public class OrgTreeNodeServiceImpl implements OrgTreeNodeService {
         newNode.setTenantId(ROOT_TENANT_ID);
 
         OrgTreeNodeEntity savedNode = repository.save(newNode);
+        statsRepository.initNode(savedNode.getId());
+        applyToAncestors(savedNode.getId(), contributionOf(savedNode.getEntityType(), null), 1);
+        recordChanges(TreeChangeType.CREATED, List.of(savedNode.getId()));
         logger.info("树节点创建成功：nodeId={}", savedNode.getId());
+        syncIndex();
 
-        return toTreeNodeRsp(savedNode);
+        return toTreeNodeRsp(savedNode, Collections.emptyMap());
     }
 
     @Override
@@ -122,29 +202,15 @@ public class OrgTreeNodeServiceImpl implements OrgTreeNodeService {
         }
 
         // Validate afterNodeId
-        OrgTreeNodeEntity afterNode = repository.findById(afterNodeId)
+        OrgTreeNodeEntity afterNode = repository.findLiveById(afterNodeId)
                 .orElseThrow(() -> new ApiException(404, "参考节点不存在"));
 
         if (!Objects.equals(afterNode.getParentId(), parentId)) {
             throw new ApiException(400, "参考节点不属于指定的父节点");
         }
 
-        // Find the next sibling (the one after afterNode)
-        List<OrgTreeNodeEntity> siblings = repository.findByParentIdOrderBySortRankAsc(parentId);
-        OrgTreeNodeEntity nextSibling = null;
-        for (int i = 0; i < siblings.size(); i++) {
-            if (siblings.get(i).getId().equals(afterNodeId)) {
-                if (i + 1 < siblings.size()) {
-                    nextSibling = siblings.get(i + 1);
-                }
-                break;
-            }
-        }
-
-        // Calculate sort rank
-        String lowerBound = afterNode.getSortRank();
-        String upperBound = nextSibling != null ? nextSibling.getSortRank() : null;
-        String sortRank = LexoRankUtils.between(lowerBound, upperBound);
+        // Calculate sort rank between afterNode and the next sibling
+        String sortRank = rankAllocator.allocateAfter(parentId, afterNodeId);
 
         // Get parent node to determine level and path
         OrgTreeNodeEntity parentEntity = null;
@@ -152,7 +218,7 @@ public class OrgTreeNodeServiceImpl implements OrgTreeNodeService {
         UUID[] path = new UUID[0];
 
         if (parentId != null) {
-            parentEntity = repository.findById(parentId)
+            parentEntity = repository.findLiveById(parentId)
                     .orElseThrow(() -> new ApiException(404, "父节点不存在"));
             level = parentEntity.getLevel() + 1;
             path = concatenateArrays(parentEntity.getPath(), new UUID[]{parentEntity.getId()});
@@ -173,9 +239,73 @@ public class OrgTreeNodeServiceImpl implements OrgTreeNodeService {
         newNode.setTenantId(ROOT_TENANT_ID);
 
         OrgTreeNodeEntity savedNode = repository.save(newNode);
+        statsRepository.initNode(savedNode.getId());
+        applyToAncestors(savedNode.getId(), contributionOf(savedNode.getEntityType(), null), 1);
+        recordChanges(TreeChangeType.CREATED, List.of(savedNode.getId()));
         logger.info("树节点创建成功：nodeId={}", savedNode.getId());
+        syncIndex();
 
-        return toTreeNodeRsp(savedNode);
+        return toTreeNodeRsp(savedNode, Collections.emptyMap());
+    }
+
+    @Override
+    @Transactional
+    public BulkCreateTreeNodeRsp createNodes(UUID parentId, List<BulkTreeNodeItem> nodes) {
+        logger.info("批量创建树节点：parentId={}, topLevelCount={}", parentId, nodes.size());
+
+        OrgTreeNodeEntity parent = repository.findLiveById(parentId)
+                .orElseThrow(() -> new ApiException(404, "父节点不存在"));
+
+        List<PendingNode> requested = flattenBulkNodes(nodes);
+        List<PendingNode> roots = resolveBulkParents(requested);
+        List<PendingNode> ordered = assignBulkPositions(parent, roots, requested.size());
+        checkBulkDuplicates(parentId, roots, ordered);
+
+        // Roll subtree counts up from the deepest nodes; every pending parent
+        // comes before its children in the ordered list
+        TreeStatistics total = new TreeStatistics(0, 0, 0);
+        for (int i = ordered.size() - 1; i >= 0; i--) {
+            PendingNode node = ordered.get(i);
+            TreeStatistics contribution = contributionOf(node.entity.getEntityType(), node.statistics);
+            OrgTreeStatsEntity target = node.parent != null ? node.parent.statistics : null;
+            if (target != null) {
+                target.setSubGroupCount(target.getSubGroupCount() + contribution.getSubGroupCount());
+                target.setSubDepartmentCount(target.getSubDepartmentCount() + contribution.getSubDepartmentCount());
+                target.setPersonnelCount(target.getPersonnelCount() + contribution.getPersonnelCount());
+            } else {
+                total.setSubGroupCount(total.getSubGroupCount() + contribution.getSubGroupCount());
+                total.setSubDepartmentCount(total.getSubDepartmentCount() + contribution.getSubDepartmentCount());
+                total.setPersonnelCount(total.getPersonnelCount() + contribution.getPersonnelCount());
+            }
+        }
+
+        List<OrgTreeNodeEntity> entities = new ArrayList<>(ordered.size());
+        List<OrgTreeStatsEntity> statistics = new ArrayList<>(ordered.size());
+        for (PendingNode node : ordered) {
+            entities.add(node.entity);
+            statistics.add(node.statistics);
+        }
+
+        int batchSize = properties.getBulk().getBatchSize();
+        repository.batchInsert(entities, batchSize);
+        repository.batchInsertStatistics(statistics, batchSize);
+        // Every top-level node's path ends with the parent, so any of them
+        // addresses the parent and its ancestors
+        applyToAncestors(roots.get(0).entity.getId(), total, 1);
+        recordChanges(TreeChangeType.CREATED, entities.stream().map(OrgTreeNodeEntity::getId).toList());
+        syncIndex();
+
+        logger.info("批量创建树节点成功：parentId={}, createdCount={}", parentId, entities.size());
+
+        List<UUID> nodeIds = new ArrayList<>(requested.size());
+        for (PendingNode node : requested) {
+            nodeIds.add(node.entity.getId());
+        }
+        return BulkCreateTreeNodeRsp.builder()
+                .parentId(parentId)
+                .createdCount(entities.size())
+                .nodeIds(nodeIds)
+                .build();
     }
 
     @Override
@@ -183,7 +313,7 @@ public class OrgTreeNodeServiceImpl implements OrgTreeNodeService {
     public TreeNodeRsp updateNode(UUID nodeId, String alias, String sortRank) {
         logger.info("更新树节点：nodeId={}, alias={}, sortRank={}", nodeId, alias, sortRank);
 
-        OrgTreeNodeEntity node = repository.findById(nodeId)
+        OrgTreeNodeEntity node = repository.findLiveById(nodeId)
                 .orElseThrow(() -> new ApiException(404, "节点不存在"));
 
         if (alias != null) {
@@ -195,7 +325,9 @@ public class OrgTreeNodeServiceImpl implements OrgTreeNodeService {
         node.setUpdateTime(OffsetDateTime.now());
 
         OrgTreeNodeEntity updatedNode = repository.save(node);
+        recordChanges(TreeChangeType.UPDATED, List.of(updatedNode.getId()));
         logger.info("树节点更新成功：nodeId={}", updatedNode.getId());
+        syncIndex();
 
         return toTreeNodeRsp(updatedNode);
     }
@@ -205,7 +337,7 @@ public class OrgTreeNodeServiceImpl implements OrgTreeNodeService {
     public TreeNodeRsp moveNode(UUID nodeId, UUID newParentId) {
         logger.info("移动树节点：nodeId={}, newParentId={}", nodeId, newParentId);
 
-        OrgTreeNodeEntity node = repository.findById(nodeId)
+        OrgTreeNodeEntity node = repository.findLiveById(nodeId)
                 .orElseThrow(() -> new ApiException(404, "节点不存在"));
 
         // Cannot move root node
@@ -219,11 +351,11 @@ public class OrgTreeNodeServiceImpl implements OrgTreeNodeService {
         UUID[] newPath = new UUID[0];
 
         if (newParentId != null) {
-            newParent = repository.findById(newParentId)
+            newParent = repository.findLiveById(newParentId)
                     .orElseThrow(() -> new ApiException(404, "新父节点不存在"));
 
             // Prevent moving a node to its own descendant
-            if (isDescendant(node.getId(), newParentId)) {
+            if (isSelfOrDescendant(node.getId(), newParent)) {
                 throw new ApiException(400, "不能将节点移动到其子节点下");
             }
 
@@ -231,15 +363,15 @@ public class OrgTreeNodeServiceImpl implements OrgTreeNodeService {
             newPath = concatenateArrays(newParent.getPath(), new UUID[]{newParent.getId()});
         }
 
-        // Calculate new sort rank
-        List<OrgTreeNodeEntity> newSiblings = repository.findByParentIdOrderBySortRankAsc(newParentId);
-        String newSortRank;
-        if (newSiblings.isEmpty()) {
-            newSortRank = LexoRankUtils.initialRank(0);
-        } else {
-            OrgTreeNodeEntity lastSibling = newSiblings.get(newSiblings.size() - 1);
-            newSortRank = LexoRankUtils.after(lastSibling.getSortRank());
-        }
+        // Append after the new parent's last child, serialized per parent
+        String newSortRank = newParentId != null
+                ? rankAllocator.allocateAppend(newParentId) : LexoRankUtils.initialRank(0);
+
+        // Detach the subtree's counts from the old ancestors
+        TreeStatistics contribution = contributionOf(node.getEntityType(),
+                statsRepository.findById(node.getId()).orElse(null));
+        applyToAncestors(node.getId(), contribution, -1);
+        statsRepository.touchPaths(List.of(node.getId()));
 
         // Update node
         node.setParentId(newParentId);
@@ -249,7 +381,13 @@ public class OrgTreeNodeServiceImpl implements OrgTreeNodeService {
         node.setUpdateTime(OffsetDateTime.now());
 
         OrgTreeNodeEntity movedNode = repository.save(node);
-        logger.info("树节点移动成功：nodeId={}", movedNode.getId());
+        int repathed = repository.repathDescendants(movedNode.getId());
+        applyToAncestors(movedNode.getId(), contribution, 1);
+        recordChanges(TreeChangeType.MOVED, List.of(movedNode.getId()));
+        // Levels below the moved node changed as well
+        statsRepository.touchDescendants(movedNode.getId());
+        logger.info("树节点移动成功：nodeId={}, descendantsUpdated={}", movedNode.getId(), repathed);
+        syncIndex();
 
         return toTreeNodeRsp(movedNode);
     }
@@ -259,7 +397,7 @@ public class OrgTreeNodeServiceImpl implements OrgTreeNodeService {
     public TreeNodeRsp moveNodeAfter(UUID nodeId, UUID newParentId, UUID afterNodeId) {
         logger.info("移动树节点到指定位置：nodeId={}, newParentId={}, afterNodeId={}", nodeId, newParentId, afterNodeId);
 
-        OrgTreeNodeEntity node = repository.findById(nodeId)
+        OrgTreeNodeEntity node = repository.findLiveById(nodeId)
                 .orElseThrow(() -> new ApiException(404, "节点不存在"));
 
         // Cannot move root node
@@ -268,17 +406,17 @@ public class OrgTreeNodeServiceImpl implements OrgTreeNodeService {
         }
 
         // Validate afterNodeId
-        OrgTreeNodeEntity afterNode = repository.findById(afterNodeId)
+        OrgTreeNodeEntity afterNode = repository.findLiveById(afterNodeId)
                 .orElseThrow(() -> new ApiException(404, "参考节点不存在"));
 
         // Validate new parent
         OrgTreeNodeEntity newParent = null;
         if (newParentId != null) {
-            newParent = repository.findById(newParentId)
+            newParent = repository.findLiveById(newParentId)
                     .orElseThrow(() -> new ApiException(404, "新父节点不存在"));
 
             // Prevent moving a node to its own descendant
-            if (isDescendant(node.getId(), newParentId)) {
+            if (isSelfOrDescendant(node.getId(), newParent)) {
                 throw new ApiException(400, "不能将节点移动到其子节点下");
             }
         }
@@ -288,22 +426,8 @@ public class OrgTreeNodeServiceImpl implements OrgTreeNodeService {
             throw new ApiException(400, "参考节点不属于指定的新父节点");
         }
 
-        // Find the next sibling after afterNode
-        List<OrgTreeNodeEntity> siblings = repository.findByParentIdOrderBySortRankAsc(newParentId);
-        OrgTreeNodeEntity nextSibling = null;
-        for (int i = 0; i < siblings.size(); i++) {
-            if (siblings.get(i).getId().equals(afterNodeId)) {
-                if (i + 1 < siblings.size()) {
-                    nextSibling = siblings.get(i + 1);
-                }
-                break;
-            }
-        }
-
-        // Calculate new sort rank
-        String lowerBound = afterNode.getSortRank();
-        String upperBound = nextSibling != null ? nextSibling.getSortRank() : null;
-        String newSortRank = LexoRankUtils.between(lowerBound, upperBound);
+        // Calculate new sort rank between afterNode and the next sibling
+        String newSortRank = rankAllocator.allocateAfter(newParentId, afterNodeId);
 
         // Update level and path
         int newLevel = 0;
@@ -314,6 +438,12 @@ public class OrgTreeNodeServiceImpl implements OrgTreeNodeService {
             newPath = concatenateArrays(newParent.getPath(), new UUID[]{newParent.getId()});
         }
 
+        // Detach the subtree's counts from the old ancestors
+        TreeStatistics contribution = contributionOf(node.getEntityType(),
+                statsRepository.findById(node.getId()).orElse(null));
+        applyToAncestors(node.getId(), contribution, -1);
+        statsRepository.touchPaths(List.of(node.getId()));
+
         // Update node
         node.setParentId(newParentId);
         node.setLevel(newLevel);
@@ -322,17 +452,117 @@ public class OrgTreeNodeServiceImpl implements OrgTreeNodeService {
         node.setUpdateTime(OffsetDateTime.now());
 
         OrgTreeNodeEntity movedNode = repository.save(node);
-        logger.info("树节点移动成功：nodeId={}", movedNode.getId());
+        int repathed = repository.repathDescendants(movedNode.getId());
+        applyToAncestors(movedNode.getId(), contribution, 1);
+        recordChanges(TreeChangeType.MOVED, List.of(movedNode.getId()));
+        // Levels below the moved node changed as well
+        statsRepository.touchDescendants(movedNode.getId());
+        logger.info("树节点移动成功：nodeId={}, descendantsUpdated={}", movedNode.getId(), repathed);
+        syncIndex();
 
         return toTreeNodeRsp(movedNode);
     }
 
     @Override
     @Transactional
-    public void removeNode(UUID nodeId) {
+    public ReorderTreeNodesRsp reorderChildren(UUID parentId, List<UUID> orderedIds, List<ReorderMoveItem> moves) {
+        logger.info("批量调整子节点顺序：parentId={}, orderedCount={}, moveCount={}", parentId,
+                orderedIds == null ? null : orderedIds.size(), moves == null ? null : moves.size());
+
+        if ((orderedIds == null) == (moves == null)) {
+            throw new ApiException(400, "必须且只能提供目标顺序或移动指令之一");
+        }
+        if (repository.findLiveById(parentId).isEmpty()) {
+            throw new ApiException(404, "父节点不存在");
+        }
+
+        rankAllocator.lockChildren(parentId);
+        // The virtual root is listed among its own children
+        List<OrgTreeNodeEntity> children = repository.findByParentIdOrderBySortRankAsc(parentId).stream()
+                .filter(child -> !child.getId().equals(parentId))
+                .toList();
+        Map<UUID, String> currentRanks = new HashMap<>(children.size() * 4 / 3 + 1);
+        children.forEach(child -> currentRanks.put(child.getId(), child.getSortRank()));
+
+        List<UUID> order = orderedIds != null
+                ? checkTargetOrder(orderedIds, currentRanks)
+                : applyMoves(children.stream().map(OrgTreeNodeEntity::getId).collect(Collectors.toList()), moves,
+                        currentRanks);
+
+        List<String> planned = SiblingRankAllocator.planRanks(order.stream().map(currentRanks::get).toList());
+        List<UUID> changedIds = new ArrayList<>();
+        List<String> changedRanks = new ArrayList<>();
+        List<SortRankItem> changes = new ArrayList<>();
+        for (int i = 0; i < order.size(); i++) {
+            UUID id = order.get(i);
+            String rank = planned.get(i);
+            if (!rank.equals(currentRanks.get(id))) {
+                changedIds.add(id);
+                changedRanks.add(rank);
+                changes.add(SortRankItem.builder().id(id).sortRank(rank).build());
+            }
+        }
+
+        rankRebalancer.applyRanks(SiblingRankAllocator.ORG_TREE_RANKS, changedIds, changedRanks);
+        recordChanges(TreeChangeType.UPDATED, changedIds);
+        syncIndex();
+        logger.info("子节点顺序调整成功：parentId={}, childCount={}, changedCount={}",
+                parentId, order.size(), changes.size());
+
+        return ReorderTreeNodesRsp.builder()
+                .parentId(parentId)
+                .changedCount(changes.size())
+                .changes(changes)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public CloneTreeNodeRsp cloneSubTree(UUID nodeId, UUID targetParentId, Integer depth) {
+        logger.info("复制子树：nodeId={}, targetParentId={}, depth={}", nodeId, targetParentId, depth);
+
+        OrgTreeNodeEntity source = repository.findLiveById(nodeId)
+                .orElseThrow(() -> new ApiException(404, "节点不存在"));
+        if (source.getLevel() == 0) {
+            throw new ApiException(400, "不能复制根节点");
+        }
+        OrgTreeNodeEntity targetParent = repository.findLiveById(targetParentId)
+                .orElseThrow(() -> new ApiException(404, "目标父节点不存在"));
+        if (repository.findByParentIdAndEntityTypeAndEntityId(targetParentId, source.getEntityType(),
+                source.getEntityId()).isPresent()) {
+            throw new ApiException(409, "该节点已存在于父节点下");
+        }
+
+        // depth counts the root itself: 1 = root only, -1 = unlimited
+        int maxLevel = depth == null || depth == -1
+                ? Integer.MAX_VALUE : source.getLevel() + Math.max(depth, 1) - 1;
+        String sortRank = rankAllocator.allocateAppend(targetParentId);
+
+        List<UUID> nodeIds = repository.cloneSubTree(nodeId, maxLevel, targetParent, sortRank);
+        UUID cloneId = nodeIds.get(0);
+
+        // Rollups of the copy are computed in SQL, then added to the target's ancestors
+        statsRepository.rebuildSubTree(cloneId);
+        applyToAncestors(cloneId, contributionOf(source.getEntityType(),
+                statsRepository.findById(cloneId).orElse(null)), 1);
+        recordChanges(TreeChangeType.CREATED, nodeIds);
+        syncIndex();
+
+        logger.info("子树复制成功：nodeId={}, cloneId={}, createdCount={}", nodeId, cloneId, nodeIds.size());
+        return CloneTreeNodeRsp.builder()
+                .sourceId(nodeId)
+                .nodeId(cloneId)
+                .parentId(targetParentId)
+                .createdCount(nodeIds.size())
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public RemoveNodeRsp removeNode(UUID nodeId) {
         logger.info("删除树节点：nodeId={}", nodeId);
 
-        OrgTreeNodeEntity node = repository.findById(nodeId)
+        OrgTreeNodeEntity node = repository.findLiveById(nodeId)
                 .orElseThrow(() -> new ApiException(404, "节点不存在"));
 
         // Cannot delete root node
@@ -340,22 +570,101 @@ public class OrgTreeNodeServiceImpl implements OrgTreeNodeService {
             throw new ApiException(400, "不能删除根节点");
         }
 
-        // Delete all descendants first
-        List<OrgTreeNodeEntity> descendants = repository.findAllDescendants(nodeId);
-        if (!descendants.isEmpty()) {
-            repository.deleteAll(descendants);
+        // Record while the row still exists; descendants are implied by the subtree root
+        recordChanges(TreeChangeType.REMOVED, List.of(nodeId));
+
+        long descendantCount = repository.countDescendants(nodeId);
+        OrgTreeProperties.Remove settings = properties.getRemove();
+
+        // Ancestor rollups drop the subtree right away, also when deletion itself runs in the background
+        applyToAncestors(nodeId, contributionOf(node.getEntityType(), statsRepository.findById(nodeId).orElse(null)), -1);
+
+        if (settings.getAsyncThreshold() > 0 && descendantCount + 1 >= settings.getAsyncThreshold()) {
+            // Detach now: the root row goes with this transaction and the pending
+            // removal hides the descendants from reads and writes until they are deleted
+            removalRepository.insertPending(nodeId);
+            repository.delete(node);
+            logger.info("树节点删除转为后台执行：nodeId={}, count={}", nodeId, descendantCount + 1);
+            afterCommit(() -> {
+                treeIndex.catchUp();
+                taskExecutor.execute(() -> removeSubTreeInBackground(nodeId));
+            });
+            return new RemoveNodeRsp(nodeId, descendantCount + 1, true);
         }
 
-        // Delete the node itself
-        repository.delete(node);
-        logger.info("树节点删除成功：nodeId={}", nodeId);
+        long removed = removeSubTree(nodeId, descendantCount, settings.getBatchSize());
+        logger.info("树节点删除成功：nodeId={}, count={}", nodeId, removed);
+        syncIndex();
+
+        return new RemoveNodeRsp(nodeId, removed, false);
+    }
+
+    /**
+     * Delete a subtree with set-based statements, chunking when it exceeds
+     * the batch size. Must run inside a transaction.
+     */
+    private long removeSubTree(UUID nodeId, long descendantCount, int batchSize) {
+        long removed = 0;
+        if (descendantCount > batchSize) {
+            int deleted;
+            do {
+                deleted = repository.deleteDescendantBatch(nodeId, batchSize);
+                removed += deleted;
+            } while (deleted == batchSize);
+        }
+        return removed + repository.deleteSubTree(nodeId);
+    }
+
+    /**
+     * Background removal of a detached subtree: every chunk commits in its own
+     * transaction so that locks and undo stay bounded for very large subtrees.
+     * The pending removal is cleared with the last chunk; a failed removal
+     * keeps it and is picked up again by {@link #resumePendingRemovals()}.
+     */
+    private void removeSubTreeInBackground(UUID nodeId) {
+        int batchSize = properties.getRemove().getBatchSize();
+        try {
+            long removed = 0;
+            int deleted;
+            do {
+                deleted = transactionTemplate.execute(status -> {
+                    removalRepository.touch(nodeId);
+                    return repository.deleteDescendantBatch(nodeId, batchSize);
+                });
+                removed += deleted;
+            } while (deleted == batchSize);
+            removed += transactionTemplate.execute(status -> {
+                removalRepository.deleteById(nodeId);
+                return repository.deleteSubTree(nodeId);
+            });
+            logger.info("后台树节点删除完成：nodeId={}, count={}", nodeId, removed);
+        } catch (RuntimeException e) {
+            logger.error("后台树节点删除失败，稍后重试：nodeId={}", nodeId, e);
+            try {
+                transactionTemplate.executeWithoutResult(status -> removalRepository.recordFailure(nodeId));
+            } catch (RuntimeException recordError) {
+                logger.error("记录后台删除失败时出错：nodeId={}", nodeId, recordError);
+            }
+        }
+    }
+
+    @Override
+    public int resumePendingRemovals() {
+        OffsetDateTime before = OffsetDateTime.now().minus(properties.getRemove().getRetryInterval());
+        // Claim in a short transaction of its own so other instances skip these removals
+        List<UUID> nodeIds = transactionTemplate.execute(status -> removalRepository.claimStalledNodeIds(before));
+        if (!nodeIds.isEmpty()) {
+            logger.info("重试后台树节点删除：count={}", nodeIds.size());
+            nodeIds.forEach(this::removeSubTreeInBackground);
+        }
+        return nodeIds.size();
     }
 
     @Override
     public TreeNodeRsp getNode(UUID nodeId) {
         logger.info("获取树节点：nodeId={}", nodeId);
 
-        OrgTreeNodeEntity node = repository.findById(nodeId)
+        OrgTreeNodeEntity node = repository.findLiveById(nodeId)
                 .orElseThrow(() -> new ApiException(404, "节点不存在"));
 
         return toTreeNodeRsp(node);
@@ -365,32 +674,98 @@ public class OrgTreeNodeServiceImpl implements OrgTreeNodeService {
     public List<TreeNodeRsp> getChildren(UUID parentId) {
         logger.info("获取子节点列表：parentId={}", parentId);
 
+        if (treeIndex.isReady()) {
+            List<IndexedNode> children = treeIndex.getChildren(parentId);
+            Map<UUID, TreeStatistics> statistics = toStatisticsMap(statsRepository.findChildStats(parentId));
+            return children.stream()
+                    .map(child -> toTreeNodeRsp(child, statistics))
+                    .collect(Collectors.toList());
+        }
+
         List<OrgTreeNodeEntity> children = repository.findByParentIdOrderBySortRankAsc(parentId);
+        Map<UUID, TreeStatistics> statistics = toStatisticsMap(statsRepository.findChildStats(parentId));
         return children.stream()
-                .map(this::toTreeNodeRsp)
+                .map(child -> toTreeNodeRsp(child, statistics))
                 .collect(Collectors.toList());
     }
 
     @Override
-    public TreeNodeRsp getSubTree(UUID nodeId, Integer depth) {
-        logger.info("获取子树：nodeId={}, depth={}", nodeId, depth);
+    public CursorPage<TreeNodeRsp> getChildrenPage(UUID parentId, String pageToken, Integer pageSize,
+                                                   EntityType entityType) {
+        logger.info("分页获取子节点列表：parentId={}, pageSize={}, entityType={}", parentId, pageSize, entityType);
+
+        OrgTreeProperties.Page settings = properties.getPage();
+        int size = pageSize == null
+                ? settings.getDefaultSize()
+                : Math.min(Math.max(pageSize, 1), settings.getMaxSize());
+
+        // The first page starts before every (sort_rank, id) pair
+        String afterRank = "";
+        UUID afterId = NIL_UUID;
+        if (pageToken != null && !pageToken.isBlank()) {
+            String[] keys = CursorTokenUtils.decode(pageToken, 2);
+            afterRank = keys[0];
+            try {
+                afterId = UUID.fromString(keys[1]);
+            } catch (IllegalArgumentException e) {
+                throw new ApiException(400, "无效的分页令牌", e);
+            }
+        }
 
-        OrgTreeNodeEntity rootNode = repository.findById(nodeId)
-                .orElseThrow(() -> new ApiException(404, "节点不存在"));
+        // Fetch one extra row to learn whether another page follows
+        List<OrgTreeNodeEntity> rows = repository.findChildrenPage(parentId, afterRank, afterId,
+                entityType == null ? "" : entityType.name(), size + 1);
+        boolean hasMore = rows.size() > size;
+        List<OrgTreeNodeEntity> children = hasMore ? rows.subList(0, size) : rows;
+
+        Map<UUID, TreeStatistics> statistics = findStatistics(children.stream().map(OrgTreeNodeEntity::getId).toList());
+        List<TreeNodeRsp> items = children.stream()
+                .map(child -> toTreeNodeRsp(child, statistics))
+                .collect(Collectors.toList());
 
-        TreeNodeRsp root = toTreeNodeRsp(rootNode);
-        root.setChildren(new ArrayList<>());
+        String nextPageToken = null;
+        if (hasMore) {
+            OrgTreeNodeEntity last = children.get(children.size() - 1);
+            nextPageToken = CursorTokenUtils.encode(last.getSortRank(), last.getId().toString());
+        }
+        return new CursorPage<>(items, nextPageToken, hasMore);
+    }
+
+    @Override
+    public TreeNodeRsp getSubTree(UUID nodeId, Integer depth) {
+        logger.info("获取子树：nodeId={}, depth={}", nodeId, depth);
 
+        // depth counts the root itself: 1 = root only, -1 = unlimited
+        boolean loadAll = depth != null && depth == -1;
         int actualDepth = depth == null || depth < 1 ? 1 : depth;
-        boolean loadAll = actualDepth == -1;
 
-        if (loadAll || actualDepth > 1) {
-            List<OrgTreeNodeEntity> children = repository.findByParentIdOrderBySortRankAsc(nodeId);
-            for (OrgTreeNodeEntity child : children) {
-                root.getChildren().add(buildSubTree(child, 2, actualDepth, loadAll));
+        if (treeIndex.isReady()) {
+            IndexedNode rootNode = treeIndex.getNode(nodeId)
+                    .orElseThrow(() -> new ApiException(404, "节点不存在"));
+            int maxLevel = loadAll ? Integer.MAX_VALUE : rootNode.level() + actualDepth - 1;
+            Map<UUID, TreeStatistics> statistics = toStatisticsMap(statsRepository.findSubTreeStats(nodeId, maxLevel));
+            TreeNodeRsp root = toTreeNodeRsp(rootNode, statistics);
+            if (loadAll || actualDepth > 1) {
+                assembleSubTree(root, treeIndex.getSubTreeNodes(nodeId, maxLevel),
+                        IndexedNode::parentId, node -> toTreeNodeRsp(node, statistics));
             }
+            return root;
+        }
+
+        OrgTreeNodeEntity rootNode = repository.findLiveById(nodeId)
+                .orElseThrow(() -> new ApiException(404, "节点不存在"));
+
+        if (!loadAll && actualDepth == 1) {
+            return toTreeNodeRsp(rootNode);
         }
 
+        int maxLevel = loadAll ? Integer.MAX_VALUE : rootNode.getLevel() + actualDepth - 1;
+        List<OrgTreeNodeEntity> nodes = repository.findSubTreeNodes(nodeId, maxLevel);
+        Map<UUID, TreeStatistics> statistics = toStatisticsMap(statsRepository.findSubTreeStats(nodeId, maxLevel));
+        TreeNodeRsp root = toTreeNodeRsp(rootNode, statistics);
+        assembleSubTree(root, nodes, OrgTreeNodeEntity::getParentId, node -> toTreeNodeRsp(node, statistics));
+
+        logger.info("子树加载完成：nodeId={}, nodeCount={}", nodeId, nodes.size() + 1);
         return root;
     }
 
@@ -398,49 +773,332 @@ public class OrgTreeNodeServiceImpl implements OrgTreeNodeService {
     public List<TreeNodeRsp> getAllDescendants(UUID nodeId) {
         logger.info("获取所有后代节点：nodeId={}", nodeId);
 
+        if (treeIndex.isReady()) {
+            treeIndex.getNode(nodeId)
+                    .orElseThrow(() -> new ApiException(404, "节点不存在"));
+            List<IndexedNode> descendants = treeIndex.getDescendants(nodeId);
+            Map<UUID, TreeStatistics> statistics =
+                    toStatisticsMap(statsRepository.findSubTreeStats(nodeId, Integer.MAX_VALUE));
+            return descendants.stream()
+                    .map(descendant -> toTreeNodeRsp(descendant, statistics))
+                    .collect(Collectors.toList());
+        }
+
         // Check if node exists
-        repository.findById(nodeId)
+        repository.findLiveById(nodeId)
                 .orElseThrow(() -> new ApiException(404, "节点不存在"));
 
         List<OrgTreeNodeEntity> descendants = repository.findAllDescendants(nodeId);
+        Map<UUID, TreeStatistics> statistics =
+                toStatisticsMap(statsRepository.findSubTreeStats(nodeId, Integer.MAX_VALUE));
         return descendants.stream()
-                .map(this::toTreeNodeRsp)
+                .map(descendant -> toTreeNodeRsp(descendant, statistics))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<TreeNodeRsp> getDescendants(UUID nodeId, Integer depth, EntityType entityType) {
+        logger.info("获取指定层数内的后代节点：nodeId={}, depth={}, entityType={}", nodeId, depth, entityType);
+
+        // depth counts levels below the node: 1 = direct children, -1 = unlimited
+        boolean loadAll = depth == null || depth == -1;
+        int levels = loadAll ? 0 : Math.max(depth, 1);
+
+        if (treeIndex.isReady()) {
+            IndexedNode node = treeIndex.getNode(nodeId)
+                    .orElseThrow(() -> new ApiException(404, "节点不存在"));
+            int maxLevel = loadAll ? Integer.MAX_VALUE : node.level() + levels;
+            List<IndexedNode> descendants = treeIndex.getSubTreeNodes(nodeId, maxLevel);
+            if (entityType != null) {
+                descendants = descendants.stream().filter(d -> d.entityType() == entityType).toList();
+            }
+            Map<UUID, TreeStatistics> statistics =
+                    toStatisticsMap(statsRepository.findSubTreeStats(nodeId, maxLevel));
+            return descendants.stream()
+                    .map(descendant -> toTreeNodeRsp(descendant, statistics))
+                    .toList();
+        }
+
+        OrgTreeNodeEntity node = repository.findLiveById(nodeId)
+                .orElseThrow(() -> new ApiException(404, "节点不存在"));
+        int minLevel = node.getLevel() + 1;
+        int maxLevel = loadAll ? Integer.MAX_VALUE : node.getLevel() + levels;
+        List<OrgTreeNodeEntity> descendants = entityType == null
+                ? repository.findDescendantsByLevel(nodeId, minLevel, maxLevel)
+                : repository.findDescendantsByTypeAndLevel(nodeId, entityType.name(), minLevel, maxLevel);
+        Map<UUID, TreeStatistics> statistics =
+                toStatisticsMap(statsRepository.findSubTreeStats(nodeId, maxLevel));
+        return descendants.stream()
+                .map(descendant -> toTreeNodeRsp(descendant, statistics))
+                .toList();
+    }
+
+    @Override
+    public long exportSubTree(UUID nodeId, Integer depth, EntityType entityType, TreeExportFormat format,
+                              OutputStream out) {
+        logger.info("导出子树：nodeId={}, depth={}, entityType={}, format={}", nodeId, depth, entityType, format);
+        long start = System.currentTimeMillis();
+
+        // depth counts the root itself: 1 = root only, null or -1 = unlimited
+        int maxDepth = depth == null || depth == -1 ? Integer.MAX_VALUE : Math.max(depth, 1);
+        TreeExportWriter writer = new TreeExportWriter(format, out);
+        writer.writeHeader();
+        // PostgreSQL only honours the fetch size inside a transaction
+        Long count = readOnlyTransaction.execute(status -> repository.streamSubTree(nodeId, maxDepth, entityType,
+                properties.getExport().getFetchSize(), writer::write));
+        writer.flush();
+
+        long exported = count == null ? 0 : count;
+        logger.info("子树导出完成：nodeId={}, count={}, 耗时={}ms", nodeId, exported, System.currentTimeMillis() - start);
+        return exported;
+    }
+
     @Override
     public List<TreeNodeRsp> getAllAncestors(UUID nodeId) {
         logger.info("获取所有祖先节点：nodeId={}", nodeId);
 
-        OrgTreeNodeEntity node = repository.findById(nodeId)
-                .orElseThrow(() -> new ApiException(404, "节点不存在"));
+        if (treeIndex.isReady()) {
+            treeIndex.getNode(nodeId)
+                    .orElseThrow(() -> new ApiException(404, "节点不存在"));
+            List<IndexedNode> ancestors = treeIndex.getAncestors(nodeId);
+            Map<UUID, TreeStatistics> statistics = findStatistics(ancestors.stream().map(IndexedNode::id).toList());
+            return ancestors.stream()
+                    .map(ancestor -> toTreeNodeRsp(ancestor, statistics))
+                    .collect(Collectors.toList());
+        }
 
-        List<TreeNodeRsp> ancestors = new ArrayList<>();
-        UUID currentParentId = node.getParentId();
+        OrgTreeNodeEntity node = repository.findLiveById(nodeId)
+                .orElseThrow(() -> new ApiException(404, "节点不存在"));
 
-        while (currentParentId != null) {
-            OrgTreeNodeEntity parentNode = repository.findById(currentParentId)
-                    .orElseThrow(() -> new ApiException(404, "祖先节点不存在"));
-            ancestors.add(0, toTreeNodeRsp(parentNode));
-            currentParentId = parentNode.getParentId();
+        Map<UUID, OrgTreeNodeEntity> ancestorsById = findAncestorsById(List.of(node));
+        Map<UUID, TreeStatistics> statistics = findStatistics(Arrays.asList(node.getPath()));
+        List<TreeNodeRsp> ancestors = new ArrayList<>(node.getPath().length);
+        for (UUID ancestorId : node.getPath()) {
+            OrgTreeNodeEntity ancestor = ancestorsById.get(ancestorId);
+            if (ancestor == null) {
+                throw new ApiException(404, "祖先节点不存在");
+            }
+            ancestors.add(toTreeNodeRsp(ancestor, statistics));
         }
 
         return ancestors;
     }
 
+    @Override
+    @Transactional
+    public int rebuildStatistics() {
+        logger.info("重建组织树统计汇总");
+
+        int rows = statsRepository.rebuildAll();
+        logger.info("组织树统计汇总重建完成：rows={}", rows);
+        return rows;
+    }
+
+    @Override
+    public RankRebalanceReport rebalanceRanks() {
+        int threshold = rankProperties.getThreshold();
+        logger.info("重排组织树排序值：threshold={}", threshold);
+
+        // Each parent is rebalanced in its own short transaction so that sibling locks are held briefly
+        RankRebalanceReport report = new RankRebalanceReport(SiblingRankAllocator.ORG_TREE_RANKS.table());
+        List<Object[]> groups = rankRebalancer.findOversizedGroups(SiblingRankAllocator.ORG_TREE_RANKS,
+                threshold, rankProperties.getMaxGroups());
+        for (Object[] group : groups) {
+            UUID parentId = (UUID) group[0];
+            report.add(transactionTemplate.execute(status -> rankAllocator.rebalance(parentId)));
+        }
+
+        logger.info("组织树排序值重排完成：groups={}, rows={}, reclaimedChars={}",
+                report.getGroups(), report.getRows(), report.getReclaimedChars());
+        return report;
+    }
+
+    @Override
+    public String getSubtreeVersion(UUID nodeId) {
+        // The index trails commits of other instances by up to the poll interval, so
+        // in index mode the token also carries the applied change log version and a
+        // body built from a lagging index is replaced once the index catches up
+        boolean indexed = treeIndex.isReady();
+        long appliedVersion = indexed ? treeIndex.appliedVersion() : 0;
+        Long version = statsRepository.findSubtreeVersion(nodeId);
+        if (version == null) {
+            return null;
+        }
+        return indexed ? version + "." + appliedVersion : String.valueOf(version);
+    }
+
+    @Override
+    public long getTreeVersion() {
+        logger.info("获取树版本号");
+
+        return changeLogRepository.findLatestVersion();
+    }
+
+    @Override
+    public TreeChangesRsp getChanges(Long sinceVersion, Integer limit) {
+        logger.info("获取树变更记录：sinceVersion={}, limit={}", sinceVersion, limit);
+
+        long since = sinceVersion == null ? 0 : sinceVersion;
+        if (since < 0) {
+            throw new ApiException(400, "版本号不能为负数");
+        }
+        OrgTreeProperties.Changes settings = properties.getChanges();
+        int size = limit == null
+                ? settings.getDefaultSize()
+                : Math.min(Math.max(limit, 1), settings.getMaxSize());
+
+        // Read the latest version first: changes committed after it are left
+        // for the next call rather than being reported past latestVersion
+        long latestVersion = changeLogRepository.findLatestVersion();
+        List<OrgTreeChangeEntity> rows = changeLogRepository.findChangesSince(since, size + 1);
+        List<OrgTreeChangeEntity> changes = rows.stream()
+                .filter(row -> row.getVersion() <= latestVersion)
+                .limit(size)
+                .toList();
+        boolean hasMore = changes.size() < rows.size();
+
+        List<TreeChangeItem> items = changes.stream()
+                .map(row -> TreeChangeItem.builder()
+                        .version(row.getVersion())
+                        .changeType(row.getChangeType())
+                        .nodeId(row.getNodeId())
+                        .parentId(row.getParentId())
+                        .type(row.getEntityType())
+                        .entityId(row.getEntityId())
+                        .name(row.getAlias())
+                        .level(row.getLevel())
+                        .sortRank(row.getSortRank())
+                        .changeTime(row.getChangeTime())
+                        .build())
+                .collect(Collectors.toList());
+
+        // With nothing left to read the caller is up to date at the latest version
+        long version = hasMore && !items.isEmpty()
+                ? items.get(items.size() - 1).getVersion()
+                : Math.max(since, latestVersion);
+        return TreeChangesRsp.builder()
+                .version(version)
+                .latestVersion(latestVersion)
+                .hasMore(hasMore)
+                .changes(items)
+                .build();
+    }
+
+    @Override
+    public List<BreadcrumbRsp> getBreadcrumbs(List<UUID> nodeIds) {
+        logger.info("批量获取节点路径：count={}", nodeIds.size());
+
+        List<BreadcrumbRsp> result = new ArrayList<>(nodeIds.size());
+
+        if (treeIndex.isReady()) {
+            for (UUID nodeId : nodeIds) {
+                treeIndex.getNode(nodeId).ifPresent(node -> result.add(toBreadcrumbRsp(node)));
+            }
+            return result;
+        }
+
+        Map<UUID, OrgTreeNodeEntity> nodesById = new HashMap<>();
+        repository.findAllLiveById(new LinkedHashSet<>(nodeIds))
+                .forEach(node -> nodesById.put(node.getId(), node));
+        Map<UUID, OrgTreeNodeEntity> ancestorsById = findAncestorsById(nodesById.values());
+
+        for (UUID nodeId : nodeIds) {
+            OrgTreeNodeEntity node = nodesById.get(nodeId);
+            if (node != null) {
+                result.add(toBreadcrumbRsp(node, ancestorsById));
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<BreadcrumbRsp> searchNodes(String keyword, EntityType entityType, Integer limit) {
+        logger.info("搜索树节点：keyword={}, entityType={}, limit={}", keyword, entityType, limit);
+
+        if (keyword == null || keyword.isBlank()) {
+            throw new ApiException(400, "搜索关键字不能为空");
+        }
+        String term = keyword.strip();
+        OrgTreeProperties.Search settings = properties.getSearch();
+        int size = limit == null
+                ? settings.getDefaultLimit()
+                : Math.min(Math.max(limit, 1), settings.getMaxLimit());
+
+        if (treeIndex.isReady()) {
+            return treeIndex.searchByAlias(term, entityType, size).stream()
+                    .map(this::toBreadcrumbRsp)
+                    .toList();
+        }
+
+        String escaped = escapeLike(term);
+        List<OrgTreeNodeEntity> hits = repository.searchByAlias("%" + escaped + "%", escaped + "%",
+                entityType == null ? "" : entityType.name(), size);
+        Map<UUID, OrgTreeNodeEntity> ancestorsById = findAncestorsById(hits);
+        List<BreadcrumbRsp> result = new ArrayList<>(hits.size());
+        for (OrgTreeNodeEntity hit : hits) {
+            result.add(toBreadcrumbRsp(hit, ancestorsById));
+        }
+        return result;
+    }
+
     @Override
     public List<TreeNodeRsp> getNodesByEntity(EntityType entityType, UUID entityId) {
         logger.info("获取实体对应的树节点：entityType={}, entityId={}", entityType, entityId);
 
         List<OrgTreeNodeEntity> nodes = repository.findAllByEntityTypeAndEntityId(entityType, entityId);
+        Map<UUID, TreeStatistics> statistics = findStatistics(nodes.stream().map(OrgTreeNodeEntity::getId).toList());
         return nodes.stream()
-                .map(this::toTreeNodeRsp)
+                .map(node -> toTreeNodeRsp(node, statistics))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<EntityNodesRsp> getNodesByEntities(List<EntityRefItem> entities, boolean includePath) {
+        logger.info("批量获取实体对应的树节点：count={}, includePath={}", entities.size(), includePath);
+
+        Map<EntityRefItem, List<OrgTreeNodeEntity>> nodesByEntity = new LinkedHashMap<>();
+        Set<EntityType> types = EnumSet.noneOf(EntityType.class);
+        Set<UUID> entityIds = new HashSet<>();
+        for (EntityRefItem entity : entities) {
+            nodesByEntity.put(new EntityRefItem(entity.getType(), entity.getEntityId()), new ArrayList<>(1));
+            types.add(entity.getType());
+            entityIds.add(entity.getEntityId());
+        }
+
+        // One query over all types and IDs; combinations nobody asked for are dropped here
+        List<OrgTreeNodeEntity> nodes = repository.findAllByEntityTypeInAndEntityIdIn(types, entityIds);
+        List<OrgTreeNodeEntity> matched = new ArrayList<>(nodes.size());
+        for (OrgTreeNodeEntity node : nodes) {
+            List<OrgTreeNodeEntity> group = nodesByEntity.get(new EntityRefItem(node.getEntityType(), node.getEntityId()));
+            if (group != null) {
+                group.add(node);
+                matched.add(node);
+            }
+        }
+
+        Map<UUID, TreeStatistics> statistics = findStatistics(matched.stream().map(OrgTreeNodeEntity::getId).toList());
+        Map<UUID, OrgTreeNodeEntity> ancestorsById = includePath ? findAncestorsById(matched) : Collections.emptyMap();
+
+        List<EntityNodesRsp> result = new ArrayList<>(nodesByEntity.size());
+        nodesByEntity.forEach((entity, group) -> result.add(EntityNodesRsp.builder()
+                .type(entity.getType())
+                .entityId(entity.getEntityId())
+                .nodes(group.stream().map(node -> toTreeNodeRsp(node, statistics)).toList())
+                .paths(includePath
+                        ? group.stream().map(node -> toBreadcrumbRsp(node, ancestorsById)).toList()
+                        : null)
+                .build()));
+        return result;
+    }
+
     @Override
     public long countChildren(UUID parentId) {
         logger.info("统计子节点数量：parentId={}", parentId);
+
+        if (treeIndex.isReady()) {
+            return treeIndex.countChildren(parentId);
+        }
         return repository.countByParentId(parentId);
     }
 
@@ -462,57 +1120,443 @@ public class OrgTreeNodeServiceImpl implements OrgTreeNodeService {
     // =====================================================
 
     /**
-     * Convert entity to response DTO.
+     * Convert a single entity to response DTO, loading its statistics by primary key.
      */
     private TreeNodeRsp toTreeNodeRsp(OrgTreeNodeEntity entity) {
+        return toTreeNodeRsp(entity, findStatistics(List.of(entity.getId())));
+    }
+
+    /**
+     * Convert entity to response DTO.
+     */
+    private TreeNodeRsp toTreeNodeRsp(OrgTreeNodeEntity entity, Map<UUID, TreeStatistics> statistics) {
         TreeNodeRsp rsp = new TreeNodeRsp();
         rsp.setId(entity.getId());
         rsp.setType(entity.getEntityType());
         rsp.setName(entity.getAlias());
         rsp.setSortOrder(entity.getLevel());
-        rsp.setStatistics(new TreeStatistics(0, 0, 0));
+        rsp.setStatistics(statistics.getOrDefault(entity.getId(), new TreeStatistics(0, 0, 0)));
         rsp.setChildren(new ArrayList<>());
         return rsp;
     }
 
     /**
-     * Recursively build subtree.
+     * Convert an indexed node to response DTO.
      */
-    private TreeNodeRsp buildSubTree(OrgTreeNodeEntity entity, int currentDepth, int maxDepth, boolean loadAll) {
-        TreeNodeRsp node = toTreeNodeRsp(entity);
+    private TreeNodeRsp toTreeNodeRsp(IndexedNode node, Map<UUID, TreeStatistics> statistics) {
+        TreeNodeRsp rsp = new TreeNodeRsp();
+        rsp.setId(node.id());
+        rsp.setType(node.entityType());
+        rsp.setName(node.alias());
+        rsp.setSortOrder(node.level());
+        rsp.setStatistics(statistics.getOrDefault(node.id(), new TreeStatistics(0, 0, 0)));
+        rsp.setChildren(new ArrayList<>());
+        return rsp;
+    }
 
-        if (loadAll || currentDepth < maxDepth) {
-            List<OrgTreeNodeEntity> children = repository.findByParentIdOrderBySortRankAsc(entity.getId());
-            for (OrgTreeNodeEntity child : children) {
-                node.getChildren().add(buildSubTree(child, currentDepth + 1, maxDepth, loadAll));
+    /**
+     * Load statistics rollups for the given nodes by primary key.
+     */
+    private Map<UUID, TreeStatistics> findStatistics(List<UUID> nodeIds) {
+        if (nodeIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return toStatisticsMap(statsRepository.findAllById(nodeIds));
+    }
+
+    private Map<UUID, TreeStatistics> toStatisticsMap(List<OrgTreeStatsEntity> rows) {
+        Map<UUID, TreeStatistics> statistics = new HashMap<>(rows.size() * 4 / 3 + 1);
+        for (OrgTreeStatsEntity row : rows) {
+            statistics.put(row.getNodeId(),
+                    new TreeStatistics(row.getSubGroupCount(), row.getSubDepartmentCount(), row.getPersonnelCount()));
+        }
+        return statistics;
+    }
+
+    /**
+     * Counts a subtree adds to each of its ancestors: the subtree root's own
+     * type plus everything below it.
+     */
+    private TreeStatistics contributionOf(EntityType type, OrgTreeStatsEntity subtree) {
+        int groups = subtree == null ? 0 : subtree.getSubGroupCount();
+        int departments = subtree == null ? 0 : subtree.getSubDepartmentCount();
+        int personnel = subtree == null ? 0 : subtree.getPersonnelCount();
+        switch (type) {
+            case GROUP -> groups++;
+            case DEPARTMENT -> departments++;
+            case PERSONNEL -> personnel++;
+            default -> {
             }
         }
+        return new TreeStatistics(groups, departments, personnel);
+    }
 
-        return node;
+    /**
+     * Add (sign = 1) or subtract (sign = -1) a subtree contribution on every
+     * ancestor in the node's current path with one statement.
+     */
+    private void applyToAncestors(UUID nodeId, TreeStatistics contribution, int sign) {
+        if (contribution.getSubGroupCount() == 0 && contribution.getSubDepartmentCount() == 0
+                && contribution.getPersonnelCount() == 0) {
+            return;
+        }
+        statsRepository.addToAncestors(nodeId,
+                sign * contribution.getSubGroupCount(),
+                sign * contribution.getSubDepartmentCount(),
+                sign * contribution.getPersonnelCount());
     }
 
     /**
-     * Check if a node is a descendant of another node.
+     * Attach nodes to their parents in one linear pass.
+     * Nodes must be ordered so that every parent precedes its children and
+     * siblings appear by sort rank, so sibling lists come out sorted.
      */
-    private boolean isDescendant(UUID ancestorId, UUID potentialDescendantId) {
-        // Get all ancestors of potentialDescendantId
-        OrgTreeNodeEntity potentialDescendant = repository.findById(potentialDescendantId)
-                .orElse(null);
+    private <T> void assembleSubTree(TreeNodeRsp root, List<T> nodes,
+                                     Function<T, UUID> parentIdOf, Function<T, TreeNodeRsp> toRsp) {
+        Map<UUID, TreeNodeRsp> nodesById = new HashMap<>(nodes.size() * 4 / 3 + 2);
+        nodesById.put(root.getId(), root);
 
-        if (potentialDescendant == null) {
-            return false;
+        for (T source : nodes) {
+            TreeNodeRsp parent = nodesById.get(parentIdOf.apply(source));
+            if (parent == null) {
+                continue;
+            }
+            TreeNodeRsp node = toRsp.apply(source);
+            parent.getChildren().add(node);
+            nodesById.put(node.getId(), node);
         }
+    }
 
-        UUID currentParentId = potentialDescendant.getParentId();
-        while (currentParentId != null) {
-            if (currentParentId.equals(ancestorId)) {
-                return true;
+    /**
+     * Catch the in-memory index up with the change log once the transaction
+     * commits, so reads on this instance see the commit right away.
+     */
+    private void syncIndex() {
+        afterCommit(treeIndex::catchUp);
+    }
+
+    /**
+     * Validate that a target order lists every child exactly once.
+     */
+    private List<UUID> checkTargetOrder(List<UUID> orderedIds, Map<UUID, String> currentRanks) {
+        Set<UUID> seen = new HashSet<>(orderedIds.size() * 4 / 3 + 1);
+        for (UUID id : orderedIds) {
+            if (!currentRanks.containsKey(id)) {
+                throw new ApiException(400, "节点不属于指定的父节点：" + id);
             }
-            OrgTreeNodeEntity parent = repository.findById(currentParentId).orElse(null);
-            if (parent == null) {
-                break;
+            if (!seen.add(id)) {
+                throw new ApiException(400, "目标顺序中存在重复节点：" + id);
+            }
+        }
+        if (seen.size() != currentRanks.size()) {
+            throw new ApiException(400, "目标顺序必须包含父节点下的全部子节点");
+        }
+        return orderedIds;
+    }
+
+    /**
+     * Apply move-after instructions to the current child order.
+     */
+    private List<UUID> applyMoves(List<UUID> order, List<ReorderMoveItem> moves, Map<UUID, String> currentRanks) {
+        for (ReorderMoveItem move : moves) {
+            UUID nodeId = move.getNodeId();
+            UUID afterNodeId = move.getAfterNodeId();
+            if (!currentRanks.containsKey(nodeId)) {
+                throw new ApiException(400, "节点不属于指定的父节点：" + nodeId);
+            }
+            if (afterNodeId != null && !currentRanks.containsKey(afterNodeId)) {
+                throw new ApiException(400, "参考节点不属于指定的父节点：" + afterNodeId);
+            }
+            if (nodeId.equals(afterNodeId)) {
+                throw new ApiException(400, "节点不能移动到自身之后：" + nodeId);
+            }
+            order.remove(nodeId);
+            order.add(afterNodeId == null ? 0 : order.indexOf(afterNodeId) + 1, nodeId);
+        }
+        return order;
+    }
+
+    /**
+     * Append change log entries for the given nodes in their current state
+     * and bump the subtree versions along their paths. Large ID sets are
+     * split so each statement binds a bounded list.
+     */
+    private void recordChanges(TreeChangeType changeType, List<UUID> nodeIds) {
+        for (int from = 0; from < nodeIds.size(); from += CHANGE_LOG_CHUNK) {
+            List<UUID> chunk = nodeIds.subList(from, Math.min(from + CHANGE_LOG_CHUNK, nodeIds.size()));
+            changeLogRepository.recordNodes(changeType.name(), chunk);
+            statsRepository.touchPaths(chunk);
+        }
+    }
+
+    /**
+     * Run an action after the current transaction commits, or immediately
+     * when no transaction is active.
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Build the breadcrumb of a node from its stored path; ancestors missing
+     * from the map are skipped.
+     */
+    private BreadcrumbRsp toBreadcrumbRsp(OrgTreeNodeEntity node, Map<UUID, OrgTreeNodeEntity> ancestorsById) {
+        List<BreadcrumbItem> path = new ArrayList<>(node.getPath().length + 1);
+        for (UUID ancestorId : node.getPath()) {
+            OrgTreeNodeEntity ancestor = ancestorsById.get(ancestorId);
+            if (ancestor != null) {
+                path.add(toBreadcrumbItem(ancestor));
+            }
+        }
+        path.add(toBreadcrumbItem(node));
+        return new BreadcrumbRsp(node.getId(), path);
+    }
+
+    /**
+     * Build the breadcrumb of an indexed node from its ancestor chain.
+     */
+    private BreadcrumbRsp toBreadcrumbRsp(IndexedNode node) {
+        List<BreadcrumbItem> path = new ArrayList<>(node.level() + 1);
+        treeIndex.getAncestors(node.id()).forEach(ancestor -> path.add(toBreadcrumbItem(ancestor)));
+        path.add(toBreadcrumbItem(node));
+        return new BreadcrumbRsp(node.id(), path);
+    }
+
+    /**
+     * Escape LIKE wildcards so a keyword is matched literally.
+     */
+    private static String escapeLike(String keyword) {
+        return keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Convert an entity to a breadcrumb segment.
+     */
+    private BreadcrumbItem toBreadcrumbItem(OrgTreeNodeEntity entity) {
+        return new BreadcrumbItem(entity.getId(), entity.getEntityType(), entity.getAlias());
+    }
+
+    /**
+     * Convert an indexed node to a breadcrumb segment.
+     */
+    private BreadcrumbItem toBreadcrumbItem(IndexedNode node) {
+        return new BreadcrumbItem(node.id(), node.entityType(), node.alias());
+    }
+
+    /**
+     * Load every ancestor referenced by the given nodes' paths in one query.
+     */
+    private Map<UUID, OrgTreeNodeEntity> findAncestorsById(Collection<OrgTreeNodeEntity> nodes) {
+        Set<UUID> ancestorIds = new LinkedHashSet<>();
+        for (OrgTreeNodeEntity node : nodes) {
+            Collections.addAll(ancestorIds, node.getPath());
+        }
+        if (ancestorIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<UUID, OrgTreeNodeEntity> ancestorsById = new HashMap<>(ancestorIds.size() * 4 / 3 + 1);
+        repository.findAllById(ancestorIds).forEach(ancestor -> ancestorsById.put(ancestor.getId(), ancestor));
+        return ancestorsById;
+    }
+
+    /**
+     * A node of a bulk creation request, resolved in memory before writing.
+     */
+    private static final class PendingNode {
+
+        private final BulkTreeNodeItem item;
+        private final List<PendingNode> children = new ArrayList<>();
+        private PendingNode parent;
+        private OrgTreeNodeEntity entity;
+        private OrgTreeStatsEntity statistics;
+
+        private PendingNode(BulkTreeNodeItem item, PendingNode parent) {
+            this.item = item;
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * Flatten nested request items depth-first, keeping request order.
+     */
+    private List<PendingNode> flattenBulkNodes(List<BulkTreeNodeItem> items) {
+        int maxNodes = properties.getBulk().getMaxNodes();
+        List<PendingNode> flat = new ArrayList<>();
+        Deque<PendingNode> stack = new ArrayDeque<>();
+        pushBulkItems(stack, items, null);
+
+        while (!stack.isEmpty()) {
+            PendingNode node = stack.pop();
+            if (flat.size() == maxNodes) {
+                throw new ApiException(400, "批量创建的节点数量不能超过 " + maxNodes + " 个");
+            }
+            flat.add(node);
+            if (node.parent != null) {
+                node.parent.children.add(node);
+            }
+            if (node.item.getChildren() != null) {
+                pushBulkItems(stack, node.item.getChildren(), node);
+            }
+        }
+        return flat;
+    }
+
+    private void pushBulkItems(Deque<PendingNode> stack, List<BulkTreeNodeItem> items, PendingNode parent) {
+        for (int i = items.size() - 1; i >= 0; i--) {
+            if (items.get(i) == null) {
+                throw new ApiException(400, "节点列表中不能包含空元素");
+            }
+            stack.push(new PendingNode(items.get(i), parent));
+        }
+    }
+
+    /**
+     * Link flat items to the request node named by their parentRef.
+     *
+     * @return the top-level nodes, appended directly under the request's parent
+     */
+    private List<PendingNode> resolveBulkParents(List<PendingNode> flat) {
+        Map<String, PendingNode> byRef = new HashMap<>(flat.size() * 4 / 3 + 1);
+        for (PendingNode node : flat) {
+            String ref = node.item.getRef();
+            if (ref != null && byRef.putIfAbsent(ref, node) != null) {
+                throw new ApiException(400, "节点引用标识重复：" + ref);
+            }
+        }
+
+        List<PendingNode> roots = new ArrayList<>();
+        for (PendingNode node : flat) {
+            if (node.item.getEntityType() == EntityType.ROOT) {
+                throw new ApiException(400, "不能创建 ROOT 类型的节点");
+            }
+            String parentRef = node.item.getParentRef();
+            if (parentRef != null) {
+                if (node.parent != null) {
+                    throw new ApiException(400, "嵌套子节点不能再指定父节点引用：" + parentRef);
+                }
+                node.parent = byRef.get(parentRef);
+                if (node.parent == null) {
+                    throw new ApiException(400, "父节点引用不存在：" + parentRef);
+                }
+                node.parent.children.add(node);
+            } else if (node.parent == null) {
+                roots.add(node);
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * Walk the request breadth-first from the top-level nodes, assigning IDs,
+     * levels, paths and evenly spaced sort ranks per sibling group.
+     * Top-level nodes are ranked after the parent's current last child.
+     *
+     * @return all nodes ordered so that every parent precedes its children
+     */
+    private List<PendingNode> assignBulkPositions(OrgTreeNodeEntity parent, List<PendingNode> roots, int expected) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<PendingNode> ordered = new ArrayList<>(expected);
+
+        List<String> rootRanks;
+        try {
+            rootRanks = rankAllocator.allocateAppend(parent.getId(), roots.size());
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(409, "父节点下的排序值空间不足");
+        }
+        UUID[] rootPath = concatenateArrays(parent.getPath(), new UUID[]{parent.getId()});
+        assignBulkSiblings(roots, parent.getId(), parent.getLevel() + 1, rootPath, rootRanks, now);
+        ordered.addAll(roots);
+
+        for (int i = 0; i < ordered.size(); i++) {
+            PendingNode node = ordered.get(i);
+            if (node.children.isEmpty()) {
+                continue;
+            }
+            OrgTreeNodeEntity entity = node.entity;
+            UUID[] path = concatenateArrays(entity.getPath(), new UUID[]{entity.getId()});
+            assignBulkSiblings(node.children, entity.getId(), entity.getLevel() + 1, path,
+                    LexoRankUtils.spread(null, null, node.children.size()), now);
+            ordered.addAll(node.children);
+        }
+
+        // Nodes never reached from the top level only reference each other
+        if (ordered.size() != expected) {
+            throw new ApiException(400, "节点的父节点引用存在循环");
+        }
+        return ordered;
+    }
+
+    private void assignBulkSiblings(List<PendingNode> siblings, UUID parentId, int level, UUID[] path,
+                                    List<String> ranks, OffsetDateTime now) {
+        for (int i = 0; i < siblings.size(); i++) {
+            PendingNode node = siblings.get(i);
+            OrgTreeNodeEntity entity = new OrgTreeNodeEntity();
+            entity.setId(UUIDv7.randomUUID());
+            entity.setParentId(parentId);
+            entity.setEntityType(node.item.getEntityType());
+            entity.setEntityId(node.item.getEntityId());
+            entity.setAlias(node.item.getAlias());
+            entity.setLevel(level);
+            entity.setPath(path);
+            entity.setSortRank(ranks.get(i));
+            entity.setCreateTime(now);
+            entity.setUpdateTime(now);
+            entity.setTenantId(ROOT_TENANT_ID);
+            node.entity = entity;
+            node.statistics = new OrgTreeStatsEntity(entity.getId(), 0, 0, 0);
+        }
+    }
+
+    /**
+     * Reject entities repeated under the same parent, within the request and
+     * against existing children, before anything is written. Only top-level
+     * nodes can collide with existing rows, which takes one query.
+     */
+    private void checkBulkDuplicates(UUID parentId, List<PendingNode> roots, List<PendingNode> ordered) {
+        Set<String> keys = new HashSet<>(ordered.size() * 4 / 3 + 1);
+        for (PendingNode node : ordered) {
+            OrgTreeNodeEntity entity = node.entity;
+            if (!keys.add(entity.getParentId() + "/" + entity.getEntityType() + "/" + entity.getEntityId())) {
+                throw new ApiException(409, "批量数据中存在重复节点：entityType=" + entity.getEntityType()
+                        + ", entityId=" + entity.getEntityId());
+            }
+        }
+
+        List<UUID> entityIds = new ArrayList<>(roots.size());
+        for (PendingNode root : roots) {
+            entityIds.add(root.entity.getEntityId());
+        }
+        for (OrgTreeNodeEntity existing : repository.findByParentIdAndEntityIdIn(parentId, entityIds)) {
+            if (keys.contains(parentId + "/" + existing.getEntityType() + "/" + existing.getEntityId())) {
+                throw new ApiException(409, "该节点已存在于父节点下：entityType=" + existing.getEntityType()
+                        + ", entityId=" + existing.getEntityId());
+            }
+        }
+    }
+
+    /**
+     * Check whether a candidate node is the given node itself or lies in its
+     * subtree, using the candidate's stored ancestor path (O(depth), no queries).
+     */
+    private boolean isSelfOrDescendant(UUID nodeId, OrgTreeNodeEntity candidate) {
+        if (nodeId.equals(candidate.getId())) {
+            return true;
+        }
+        for (UUID ancestorId : candidate.getPath()) {
+            if (nodeId.equals(ancestorId)) {
+                return true;
             }
-            currentParentId = parent.getParentId();
         }
         return false;
     }
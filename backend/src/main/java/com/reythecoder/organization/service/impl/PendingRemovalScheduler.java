@@ -0,0 +1,31 @@
+package com.reythecoder.organization.service.impl;
+
+import com.reythecoder.organization.service.OrgTreeNodeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically retries background subtree removals that failed or stalled.
+ */
+@Component
+public class PendingRemovalScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PendingRemovalScheduler.class);
+
+    private final OrgTreeNodeService orgTreeNodeService;
+
+    public PendingRemovalScheduler(OrgTreeNodeService orgTreeNodeService) {
+        this.orgTreeNodeService = orgTreeNodeService;
+    }
+
+    @Scheduled(fixedDelayString = "${organization.tree.remove.retry-interval:5m}")
+    public void resumePendingRemovals() {
+        try {
+            orgTreeNodeService.resumePendingRemovals();
+        } catch (RuntimeException e) {
+            logger.error("重试后台树节点删除失败", e);
+        }
+    }
+}
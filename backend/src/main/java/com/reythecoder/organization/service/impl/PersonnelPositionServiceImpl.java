@@ -19,7 +19,6 @@ import org.springframework.validation.annotation.Validated;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @Validated
@@ -43,40 +42,28 @@ public class PersonnelPositionServiceImpl implements PersonnelPositionService {
     @Override
     public List<PersonnelPositionRsp> getAllPersonnelPositions() {
         logger.info("获取所有人员岗位关联");
-        List<PersonnelPositionEntity> entities = personnelPositionRepository.findAll();
-        return entities.stream()
-                .map(this::toRspWithDetails)
-                .collect(Collectors.toList());
+        return personnelPositionRepository.findAllWithNames();
     }
 
     @Override
     public List<PersonnelPositionRsp> getPositionsByPersonnelId(UUID personnelId) {
         logger.info("根据人员 ID 获取岗位列表：{}", personnelId);
-        List<PersonnelPositionEntity> entities = personnelPositionRepository.findByPersonnelId(
+        return personnelPositionRepository.findWithNamesByPersonnelId(
                 java.util.Objects.requireNonNull(personnelId));
-        return entities.stream()
-                .map(this::toRspWithDetails)
-                .collect(Collectors.toList());
     }
 
     @Override
     public List<PersonnelPositionRsp> getPersonnelByPositionId(UUID positionId) {
         logger.info("根据岗位 ID 获取人员列表：{}", positionId);
-        List<PersonnelPositionEntity> entities = personnelPositionRepository.findByPositionId(
+        return personnelPositionRepository.findWithNamesByPositionId(
                 java.util.Objects.requireNonNull(positionId));
-        return entities.stream()
-                .map(this::toRspWithDetails)
-                .collect(Collectors.toList());
     }
 
     @Override
     public List<PersonnelPositionRsp> getPersonnelPositionsByDepartmentId(UUID departmentId) {
         logger.info("根据部门 ID 获取人员岗位关联：{}", departmentId);
-        List<PersonnelPositionEntity> entities = personnelPositionRepository.findByDepartmentId(
+        return personnelPositionRepository.findWithNamesByDepartmentId(
                 java.util.Objects.requireNonNull(departmentId));
-        return entities.stream()
-                .map(this::toRspWithDetails)
-                .collect(Collectors.toList());
     }
 
     @Override
@@ -152,6 +139,7 @@ public class PersonnelPositionServiceImpl implements PersonnelPositionService {
 
     /**
      * 转换为响应 DTO，包含人员、岗位、部门名称
+     * 仅用于单条记录；列表查询通过 {@link PersonnelPositionRepository} 的投影查询一次关联得到名称
      */
     private PersonnelPositionRsp toRspWithDetails(PersonnelPositionEntity entity) {
         PersonnelEntity person = personnelRepository.findById(entity.getPersonnelId()).orElse(null);
@@ -1,5 +1,8 @@
 package com.reythecoder.organization.service.impl;
 
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.KeysetPaginator;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.request.PersonnelCreateReq;
 import com.reythecoder.organization.dto.request.PersonnelUpdateReq;
 import com.reythecoder.organization.dto.response.PersonnelRsp;
@@ -8,8 +11,10 @@ import com.reythecoder.common.exception.ApiException;
 import com.reythecoder.organization.mapper.PersonnelMapper;
 import com.reythecoder.organization.repository.PersonnelRepository;
 import com.reythecoder.organization.service.PersonnelService;
+import io.github.robsonkades.uuidv7.UUIDv7;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
@@ -23,10 +28,12 @@ public class PersonnelServiceImpl implements PersonnelService {
     private static final Logger logger = LoggerFactory.getLogger(PersonnelServiceImpl.class);
     private final PersonnelRepository personnelRepository;
     private final PersonnelMapper personnelMapper;
+    private final KeysetPaginator paginator;
 
-    public PersonnelServiceImpl(PersonnelRepository personnelRepository) {
+    public PersonnelServiceImpl(PersonnelRepository personnelRepository, KeysetPaginator paginator) {
         this.personnelRepository = personnelRepository;
         this.personnelMapper = PersonnelMapper.INSTANCE;
+        this.paginator = paginator;
     }
 
     @Override
@@ -38,6 +45,17 @@ public class PersonnelServiceImpl implements PersonnelService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPage<PersonnelRsp> getPersonnelPage(String name, String idCard, String mobile, PageQuery query) {
+        logger.info("分页获取人员：name={}, sort={}, pageSize={}", name, query.sort(), query.pageSize());
+        Specification<PersonnelEntity> filter = Specification.allOf(
+                KeysetPaginator.equalTo("name", name),
+                KeysetPaginator.equalTo("idCard", idCard),
+                KeysetPaginator.equalTo("mobile", mobile));
+        return paginator.page(personnelRepository, filter, query,
+                PersonnelEntity::getId, PersonnelEntity::getName, personnelMapper::toRsp);
+    }
+
     @Override
     public PersonnelRsp getPersonnelById(UUID id) {
         logger.info("根据ID获取人员: {}", id);
@@ -51,7 +69,7 @@ public class PersonnelServiceImpl implements PersonnelService {
         logger.info("创建人员: {}", req.getName());
         PersonnelEntity entity = personnelMapper.toEntity(req);
         // 设置 ID、时间戳和租户ID
-        entity.setId(UUID.randomUUID());
+        entity.setId(UUIDv7.randomUUID());
         entity.setCreateTime(java.time.OffsetDateTime.now());
         entity.setUpdateTime(java.time.OffsetDateTime.now());
         entity.setTenantId(UUID.fromString("00000000-0000-0000-0000-000000000000"));
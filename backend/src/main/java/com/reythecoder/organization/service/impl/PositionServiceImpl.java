@@ -1,5 +1,8 @@
 package com.reythecoder.organization.service.impl;
 
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.KeysetPaginator;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.request.PositionCreateReq;
 import com.reythecoder.organization.dto.request.PositionUpdateReq;
 import com.reythecoder.organization.dto.response.PositionRsp;
@@ -10,6 +13,7 @@ import com.reythecoder.organization.repository.PositionRepository;
 import com.reythecoder.organization.service.PositionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
@@ -23,10 +27,12 @@ public class PositionServiceImpl implements PositionService {
     private static final Logger logger = LoggerFactory.getLogger(PositionServiceImpl.class);
     private final PositionRepository positionRepository;
     private final PositionMapper positionMapper;
+    private final KeysetPaginator paginator;
 
-    public PositionServiceImpl(PositionRepository positionRepository) {
+    public PositionServiceImpl(PositionRepository positionRepository, KeysetPaginator paginator) {
         this.positionRepository = positionRepository;
         this.positionMapper = PositionMapper.INSTANCE;
+        this.paginator = paginator;
     }
 
     @Override
@@ -38,6 +44,21 @@ public class PositionServiceImpl implements PositionService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPage<PositionRsp> getPositionPage(String name, String code, String jobLevel, String jobCategory,
+                                                   Integer status, PageQuery query) {
+        logger.info("分页获取岗位：name={}, code={}, jobLevel={}, jobCategory={}, status={}, sort={}, pageSize={}",
+                name, code, jobLevel, jobCategory, status, query.sort(), query.pageSize());
+        Specification<PositionEntity> filter = Specification.allOf(
+                KeysetPaginator.equalTo("name", name),
+                KeysetPaginator.equalTo("code", code),
+                KeysetPaginator.equalTo("jobLevel", jobLevel),
+                KeysetPaginator.equalTo("jobCategory", jobCategory),
+                KeysetPaginator.equalTo("status", status));
+        return paginator.page(positionRepository, filter, query,
+                PositionEntity::getId, PositionEntity::getName, positionMapper::toRsp);
+    }
+
     @Override
     public PositionRsp getPositionById(UUID id) {
         logger.info("根据 ID 获取岗位：{}", id);
@@ -0,0 +1,259 @@
+package com.reythecoder.organization.service.impl;
+
+import com.reythecoder.common.rank.RankRebalanceReport;
+import com.reythecoder.common.rank.RankRebalancer;
+import com.reythecoder.common.rank.RankScope;
+import com.reythecoder.common.utils.BigLexoRankUtils;
+import com.reythecoder.common.utils.LexoRankUtils;
+import com.reythecoder.organization.cache.OrgTreeIndex;
+import com.reythecoder.organization.entity.TreeChangeType;
+import com.reythecoder.organization.repository.OrgTreeChangeLogRepository;
+import com.reythecoder.organization.repository.OrgTreeNodeRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Allocates sort ranks for nodes inserted under a parent.
+ *
+ * Ranks are derived from the neighbouring sibling ranks only, read with
+ * index-only lookups on {@code idx_org_tree_parent}, so the cost does not
+ * depend on how many children the parent has. Allocation for one parent is
+ * serialized until the surrounding transaction completes: threads of this
+ * instance queue on a striped in-process lock, and instances sharing the
+ * database queue on a transaction-scoped advisory lock keyed on the parent.
+ * Concurrent appends therefore always see each other's committed ranks.
+ *
+ * When a new rank would exceed {@link LexoRankUtils#MAX_LENGTH}, the parent's
+ * children are first rebalanced to short, evenly spaced ranks within the same
+ * transaction.
+ */
+@Component
+public class SiblingRankAllocator {
+
+    /**
+     * Sibling sets of {@code org_tree} are the children of one parent. The virtual
+     * root is its own parent and is excluded so it never joins the top-level set.
+     */
+    public static final RankScope ORG_TREE_RANKS = new RankScope("org_tree", List.of("parent_id"),
+            "id <> parent_id");
+
+    private static final int STRIPES = 64;
+
+    private final OrgTreeNodeRepository repository;
+    private final OrgTreeChangeLogRepository changeLogRepository;
+    private final RankRebalancer rebalancer;
+    private final OrgTreeIndex treeIndex;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    public SiblingRankAllocator(OrgTreeNodeRepository repository, OrgTreeChangeLogRepository changeLogRepository,
+                                RankRebalancer rebalancer, OrgTreeIndex treeIndex) {
+        this.repository = repository;
+        this.changeLogRepository = changeLogRepository;
+        this.rebalancer = rebalancer;
+        this.treeIndex = treeIndex;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Allocate a rank after the parent's current last child.
+     *
+     * @param parentId the parent node ID
+     * @return the new sort rank
+     */
+    public String allocateAppend(UUID parentId) {
+        lockChildren(parentId);
+        String tail = repository.findMaxSortRank(parentId);
+        if (tail == null) {
+            return LexoRankUtils.initialRank(0);
+        }
+        String rank = BigLexoRankUtils.after(tail);
+        if (rank.length() > LexoRankUtils.MAX_LENGTH) {
+            rebalance(parentId);
+            rank = BigLexoRankUtils.after(repository.findMaxSortRank(parentId));
+        }
+        return rank;
+    }
+
+    /**
+     * Allocate evenly spaced ranks for several nodes appended after the
+     * parent's current last child.
+     *
+     * @param parentId the parent node ID
+     * @param count the number of ranks
+     * @return the new sort ranks in ascending order
+     * @throws IllegalArgumentException when the ranks do not fit within the maximum rank length
+     */
+    public List<String> allocateAppend(UUID parentId, int count) {
+        lockChildren(parentId);
+        try {
+            return LexoRankUtils.spread(repository.findMaxSortRank(parentId), null, count);
+        } catch (IllegalArgumentException e) {
+            rebalance(parentId);
+            return LexoRankUtils.spread(repository.findMaxSortRank(parentId), null, count);
+        }
+    }
+
+    /**
+     * Allocate a rank directly after the given sibling. The sibling's rank is
+     * read after taking the lock, since a rebalance may have rewritten it.
+     *
+     * @param parentId the parent node ID
+     * @param afterNodeId the ID of the sibling to insert after
+     * @return the new sort rank
+     */
+    public String allocateAfter(UUID parentId, UUID afterNodeId) {
+        lockChildren(parentId);
+        String rank = rankAfter(parentId, afterNodeId);
+        if (rank == null) {
+            rebalance(parentId);
+            String afterRank = repository.findSortRankById(afterNodeId);
+            rank = BigLexoRankUtils.between(afterRank, repository.findNextSortRank(parentId, afterRank));
+        }
+        return rank;
+    }
+
+    /**
+     * The rank between a sibling and its successor, or null when it would
+     * exceed the maximum length or no rank fits in between.
+     */
+    private String rankAfter(UUID parentId, UUID afterNodeId) {
+        String afterRank = repository.findSortRankById(afterNodeId);
+        try {
+            String rank = BigLexoRankUtils.between(afterRank, repository.findNextSortRank(parentId, afterRank));
+            return rank.length() <= LexoRankUtils.MAX_LENGTH ? rank : null;
+        } catch (IllegalArgumentException e) {
+            // Ranks appended by the former strategy, such as "a0" and "a00", leave no room in between
+            return null;
+        }
+    }
+
+    /**
+     * Compute ranks for siblings placed in a new order while changing as few
+     * ranks as possible. The longest run of siblings whose current ranks are
+     * already ascending in the new order keeps its ranks; each gap between
+     * them gets evenly spaced ranks. When a gap has no room left within the
+     * maximum rank length, every sibling is re-ranked instead.
+     *
+     * @param ranks the current sort ranks, listed in the new order
+     * @return the sort ranks to use, aligned with {@code ranks}
+     */
+    public static List<String> planRanks(List<String> ranks) {
+        int n = ranks.size();
+        boolean[] keep = new boolean[n];
+        for (int index : longestAscendingRun(ranks)) {
+            keep[index] = true;
+        }
+
+        List<String> planned = new ArrayList<>(ranks);
+        int i = 0;
+        while (i < n) {
+            if (keep[i]) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < n && !keep[i]) {
+                i++;
+            }
+            String lower = start > 0 ? planned.get(start - 1) : null;
+            String upper = i < n ? planned.get(i) : null;
+            List<String> gap;
+            try {
+                gap = BigLexoRankUtils.between(lower, upper, i - start);
+            } catch (IllegalArgumentException e) {
+                return LexoRankUtils.spread(null, null, n);
+            }
+            if (gap.stream().anyMatch(rank -> rank.length() > LexoRankUtils.MAX_LENGTH)) {
+                return LexoRankUtils.spread(null, null, n);
+            }
+            for (int k = 0; k < gap.size(); k++) {
+                planned.set(start + k, gap.get(k));
+            }
+        }
+        return planned;
+    }
+
+    /**
+     * Indices of a longest strictly ascending subsequence, by patience sorting.
+     */
+    private static List<Integer> longestAscendingRun(List<String> ranks) {
+        int n = ranks.size();
+        int[] tails = new int[n];
+        int[] previous = new int[n];
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ranks.get(tails[mid]).compareTo(ranks.get(i)) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+
+        List<Integer> run = new ArrayList<>(length);
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            run.add(i);
+        }
+        return run;
+    }
+
+    /**
+     * Rewrite the ranks of a parent's children to short, evenly spaced ranks
+     * in their current order and record them in the change log. The
+     * in-memory index catches up after commit.
+     *
+     * @param parentId the parent node ID
+     * @return the rebalance report
+     */
+    public RankRebalanceReport rebalance(UUID parentId) {
+        lockChildren(parentId);
+        return rebalancer.rebalanceGroup(ORG_TREE_RANKS, (ids, ranks) -> {
+            changeLogRepository.recordChildren(TreeChangeType.UPDATED.name(), parentId);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    treeIndex.catchUp();
+                }
+            });
+        }, parentId);
+    }
+
+    /**
+     * Serialize rank allocation under a parent until the current transaction
+     * completes. Re-entrant within the same transaction.
+     *
+     * @param parentId the parent node ID
+     * @throws IllegalStateException when no transaction is active
+     */
+    public void lockChildren(UUID parentId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Sibling rank allocation requires an active transaction");
+        }
+        ReentrantLock stripe = stripes[Math.floorMod(parentId.hashCode(), STRIPES)];
+        stripe.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                stripe.unlock();
+            }
+        });
+        repository.lockChildren(parentId);
+    }
+}
@@ -0,0 +1,155 @@
+package com.reythecoder.organization.service.impl;
+
+import com.reythecoder.organization.dto.request.TreeExportFormat;
+import com.reythecoder.organization.entity.OrgTreeNodeEntity;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes exported tree nodes as NDJSON lines or CSV rows straight to an
+ * output stream, one node at a time. Nothing beyond the write buffer is
+ * retained between nodes.
+ */
+final class TreeExportWriter {
+
+    private static final String CSV_HEADER = "id,parent_id,type,entity_id,name,level,sort_rank";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final TreeExportFormat format;
+    private final Writer writer;
+
+    TreeExportWriter(TreeExportFormat format, OutputStream out) {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    /**
+     * Write the CSV header row; NDJSON has none.
+     */
+    void writeHeader() {
+        if (format == TreeExportFormat.CSV) {
+            append(CSV_HEADER);
+            append("\r\n");
+        }
+    }
+
+    void write(OrgTreeNodeEntity node) {
+        try {
+            if (format == TreeExportFormat.CSV) {
+                writeCsv(node);
+            } else {
+                writeJson(node);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeJson(OrgTreeNodeEntity node) throws IOException {
+        writer.write("{\"id\":\"");
+        writer.write(node.getId().toString());
+        if (node.getParentId() == null) {
+            writer.write("\",\"parentId\":null,\"type\":\"");
+        } else {
+            writer.write("\",\"parentId\":\"");
+            writer.write(node.getParentId().toString());
+            writer.write("\",\"type\":\"");
+        }
+        writer.write(node.getEntityType().name());
+        writer.write("\",\"entityId\":\"");
+        writer.write(node.getEntityId().toString());
+        writer.write("\",\"name\":\"");
+        writeJsonString(writer, node.getAlias());
+        writer.write("\",\"level\":");
+        writer.write(Integer.toString(node.getLevel()));
+        writer.write(",\"sortRank\":\"");
+        writer.write(node.getSortRank());
+        writer.write("\"}\n");
+    }
+
+    /**
+     * Write the body of a JSON string, escaping quotes, backslashes and
+     * control characters.
+     */
+    static void writeJsonString(Writer writer, String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> writer.write("\\\"");
+                case '\\' -> writer.write("\\\\");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                case '\t' -> writer.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        writer.write("\\u00");
+                        writer.write(HEX[c >> 4]);
+                        writer.write(HEX[c & 0xF]);
+                    } else {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private void writeCsv(OrgTreeNodeEntity node) throws IOException {
+        writer.write(node.getId().toString());
+        writer.write(',');
+        if (node.getParentId() != null) {
+            writer.write(node.getParentId().toString());
+        }
+        writer.write(',');
+        writer.write(node.getEntityType().name());
+        writer.write(',');
+        writer.write(node.getEntityId().toString());
+        writer.write(',');
+        writeCsvField(writer, node.getAlias());
+        writer.write(',');
+        writer.write(Integer.toString(node.getLevel()));
+        writer.write(',');
+        writer.write(node.getSortRank());
+        writer.write("\r\n");
+    }
+
+    /**
+     * Quote a field when it holds a delimiter, quote or line break, doubling
+     * embedded quotes (RFC 4180).
+     */
+    static void writeCsvField(Writer writer, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private void append(String text) {
+        try {
+            writer.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
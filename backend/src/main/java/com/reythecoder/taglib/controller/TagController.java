@@ -1,6 +1,7 @@
 package com.reythecoder.taglib.controller;
 
 import com.reythecoder.common.dto.ApiResult;
+import com.reythecoder.common.rank.RankRebalanceReport;
 import com.reythecoder.taglib.dto.request.TagCreateReq;
 import com.reythecoder.taglib.dto.request.TagUpdateReq;
 import com.reythecoder.taglib.dto.response.TagRsp;
@@ -49,6 +50,13 @@ public class TagController {
         return ApiResult.success("标签创建成功", tag);
     }
 
+    @PostMapping("/ranks/rebalance")
+    public ApiResult<RankRebalanceReport> rebalanceRanks() {
+        logger.info("收到重排标签排序值请求");
+        RankRebalanceReport report = tagService.rebalanceRanks();
+        return ApiResult.success("排序值重排成功", report);
+    }
+
     @PutMapping("/{id}")
     public ApiResult<TagRsp> update(@PathVariable UUID id,
             @Valid @RequestBody TagUpdateReq req) {
@@ -1,5 +1,6 @@
 package com.reythecoder.taglib.service;
 
+import com.reythecoder.common.rank.RankMaintainer;
 import com.reythecoder.taglib.dto.request.TagCreateReq;
 import com.reythecoder.taglib.dto.request.TagUpdateReq;
 import com.reythecoder.taglib.dto.response.TagRsp;
@@ -10,7 +11,7 @@ import jakarta.validation.constraints.NotNull;
 import java.util.List;
 import java.util.UUID;
 
-public interface TagService {
+public interface TagService extends RankMaintainer {
     List<TagTreeRsp> getTagTreeByCategory(@NotNull UUID categoryId);
     TagRsp getById(@NotNull UUID id);
     TagRsp create(@Valid @NotNull TagCreateReq req);
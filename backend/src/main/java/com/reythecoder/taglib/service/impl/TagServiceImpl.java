@@ -1,5 +1,10 @@
 package com.reythecoder.taglib.service.impl;
 
+import com.reythecoder.common.rank.RankRebalanceProperties;
+import com.reythecoder.common.rank.RankRebalanceReport;
+import com.reythecoder.common.rank.RankRebalancer;
+import com.reythecoder.common.rank.RankScope;
+import com.reythecoder.common.utils.BigLexoRankUtils;
 import com.reythecoder.common.utils.LexoRankUtils;
 import com.reythecoder.common.exception.ApiException;
 import com.reythecoder.taglib.dto.request.TagCreateReq;
@@ -15,7 +20,9 @@ import com.reythecoder.taglib.service.TagService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.validation.annotation.Validated;
 
 import java.util.*;
@@ -27,13 +34,22 @@ public class TagServiceImpl implements TagService {
 
     private static final Logger logger = LoggerFactory.getLogger(TagServiceImpl.class);
     private static final UUID ROOT_KEY = new UUID(0, 0);
+    private static final RankScope TAG_RANKS = new RankScope("taglib_tag", List.of("category_id", "parent_id"));
 
     private final TagRepository tagRepository;
     private final TagCategoryRepository tagCategoryRepository;
+    private final RankRebalancer rankRebalancer;
+    private final RankRebalanceProperties rankProperties;
+    private final TransactionTemplate transactionTemplate;
 
-    public TagServiceImpl(TagRepository tagRepository, TagCategoryRepository tagCategoryRepository) {
+    public TagServiceImpl(TagRepository tagRepository, TagCategoryRepository tagCategoryRepository,
+                          RankRebalancer rankRebalancer, RankRebalanceProperties rankProperties,
+                          PlatformTransactionManager transactionManager) {
         this.tagRepository = tagRepository;
         this.tagCategoryRepository = tagCategoryRepository;
+        this.rankRebalancer = rankRebalancer;
+        this.rankProperties = rankProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -54,6 +70,7 @@ public class TagServiceImpl implements TagService {
     }
 
     @Override
+    @Transactional
     public TagRsp create(TagCreateReq req) {
         logger.info("创建标签, name: {}, categoryId: {}", req.getName(), req.getCategoryId());
 
@@ -102,6 +119,21 @@ public class TagServiceImpl implements TagService {
         recursiveDelete(entity);
     }
 
+    @Override
+    public RankRebalanceReport rebalanceRanks() {
+        logger.info("重排标签排序值, threshold: {}", rankProperties.getThreshold());
+
+        // Each sibling set is rewritten in its own short transaction so that row locks are held briefly
+        RankRebalanceReport report = new RankRebalanceReport(TAG_RANKS.table());
+        for (Object[] group : rankRebalancer.findOversizedGroups(TAG_RANKS, rankProperties.getThreshold(),
+                rankProperties.getMaxGroups())) {
+            report.add(transactionTemplate.execute(status -> rankRebalancer.rebalanceGroup(TAG_RANKS, null, group)));
+        }
+        logger.info("标签排序值重排完成, groups: {}, rows: {}, reclaimedChars: {}",
+                report.getGroups(), report.getRows(), report.getReclaimedChars());
+        return report;
+    }
+
     private void recursiveDelete(TagEntity entity) {
         entity.setRemoved(true);
         tagRepository.save(entity);
@@ -134,10 +166,17 @@ public class TagServiceImpl implements TagService {
 
         if (siblings.isEmpty()) {
             return LexoRankUtils.initialRank(0);
-        } else {
-            TagEntity lastSibling = siblings.get(siblings.size() - 1);
-            return LexoRankUtils.after(lastSibling.getSortRank());
         }
+        TagEntity lastSibling = siblings.get(siblings.size() - 1);
+        String sortRank = BigLexoRankUtils.after(lastSibling.getSortRank());
+        if (sortRank.length() <= LexoRankUtils.MAX_LENGTH) {
+            return sortRank;
+        }
+
+        // Ranks are full: rewrite the sibling set (removed tags included) and append after its new tail
+        List<String> rebalanced = new ArrayList<>();
+        rankRebalancer.rebalanceGroup(TAG_RANKS, (ids, ranks) -> rebalanced.addAll(ranks), categoryId, parentId);
+        return BigLexoRankUtils.after(rebalanced.get(rebalanced.size() - 1));
     }
 
     private TagRsp enrichTagRsp(TagEntity entity) {
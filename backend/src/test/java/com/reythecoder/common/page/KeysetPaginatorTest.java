@@ -0,0 +1,154 @@
+package com.reythecoder.common.page;
+
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.exception.ApiException;
+import com.reythecoder.common.utils.CursorTokenUtils;
+import com.reythecoder.organization.entity.GroupEntity;
+import io.github.robsonkades.uuidv7.UUIDv7;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KeysetPaginatorTest {
+
+    @Mock
+    private JpaSpecificationExecutor<GroupEntity> repository;
+
+    @Mock(answer = Answers.RETURNS_SELF)
+    private JpaSpecificationExecutor.SpecificationFluentQuery<GroupEntity> fluentQuery;
+
+    private KeysetPaginator paginator;
+
+    @BeforeEach
+    void setUp() {
+        PageProperties properties = new PageProperties();
+        properties.setDefaultSize(2);
+        properties.setMaxSize(3);
+        paginator = new KeysetPaginator(properties);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenRows(List<GroupEntity> rows) {
+        when(fluentQuery.all()).thenReturn(rows);
+        when(repository.findBy(any(Specification.class), any())).thenAnswer(invocation -> {
+            Function<JpaSpecificationExecutor.SpecificationFluentQuery<GroupEntity>, Object> query =
+                    invocation.getArgument(1);
+            return query.apply(fluentQuery);
+        });
+    }
+
+    private static List<GroupEntity> groups(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new GroupEntity(UUIDv7.randomUUID(), "分组" + i, "", null, null, null, false))
+                .toList();
+    }
+
+    private CursorPage<String> page(PageQuery query) {
+        return paginator.page(repository, Specification.unrestricted(), query,
+                GroupEntity::getId, GroupEntity::getName, GroupEntity::getName);
+    }
+
+    @Test
+    void testFetchesOneExtraRowToDetectNextPage() {
+        List<GroupEntity> rows = groups(3);
+        givenRows(rows);
+
+        CursorPage<String> page = page(PageQuery.firstPage());
+
+        assertThat(page.getItems()).containsExactly("分组0", "分组1");
+        assertThat(page.isHasMore()).isTrue();
+        String[] keys = CursorTokenUtils.decode(page.getNextPageToken(), 4);
+        assertThat(keys).containsExactly("ID", "ASC", rows.get(1).getId().toString(), "");
+        verify(fluentQuery).limit(3);
+        verify(fluentQuery).sortBy(Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    @Test
+    void testLastPageHasNoToken() {
+        givenRows(groups(1));
+
+        CursorPage<String> page = page(PageQuery.firstPage());
+
+        assertThat(page.getItems()).containsExactly("分组0");
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextPageToken()).isNull();
+    }
+
+    @Test
+    void testPageSizeIsCapped() {
+        givenRows(groups(4));
+
+        CursorPage<String> page = page(new PageQuery(null, 1000, null, null));
+
+        assertThat(page.getItems()).hasSize(3);
+        verify(fluentQuery).limit(4);
+    }
+
+    @Test
+    void testNameSortOrdersByNameThenId() {
+        List<GroupEntity> rows = groups(3);
+        givenRows(rows);
+
+        CursorPage<String> page = page(new PageQuery(null, null, KeysetSort.NAME, Sort.Direction.DESC));
+
+        verify(fluentQuery).sortBy(Sort.by(Sort.Direction.DESC, "name", "id"));
+        String[] keys = CursorTokenUtils.decode(page.getNextPageToken(), 4);
+        assertThat(keys).containsExactly("NAME", "DESC", rows.get(1).getId().toString(), "分组1");
+    }
+
+    @Test
+    void testNameWithSeparatorSurvivesToken() {
+        GroupEntity first = new GroupEntity(UUIDv7.randomUUID(), "a\nb", "", null, null, null, false);
+        givenRows(List.of(first, groups(1).get(0)));
+
+        CursorPage<String> page = paginator.page(repository, Specification.unrestricted(),
+                new PageQuery(null, 1, KeysetSort.NAME, null),
+                GroupEntity::getId, GroupEntity::getName, GroupEntity::getName);
+
+        assertThat(CursorTokenUtils.decode(page.getNextPageToken(), 4)[3]).isEqualTo("a\nb");
+    }
+
+    @Test
+    void testTokenFromAnotherSortIsRejected() {
+        String token = CursorTokenUtils.encode("ID", "ASC", UUID.randomUUID().toString(), "");
+
+        assertThatThrownBy(() -> page(new PageQuery(token, null, KeysetSort.NAME, null)))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("分页令牌与排序方式不匹配");
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testMalformedTokenIsRejected() {
+        String token = CursorTokenUtils.encode("ID", "ASC", "not-a-uuid", "");
+
+        assertThatThrownBy(() -> page(new PageQuery(token, null, null, null)))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("无效的分页令牌");
+    }
+
+    @Test
+    void testNameSortRejectedWhenUnsupported() {
+        assertThatThrownBy(() -> paginator.page(repository, Specification.unrestricted(),
+                new PageQuery(null, null, KeysetSort.NAME, null), GroupEntity::getId, null, GroupEntity::getName))
+                .isInstanceOf(ApiException.class)
+                .satisfies(e -> assertThat(((ApiException) e).getCode()).isEqualTo(400));
+    }
+}
@@ -0,0 +1,107 @@
+package com.reythecoder.common.rank;
+
+import io.github.robsonkades.uuidv7.UUIDv7;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class RankRebalancerTest {
+
+    private static final RankScope SCOPE = new RankScope("taglib_tag", List.of("category_id", "parent_id"));
+
+    private JdbcTemplate jdbcTemplate;
+    private RankRebalancer rebalancer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        rebalancer = new RankRebalancer(jdbcTemplate);
+    }
+
+    @Test
+    void rebalanceGroup_shouldRewriteRanksInOrderAndReport() throws Exception {
+        UUID categoryId = UUIDv7.randomUUID();
+        List<UUID> ids = List.of(UUIDv7.randomUUID(), UUIDv7.randomUUID(), UUIDv7.randomUUID());
+        List<String> oldRanks = List.of("a0", "a00", "a0000000000");
+        stubRows(ids, oldRanks);
+
+        List<String> newRanks = new ArrayList<>();
+        RankRebalanceReport report = rebalancer.rebalanceGroup(SCOPE, (rewritten, ranks) -> {
+            assertThat(rewritten).isEqualTo(ids);
+            newRanks.addAll(ranks);
+        }, categoryId, null);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowCallbackHandler.class), eq(categoryId));
+        assertThat(sql.getValue()).contains("category_id = ?").contains("parent_id IS NULL");
+        verify(jdbcTemplate, times(1)).update(any(PreparedStatementCreator.class));
+
+        assertThat(newRanks).hasSize(3).isSorted().allSatisfy(rank -> assertThat(rank).hasSize(2));
+        assertThat(report.getGroups()).isEqualTo(1);
+        assertThat(report.getRows()).isEqualTo(3);
+        assertThat(report.getCharsBefore()).isEqualTo(16);
+        assertThat(report.getCharsAfter()).isEqualTo(6);
+        assertThat(report.getReclaimedChars()).isEqualTo(10);
+        assertThat(report.getMaxLengthBefore()).isEqualTo(11);
+        assertThat(report.getMaxLengthAfter()).isEqualTo(2);
+    }
+
+    @Test
+    void rebalanceGroup_shouldSkipUpdateForEmptyGroup() throws Exception {
+        stubRows(List.of(), List.of());
+
+        RankRebalanceReport report = rebalancer.rebalanceGroup(SCOPE, null, UUIDv7.randomUUID(), UUIDv7.randomUUID());
+
+        assertThat(report.getRows()).isZero();
+        verify(jdbcTemplate, never()).update(any(PreparedStatementCreator.class));
+    }
+
+    @Test
+    void rebalanceGroup_shouldRejectMismatchedGroupKey() {
+        assertThatThrownBy(() -> rebalancer.rebalanceGroup(SCOPE, null, UUIDv7.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void filter_shouldRestrictGroupLookupAndRewrite() throws Exception {
+        RankScope scope = new RankScope("org_tree", List.of("parent_id"), "id <> parent_id");
+        UUID parentId = UUIDv7.randomUUID();
+        stubRows(List.of(), List.of());
+
+        rebalancer.findOversizedGroups(scope, 8, 10);
+        rebalancer.rebalanceGroup(scope, null, parentId);
+
+        ArgumentCaptor<String> groupSql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(groupSql.capture(), any(RowMapper.class), eq(8), eq(10));
+        assertThat(groupSql.getValue()).contains("length(sort_rank) > ? AND id <> parent_id ORDER BY");
+        ArgumentCaptor<String> rowSql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(rowSql.capture(), any(RowCallbackHandler.class), eq(parentId));
+        assertThat(rowSql.getValue()).contains("parent_id = ? AND id <> parent_id ORDER BY");
+    }
+
+    private void stubRows(List<UUID> ids, List<String> ranks) throws Exception {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < ids.size(); i++) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getObject(1, UUID.class)).thenReturn(ids.get(i));
+                when(rs.getString(2)).thenReturn(ranks.get(i));
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+}
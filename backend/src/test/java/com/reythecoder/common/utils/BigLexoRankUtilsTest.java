@@ -0,0 +1,136 @@
+package com.reythecoder.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BigLexoRankUtilsTest {
+
+    @Test
+    void testBetweenReturnsShortestMidpoint() {
+        assertEquals("ai", BigLexoRankUtils.between("a0", "b0"));
+        assertEquals("i0", BigLexoRankUtils.between(null, null));
+        assertEquals("5i", BigLexoRankUtils.between(null, "b0"));
+        assertEquals("ni", BigLexoRankUtils.between("b0", null));
+    }
+
+    @Test
+    void testBetweenAdjacentRanksExtendsPrecision() {
+        String mid = BigLexoRankUtils.between("a0", "a1");
+        assertEquals("a0i", mid);
+        assertTrue("a0".compareTo(mid) < 0 && mid.compareTo("a1") < 0);
+
+        // Repeated halving towards the lower bound keeps growing without overflow
+        String upper = "a1";
+        for (int i = 0; i < 100; i++) {
+            String next = BigLexoRankUtils.between("a0", upper);
+            assertTrue("a0".compareTo(next) < 0 && next.compareTo(upper) < 0);
+            upper = next;
+        }
+        assertTrue(upper.length() > 12);
+    }
+
+    @Test
+    void testBetweenLongRanks() {
+        String lower = "a" + "z".repeat(40);
+        String upper = "b" + "0".repeat(40) + "1";
+
+        String mid = BigLexoRankUtils.between(lower, upper);
+
+        assertTrue(lower.compareTo(mid) < 0);
+        assertTrue(mid.compareTo(upper) < 0);
+    }
+
+    @Test
+    void testBetweenRandomPairsStaysStrictlyWithinBounds() {
+        Random random = new Random(42);
+        String charset = "0123456789abcdefghijklmnopqrstuvwxyz";
+        for (int n = 0; n < 10_000; n++) {
+            String a = randomRank(random, charset);
+            String b = randomRank(random, charset);
+            String lower = a.compareTo(b) < 0 ? a : b;
+            String upper = a.compareTo(b) < 0 ? b : a;
+            String mid;
+            try {
+                mid = BigLexoRankUtils.between(lower, upper);
+            } catch (IllegalArgumentException e) {
+                // Only ranks equal as fractions, such as "a0" and "a00", have nothing in between
+                assertEquals(lower.replaceAll("0+$", ""), upper.replaceAll("0+$", ""));
+                continue;
+            }
+            assertTrue(lower.compareTo(mid) < 0 && mid.compareTo(upper) < 0, lower + " " + mid + " " + upper);
+            assertTrue(mid.length() <= Math.max(lower.length(), upper.length()) + 1, mid);
+        }
+    }
+
+    @Test
+    void testAfterUsesFixedStep() {
+        String rank = "a0";
+        for (int i = 0; i < 10_000; i++) {
+            String next = BigLexoRankUtils.after(rank);
+            assertTrue(next.compareTo(rank) > 0);
+            rank = next;
+        }
+        // Every append adds one unit at the sixth position, so the length stays put
+        assertTrue(rank.length() <= 6, rank);
+
+        assertEquals("a00001", BigLexoRankUtils.after("a0"));
+        assertEquals("a1", BigLexoRankUtils.after("a0zzzz"));
+        assertEquals("a00002", BigLexoRankUtils.after("a00001zz"));
+        assertEquals("zzzzzz1", BigLexoRankUtils.after("zzzzzz"));
+        assertTrue(BigLexoRankUtils.before("a0").compareTo("a0") < 0);
+    }
+
+    @Test
+    void testBetweenN() {
+        List<String> ranks = BigLexoRankUtils.between("a0", "b0", 5);
+
+        assertEquals(5, ranks.size());
+        String previous = "a0";
+        for (String rank : ranks) {
+            assertTrue(previous.compareTo(rank) < 0, rank);
+            previous = rank;
+        }
+        assertTrue(previous.compareTo("b0") < 0);
+    }
+
+    @Test
+    void testBetweenNExtendsPrecisionForLargeCounts() {
+        List<String> ranks = BigLexoRankUtils.between("a0", "a1", 100_000);
+
+        assertEquals(100_000, ranks.size());
+        for (int i = 1; i < ranks.size(); i++) {
+            assertTrue(ranks.get(i - 1).compareTo(ranks.get(i)) < 0, ranks.get(i));
+        }
+        assertTrue("a0".compareTo(ranks.get(0)) < 0);
+        assertTrue(ranks.get(ranks.size() - 1).compareTo("a1") < 0);
+
+        assertEquals(List.of("c0", "o0"), BigLexoRankUtils.between(null, null, 2));
+        assertTrue(BigLexoRankUtils.between("a0", "b0", 0).isEmpty());
+    }
+
+    @Test
+    void testBetweenInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> BigLexoRankUtils.between("b0", "a0"));
+        assertThrows(IllegalArgumentException.class, () -> BigLexoRankUtils.between("a0", "a0"));
+        // Equal as fractions: no rank sorts strictly between them
+        assertThrows(IllegalArgumentException.class, () -> BigLexoRankUtils.between("a0", "a00"));
+        assertThrows(IllegalArgumentException.class, () -> BigLexoRankUtils.between("A0", "b0"));
+        assertThrows(IllegalArgumentException.class, () -> BigLexoRankUtils.between(null, "00"));
+        assertThrows(IllegalArgumentException.class, () -> BigLexoRankUtils.between("a0", "b0", -1));
+    }
+
+    private static String randomRank(Random random, String charset) {
+        int length = 2 + random.nextInt(6);
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            // Bias towards the extreme digits to exercise carries and borrows
+            int r = random.nextInt(8);
+            sb.append(r == 0 ? '0' : r == 1 ? 'z' : charset.charAt(random.nextInt(charset.length())));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,29 @@
+package com.reythecoder.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentEncodingUtilsTest {
+
+    @Test
+    void testAcceptsGzip() {
+        assertTrue(ContentEncodingUtils.acceptsGzip("gzip"));
+        assertTrue(ContentEncodingUtils.acceptsGzip("deflate, GZIP;q=0.8, br"));
+        assertTrue(ContentEncodingUtils.acceptsGzip("*"));
+    }
+
+    @Test
+    void testRejectsMissingOrOtherEncodings() {
+        assertFalse(ContentEncodingUtils.acceptsGzip(null));
+        assertFalse(ContentEncodingUtils.acceptsGzip("br, deflate"));
+        assertFalse(ContentEncodingUtils.acceptsGzip("identity"));
+    }
+
+    @Test
+    void testRejectsZeroQuality() {
+        assertFalse(ContentEncodingUtils.acceptsGzip("gzip;q=0"));
+        assertFalse(ContentEncodingUtils.acceptsGzip("gzip; q=0.000, br"));
+        assertTrue(ContentEncodingUtils.acceptsGzip("gzip;q=0.001"));
+    }
+}
@@ -0,0 +1,47 @@
+package com.reythecoder.common.utils;
+
+import com.reythecoder.common.exception.ApiException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorTokenUtilsTest {
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        String token = CursorTokenUtils.encode("a0b", "0190a1b2-0000-7000-8000-000000000001");
+
+        String[] keys = CursorTokenUtils.decode(token, 2);
+
+        assertArrayEquals(new String[]{"a0b", "0190a1b2-0000-7000-8000-000000000001"}, keys);
+    }
+
+    @Test
+    void testTokenIsUrlSafe() {
+        String token = CursorTokenUtils.encode("zzzzzzzzzzzz", "~~~");
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void testDecodeRejectsMalformedToken() {
+        ApiException e = assertThrows(ApiException.class, () -> CursorTokenUtils.decode("not base64!", 2));
+        assertEquals(400, e.getCode());
+    }
+
+    @Test
+    void testDecodeRejectsWrongKeyCount() {
+        String token = CursorTokenUtils.encode("a0");
+
+        assertThrows(ApiException.class, () -> CursorTokenUtils.decode(token, 2));
+    }
+
+    @Test
+    void testLastKeyKeepsSeparator() {
+        String token = CursorTokenUtils.encode("NAME", "first\nsecond");
+
+        String[] keys = CursorTokenUtils.decode(token, 2);
+
+        assertArrayEquals(new String[]{"NAME", "first\nsecond"}, keys);
+    }
+}
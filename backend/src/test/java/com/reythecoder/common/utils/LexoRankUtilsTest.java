@@ -2,6 +2,8 @@ package com.reythecoder.common.utils;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class LexoRankUtilsTest {
@@ -137,4 +139,42 @@ class LexoRankUtilsTest {
         assertFalse(LexoRankUtils.isValidRank("a"));  // too short
         assertFalse(LexoRankUtils.isValidRank("a!0")); // invalid character
     }
+
+    @Test
+    void testSpreadIsOrderedAndEquallyWide() {
+        List<String> ranks = LexoRankUtils.spread(null, null, 10_000);
+
+        assertEquals(10_000, ranks.size());
+        int width = ranks.get(0).length();
+        for (int i = 0; i < ranks.size(); i++) {
+            assertTrue(LexoRankUtils.isValidRank(ranks.get(i)));
+            assertEquals(width, ranks.get(i).length());
+            if (i > 0) {
+                assertTrue(ranks.get(i).compareTo(ranks.get(i - 1)) > 0);
+            }
+        }
+        assertTrue(width <= LexoRankUtils.MAX_LENGTH);
+    }
+
+    @Test
+    void testSpreadStaysWithinBounds() {
+        List<String> ranks = LexoRankUtils.spread("a0", "b0", 50);
+
+        assertEquals(50, ranks.size());
+        for (String rank : ranks) {
+            assertTrue(rank.compareTo("a0") > 0);
+            assertTrue(rank.compareTo("b0") < 0);
+        }
+
+        List<String> appended = LexoRankUtils.spread("a00000", null, 3);
+        assertTrue(appended.get(0).compareTo("a00000") > 0);
+    }
+
+    @Test
+    void testSpreadInvalidArguments() {
+        assertTrue(LexoRankUtils.spread("a0", null, 0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> LexoRankUtils.spread("b0", "a0", 1));
+        assertThrows(IllegalArgumentException.class, () -> LexoRankUtils.spread("a0", "a00", 1));
+        assertThrows(IllegalArgumentException.class, () -> LexoRankUtils.spread(null, null, -1));
+    }
 }
@@ -0,0 +1,255 @@
+package com.reythecoder.organization.cache;
+
+import com.reythecoder.organization.cache.OrgTreeIndex.IndexedNode;
+import com.reythecoder.organization.config.OrgTreeProperties;
+import com.reythecoder.organization.entity.EntityType;
+import com.reythecoder.organization.entity.TreeChangeType;
+import io.github.robsonkades.uuidv7.UUIDv7;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for OrgTreeIndex.
+ *
+ * The index is loaded empty and then fed through {@link OrgTreeIndex#catchUp()}
+ * from an in-memory change log served by a mocked {@link JdbcTemplate}.
+ */
+class OrgTreeIndexTest {
+
+    private static final int PAGE_SIZE = 5000;
+
+    /**
+     * One row of the fake change log.
+     */
+    private record LogRow(long version, UUID id, TreeChangeType changeType, UUID parentId, EntityType type,
+                          String alias, int level, String sortRank) {
+    }
+
+    private JdbcTemplate jdbcTemplate;
+    private OrgTreeIndex index;
+    private final List<LogRow> log = new ArrayList<>();
+    private LogRow current;
+
+    private UUID rootId;
+    private UUID deptAId;
+    private UUID deptBId;
+    private UUID personId;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws SQLException {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        OrgTreeProperties properties = new OrgTreeProperties();
+        properties.getIndex().setEnabled(true);
+        index = new OrgTreeIndex(jdbcTemplate, mock(PlatformTransactionManager.class), properties);
+
+        // One result set reads whichever log row is current
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("version")).thenAnswer(invocation -> current.version());
+        when(rs.getObject("node_id", UUID.class)).thenAnswer(invocation -> current.id());
+        when(rs.getString("change_type")).thenAnswer(invocation -> current.changeType().name());
+        when(rs.getObject("parent_id", UUID.class)).thenAnswer(invocation -> current.parentId());
+        when(rs.getString("entity_type")).thenAnswer(invocation -> current.type().name());
+        when(rs.getString("alias")).thenAnswer(invocation -> current.alias());
+        when(rs.getInt("level")).thenAnswer(invocation -> current.level());
+        when(rs.getString("sort_rank")).thenAnswer(invocation -> current.sortRank());
+
+        // The load snapshot is empty and sits at the highest version logged so far
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class)))
+                .thenAnswer(invocation -> log.isEmpty() ? 0L : log.get(log.size() - 1).version());
+        // Serve a page of log rows after the requested version
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), anyLong(), eq(PAGE_SIZE)))
+                .thenAnswer(invocation -> {
+                    RowMapper<Object> mapper = invocation.getArgument(1);
+                    long since = invocation.getArgument(2);
+                    List<Object> rows = new ArrayList<>();
+                    for (LogRow row : log) {
+                        if (row.version() > since && rows.size() < PAGE_SIZE) {
+                            current = row;
+                            rows.add(mapper.mapRow(rs, rows.size()));
+                        }
+                    }
+                    return rows;
+                });
+        index.rebuild();
+
+        rootId = UUIDv7.randomUUID();
+        deptAId = UUIDv7.randomUUID();
+        deptBId = UUIDv7.randomUUID();
+        personId = UUIDv7.randomUUID();
+
+        // The virtual root points to itself
+        record(TreeChangeType.CREATED, rootId, rootId, EntityType.ROOT, "Root", 0, "a0");
+        record(TreeChangeType.CREATED, deptBId, rootId, EntityType.DEPARTMENT, "Dept B", 1, "b0");
+        record(TreeChangeType.CREATED, deptAId, rootId, EntityType.DEPARTMENT, "Dept A", 1, "a0");
+        record(TreeChangeType.CREATED, personId, deptAId, EntityType.PERSONNEL, "Person", 2, "a0");
+        index.catchUp();
+    }
+
+    @Test
+    void getChildren_shouldReturnChildrenOrderedBySortRank() {
+        List<IndexedNode> children = index.getChildren(rootId);
+
+        assertThat(children).extracting(IndexedNode::id).containsExactly(deptAId, deptBId);
+        assertThat(index.countChildren(rootId)).isEqualTo(2);
+        assertThat(index.getNode(rootId)).get().extracting(IndexedNode::parentId).isNull();
+    }
+
+    @Test
+    void getSubTreeNodes_shouldRespectMaxLevel() {
+        assertThat(index.getSubTreeNodes(rootId, 1)).extracting(IndexedNode::id)
+                .containsExactly(deptAId, deptBId);
+        assertThat(index.getSubTreeNodes(rootId, Integer.MAX_VALUE)).extracting(IndexedNode::id)
+                .containsExactly(deptAId, deptBId, personId);
+    }
+
+    @Test
+    void getDescendantsAndAncestors_shouldFollowTreeOrder() {
+        assertThat(index.getDescendants(rootId)).extracting(IndexedNode::id)
+                .containsExactly(deptAId, personId, deptBId);
+        assertThat(index.getAncestors(personId)).extracting(IndexedNode::id)
+                .containsExactly(rootId, deptAId);
+    }
+
+    @Test
+    void searchByAlias_shouldRankPrefixMatchesAndKeepTopK() {
+        record(TreeChangeType.CREATED, UUIDv7.randomUUID(), deptBId, EntityType.DEPARTMENT, "Sub Dept", 2, "a0");
+        index.catchUp();
+
+        assertThat(index.searchByAlias("DEPT", null, 10)).extracting(IndexedNode::alias)
+                .containsExactly("Dept A", "Dept B", "Sub Dept");
+        assertThat(index.searchByAlias("dept", null, 2)).extracting(IndexedNode::id)
+                .containsExactly(deptAId, deptBId);
+        assertThat(index.searchByAlias("a", EntityType.DEPARTMENT, 10)).extracting(IndexedNode::id)
+                .containsExactly(deptAId);
+        // The virtual root is never a hit
+        assertThat(index.searchByAlias("o", null, 10)).extracting(IndexedNode::id)
+                .containsExactly(personId);
+    }
+
+    @Test
+    void catchUp_shouldMoveSubtreeAndUpdateLevels() {
+        record(TreeChangeType.MOVED, deptAId, deptBId, EntityType.DEPARTMENT, "Dept A", 2, "a0");
+
+        assertThat(index.catchUp()).isEqualTo(1);
+        assertThat(index.getChildren(rootId)).extracting(IndexedNode::id).containsExactly(deptBId);
+        assertThat(index.getChildren(deptBId)).extracting(IndexedNode::id).containsExactly(deptAId);
+        assertThat(index.getNode(personId)).get().extracting(IndexedNode::level).isEqualTo(3);
+        assertThat(index.getAncestors(personId)).extracting(IndexedNode::id)
+                .containsExactly(rootId, deptBId, deptAId);
+    }
+
+    @Test
+    void catchUp_shouldApplyRewrittenSiblingRanks() {
+        // A rebalance records every child of the parent in its new rank order
+        record(TreeChangeType.UPDATED, deptAId, rootId, EntityType.DEPARTMENT, "Dept A", 1, "i0");
+        record(TreeChangeType.UPDATED, deptBId, rootId, EntityType.DEPARTMENT, "Dept B", 1, "r0");
+
+        assertThat(index.catchUp()).isEqualTo(2);
+        assertThat(index.getChildren(rootId)).extracting(IndexedNode::sortRank).containsExactly("i0", "r0");
+        assertThat(index.getChildren(rootId)).extracting(IndexedNode::id).containsExactly(deptAId, deptBId);
+        assertThat(index.getChildren(deptAId)).extracting(IndexedNode::id).containsExactly(personId);
+    }
+
+    @Test
+    void catchUp_shouldRepositionWhenSortRankChanges() {
+        record(TreeChangeType.UPDATED, deptAId, rootId, EntityType.DEPARTMENT, "Dept A renamed", 1, "c0");
+        index.catchUp();
+
+        assertThat(index.getChildren(rootId)).extracting(IndexedNode::id).containsExactly(deptBId, deptAId);
+        assertThat(index.getNode(deptAId)).get().extracting(IndexedNode::alias).isEqualTo("Dept A renamed");
+    }
+
+    @Test
+    void catchUp_shouldDropWholeSubtreeAndReuseSlots() {
+        record(TreeChangeType.REMOVED, deptAId, rootId, EntityType.DEPARTMENT, "Dept A", 1, "a0");
+        index.catchUp();
+
+        assertThat(index.getStats().nodeCount()).isEqualTo(2);
+        assertThat(index.getNode(personId)).isEmpty();
+        assertThat(index.getChildren(rootId)).extracting(IndexedNode::id).containsExactly(deptBId);
+
+        int capacityBefore = index.getStats().capacity();
+        record(TreeChangeType.CREATED, UUIDv7.randomUUID(), deptBId, EntityType.PERSONNEL, "New", 2, "a0");
+        index.catchUp();
+        assertThat(index.getStats().capacity()).isEqualTo(capacityBefore);
+        assertThat(index.getStats().nodeCount()).isEqualTo(3);
+    }
+
+    @Test
+    void rebuild_shouldStartFromSnapshotVersionAndApplyLaterChanges() {
+        long snapshot = index.appliedVersion();
+        record(TreeChangeType.CREATED, UUIDv7.randomUUID(), deptBId, EntityType.PERSONNEL, "Late", 2, "a0");
+
+        // The empty load claims everything up to the new version, later rows are applied
+        index.rebuild();
+        assertThat(index.appliedVersion()).isEqualTo(snapshot + 1);
+        assertThat(index.getStats().nodeCount()).isZero();
+
+        UUID otherId = UUIDv7.randomUUID();
+        record(TreeChangeType.CREATED, rootId, rootId, EntityType.ROOT, "Root", 0, "a0");
+        record(TreeChangeType.CREATED, otherId, rootId, EntityType.GROUP, "Other", 1, "a0");
+        assertThat(index.catchUp()).isEqualTo(2);
+        assertThat(index.appliedVersion()).isEqualTo(snapshot + 3);
+        assertThat(index.getChildren(rootId)).extracting(IndexedNode::id).containsExactly(otherId);
+        assertThat(index.catchUp()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void catchUp_shouldWaitForInitialLoad() {
+        JdbcTemplate unloadedJdbc = mock(JdbcTemplate.class);
+        OrgTreeIndex unloaded = new OrgTreeIndex(unloadedJdbc, mock(PlatformTransactionManager.class),
+                new OrgTreeProperties());
+
+        assertThat(unloaded.catchUp()).isZero();
+        verify(unloadedJdbc, never()).query(anyString(), any(RowMapper.class), any(), any());
+    }
+
+    @Test
+    void index_shouldStayConsistentAcrossManyInsertsAndRemovals() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 6000; i++) {
+            UUID id = UUIDv7.randomUUID();
+            ids.add(id);
+            record(TreeChangeType.CREATED, id, deptBId, EntityType.PERSONNEL, "P" + i, 2, String.format("a%04d", i));
+        }
+        for (int i = 0; i < ids.size(); i += 2) {
+            record(TreeChangeType.REMOVED, ids.get(i), deptBId, EntityType.PERSONNEL, "P" + i, 2,
+                    String.format("a%04d", i));
+        }
+
+        // More than one page of the log
+        assertThat(index.catchUp()).isEqualTo(9000);
+        assertThat(index.countChildren(deptBId)).isEqualTo(3000);
+        for (int i = 0; i < ids.size(); i++) {
+            assertThat(index.getNode(ids.get(i)).isPresent()).isEqualTo(i % 2 == 1);
+        }
+        assertThat(index.getStats().bytesPerNode()).isPositive();
+    }
+
+    private void record(TreeChangeType changeType, UUID id, UUID parentId, EntityType type, String alias,
+                        int level, String sortRank) {
+        long version = log.isEmpty() ? 1 : log.get(log.size() - 1).version() + 1;
+        log.add(new LogRow(version, id, changeType, parentId, type, alias, level, sortRank));
+    }
+}
@@ -0,0 +1,133 @@
+package com.reythecoder.organization.cache;
+
+import com.reythecoder.common.dto.ApiResult;
+import com.reythecoder.organization.cache.SubtreeResponseCache.CachedBody;
+import com.reythecoder.organization.config.OrgTreeProperties;
+import io.github.robsonkades.uuidv7.UUIDv7;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SubtreeResponseCache.
+ */
+class SubtreeResponseCacheTest {
+
+    private OrgTreeProperties properties;
+    private SubtreeResponseCache cache;
+    private UUID nodeId;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OrgTreeProperties();
+        cache = new SubtreeResponseCache(JsonMapper.builder().build(), properties);
+        nodeId = UUIDv7.randomUUID();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_shouldReuseBodyWhileVersionUnchanged() {
+        CachedBody first = cache.get(nodeId, 3, "1", loader("a"));
+        CachedBody second = cache.get(nodeId, 3, "1", loader("b"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(new String(second.json(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"code\":200,\"message\":\"success\",\"data\":\"a\"}");
+    }
+
+    @Test
+    void get_shouldReloadAndReplaceWhenVersionMoves() {
+        cache.get(nodeId, 3, "1", loader("a"));
+
+        CachedBody reloaded = cache.get(nodeId, 3, "2", loader("b"));
+
+        assertThat(loads).hasValue(2);
+        assertThat(new String(reloaded.json(), StandardCharsets.UTF_8)).contains("\"b\"");
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.totalBytes()).isEqualTo(reloaded.json().length);
+    }
+
+    @Test
+    void get_shouldShareKeyForDepthsLoadingRootOnly() {
+        cache.get(nodeId, null, "1", loader("a"));
+        cache.get(nodeId, 0, "1", loader("a"));
+        cache.get(nodeId, 1, "1", loader("a"));
+        cache.get(nodeId, -1, "1", loader("a"));
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void get_shouldBypassCacheWithoutVersionOrWhenDisabled() {
+        cache.get(nodeId, 3, null, loader("a"));
+        cache.get(nodeId, 3, null, loader("a"));
+        properties.getResponseCache().setEnabled(false);
+        cache.get(nodeId, 3, "1", loader("a"));
+        cache.get(nodeId, 3, "1", loader("a"));
+
+        assertThat(loads).hasValue(4);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void get_shouldEvictLeastRecentlyUsedBeyondMaxEntries() {
+        properties.getResponseCache().setMaxEntries(2);
+        UUID other = UUIDv7.randomUUID();
+        UUID third = UUIDv7.randomUUID();
+        cache.get(nodeId, 3, "1", loader("a"));
+        cache.get(other, 3, "1", loader("b"));
+        cache.get(nodeId, 3, "1", loader("a"));
+
+        cache.get(third, 3, "1", loader("c"));
+        cache.get(nodeId, 3, "1", loader("a"));
+        cache.get(other, 3, "1", loader("b"));
+
+        assertThat(loads).hasValue(4);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void get_shouldNotCacheBodiesAboveEntryLimit() {
+        properties.getResponseCache().setMaxEntryBytes(16);
+
+        cache.get(nodeId, 3, "1", loader("a"));
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.totalBytes()).isZero();
+    }
+
+    @Test
+    void get_shouldPrecompressLargeBodies() throws IOException {
+        String large = "部门".repeat(1000);
+
+        CachedBody body = cache.get(nodeId, 3, "1", loader(large));
+        CachedBody small = cache.get(UUIDv7.randomUUID(), 3, "1", loader("a"));
+
+        assertThat(body.gzip()).isNotNull();
+        assertThat(body.gzip().length).isLessThan(body.json().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body.gzip()))) {
+            assertThat(in.readAllBytes()).isEqualTo(body.json());
+        }
+        assertThat(small.gzip()).isNull();
+    }
+
+    private Supplier<ApiResult<String>> loader(String data) {
+        return () -> {
+            loads.incrementAndGet();
+            return ApiResult.success(data);
+        };
+    }
+}
@@ -1,6 +1,9 @@
 package com.reythecoder.organization.controller;
 
 import tools.jackson.databind.ObjectMapper;
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.KeysetSort;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.request.DepartmentCreateReq;
 import com.reythecoder.organization.dto.request.DepartmentUpdateReq;
 import com.reythecoder.organization.dto.response.DepartmentRsp;
@@ -17,6 +20,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -93,7 +97,7 @@ class DepartmentControllerTest {
     void getAllDepartments_shouldReturnAllDepartments() throws Exception {
         // Arrange
         List<DepartmentRsp> departments = Collections.singletonList(departmentRsp);
-        when(departmentService.getAllDepartments()).thenReturn(departments);
+        when(departmentService.getAllDepartments(null, null)).thenReturn(departments);
 
         // Act & Assert
         mockMvc.perform(get("/api/departments"))
@@ -105,13 +109,30 @@ class DepartmentControllerTest {
                 .andExpect(jsonPath("$.data[0].id").value(departmentId.toString()))
                 .andExpect(jsonPath("$.data[0].name").value("测试部门"));
 
-        verify(departmentService, times(1)).getAllDepartments();
+        verify(departmentService, times(1)).getAllDepartments(null, null);
+    }
+
+    @Test
+    void getAllDepartments_shouldPassHeadcountFilters() throws Exception {
+        // Arrange
+        departmentRsp.setPersonCount(3);
+        when(departmentService.getAllDepartments(1, LocalDate.of(2026, 1, 1)))
+                .thenReturn(Collections.singletonList(departmentRsp));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/departments")
+                        .param("status", "1")
+                        .param("effectiveDate", "2026-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].personCount").value(3));
+
+        verify(departmentService, times(1)).getAllDepartments(1, LocalDate.of(2026, 1, 1));
     }
 
     @Test
     void getAllDepartments_shouldReturnEmptyListWhenNoDepartments() throws Exception {
         // Arrange
-        when(departmentService.getAllDepartments()).thenReturn(Collections.emptyList());
+        when(departmentService.getAllDepartments(null, null)).thenReturn(Collections.emptyList());
 
         // Act & Assert
         mockMvc.perform(get("/api/departments"))
@@ -122,7 +143,21 @@ class DepartmentControllerTest {
                 .andExpect(jsonPath("$.data").isArray())
                 .andExpect(jsonPath("$.data").isEmpty());
 
-        verify(departmentService, times(1)).getAllDepartments();
+        verify(departmentService, times(1)).getAllDepartments(null, null);
+    }
+
+    @Test
+    void getDepartmentPage_shouldUseDefaultsWhenNoParams() throws Exception {
+        when(departmentService.getDepartmentPage(null, "ORG001", PageQuery.firstPage()))
+                .thenReturn(new CursorPage<>(List.of(departmentRsp), null, false));
+
+        mockMvc.perform(get("/api/departments/page").param("orgCode", "ORG001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data.items[0].id").value(departmentId.toString()))
+                .andExpect(jsonPath("$.data.hasMore").value(false));
+
+        verify(departmentService, times(1)).getDepartmentPage(null, "ORG001", PageQuery.firstPage());
     }
 
     @Test
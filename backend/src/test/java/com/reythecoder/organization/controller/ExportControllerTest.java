@@ -0,0 +1,96 @@
+package com.reythecoder.organization.controller;
+
+import com.reythecoder.organization.dto.request.ExportType;
+import com.reythecoder.organization.dto.request.TreeExportFormat;
+import com.reythecoder.organization.service.ExportService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Import(com.reythecoder.common.exception.GlobalExceptionHandler.class)
+@WebMvcTest(ExportController.class)
+class ExportControllerTest {
+
+    private static final String CSV = "id,name\r\n01920000-0000-7000-8000-000000000001,张三\r\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ExportService exportService;
+
+    @Test
+    void export_ShouldStreamPlainAttachment() throws Exception {
+        writeCsv(ExportType.PERSONNEL, TreeExportFormat.CSV);
+
+        mockMvc.perform(get("/api/exports/personnel").param("format", "CSV"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"personnel.csv\""))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().bytes(CSV.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void export_ShouldGzipWhenAccepted() throws Exception {
+        writeCsv(ExportType.PERSONNEL_POSITION, TreeExportFormat.NDJSON);
+
+        MvcResult result = mockMvc.perform(get("/api/exports/personnel-positions")
+                        .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"personnel-positions.ndjson\""))
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn();
+
+        byte[] body = result.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(CSV);
+        }
+    }
+
+    @Test
+    void export_ShouldNotGzipWhenRefused() throws Exception {
+        writeCsv(ExportType.DEPARTMENT, TreeExportFormat.NDJSON);
+
+        mockMvc.perform(get("/api/exports/departments").header("Accept-Encoding", "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().bytes(CSV.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void export_ShouldRejectUnknownTypeAsJson() throws Exception {
+        mockMvc.perform(get("/api/exports/groups"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(400))
+                .andExpect(jsonPath("$.message").value("不支持的导出类型：groups"));
+
+        verifyNoInteractions(exportService);
+    }
+
+    private void writeCsv(ExportType type, TreeExportFormat format) {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write(CSV.getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(exportService).export(eq(type), eq(format), any(OutputStream.class));
+    }
+}
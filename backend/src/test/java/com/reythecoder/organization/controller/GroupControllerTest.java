@@ -1,6 +1,9 @@
 package com.reythecoder.organization.controller;
 
 import tools.jackson.databind.ObjectMapper;
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.KeysetSort;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.request.GroupCreateReq;
 import com.reythecoder.organization.dto.request.GroupUpdateReq;
 import com.reythecoder.organization.dto.response.GroupRsp;
@@ -97,6 +100,20 @@ class GroupControllerTest {
         verify(groupService, times(1)).getAllGroups();
     }
 
+    @Test
+    void getGroupPage_shouldReturnPage() throws Exception {
+        PageQuery query = new PageQuery(null, 10, KeysetSort.NAME, null);
+        when(groupService.getGroupPage(null, query)).thenReturn(new CursorPage<>(List.of(groupRsp), "next", true));
+
+        mockMvc.perform(get("/api/groups/page").param("pageSize", "10").param("sort", "NAME"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data.items[0].name").value("测试分组"))
+                .andExpect(jsonPath("$.data.nextPageToken").value("next"));
+
+        verify(groupService, times(1)).getGroupPage(null, query);
+    }
+
     @Test
     void getGroupById_shouldReturnGroupWhenExists() throws Exception {
         when(groupService.getGroupById(groupId)).thenReturn(groupRsp);
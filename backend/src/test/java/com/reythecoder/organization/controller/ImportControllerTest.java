@@ -0,0 +1,134 @@
+package com.reythecoder.organization.controller;
+
+import com.reythecoder.common.exception.ApiException;
+import com.reythecoder.organization.dto.response.ImportErrorRsp;
+import com.reythecoder.organization.dto.response.ImportJobRsp;
+import com.reythecoder.organization.entity.ImportStatus;
+import com.reythecoder.organization.entity.ImportType;
+import com.reythecoder.organization.service.ImportService;
+
+import io.github.robsonkades.uuidv7.UUIDv7;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Import(com.reythecoder.common.exception.GlobalExceptionHandler.class)
+@WebMvcTest(ImportController.class)
+class ImportControllerTest {
+
+    private static final String CSV = "name,gender,idCard,mobile\n张三,M,110101199001011234,13800000001\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ImportService importService;
+
+    private UUID jobId;
+    private ImportJobRsp jobRsp;
+
+    @BeforeEach
+    void setUp() {
+        jobId = UUIDv7.randomUUID();
+        OffsetDateTime now = OffsetDateTime.now();
+        jobRsp = new ImportJobRsp(jobId, ImportType.PERSONNEL, ImportStatus.COMPLETED,
+                1, 1, 1, 0, 0, "", now, now);
+    }
+
+    @Test
+    void importCsv_ShouldStreamBodyToService() throws Exception {
+        when(importService.importCsv(eq(ImportType.PERSONNEL), any(InputStream.class), isNull()))
+                .thenAnswer(i -> {
+                    InputStream body = i.getArgument(1);
+                    assertThat(new String(body.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(CSV);
+                    return jobRsp;
+                });
+
+        mockMvc.perform(post("/api/imports/personnel")
+                        .contentType("text/csv")
+                        .content(CSV.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data.id").value(jobId.toString()))
+                .andExpect(jsonPath("$.data.type").value("PERSONNEL"))
+                .andExpect(jsonPath("$.data.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.data.importedCount").value(1));
+    }
+
+    @Test
+    void importCsv_ShouldPassJobIdWhenResuming() throws Exception {
+        when(importService.importCsv(eq(ImportType.PERSONNEL_POSITION), any(InputStream.class), eq(jobId)))
+                .thenReturn(jobRsp);
+
+        mockMvc.perform(post("/api/imports/personnel-positions")
+                        .param("jobId", jobId.toString())
+                        .contentType("text/csv")
+                        .content(CSV))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200));
+
+        verify(importService).importCsv(eq(ImportType.PERSONNEL_POSITION), any(InputStream.class), eq(jobId));
+    }
+
+    @Test
+    void importCsv_ShouldRejectUnknownType() throws Exception {
+        mockMvc.perform(post("/api/imports/groups")
+                        .contentType("text/csv")
+                        .content(CSV))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(400))
+                .andExpect(jsonPath("$.message").value("不支持的导入类型：groups"));
+
+        verifyNoInteractions(importService);
+    }
+
+    @Test
+    void importCsv_ShouldReturnConflictWhenJobRunning() throws Exception {
+        when(importService.importCsv(eq(ImportType.PERSONNEL), any(InputStream.class), eq(jobId)))
+                .thenThrow(new ApiException(409, "导入任务正在执行"));
+
+        mockMvc.perform(post("/api/imports/personnel")
+                        .param("jobId", jobId.toString())
+                        .contentType("text/csv")
+                        .content(CSV))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(409));
+    }
+
+    @Test
+    void getImportJob_ShouldReturnJob() throws Exception {
+        when(importService.getImportJob(jobId)).thenReturn(jobRsp);
+
+        mockMvc.perform(get("/api/imports/jobs/{jobId}", jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.processedRows").value(1))
+                .andExpect(jsonPath("$.data.batchCount").value(1));
+    }
+
+    @Test
+    void getImportErrors_ShouldFilterByBatch() throws Exception {
+        when(importService.getImportErrors(jobId, 2)).thenReturn(List.of(new ImportErrorRsp(2, 5L, "手机号不能为空")));
+
+        mockMvc.perform(get("/api/imports/jobs/{jobId}/errors", jobId).param("batchNo", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].batchNo").value(2))
+                .andExpect(jsonPath("$.data[0].lineNumber").value(5))
+                .andExpect(jsonPath("$.data[0].message").value("手机号不能为空"));
+    }
+}
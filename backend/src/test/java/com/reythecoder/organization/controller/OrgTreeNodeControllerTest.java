@@ -1,11 +1,36 @@
 package com.reythecoder.organization.controller;
 
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.exception.ApiException;
+import com.reythecoder.common.exception.GlobalExceptionHandler;
+import com.reythecoder.common.rank.RankRebalanceReport;
+import com.reythecoder.organization.cache.SubtreeResponseCache;
+import com.reythecoder.organization.config.OrgTreeConfig;
+import com.reythecoder.organization.dto.request.BreadcrumbBatchReq;
+import com.reythecoder.organization.dto.request.BulkCreateTreeNodeReq;
+import com.reythecoder.organization.dto.request.BulkTreeNodeItem;
+import com.reythecoder.organization.dto.request.CloneTreeNodeReq;
 import com.reythecoder.organization.dto.request.CreateTreeNodeReq;
+import com.reythecoder.organization.dto.request.EntityNodeBatchReq;
+import com.reythecoder.organization.dto.request.EntityRefItem;
 import com.reythecoder.organization.dto.request.MoveTreeNodeReq;
+import com.reythecoder.organization.dto.request.ReorderTreeNodesReq;
+import com.reythecoder.organization.dto.request.TreeExportFormat;
 import com.reythecoder.organization.dto.request.UpdateTreeNodeReq;
+import com.reythecoder.organization.dto.response.BreadcrumbItem;
+import com.reythecoder.organization.dto.response.BreadcrumbRsp;
+import com.reythecoder.organization.dto.response.BulkCreateTreeNodeRsp;
+import com.reythecoder.organization.dto.response.CloneTreeNodeRsp;
+import com.reythecoder.organization.dto.response.EntityNodesRsp;
+import com.reythecoder.organization.dto.response.RemoveNodeRsp;
+import com.reythecoder.organization.dto.response.ReorderTreeNodesRsp;
+import com.reythecoder.organization.dto.response.SortRankItem;
+import com.reythecoder.organization.dto.response.TreeChangeItem;
+import com.reythecoder.organization.dto.response.TreeChangesRsp;
 import com.reythecoder.organization.dto.response.TreeNodeRsp;
 import com.reythecoder.organization.dto.response.TreeStatistics;
 import com.reythecoder.organization.entity.EntityType;
+import com.reythecoder.organization.entity.TreeChangeType;
 import com.reythecoder.organization.service.OrgTreeNodeService;
 import io.github.robsonkades.uuidv7.UUIDv7;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,11 +43,16 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import tools.jackson.databind.ObjectMapper;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -30,7 +60,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 /**
  * Unit tests for OrgTreeNodeController.
  */
-@Import(com.reythecoder.common.exception.GlobalExceptionHandler.class)
+@Import({GlobalExceptionHandler.class, SubtreeResponseCache.class, OrgTreeConfig.class})
 @WebMvcTest(OrgTreeNodeController.class)
 class OrgTreeNodeControllerTest {
 
@@ -43,6 +73,9 @@ class OrgTreeNodeControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private SubtreeResponseCache subtreeResponseCache;
+
     private UUID nodeId;
     private UUID parentId;
     private UUID entityId;
@@ -53,6 +86,7 @@ class OrgTreeNodeControllerTest {
 
     @BeforeEach
     void setUp() {
+        subtreeResponseCache.clear();
         nodeId = UUIDv7.randomUUID();
         parentId = UUIDv7.randomUUID();
         entityId = UUIDv7.randomUUID();
@@ -104,6 +138,32 @@ class OrgTreeNodeControllerTest {
         verify(orgTreeNodeService, times(1)).createNode(parentId, EntityType.DEPARTMENT, entityId, "测试节点");
     }
 
+    @Test
+    void createNodes_shouldReturnCreatedIds() throws Exception {
+        // Arrange
+        UUID childId = UUIDv7.randomUUID();
+        BulkTreeNodeItem child = BulkTreeNodeItem.builder()
+                .entityType(EntityType.PERSONNEL).entityId(UUIDv7.randomUUID()).alias("人员").build();
+        BulkTreeNodeItem item = BulkTreeNodeItem.builder()
+                .entityType(EntityType.DEPARTMENT).entityId(entityId).alias("测试节点").children(List.of(child)).build();
+        BulkCreateTreeNodeReq req = new BulkCreateTreeNodeReq(parentId, List.of(item));
+        when(orgTreeNodeService.createNodes(eq(parentId), anyList()))
+                .thenReturn(new BulkCreateTreeNodeRsp(parentId, 2, List.of(nodeId, childId)));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/tree/nodes/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.message").value("批量创建节点成功"))
+                .andExpect(jsonPath("$.data.createdCount").value(2))
+                .andExpect(jsonPath("$.data.nodeIds[0]").value(nodeId.toString()))
+                .andExpect(jsonPath("$.data.nodeIds[1]").value(childId.toString()));
+
+        verify(orgTreeNodeService, times(1)).createNodes(eq(parentId), anyList());
+    }
+
     @Test
     void getNode_shouldReturnNode() throws Exception {
         // Arrange
@@ -150,14 +210,18 @@ class OrgTreeNodeControllerTest {
     }
 
     @Test
-    void removeNode_shouldReturnNoContent() throws Exception {
+    void removeNode_shouldReturnRemovedCount() throws Exception {
         // Arrange
-        doNothing().when(orgTreeNodeService).removeNode(nodeId);
+        when(orgTreeNodeService.removeNode(nodeId)).thenReturn(new RemoveNodeRsp(nodeId, 3, false));
 
         // Act & Assert
         mockMvc.perform(post("/api/tree/nodes/{nodeId}/remove", nodeId)
                         .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.message").value("节点删除成功"))
+                .andExpect(jsonPath("$.data.removedCount").value(3))
+                .andExpect(jsonPath("$.data.async").value(false));
 
         verify(orgTreeNodeService, times(1)).removeNode(nodeId);
     }
@@ -180,6 +244,38 @@ class OrgTreeNodeControllerTest {
         verify(orgTreeNodeService, times(1)).moveNode(nodeId, parentId);
     }
 
+    @Test
+    void cloneSubTree_shouldReturnCreatedCopy() throws Exception {
+        // Arrange
+        UUID cloneId = UUIDv7.randomUUID();
+        CloneTreeNodeReq req = new CloneTreeNodeReq(parentId, 2);
+        when(orgTreeNodeService.cloneSubTree(nodeId, parentId, 2))
+                .thenReturn(new CloneTreeNodeRsp(nodeId, cloneId, parentId, 3));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/tree/nodes/{nodeId}/clone", nodeId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.message").value("子树复制成功"))
+                .andExpect(jsonPath("$.data.nodeId").value(cloneId.toString()))
+                .andExpect(jsonPath("$.data.createdCount").value(3));
+
+        verify(orgTreeNodeService, times(1)).cloneSubTree(nodeId, parentId, 2);
+    }
+
+    @Test
+    void cloneSubTree_shouldRejectMissingTargetParent() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/tree/nodes/{nodeId}/clone", nodeId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CloneTreeNodeReq(null, 2))))
+                .andExpect(jsonPath("$.code").value(400));
+
+        verify(orgTreeNodeService, never()).cloneSubTree(any(), any(), any());
+    }
+
     @Test
     void getChildren_shouldReturnListOfChildren() throws Exception {
         // Arrange
@@ -280,6 +376,122 @@ class OrgTreeNodeControllerTest {
         verify(orgTreeNodeService, times(1)).getSubTree(nodeId, 2);
     }
 
+    @Test
+    void getSubtree_shouldSetETagFromSubtreeVersion() throws Exception {
+        // Arrange
+        when(orgTreeNodeService.getSubtreeVersion(nodeId)).thenReturn("7");
+        when(orgTreeNodeService.getSubTree(nodeId, 2)).thenReturn(treeNodeRsp);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}/subtree", nodeId)
+                        .param("depth", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"subtree-2-" + nodeId + "-7\""));
+    }
+
+    @Test
+    void getSubtree_shouldAnswerNotModifiedWithoutLoadingSubtree() throws Exception {
+        // Arrange
+        when(orgTreeNodeService.getSubtreeVersion(nodeId)).thenReturn("7");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}/subtree", nodeId)
+                        .param("depth", "2")
+                        .header("If-None-Match", "\"subtree-2-" + nodeId + "-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(orgTreeNodeService, never()).getSubTree(any(), any());
+    }
+
+    @Test
+    void getSubtree_shouldServeCachedBodyUntilVersionChanges() throws Exception {
+        // Arrange
+        when(orgTreeNodeService.getSubtreeVersion(nodeId)).thenReturn("7");
+        when(orgTreeNodeService.getSubTree(nodeId, 3)).thenReturn(treeNodeRsp);
+
+        // Act & Assert - second request is answered from the cache
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/tree/nodes/{nodeId}/subtree", nodeId).param("depth", "3"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.data.name").value("测试节点"));
+        }
+        verify(orgTreeNodeService, times(1)).getSubTree(nodeId, 3);
+
+        // Act & Assert - a change in the subtree moves the version
+        when(orgTreeNodeService.getSubtreeVersion(nodeId)).thenReturn("8");
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}/subtree", nodeId).param("depth", "3"))
+                .andExpect(status().isOk());
+        verify(orgTreeNodeService, times(2)).getSubTree(nodeId, 3);
+    }
+
+    @Test
+    void getSubtree_shouldServePrecompressedBodyWhenGzipAccepted() throws Exception {
+        // Arrange
+        treeNodeRsp.setName("测试节点".repeat(500));
+        when(orgTreeNodeService.getSubtreeVersion(nodeId)).thenReturn("7");
+        when(orgTreeNodeService.getSubTree(nodeId, 3)).thenReturn(treeNodeRsp);
+
+        // Act
+        byte[] compressed = mockMvc.perform(get("/api/tree/nodes/{nodeId}/subtree", nodeId)
+                        .param("depth", "3")
+                        .header("Accept-Encoding", "br, gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).contains(treeNodeRsp.getName());
+        }
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}/subtree", nodeId)
+                        .param("depth", "3")
+                        .header("Accept-Encoding", "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$.data.id").value(nodeId.toString()));
+    }
+
+    @Test
+    void getSubtree_shouldReturnErrorWhenNodeNotFound() throws Exception {
+        // Arrange
+        when(orgTreeNodeService.getSubTree(nodeId, null)).thenThrow(new ApiException(404, "节点不存在"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}/subtree", nodeId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(404));
+    }
+
+    @Test
+    void getChildren_shouldReloadWhenSubtreeVersionChanged() throws Exception {
+        // Arrange
+        when(orgTreeNodeService.getSubtreeVersion(nodeId)).thenReturn("8");
+        when(orgTreeNodeService.getChildren(nodeId)).thenReturn(List.of(treeNodeRsp));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}/children", nodeId)
+                        .header("If-None-Match", "\"children-" + nodeId + "-7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"children-" + nodeId + "-8\""))
+                .andExpect(jsonPath("$.data.length()").value(1));
+    }
+
+    @Test
+    void getDescendants_shouldAnswerNotModifiedWithoutLoadingDescendants() throws Exception {
+        // Arrange
+        when(orgTreeNodeService.getSubtreeVersion(nodeId)).thenReturn("3");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}/descendants", nodeId)
+                        .header("If-None-Match", "\"descendants-" + nodeId + "-3\""))
+                .andExpect(status().isNotModified());
+
+        verify(orgTreeNodeService, never()).getAllDescendants(any());
+    }
+
     @Test
     void getDescendants_shouldReturnListOfDescendants() throws Exception {
         // Arrange
@@ -308,6 +520,24 @@ class OrgTreeNodeControllerTest {
         verify(orgTreeNodeService, times(1)).getAllDescendants(nodeId);
     }
 
+    @Test
+    void getDescendants_shouldPassDepthAndTypeToBoundedQuery() throws Exception {
+        // Arrange
+        when(orgTreeNodeService.getDescendants(nodeId, 2, EntityType.PERSONNEL)).thenReturn(List.of(treeNodeRsp));
+        when(orgTreeNodeService.getSubtreeVersion(nodeId)).thenReturn("3");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}/descendants", nodeId)
+                        .param("depth", "2")
+                        .param("type", "PERSONNEL"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"descendants-2-PERSONNEL-" + nodeId + "-3\""))
+                .andExpect(jsonPath("$.data.length()").value(1));
+
+        verify(orgTreeNodeService, times(1)).getDescendants(nodeId, 2, EntityType.PERSONNEL);
+        verify(orgTreeNodeService, never()).getAllDescendants(any());
+    }
+
     @Test
     void getAncestors_shouldReturnListOfAncestors() throws Exception {
         // Arrange
@@ -336,6 +566,242 @@ class OrgTreeNodeControllerTest {
         verify(orgTreeNodeService, times(1)).getAllAncestors(nodeId);
     }
 
+    @Test
+    void getChildrenPage_shouldReturnPageWithToken() throws Exception {
+        // Arrange
+        CursorPage<TreeNodeRsp> page = new CursorPage<>(List.of(treeNodeRsp), "dG9rZW4", true);
+        when(orgTreeNodeService.getChildrenPage(nodeId, "cHJldg", 20, EntityType.PERSONNEL)).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}/children/page", nodeId)
+                        .param("pageToken", "cHJldg")
+                        .param("pageSize", "20")
+                        .param("type", "PERSONNEL"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data.items.length()").value(1))
+                .andExpect(jsonPath("$.data.nextPageToken").value("dG9rZW4"))
+                .andExpect(jsonPath("$.data.hasMore").value(true));
+
+        verify(orgTreeNodeService, times(1)).getChildrenPage(nodeId, "cHJldg", 20, EntityType.PERSONNEL);
+    }
+
+    @Test
+    void getRootChildrenPage_shouldPageRootChildren() throws Exception {
+        // Arrange
+        TreeNodeRsp root = new TreeNodeRsp();
+        root.setId(parentId);
+        when(orgTreeNodeService.getRootNode()).thenReturn(root);
+        when(orgTreeNodeService.getChildrenPage(parentId, null, null, null))
+                .thenReturn(new CursorPage<>(List.of(treeNodeRsp), null, false));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/tree/nodes/root/children/page"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(1))
+                .andExpect(jsonPath("$.data.hasMore").value(false));
+    }
+
+    @Test
+    void rebuildStatistics_shouldReturnRowCount() throws Exception {
+        // Arrange
+        when(orgTreeNodeService.rebuildStatistics()).thenReturn(42);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/tree/nodes/statistics/rebuild")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.message").value("统计重建成功"))
+                .andExpect(jsonPath("$.data").value(42));
+
+        verify(orgTreeNodeService, times(1)).rebuildStatistics();
+    }
+
+    @Test
+    void rebalanceRanks_shouldReturnReport() throws Exception {
+        // Arrange
+        when(orgTreeNodeService.rebalanceRanks())
+                .thenReturn(new RankRebalanceReport("org_tree", 1, 3, 30, 6, 10, 2));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/tree/nodes/ranks/rebalance")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("排序值重排成功"))
+                .andExpect(jsonPath("$.data.rows").value(3))
+                .andExpect(jsonPath("$.data.reclaimedChars").value(24));
+
+        verify(orgTreeNodeService, times(1)).rebalanceRanks();
+    }
+
+    @Test
+    void exportSubtree_shouldStreamCsvAttachment() throws Exception {
+        // Arrange
+        when(orgTreeNodeService.getNode(nodeId)).thenReturn(treeNodeRsp);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(4);
+            out.write("id,parent_id\r\n".getBytes(StandardCharsets.UTF_8));
+            return 0L;
+        }).when(orgTreeNodeService).exportSubTree(eq(nodeId), eq(3), eq(EntityType.PERSONNEL),
+                eq(TreeExportFormat.CSV), any(OutputStream.class));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}/export", nodeId)
+                        .param("format", "CSV")
+                        .param("depth", "3")
+                        .param("type", "PERSONNEL"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"subtree-" + nodeId + ".csv\""))
+                .andExpect(content().string("id,parent_id\r\n"));
+    }
+
+    @Test
+    void getChanges_shouldReturnChangesSinceVersion() throws Exception {
+        // Arrange
+        TreeChangesRsp rsp = TreeChangesRsp.builder()
+                .version(12L)
+                .latestVersion(12L)
+                .hasMore(false)
+                .changes(List.of(TreeChangeItem.builder()
+                        .version(12L)
+                        .changeType(TreeChangeType.MOVED)
+                        .nodeId(nodeId)
+                        .type(EntityType.DEPARTMENT)
+                        .name("技术部")
+                        .build()))
+                .build();
+        when(orgTreeNodeService.getChanges(10L, 50)).thenReturn(rsp);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/tree/nodes/changes")
+                        .param("sinceVersion", "10")
+                        .param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.version").value(12))
+                .andExpect(jsonPath("$.data.hasMore").value(false))
+                .andExpect(jsonPath("$.data.changes[0].changeType").value("MOVED"))
+                .andExpect(jsonPath("$.data.changes[0].nodeId").value(nodeId.toString()));
+
+        verify(orgTreeNodeService, times(1)).getChanges(10L, 50);
+    }
+
+    @Test
+    void getTreeVersion_shouldReturnCurrentVersion() throws Exception {
+        // Arrange
+        when(orgTreeNodeService.getTreeVersion()).thenReturn(42L);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/tree/nodes/version"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(42));
+    }
+
+    @Test
+    void reorderChildren_shouldReturnChangedRanks() throws Exception {
+        // Arrange
+        UUID childId = UUIDv7.randomUUID();
+        UUID otherId = UUIDv7.randomUUID();
+        ReorderTreeNodesRsp rsp = ReorderTreeNodesRsp.builder()
+                .parentId(nodeId)
+                .changedCount(1)
+                .changes(List.of(SortRankItem.builder().id(childId).sortRank("0i").build()))
+                .build();
+        when(orgTreeNodeService.reorderChildren(nodeId, List.of(childId, otherId), null)).thenReturn(rsp);
+
+        ReorderTreeNodesReq req = ReorderTreeNodesReq.builder().orderedIds(List.of(childId, otherId)).build();
+
+        // Act & Assert
+        mockMvc.perform(post("/api/tree/nodes/{nodeId}/children/reorder", nodeId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("子节点顺序调整成功"))
+                .andExpect(jsonPath("$.data.changedCount").value(1))
+                .andExpect(jsonPath("$.data.changes[0].id").value(childId.toString()))
+                .andExpect(jsonPath("$.data.changes[0].sortRank").value("0i"));
+
+        verify(orgTreeNodeService, times(1)).reorderChildren(nodeId, List.of(childId, otherId), null);
+    }
+
+    @Test
+    void getBreadcrumbs_shouldReturnPathsForRequestedNodes() throws Exception {
+        // Arrange
+        UUID rootId = UUIDv7.randomUUID();
+        BreadcrumbRsp breadcrumb = new BreadcrumbRsp(nodeId, List.of(
+                new BreadcrumbItem(rootId, EntityType.GROUP, "根节点"),
+                new BreadcrumbItem(nodeId, EntityType.DEPARTMENT, "部门")));
+        when(orgTreeNodeService.getBreadcrumbs(List.of(nodeId))).thenReturn(List.of(breadcrumb));
+
+        BreadcrumbBatchReq req = new BreadcrumbBatchReq(List.of(nodeId));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/tree/nodes/breadcrumbs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].nodeId").value(nodeId.toString()))
+                .andExpect(jsonPath("$.data[0].path.length()").value(2))
+                .andExpect(jsonPath("$.data[0].path[0].name").value("根节点"))
+                .andExpect(jsonPath("$.data[0].path[1].name").value("部门"));
+
+        verify(orgTreeNodeService, times(1)).getBreadcrumbs(List.of(nodeId));
+    }
+
+    @Test
+    void getNodesByEntities_shouldReturnNodesPerEntity() throws Exception {
+        // Arrange
+        EntityRefItem entity = new EntityRefItem(EntityType.DEPARTMENT, entityId);
+        EntityNodesRsp rsp = new EntityNodesRsp(EntityType.DEPARTMENT, entityId, List.of(treeNodeRsp), null);
+        when(orgTreeNodeService.getNodesByEntities(List.of(entity), true)).thenReturn(List.of(rsp));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/tree/nodes/by-entities")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new EntityNodeBatchReq(List.of(entity), true))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data[0].entityId").value(entityId.toString()))
+                .andExpect(jsonPath("$.data[0].nodes[0].id").value(nodeId.toString()));
+    }
+
+    @Test
+    void getNodesByEntities_shouldRejectEmptyEntityList() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/tree/nodes/by-entities")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new EntityNodeBatchReq(List.of(), false))))
+                .andExpect(jsonPath("$.code").value(400));
+
+        verify(orgTreeNodeService, never()).getNodesByEntities(any(), anyBoolean());
+    }
+
+    @Test
+    void searchNodes_shouldReturnHitsWithBreadcrumbs() throws Exception {
+        // Arrange
+        UUID rootId = UUIDv7.randomUUID();
+        BreadcrumbRsp hit = new BreadcrumbRsp(nodeId, List.of(
+                new BreadcrumbItem(rootId, EntityType.GROUP, "根节点"),
+                new BreadcrumbItem(nodeId, EntityType.DEPARTMENT, "研发部")));
+        when(orgTreeNodeService.searchNodes("研发", EntityType.DEPARTMENT, 5)).thenReturn(List.of(hit));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/tree/nodes/search")
+                        .param("keyword", "研发")
+                        .param("type", "DEPARTMENT")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data[0].nodeId").value(nodeId.toString()))
+                .andExpect(jsonPath("$.data[0].path[1].name").value("研发部"));
+
+        verify(orgTreeNodeService, never()).getNode(any());
+    }
+
     @Test
     void getRootNode_shouldReturnRootNode() throws Exception {
         // Arrange
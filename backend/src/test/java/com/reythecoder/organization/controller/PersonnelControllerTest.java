@@ -1,6 +1,9 @@
 package com.reythecoder.organization.controller;
 
 import tools.jackson.databind.ObjectMapper;
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.KeysetSort;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.request.PersonnelCreateReq;
 import com.reythecoder.organization.dto.request.PersonnelUpdateReq;
 import com.reythecoder.organization.dto.response.PersonnelRsp;
@@ -13,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -118,6 +122,35 @@ class PersonnelControllerTest {
         verify(personnelService, times(1)).getAllPersonnel();
     }
 
+    @Test
+    void getPersonnelPage_shouldPassFiltersAndSort() throws Exception {
+        PageQuery query = new PageQuery("token", 50, KeysetSort.NAME, Sort.Direction.DESC);
+        when(personnelService.getPersonnelPage("张三", null, null, query))
+                .thenReturn(new CursorPage<>(List.of(personnelRsp), "next", true));
+
+        mockMvc.perform(get("/api/personnel/page")
+                        .param("name", "张三")
+                        .param("pageToken", "token")
+                        .param("pageSize", "50")
+                        .param("sort", "NAME")
+                        .param("direction", "DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data.items[0].id").value(personnelId.toString()))
+                .andExpect(jsonPath("$.data.nextPageToken").value("next"))
+                .andExpect(jsonPath("$.data.hasMore").value(true));
+
+        verify(personnelService, times(1)).getPersonnelPage("张三", null, null, query);
+    }
+
+    @Test
+    void getPersonnelPage_shouldRejectUnknownSort() throws Exception {
+        mockMvc.perform(get("/api/personnel/page").param("sort", "mobile"))
+                .andExpect(jsonPath("$.code").value(400));
+
+        verify(personnelService, never()).getPersonnelPage(any(), any(), any(), any());
+    }
+
     @Test
     void getPersonnelById_shouldReturnPersonnelWhenExists() throws Exception {
         // Arrange
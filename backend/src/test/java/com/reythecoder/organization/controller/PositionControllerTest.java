@@ -1,6 +1,9 @@
 package com.reythecoder.organization.controller;
 
 import tools.jackson.databind.ObjectMapper;
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.KeysetSort;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.request.PositionCreateReq;
 import com.reythecoder.organization.dto.request.PositionUpdateReq;
 import com.reythecoder.organization.dto.response.PositionRsp;
@@ -122,6 +125,23 @@ class PositionControllerTest {
         verify(positionService, times(1)).getAllPositions();
     }
 
+    @Test
+    void getPositionPage_shouldPassIndexedFilters() throws Exception {
+        when(positionService.getPositionPage(null, null, "P5", "技术", 1, PageQuery.firstPage()))
+                .thenReturn(new CursorPage<>(List.of(positionRsp), null, false));
+
+        mockMvc.perform(get("/api/positions/page")
+                        .param("jobLevel", "P5")
+                        .param("jobCategory", "技术")
+                        .param("status", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data.items[0].id").value(positionId.toString()))
+                .andExpect(jsonPath("$.data.hasMore").value(false));
+
+        verify(positionService, times(1)).getPositionPage(null, null, "P5", "技术", 1, PageQuery.firstPage());
+    }
+
     @Test
     void getPositionById_shouldReturnPositionWhenExists() throws Exception {
         // Arrange
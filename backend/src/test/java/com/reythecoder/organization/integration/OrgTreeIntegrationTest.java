@@ -1,9 +1,27 @@
 package com.reythecoder.organization.integration;
 
+import com.reythecoder.organization.cache.OrgTreeIndex;
+import com.reythecoder.organization.config.OrgTreeProperties;
+import com.reythecoder.organization.dto.request.BulkCreateTreeNodeReq;
+import com.reythecoder.organization.dto.request.BulkTreeNodeItem;
 import com.reythecoder.organization.dto.request.CreateTreeNodeReq;
+import com.reythecoder.organization.dto.request.EntityRefItem;
 import com.reythecoder.organization.dto.request.MoveTreeNodeReq;
+import com.reythecoder.organization.dto.request.TreeExportFormat;
+import com.reythecoder.organization.dto.response.BreadcrumbItem;
+import com.reythecoder.organization.dto.response.BreadcrumbRsp;
+import com.reythecoder.organization.dto.response.BulkCreateTreeNodeRsp;
+import com.reythecoder.organization.dto.response.CloneTreeNodeRsp;
+import com.reythecoder.organization.dto.response.EntityNodesRsp;
+import com.reythecoder.organization.dto.response.ReorderTreeNodesRsp;
+import com.reythecoder.organization.dto.response.TreeChangeItem;
+import com.reythecoder.organization.dto.response.TreeChangesRsp;
+import com.reythecoder.organization.dto.response.TreeNodeRsp;
 import com.reythecoder.organization.entity.EntityType;
+import com.reythecoder.organization.entity.OrgTreeNodeEntity;
+import com.reythecoder.organization.entity.TreeChangeType;
 import com.reythecoder.organization.repository.OrgTreeNodeRepository;
+import com.reythecoder.organization.service.OrgTreeNodeService;
 import io.github.robsonkades.uuidv7.UUIDv7;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,18 +30,35 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.context.WebApplicationContext;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.postgresql.PostgreSQLContainer;
 import tools.jackson.databind.ObjectMapper;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
@@ -67,6 +102,15 @@ class OrgTreeIntegrationTest {
     @Autowired
     private OrgTreeNodeRepository orgTreeNodeRepository;
 
+    @Autowired
+    private OrgTreeNodeService orgTreeNodeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private UUID groupId;
     private UUID departmentId;
     private UUID personnelId;
@@ -75,7 +119,7 @@ class OrgTreeIntegrationTest {
     void setUp() {
         mockMvc = webAppContextSetup(webApplicationContext).build();
         // Clean up any existing data
-        orgTreeNodeRepository.deleteAll();
+        orgTreeNodeRepository.deleteAllInBatch();
 
         // Create test entity IDs
         groupId = UUIDv7.randomUUID();
@@ -148,17 +192,23 @@ class OrgTreeIntegrationTest {
 
     @Test
     @DisplayName("Test 4: should remove node successfully")
-    void removeNode_shouldReturnNoContent() throws Exception {
+    void removeNode_shouldReturnRemovedCount() throws Exception {
         // Given - Create a root node first (level 0)
         UUID rootId = createTestNode(null, EntityType.GROUP, groupId, "根节点", "a0");
 
         // Create a child node under root (level 1) - this can be deleted
         UUID childId = createTestNode(rootId, EntityType.DEPARTMENT, departmentId, "待删除子节点", "b0");
 
-        // When & Then - Delete the child node (not root level)
+        createTestNode(childId, EntityType.PERSONNEL, personnelId, "待删除人员", "a0");
+
+        // When & Then - Delete the child node (not root level) with its subtree
         mockMvc.perform(post("/api/tree/nodes/{nodeId}/remove", childId)
                         .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.removedCount").value(2))
+                .andExpect(jsonPath("$.data.async").value(false));
+
+        assertThat(orgTreeNodeRepository.count()).isEqualTo(1);
     }
 
     @Test
@@ -208,6 +258,588 @@ class OrgTreeIntegrationTest {
                 .andExpect(jsonPath("$.data").isEmpty());
     }
 
+    @Test
+    @DisplayName("Test 8: should re-path and re-level the whole subtree when moving a node")
+    void moveNode_shouldRepathDescendants() throws Exception {
+        // Given - root -> a -> moved -> child -> grandChild, and root -> b
+        UUID rootId = createTestNode(null, EntityType.GROUP, groupId, "根节点", "a0");
+        UUID aId = createTestNode(rootId, EntityType.GROUP, UUIDv7.randomUUID(), "A", "b0");
+        UUID bId = createTestNode(rootId, EntityType.GROUP, UUIDv7.randomUUID(), "B", "c0");
+        UUID movedId = createTestNode(aId, EntityType.DEPARTMENT, departmentId, "待移动部门", "a0");
+        UUID childId = createTestNode(movedId, EntityType.DEPARTMENT, UUIDv7.randomUUID(), "子部门", "a0");
+        UUID grandChildId = createTestNode(childId, EntityType.PERSONNEL, personnelId, "人员", "a0");
+
+        // When - move under b, then under the deeper child of b
+        UUID deeperId = createTestNode(bId, EntityType.DEPARTMENT, UUIDv7.randomUUID(), "B 下级部门", "a0");
+        orgTreeNodeService.moveNode(movedId, deeperId);
+
+        // Then
+        OrgTreeNodeEntity moved = orgTreeNodeRepository.findById(movedId).orElseThrow();
+        OrgTreeNodeEntity child = orgTreeNodeRepository.findById(childId).orElseThrow();
+        OrgTreeNodeEntity grandChild = orgTreeNodeRepository.findById(grandChildId).orElseThrow();
+
+        assertThat(moved.getPath()).containsExactly(rootId, bId, deeperId);
+        assertThat(child.getPath()).containsExactly(rootId, bId, deeperId, movedId);
+        assertThat(child.getLevel()).isEqualTo(moved.getLevel() + 1);
+        assertThat(grandChild.getPath()).containsExactly(rootId, bId, deeperId, movedId, childId);
+        assertThat(grandChild.getLevel()).isEqualTo(moved.getLevel() + 2);
+
+        assertThat(orgTreeNodeRepository.findAllDescendants(aId)).isEmpty();
+        assertThat(orgTreeNodeRepository.findAllDescendants(bId))
+                .extracting(OrgTreeNodeEntity::getId)
+                .containsExactlyInAnyOrder(deeperId, movedId, childId, grandChildId);
+    }
+
+    @Test
+    @DisplayName("Test 9: should move a 50k-node subtree within the latency budget")
+    void moveNode_shouldRepathLargeSubtreeWithinBudget() throws Exception {
+        // Given - root -> source -> department -> 50 sections x 1000 personnel
+        UUID rootId = createTestNode(null, EntityType.GROUP, groupId, "根节点", "a0");
+        UUID sourceId = createTestNode(rootId, EntityType.GROUP, UUIDv7.randomUUID(), "源群组", "b0");
+        UUID targetId = createTestNode(rootId, EntityType.GROUP, UUIDv7.randomUUID(), "目标群组", "c0");
+        UUID departmentNodeId = createTestNode(sourceId, EntityType.DEPARTMENT, departmentId, "大型部门", "a0");
+        OrgTreeNodeEntity department = orgTreeNodeRepository.findById(departmentNodeId).orElseThrow();
+        int descendants = seedLargeSubtree(department, 50, 1000);
+
+        // When
+        long start = System.nanoTime();
+        orgTreeNodeService.moveNode(departmentNodeId, targetId);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(5));
+        Integer stale = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM org_tree WHERE path @> ARRAY[CAST(? AS uuid)]", Integer.class, sourceId);
+        assertThat(stale).isZero();
+        Integer repathed = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM org_tree WHERE path @> ARRAY[CAST(? AS uuid), CAST(? AS uuid)] " +
+                        "AND level = cardinality(path)",
+                Integer.class, targetId, departmentNodeId);
+        assertThat(repathed).isEqualTo(descendants);
+    }
+
+    @Test
+    @DisplayName("Test 10: should keep statistics rollups in sync on create, move and remove")
+    void statistics_shouldFollowTreeMutations() throws Exception {
+        // Given - root -> group -> department -> 2 personnel, and root -> other group
+        UUID rootId = createTestNode(null, EntityType.GROUP, groupId, "根节点", "a0");
+        UUID groupNodeId = createTestNode(rootId, EntityType.GROUP, UUIDv7.randomUUID(), "分组", "b0");
+        UUID otherGroupId = createTestNode(rootId, EntityType.GROUP, UUIDv7.randomUUID(), "其他分组", "c0");
+        UUID deptId = createTestNode(groupNodeId, EntityType.DEPARTMENT, departmentId, "部门", "a0");
+        createTestNode(deptId, EntityType.PERSONNEL, personnelId, "人员一", "a0");
+        createTestNode(deptId, EntityType.PERSONNEL, UUIDv7.randomUUID(), "人员二", "b0");
+
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}", rootId))
+                .andExpect(jsonPath("$.data.statistics.subGroupCount").value(2))
+                .andExpect(jsonPath("$.data.statistics.subDepartmentCount").value(1))
+                .andExpect(jsonPath("$.data.statistics.personnelCount").value(2));
+
+        // When - move the department to the other group
+        orgTreeNodeService.moveNode(deptId, otherGroupId);
+
+        // Then
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}", groupNodeId))
+                .andExpect(jsonPath("$.data.statistics.subDepartmentCount").value(0))
+                .andExpect(jsonPath("$.data.statistics.personnelCount").value(0));
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}", otherGroupId))
+                .andExpect(jsonPath("$.data.statistics.subDepartmentCount").value(1))
+                .andExpect(jsonPath("$.data.statistics.personnelCount").value(2));
+
+        // When - remove the department with its personnel
+        orgTreeNodeService.removeNode(deptId);
+
+        // Then - incremental rollups match a full rebuild
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}", rootId))
+                .andExpect(jsonPath("$.data.statistics.subGroupCount").value(2))
+                .andExpect(jsonPath("$.data.statistics.subDepartmentCount").value(0))
+                .andExpect(jsonPath("$.data.statistics.personnelCount").value(0));
+        mockMvc.perform(post("/api/tree/nodes/statistics/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(3));
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}", rootId))
+                .andExpect(jsonPath("$.data.statistics.subGroupCount").value(2))
+                .andExpect(jsonPath("$.data.statistics.personnelCount").value(0));
+    }
+
+    @Test
+    @DisplayName("Test 11: should walk a wide node page by page with continuation tokens")
+    void getChildrenPage_shouldWalkAllChildrenOnce() throws Exception {
+        // Given - a department with 1 section and 2000 personnel as direct children
+        UUID rootId = createTestNode(null, EntityType.GROUP, groupId, "根节点", "a0");
+        UUID deptId = createTestNode(rootId, EntityType.DEPARTMENT, departmentId, "大型部门", "a0");
+        OrgTreeNodeEntity department = orgTreeNodeRepository.findById(deptId).orElseThrow();
+        seedLargeSubtree(department, 1, 0);
+        List<Object[]> personnel = new ArrayList<>();
+        UUID[] path = concat(department.getPath(), deptId);
+        for (int i = 0; i < 2000; i++) {
+            personnel.add(row(UUIDv7.randomUUID(), deptId, EntityType.PERSONNEL, "人员" + i,
+                    department.getLevel() + 1, path, "b" + String.format("%04d", i % 1000)));
+        }
+        insertRows(personnel);
+
+        // When - page through personnel only
+        List<String> seen = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        do {
+            var request = get("/api/tree/nodes/{nodeId}/children/page", deptId)
+                    .param("pageSize", "300")
+                    .param("type", "PERSONNEL");
+            if (token != null) {
+                request.param("pageToken", token);
+            }
+            String response = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            var data = objectMapper.readTree(response).get("data");
+            data.get("items").forEach(item -> seen.add(item.get("id").asText()));
+            token = data.get("nextPageToken").isNull() ? null : data.get("nextPageToken").asText();
+            pages++;
+        } while (token != null);
+
+        // Then - duplicated sort ranks are split by id, nothing skipped or repeated
+        assertThat(pages).isEqualTo(7);
+        assertThat(seen).hasSize(2000).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Test 12: should bulk create 10k nested nodes in one transaction")
+    void createNodes_shouldInsertLargeBatchWithinBudget() throws Exception {
+        // Given - 100 departments with 99 personnel each under a group
+        UUID rootId = createTestNode(null, EntityType.GROUP, groupId, "根节点", "a0");
+        UUID groupNodeId = createTestNode(rootId, EntityType.GROUP, UUIDv7.randomUUID(), "分组", "a0");
+        List<BulkTreeNodeItem> departments = new ArrayList<>();
+        for (int d = 0; d < 100; d++) {
+            List<BulkTreeNodeItem> personnel = new ArrayList<>();
+            for (int p = 0; p < 99; p++) {
+                personnel.add(BulkTreeNodeItem.builder().entityType(EntityType.PERSONNEL)
+                        .entityId(UUIDv7.randomUUID()).alias("人员" + d + "-" + p).build());
+            }
+            departments.add(BulkTreeNodeItem.builder().entityType(EntityType.DEPARTMENT)
+                    .entityId(UUIDv7.randomUUID()).alias("部门" + d).children(personnel).build());
+        }
+
+        // When
+        long start = System.nanoTime();
+        BulkCreateTreeNodeRsp created = orgTreeNodeService.createNodes(groupNodeId, departments);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(2));
+        assertThat(created.getCreatedCount()).isEqualTo(10_000);
+        Integer consistent = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM org_tree WHERE path @> ARRAY[CAST(? AS uuid)] AND level = cardinality(path)",
+                Integer.class, groupNodeId);
+        assertThat(consistent).isEqualTo(10_000);
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}", rootId))
+                .andExpect(jsonPath("$.data.statistics.subGroupCount").value(1))
+                .andExpect(jsonPath("$.data.statistics.subDepartmentCount").value(100))
+                .andExpect(jsonPath("$.data.statistics.personnelCount").value(9900));
+
+        // When - the same entities again
+        mockMvc.perform(post("/api/tree/nodes/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BulkCreateTreeNodeReq(groupNodeId, departments.subList(0, 1)))))
+                .andExpect(jsonPath("$.code").value(409));
+    }
+
+    @Test
+    @DisplayName("Test 13: should give concurrent appends under one parent distinct ranks")
+    void createNode_shouldSerializeConcurrentAppendsPerParent() throws Exception {
+        // Given
+        UUID rootId = createTestNode(null, EntityType.GROUP, groupId, "根节点", "a0");
+        UUID deptId = createTestNode(rootId, EntityType.DEPARTMENT, departmentId, "部门", "a0");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When - 8 writers append personnel to the same department at once
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < 8; w++) {
+                int writer = w;
+                writers.add(executor.submit(() -> orgTreeNodeService.createNode(
+                        deptId, EntityType.PERSONNEL, UUIDv7.randomUUID(), "人员" + writer)));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        List<String> ranks = jdbcTemplate.queryForList(
+                "SELECT sort_rank FROM org_tree WHERE parent_id = ?", String.class, deptId);
+        assertThat(ranks).hasSize(8).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Test 14: should reorder 500 siblings with one batched update")
+    void reorderChildren_shouldRewriteOnlyMovedSiblings() throws Exception {
+        // Given - 500 sections ranked a000..a499
+        UUID rootId = createTestNode(null, EntityType.GROUP, groupId, "根节点", "a0");
+        UUID departmentNodeId = createTestNode(rootId, EntityType.DEPARTMENT, departmentId, "部门", "a0");
+        OrgTreeNodeEntity department = orgTreeNodeRepository.findById(departmentNodeId).orElseThrow();
+        seedLargeSubtree(department, 500, 0);
+        List<UUID> current = jdbcTemplate.queryForList(
+                "SELECT id FROM org_tree WHERE parent_id = ? ORDER BY sort_rank", UUID.class, departmentNodeId);
+
+        // When - move the last section to the front
+        List<UUID> target = new ArrayList<>(current);
+        target.add(0, target.remove(target.size() - 1));
+        ReorderTreeNodesRsp result = orgTreeNodeService.reorderChildren(departmentNodeId, target, null);
+
+        // Then
+        assertThat(result.getChangedCount()).isEqualTo(1);
+        List<UUID> reordered = jdbcTemplate.queryForList(
+                "SELECT id FROM org_tree WHERE parent_id = ? ORDER BY sort_rank", UUID.class, departmentNodeId);
+        assertThat(reordered).isEqualTo(target);
+    }
+
+    @Test
+    @DisplayName("Test 15: should feed create, move and remove changes since a version")
+    void getChanges_shouldReturnMutationsSinceVersion() throws Exception {
+        // Given
+        UUID rootId = createTestNode(null, EntityType.GROUP, groupId, "根节点", "a0");
+        UUID deptId = createTestNode(rootId, EntityType.DEPARTMENT, departmentId, "部门", "a0");
+        long since = orgTreeNodeService.getTreeVersion();
+
+        // When
+        UUID personId = orgTreeNodeService.createNode(deptId, EntityType.PERSONNEL, personnelId, "人员").getId();
+        orgTreeNodeService.moveNode(personId, rootId);
+        orgTreeNodeService.removeNode(personId);
+        TreeChangesRsp changes = orgTreeNodeService.getChanges(since, null);
+
+        // Then
+        assertThat(changes.getChanges()).extracting(TreeChangeItem::getChangeType)
+                .containsExactly(TreeChangeType.CREATED, TreeChangeType.MOVED, TreeChangeType.REMOVED);
+        assertThat(changes.getChanges().get(1).getParentId()).isEqualTo(rootId);
+        assertThat(changes.getVersion()).isEqualTo(orgTreeNodeService.getTreeVersion());
+        assertThat(changes.isHasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Test 16: should revalidate subtree ETag until a descendant changes")
+    void getSubtree_shouldHonourIfNoneMatchUntilDescendantChanges() throws Exception {
+        // Given
+        UUID rootId = createTestNode(null, EntityType.GROUP, groupId, "根节点", "a0");
+        UUID deptId = createTestNode(rootId, EntityType.DEPARTMENT, departmentId, "部门", "a0");
+        UUID personId = createTestNode(deptId, EntityType.PERSONNEL, personnelId, "人员", "a0");
+        String etag = mockMvc.perform(get("/api/tree/nodes/{nodeId}/subtree", rootId).param("depth", "-1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then - unchanged subtree
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}/subtree", rootId).param("depth", "-1")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // When & Then - a grandchild is renamed
+        orgTreeNodeService.updateNode(personId, "人员-改名", null);
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}/subtree", rootId).param("depth", "-1")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+    @Test
+    @DisplayName("Test 17: should export subtree in pre-order with depth and type filters")
+    void exportSubTree_shouldStreamPreOrderWithFilters() throws Exception {
+        // Given
+        UUID rootId = createTestNode(null, EntityType.GROUP, groupId, "根节点", "a0");
+        UUID deptA = createTestNode(rootId, EntityType.DEPARTMENT, UUIDv7.randomUUID(), "部门A", "a0");
+        UUID deptB = createTestNode(rootId, EntityType.DEPARTMENT, departmentId, "部门B", "b0");
+        UUID personId = createTestNode(deptA, EntityType.PERSONNEL, personnelId, "人员", "a0");
+
+        // When
+        ByteArrayOutputStream all = new ByteArrayOutputStream();
+        long allCount = orgTreeNodeService.exportSubTree(rootId, null, null, TreeExportFormat.NDJSON, all);
+        ByteArrayOutputStream shallow = new ByteArrayOutputStream();
+        long shallowCount = orgTreeNodeService.exportSubTree(rootId, 2, EntityType.DEPARTMENT,
+                TreeExportFormat.CSV, shallow);
+
+        // Then - the root comes first, parents precede children, siblings follow sort_rank
+        List<String> lines = all.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(allCount).isEqualTo(4);
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0)).contains(rootId.toString()).contains("\"parentId\":null");
+        assertThat(lines.get(1)).contains(deptA.toString());
+        assertThat(lines.get(2)).contains(personId.toString());
+        assertThat(lines.get(3)).contains(deptB.toString());
+
+        List<String> rows = shallow.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(shallowCount).isEqualTo(2);
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(1)).startsWith(deptA.toString());
+        assertThat(rows.get(2)).startsWith(deptB.toString());
+    }
+
+    @Test
+    @DisplayName("Test 18: should refresh cached subtree body when a descendant changes")
+    void getSubtree_shouldRefreshCachedBodyWhenDescendantChanges() throws Exception {
+        // Given
+        UUID rootId = createTestNode(null, EntityType.GROUP, groupId, "根节点", "a0");
+        UUID deptId = createTestNode(rootId, EntityType.DEPARTMENT, departmentId, "部门", "a0");
+        UUID personId = createTestNode(deptId, EntityType.PERSONNEL, personnelId, "人员", "a0");
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}/subtree", rootId).param("depth", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.children[0].children[0].name").value("人员"));
+
+        // When
+        orgTreeNodeService.updateNode(personId, "人员-改名", null);
+
+        // Then
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}/subtree", rootId).param("depth", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.children[0].children[0].name").value("人员-改名"));
+    }
+
+    @Test
+    @DisplayName("Test 19: should search aliases by prefix and infix with breadcrumbs")
+    void searchNodes_shouldRankPrefixMatchesWithBreadcrumbs() throws Exception {
+        // Given
+        UUID rootId = createTestNode(null, EntityType.GROUP, groupId, "总部", "a0");
+        UUID infixId = createTestNode(rootId, EntityType.DEPARTMENT, departmentId, "平台研发部", "a0");
+        UUID prefixId = createTestNode(infixId, EntityType.DEPARTMENT, UUIDv7.randomUUID(), "研发一组", "a0");
+        createTestNode(rootId, EntityType.DEPARTMENT, UUIDv7.randomUUID(), "100%_市场部", "b0");
+
+        // When
+        List<BreadcrumbRsp> hits = orgTreeNodeService.searchNodes("研发", null, 10);
+        List<BreadcrumbRsp> literal = orgTreeNodeService.searchNodes("%_", null, 10);
+
+        // Then
+        assertThat(hits).extracting(BreadcrumbRsp::getNodeId).containsExactly(prefixId, infixId);
+        assertThat(hits.get(0).getPath()).extracting(BreadcrumbItem::getId)
+                .endsWith(rootId, infixId, prefixId);
+        assertThat(literal).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Test 20: should resolve nodes of many entities with breadcrumbs")
+    void getNodesByEntities_shouldResolvePairsInOneCall() throws Exception {
+        // Given - the person sits in two departments
+        UUID rootId = createTestNode(null, EntityType.GROUP, groupId, "根节点", "a0");
+        UUID deptId = createTestNode(rootId, EntityType.DEPARTMENT, departmentId, "部门", "a0");
+        UUID firstId = createTestNode(deptId, EntityType.PERSONNEL, personnelId, "人员", "a0");
+        UUID secondId = createTestNode(rootId, EntityType.PERSONNEL, personnelId, "人员", "b0");
+
+        // When
+        List<EntityNodesRsp> result = orgTreeNodeService.getNodesByEntities(List.of(
+                new EntityRefItem(EntityType.PERSONNEL, personnelId),
+                new EntityRefItem(EntityType.DEPARTMENT, departmentId),
+                new EntityRefItem(EntityType.DEPARTMENT, personnelId)), true);
+
+        // Then
+        assertThat(result).hasSize(3);
+        assertThat(result.get(0).getNodes()).extracting(TreeNodeRsp::getId)
+                .containsExactlyInAnyOrder(firstId, secondId);
+        assertThat(result.get(0).getPaths()).hasSize(2);
+        assertThat(result.get(1).getNodes()).extracting(TreeNodeRsp::getId).containsExactly(deptId);
+        assertThat(result.get(2).getNodes()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test 21: should clone a depth-bounded subtree with new ids, paths and levels")
+    void cloneSubTree_shouldCopyLevelsUnderNewParent() throws Exception {
+        // Given - department > section > person, and an empty target group
+        UUID rootId = createTestNode(null, EntityType.GROUP, groupId, "根节点", "a0");
+        UUID deptId = createTestNode(rootId, EntityType.DEPARTMENT, departmentId, "部门", "a0");
+        UUID sectionId = createTestNode(deptId, EntityType.DEPARTMENT, UUIDv7.randomUUID(), "科室", "a0");
+        createTestNode(deptId, EntityType.PERSONNEL, personnelId, "人员一", "b0");
+        createTestNode(sectionId, EntityType.PERSONNEL, UUIDv7.randomUUID(), "人员二", "a0");
+        UUID targetId = createTestNode(rootId, EntityType.GROUP, UUIDv7.randomUUID(), "目标", "b0");
+
+        // When - copy the department and its direct children only
+        CloneTreeNodeRsp result = orgTreeNodeService.cloneSubTree(deptId, targetId, 2);
+
+        // Then
+        assertThat(result.getCreatedCount()).isEqualTo(3);
+        OrgTreeNodeEntity copy = orgTreeNodeRepository.findById(result.getNodeId()).orElseThrow();
+        assertThat(copy.getParentId()).isEqualTo(targetId);
+        assertThat(copy.getLevel()).isEqualTo(2);
+        assertThat(copy.getPath()).containsExactly(rootId, targetId);
+
+        List<TreeNodeRsp> children = orgTreeNodeService.getChildren(result.getNodeId());
+        assertThat(children).extracting(TreeNodeRsp::getName).containsExactly("科室", "人员一");
+        assertThat(children).extracting(TreeNodeRsp::getId).doesNotContain(sectionId);
+        OrgTreeNodeEntity copiedSection = orgTreeNodeRepository.findById(children.get(0).getId()).orElseThrow();
+        assertThat(copiedSection.getLevel()).isEqualTo(3);
+        assertThat(copiedSection.getPath()).containsExactly(rootId, targetId, result.getNodeId());
+        assertThat(orgTreeNodeService.getChildren(copiedSection.getId())).isEmpty();
+
+        // The target now counts the copied department, section and person
+        TreeNodeRsp target = orgTreeNodeService.getNode(targetId);
+        assertThat(target.getStatistics().getSubDepartmentCount()).isEqualTo(2);
+        assertThat(target.getStatistics().getPersonnelCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test 22: should return descendants within N levels, optionally of one type")
+    void getDescendants_shouldBoundLevelsAndType() throws Exception {
+        // Given - department > section > person, plus a person directly under the department
+        UUID rootId = createTestNode(null, EntityType.GROUP, groupId, "根节点", "a0");
+        UUID deptId = createTestNode(rootId, EntityType.DEPARTMENT, departmentId, "部门", "a0");
+        UUID sectionId = createTestNode(deptId, EntityType.DEPARTMENT, UUIDv7.randomUUID(), "科室", "a0");
+        UUID directId = createTestNode(deptId, EntityType.PERSONNEL, personnelId, "人员一", "b0");
+        UUID nestedId = createTestNode(sectionId, EntityType.PERSONNEL, UUIDv7.randomUUID(), "人员二", "a0");
+
+        // When / Then - two levels under the root stop at the section
+        assertThat(orgTreeNodeService.getDescendants(rootId, 2, null))
+                .extracting(TreeNodeRsp::getId).containsExactly(deptId, sectionId, directId);
+        assertThat(orgTreeNodeService.getDescendants(rootId, 2, EntityType.PERSONNEL))
+                .extracting(TreeNodeRsp::getId).containsExactly(directId);
+        assertThat(orgTreeNodeService.getDescendants(rootId, -1, EntityType.PERSONNEL))
+                .extracting(TreeNodeRsp::getId).containsExactly(directId, nestedId);
+
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}/descendants", deptId)
+                        .param("depth", "1")
+                        .param("type", "DEPARTMENT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].id").value(sectionId.toString()));
+    }
+
+    @Test
+    @DisplayName("Test 23: should hide a detached subtree and finish its stalled removal")
+    void resumePendingRemovals_shouldHideDetachedSubtreeUntilRemoved() throws Exception {
+        // Given - department > section > person, detached by a removal whose background job died
+        UUID rootId = createTestNode(null, EntityType.GROUP, groupId, "根节点", "a0");
+        UUID deptId = createTestNode(rootId, EntityType.DEPARTMENT, departmentId, "部门", "a0");
+        UUID sectionId = createTestNode(deptId, EntityType.DEPARTMENT, UUIDv7.randomUUID(), "科室", "a0");
+        UUID personId = createTestNode(sectionId, EntityType.PERSONNEL, personnelId, "人员", "a0");
+        jdbcTemplate.update("INSERT INTO org_tree_removal (node_id, attempts, create_time, update_time) " +
+                "VALUES (?, 1, NOW() - INTERVAL '1 hour', NOW() - INTERVAL '1 hour')", deptId);
+        jdbcTemplate.update("DELETE FROM org_tree WHERE id = ?", deptId);
+
+        // Then - the orphaned rows are neither readable nor writable
+        assertThat(orgTreeNodeService.getChildren(rootId)).isEmpty();
+        mockMvc.perform(get("/api/tree/nodes/{nodeId}", sectionId))
+                .andExpect(jsonPath("$.code").value(404));
+        mockMvc.perform(post("/api/tree/nodes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateTreeNodeReq(
+                                sectionId, EntityType.PERSONNEL, UUIDv7.randomUUID(), "新人员", "a0"))))
+                .andExpect(jsonPath("$.code").value(404));
+        assertThat(orgTreeNodeService.getDescendants(rootId, -1, null)).isEmpty();
+        assertThat(orgTreeNodeRepository.findLiveById(personId)).isEmpty();
+
+        // When - the retry picks up the stalled removal
+        orgTreeNodeService.resumePendingRemovals();
+
+        // Then
+        assertThat(orgTreeNodeRepository.count()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM org_tree_removal", Long.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Test 24: should keep an index of another instance current from the change log")
+    void catchUp_shouldFollowWritesOfAnotherInstance() throws Exception {
+        // Given - an index loaded by a second instance sharing the database
+        UUID rootId = createTestNode(null, EntityType.GROUP, groupId, "根节点", "a0");
+        UUID deptId = createTestNode(rootId, EntityType.DEPARTMENT, departmentId, "部门", "a0");
+        OrgTreeProperties properties = new OrgTreeProperties();
+        properties.getIndex().setEnabled(true);
+        OrgTreeIndex otherIndex = new OrgTreeIndex(jdbcTemplate, transactionManager, properties);
+        otherIndex.rebuild();
+        assertThat(otherIndex.appliedVersion()).isEqualTo(orgTreeNodeService.getTreeVersion());
+
+        // When - this instance creates, moves and removes nodes
+        UUID sectionId = createTestNode(deptId, EntityType.DEPARTMENT, UUIDv7.randomUUID(), "科室", "a0");
+        UUID personId = createTestNode(sectionId, EntityType.PERSONNEL, personnelId, "人员", "a0");
+        UUID targetId = createTestNode(rootId, EntityType.GROUP, UUIDv7.randomUUID(), "目标", "b0");
+        orgTreeNodeService.moveNode(sectionId, targetId);
+        orgTreeNodeService.removeNode(deptId);
+
+        // Then - the other index applies the log and matches the database
+        assertThat(otherIndex.catchUp()).isPositive();
+        assertThat(otherIndex.appliedVersion()).isEqualTo(orgTreeNodeService.getTreeVersion());
+        assertThat(otherIndex.getChildren(rootId)).extracting(OrgTreeIndex.IndexedNode::id).containsExactly(targetId);
+        assertThat(otherIndex.getAncestors(personId)).extracting(OrgTreeIndex.IndexedNode::id)
+                .containsExactly(rootId, targetId, sectionId);
+        assertThat(otherIndex.getNode(personId)).get().extracting(OrgTreeIndex.IndexedNode::level).isEqualTo(3);
+        assertThat(otherIndex.getNode(deptId)).isEmpty();
+        assertThat(otherIndex.catchUp()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test 25: should leave a subtree pending removal out of rebuilt statistics")
+    void rebuildStatistics_shouldSkipSubtreePendingRemoval() throws Exception {
+        // Given - a detached department whose rows still wait for the background delete
+        UUID rootId = createTestNode(null, EntityType.GROUP, groupId, "根节点", "a0");
+        UUID detachedId = createTestNode(rootId, EntityType.DEPARTMENT, departmentId, "待删除部门", "a0");
+        UUID sectionId = createTestNode(detachedId, EntityType.DEPARTMENT, UUIDv7.randomUUID(), "科室", "a0");
+        createTestNode(sectionId, EntityType.PERSONNEL, personnelId, "人员", "a0");
+        createTestNode(rootId, EntityType.DEPARTMENT, UUIDv7.randomUUID(), "部门", "b0");
+        jdbcTemplate.update("INSERT INTO org_tree_removal (node_id) VALUES (?)", detachedId);
+        jdbcTemplate.update("DELETE FROM org_tree WHERE id = ?", detachedId);
+
+        try {
+            // When
+            mockMvc.perform(post("/api/tree/nodes/statistics/rebuild"))
+                    .andExpect(status().isOk());
+
+            // Then - only the live department is counted under the root
+            TreeNodeRsp root = orgTreeNodeService.getNode(rootId);
+            assertThat(root.getStatistics().getSubDepartmentCount()).isEqualTo(1);
+            assertThat(root.getStatistics().getPersonnelCount()).isZero();
+        } finally {
+            jdbcTemplate.update("DELETE FROM org_tree_removal WHERE node_id = ?", detachedId);
+        }
+    }
+
+    /**
+     * Seed sections and personnel under a department with one JDBC batch.
+     *
+     * @return the number of inserted nodes
+     */
+    private int seedLargeSubtree(OrgTreeNodeEntity department, int sections, int personnelPerSection) {
+        List<Object[]> rows = new ArrayList<>(sections * (personnelPerSection + 1));
+        UUID[] sectionPath = concat(department.getPath(), department.getId());
+        for (int s = 0; s < sections; s++) {
+            UUID sectionId = UUIDv7.randomUUID();
+            rows.add(row(sectionId, department.getId(), EntityType.DEPARTMENT, "科室" + s,
+                    department.getLevel() + 1, sectionPath, String.format("a%03d", s)));
+            UUID[] personPath = concat(sectionPath, sectionId);
+            for (int p = 0; p < personnelPerSection; p++) {
+                rows.add(row(UUIDv7.randomUUID(), sectionId, EntityType.PERSONNEL, "人员" + s + "-" + p,
+                        department.getLevel() + 2, personPath, String.format("a%04d", p)));
+            }
+        }
+
+        insertRows(rows);
+        return rows.size();
+    }
+
+    private void insertRows(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO org_tree (id, parent_id, entity_type, entity_id, alias, level, path, sort_rank, " +
+                        "create_time, update_time, tenant_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                rows,
+                1000,
+                (ps, row) -> {
+                    for (int i = 0; i < row.length; i++) {
+                        if (row[i] instanceof UUID[] path) {
+                            Array array = ps.getConnection().createArrayOf("uuid", path);
+                            ps.setArray(i + 1, array);
+                        } else {
+                            ps.setObject(i + 1, row[i]);
+                        }
+                    }
+                });
+    }
+
+    private Object[] row(UUID id, UUID parentId, EntityType type, String alias, int level, UUID[] path, String rank) {
+        Timestamp now = Timestamp.from(Instant.now());
+        return new Object[]{id, parentId, type.name(), UUIDv7.randomUUID(), alias, level, path, rank, now, now,
+                UUID.fromString("00000000-0000-0000-0000-000000000000")};
+    }
+
+    private UUID[] concat(UUID[] path, UUID id) {
+        UUID[] result = Arrays.copyOf(path, path.length + 1);
+        result[path.length] = id;
+        return result;
+    }
+
     /**
      * Helper method to create a test node and return its ID.
      */
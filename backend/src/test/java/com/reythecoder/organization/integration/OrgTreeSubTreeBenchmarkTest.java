@@ -0,0 +1,223 @@
+package com.reythecoder.organization.integration;
+
+import com.reythecoder.organization.dto.response.TreeNodeRsp;
+import com.reythecoder.organization.entity.EntityType;
+import com.reythecoder.organization.entity.OrgTreeNodeEntity;
+import com.reythecoder.organization.repository.OrgTreeNodeRepository;
+import com.reythecoder.organization.service.OrgTreeNodeService;
+import io.github.robsonkades.uuidv7.UUIDv7;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark comparing the single-query subtree engine with the former
+ * node-by-node recursive loading.
+ *
+ * Reports statement count and latency for both strategies on a generated tree.
+ */
+@Testcontainers
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@Tag("integration")
+@DisplayName("OrgTree SubTree Benchmark")
+class OrgTreeSubTreeBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrgTreeSubTreeBenchmarkTest.class);
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000000");
+    private static final int DEPARTMENTS = 20;
+    private static final int SUB_DEPARTMENTS = 10;
+    private static final int PERSONNEL = 10;
+    private static final int ROUNDS = 5;
+
+    @Container
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:15-alpine")
+            .withDatabaseName("organization_db")
+            .withUsername("postgres")
+            .withPassword("postgres")
+            .withInitScript("01-init-department-personnel-group-tables.sql")
+            .withEnv("POSTGRES_INITDB_ARGS", "--encoding=UTF8")
+            .withReuse(true);
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private OrgTreeNodeService orgTreeNodeService;
+
+    @Autowired
+    private OrgTreeNodeRepository orgTreeNodeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UUID rootId;
+    private int totalNodes;
+
+    @BeforeEach
+    void setUp() {
+        orgTreeNodeRepository.deleteAll();
+        seedTree();
+    }
+
+    @Test
+    @DisplayName("single-query subtree should issue constant statements and match recursive result")
+    void getSubTree_shouldOutperformRecursiveLoading() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Warm up both paths
+        loadRecursively(rootId);
+        orgTreeNodeService.getSubTree(rootId, -1);
+
+        statistics.clear();
+        long recursiveStart = System.nanoTime();
+        int recursiveCount = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            recursiveCount = countNodes(loadRecursively(rootId));
+        }
+        long recursiveNanos = (System.nanoTime() - recursiveStart) / ROUNDS;
+        long recursiveStatements = statistics.getPrepareStatementCount() / ROUNDS;
+
+        statistics.clear();
+        long singleQueryStart = System.nanoTime();
+        int singleQueryCount = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            singleQueryCount = countNodes(orgTreeNodeService.getSubTree(rootId, -1));
+        }
+        long singleQueryNanos = (System.nanoTime() - singleQueryStart) / ROUNDS;
+        long singleQueryStatements = statistics.getPrepareStatementCount() / ROUNDS;
+
+        logger.info("子树加载基准：nodes={}, recursive={} statements / {} ms, singleQuery={} statements / {} ms",
+                totalNodes,
+                recursiveStatements, recursiveNanos / 1_000_000,
+                singleQueryStatements, singleQueryNanos / 1_000_000);
+
+        assertThat(singleQueryCount).isEqualTo(totalNodes);
+        assertThat(recursiveCount).isEqualTo(totalNodes);
+        // root lookup, subtree rows and their statistics rollups
+        assertThat(singleQueryStatements).isLessThanOrEqualTo(3);
+        assertThat(recursiveStatements).isGreaterThanOrEqualTo(totalNodes);
+        assertThat(singleQueryNanos).isLessThan(recursiveNanos);
+    }
+
+    @Test
+    @DisplayName("depth-bounded subtree should stop at the requested level")
+    void getSubTree_shouldRespectDepthBound() {
+        TreeNodeRsp subtree = orgTreeNodeService.getSubTree(rootId, 2);
+
+        assertThat(subtree.getChildren()).hasSize(DEPARTMENTS);
+        assertThat(subtree.getChildren()).allSatisfy(child -> assertThat(child.getChildren()).isEmpty());
+    }
+
+    /**
+     * The former loading strategy: one children query per visited node.
+     */
+    private TreeNodeRsp loadRecursively(UUID nodeId) {
+        OrgTreeNodeEntity entity = orgTreeNodeRepository.findById(nodeId).orElseThrow();
+        return loadRecursively(entity);
+    }
+
+    private TreeNodeRsp loadRecursively(OrgTreeNodeEntity entity) {
+        TreeNodeRsp node = new TreeNodeRsp();
+        node.setId(entity.getId());
+        node.setChildren(new ArrayList<>());
+        for (OrgTreeNodeEntity child : orgTreeNodeRepository.findByParentIdOrderBySortRankAsc(entity.getId())) {
+            node.getChildren().add(loadRecursively(child));
+        }
+        return node;
+    }
+
+    private int countNodes(TreeNodeRsp node) {
+        int count = 1;
+        for (TreeNodeRsp child : node.getChildren()) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+
+    private void seedTree() {
+        List<Object[]> rows = new ArrayList<>();
+        rootId = UUIDv7.randomUUID();
+        rows.add(row(rootId, null, EntityType.GROUP, "根节点", 0, new UUID[0], "a0"));
+
+        for (int d = 0; d < DEPARTMENTS; d++) {
+            UUID deptId = UUIDv7.randomUUID();
+            UUID[] deptPath = {rootId};
+            rows.add(row(deptId, rootId, EntityType.DEPARTMENT, "部门" + d, 1, deptPath, rank(d)));
+
+            for (int s = 0; s < SUB_DEPARTMENTS; s++) {
+                UUID subId = UUIDv7.randomUUID();
+                UUID[] subPath = {rootId, deptId};
+                rows.add(row(subId, deptId, EntityType.DEPARTMENT, "科室" + d + "-" + s, 2, subPath, rank(s)));
+
+                for (int p = 0; p < PERSONNEL; p++) {
+                    UUID[] personPath = {rootId, deptId, subId};
+                    rows.add(row(UUIDv7.randomUUID(), subId, EntityType.PERSONNEL,
+                            "人员" + d + "-" + s + "-" + p, 3, personPath, rank(p)));
+                }
+            }
+        }
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO org_tree (id, parent_id, entity_type, entity_id, alias, level, path, sort_rank, " +
+                        "create_time, update_time, tenant_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                rows,
+                500,
+                (ps, row) -> {
+                    for (int i = 0; i < row.length; i++) {
+                        Object value = row[i];
+                        if (value instanceof UUID[] path) {
+                            Array array = ps.getConnection().createArrayOf("uuid", path);
+                            ps.setArray(i + 1, array);
+                        } else {
+                            ps.setObject(i + 1, value);
+                        }
+                    }
+                });
+        totalNodes = rows.size();
+    }
+
+    private Object[] row(UUID id, UUID parentId, EntityType type, String alias, int level, UUID[] path, String rank) {
+        Timestamp now = Timestamp.from(Instant.now());
+        return new Object[]{id, parentId, type.name(), UUIDv7.randomUUID(), alias, level, path, rank, now, now, TENANT_ID};
+    }
+
+    private String rank(int index) {
+        return String.format("a%02d", index);
+    }
+}
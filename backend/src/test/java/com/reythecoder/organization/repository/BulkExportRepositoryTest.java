@@ -0,0 +1,76 @@
+package com.reythecoder.organization.repository;
+
+import com.reythecoder.organization.dto.request.ExportType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the cursor queries behind the bulk export.
+ */
+@Testcontainers
+@DataJpaTest
+@Import(BulkExportRepositoryImpl.class)
+@Tag("integration")
+class BulkExportRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:15-alpine")
+            .withDatabaseName("organization_db")
+            .withUsername("postgres")
+            .withPassword("postgres")
+            .withInitScript("01-init-department-personnel-group-tables.sql")
+            .withEnv("POSTGRES_INITDB_ARGS", "--encoding=UTF8")
+            .withReuse(false);
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private BulkExportRepository bulkExportRepository;
+
+    @Test
+    void stream_ShouldReadPersonnelInIdOrderWithTypedValues() {
+        List<Object[]> rows = new ArrayList<>();
+
+        long count = bulkExportRepository.stream(ExportType.PERSONNEL, 2, row -> rows.add(row.clone()));
+
+        assertThat(count).isEqualTo(rows.size()).isGreaterThanOrEqualTo(3);
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row).hasSize(ExportType.PERSONNEL.getColumns().size());
+            assertThat(row[0]).isInstanceOf(UUID.class);
+            assertThat(row[8]).isInstanceOf(OffsetDateTime.class);
+        });
+        assertThat(rows).extracting(row -> (UUID) row[0]).isSorted();
+        assertThat(rows).extracting(row -> row[3]).contains("110101199001011234");
+    }
+
+    @Test
+    void stream_ShouldSelectColumnsInDeclaredOrder() {
+        List<Object[]> rows = new ArrayList<>();
+
+        bulkExportRepository.stream(ExportType.DEPARTMENT, 100, row -> rows.add(row.clone()));
+
+        assertThat(rows).isNotEmpty();
+        assertThat(rows).extracting(row -> row[4]).contains("ORG-HR-001");
+        assertThat(rows.get(0)).hasSize(ExportType.DEPARTMENT.getColumns().size());
+    }
+}
@@ -0,0 +1,196 @@
+package com.reythecoder.organization.repository;
+
+import com.reythecoder.organization.entity.ImportErrorEntity;
+import com.reythecoder.organization.entity.ImportJobEntity;
+import com.reythecoder.organization.entity.ImportStatus;
+import com.reythecoder.organization.entity.ImportType;
+import com.reythecoder.organization.entity.PersonnelEntity;
+import io.github.robsonkades.uuidv7.UUIDv7;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the set lookups, batch inserts and checkpoint updates
+ * used by the CSV import.
+ */
+@Testcontainers
+@DataJpaTest
+@Tag("integration")
+class ImportJobRepositoryTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000000");
+
+    @Container
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:15-alpine")
+            .withDatabaseName("organization_db")
+            .withUsername("postgres")
+            .withPassword("postgres")
+            .withInitScript("01-init-department-personnel-group-tables.sql")
+            .withEnv("POSTGRES_INITDB_ARGS", "--encoding=UTF8")
+            .withReuse(false);
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private ImportErrorRepository importErrorRepository;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void lockImportType_ShouldHoldAdvisoryLockForTransaction() {
+        importJobRepository.lockImportType(ImportType.PERSONNEL);
+
+        Integer held = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_locks WHERE locktype = 'advisory' AND pid = pg_backend_pid() AND granted",
+                Integer.class);
+        assertThat(held).isEqualTo(1);
+    }
+
+    @Test
+    void findPersonnelIdsByIdCard_ShouldMatchSampleDataAndSkipUnknown() {
+        Map<String, UUID> ids = importJobRepository.findPersonnelIdsByIdCard(
+                List.of("110101199001011234", "110101199001099999"));
+
+        assertThat(ids).containsOnlyKeys("110101199001011234");
+        assertThat(ids.get("110101199001011234"))
+                .isEqualTo(UUID.fromString("44444444-4444-4444-4444-444444444444"));
+    }
+
+    @Test
+    void findDepartmentIdsByOrgCode_ShouldMatchSampleData() {
+        Map<String, UUID> ids = importJobRepository.findDepartmentIdsByOrgCode(List.of("ORG-HR-001", "ORG-NONE"));
+
+        assertThat(ids).containsOnlyKeys("ORG-HR-001");
+    }
+
+    @Test
+    void insertPersonnel_ShouldWriteBatchWithDefaults() {
+        OffsetDateTime now = OffsetDateTime.now();
+        PersonnelEntity first = personnel("甲", "110101199001020001", now);
+        PersonnelEntity second = personnel("乙", "110101199001020002", now);
+        second.setEmail(null);
+
+        int inserted = importJobRepository.insertPersonnel(List.of(first, second));
+
+        assertThat(inserted).isEqualTo(2);
+        assertThat(importJobRepository.findPersonnelIdsByIdCard(List.of("110101199001020001", "110101199001020002")))
+                .containsEntry("110101199001020001", first.getId())
+                .containsEntry("110101199001020002", second.getId());
+        assertThat(personnelRepository.findById(second.getId()))
+                .hasValueSatisfying(p -> assertThat(p.getEmail()).isEmpty());
+    }
+
+    @Test
+    void recordBatch_ShouldAdvanceCheckpoint() {
+        ImportJobEntity job = importJobRepository.save(job(ImportStatus.RUNNING, OffsetDateTime.now()));
+
+        importJobRepository.recordBatch(job.getId(), job.getClaimToken(), 1000, 990, 6, 4, OffsetDateTime.now());
+        importJobRepository.recordBatch(job.getId(), job.getClaimToken(), 500, 500, 0, 0, OffsetDateTime.now());
+
+        ImportJobEntity updated = importJobRepository.findById(job.getId()).orElseThrow();
+        assertThat(updated.getProcessedRows()).isEqualTo(1500);
+        assertThat(updated.getBatchCount()).isEqualTo(2);
+        assertThat(updated.getImportedCount()).isEqualTo(1490);
+        assertThat(updated.getSkippedCount()).isEqualTo(6);
+        assertThat(updated.getErrorCount()).isEqualTo(4);
+    }
+
+    @Test
+    void claim_ShouldOnlyTakeOverFailedOrStaleJobs() {
+        OffsetDateTime now = OffsetDateTime.now();
+        ImportJobEntity failed = importJobRepository.save(job(ImportStatus.FAILED, now));
+        ImportJobEntity active = importJobRepository.save(job(ImportStatus.RUNNING, now));
+        ImportJobEntity stale = importJobRepository.save(job(ImportStatus.RUNNING, now.minusHours(1)));
+        OffsetDateTime staleBefore = now.minusMinutes(10);
+
+        assertThat(importJobRepository.claim(failed.getId(), UUIDv7.randomUUID(), now, staleBefore,
+                ImportStatus.RUNNING, ImportStatus.FAILED)).isEqualTo(1);
+        assertThat(importJobRepository.claim(active.getId(), UUIDv7.randomUUID(), now, staleBefore,
+                ImportStatus.RUNNING, ImportStatus.FAILED)).isZero();
+        assertThat(importJobRepository.claim(stale.getId(), UUIDv7.randomUUID(), now, staleBefore,
+                ImportStatus.RUNNING, ImportStatus.FAILED)).isEqualTo(1);
+        assertThat(importJobRepository.claim(failed.getId(), UUIDv7.randomUUID(), now, staleBefore,
+                ImportStatus.RUNNING, ImportStatus.FAILED)).isZero();
+    }
+
+    @Test
+    void claim_ShouldFenceOffPreviousToken() {
+        OffsetDateTime now = OffsetDateTime.now();
+        ImportJobEntity stale = importJobRepository.save(job(ImportStatus.RUNNING, now.minusHours(1)));
+        UUID previous = stale.getClaimToken();
+        UUID token = UUIDv7.randomUUID();
+
+        assertThat(importJobRepository.claim(stale.getId(), token, now, now.minusMinutes(10),
+                ImportStatus.RUNNING, ImportStatus.FAILED)).isEqualTo(1);
+
+        assertThat(importJobRepository.recordBatch(stale.getId(), previous, 1000, 1000, 0, 0, now)).isZero();
+        assertThat(importJobRepository.updateStatus(stale.getId(), previous, ImportStatus.COMPLETED, "", now)).isZero();
+        assertThat(importJobRepository.recordBatch(stale.getId(), token, 1000, 1000, 0, 0, now)).isEqualTo(1);
+        assertThat(importJobRepository.updateStatus(stale.getId(), token, ImportStatus.COMPLETED, "", now)).isEqualTo(1);
+
+        ImportJobEntity updated = importJobRepository.findById(stale.getId()).orElseThrow();
+        assertThat(updated.getProcessedRows()).isEqualTo(1000);
+        assertThat(updated.getStatus()).isEqualTo(ImportStatus.COMPLETED);
+    }
+
+    @Test
+    void insertErrors_ShouldBeReadableByBatch() {
+        ImportJobEntity job = importJobRepository.save(job(ImportStatus.RUNNING, OffsetDateTime.now()));
+        OffsetDateTime now = OffsetDateTime.now();
+
+        importJobRepository.insertErrors(List.of(
+                new ImportErrorEntity(null, job.getId(), 1, 3, "手机号不能为空", now),
+                new ImportErrorEntity(null, job.getId(), 2, 1005, "已跳过：身份证号已存在", now)));
+
+        assertThat(importErrorRepository.findByJobIdOrderByIdAsc(job.getId()))
+                .extracting(ImportErrorEntity::getLineNumber).containsExactly(3L, 1005L);
+        assertThat(importErrorRepository.findByJobIdAndBatchNoOrderByIdAsc(job.getId(), 2))
+                .extracting(ImportErrorEntity::getMessage).containsExactly("已跳过：身份证号已存在");
+    }
+
+    private static PersonnelEntity personnel(String name, String idCard, OffsetDateTime now) {
+        PersonnelEntity entity = new PersonnelEntity();
+        entity.setId(UUIDv7.randomUUID());
+        entity.setName(name);
+        entity.setGender("M");
+        entity.setIdCard(idCard);
+        entity.setMobile("13800000000");
+        entity.setEmail(name + "@company.com");
+        entity.setCreateTime(now);
+        entity.setUpdateTime(now);
+        entity.setTenantId(TENANT_ID);
+        return entity;
+    }
+
+    private static ImportJobEntity job(ImportStatus status, OffsetDateTime updateTime) {
+        return new ImportJobEntity(UUIDv7.randomUUID(), ImportType.PERSONNEL, status, UUIDv7.randomUUID(), 0, 0, 0, 0, 0, "",
+                updateTime, updateTime, TENANT_ID);
+    }
+}
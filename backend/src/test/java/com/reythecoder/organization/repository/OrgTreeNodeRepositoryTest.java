@@ -332,6 +332,26 @@ class OrgTreeNodeRepositoryTest {
         assertThat(children.get(0).getId()).isEqualTo(child1Id);
     }
 
+    @Test
+    void findChildrenPage_shouldNotListRootAmongItsChildren() {
+        // Arrange
+        OrgTreeNodeEntity rootNode = createRootNode();
+        orgTreeNodeRepository.save(rootNode);
+
+        UUID child1Id = UUIDv7.randomUUID();
+        UUID child2Id = UUIDv7.randomUUID();
+        // The root's own rank "a1" sorts between the two children
+        orgTreeNodeRepository.saveAll(List.of(
+                createNodeWithSortRank(child1Id, rootId, EntityType.GROUP, "a0", "Child 1"),
+                createNodeWithSortRank(child2Id, rootId, EntityType.DEPARTMENT, "a2", "Child 2")));
+
+        // Act
+        List<OrgTreeNodeEntity> children = orgTreeNodeRepository.findChildrenPage(rootId, "", new UUID(0L, 0L), "", 10);
+
+        // Assert
+        assertThat(children).extracting(OrgTreeNodeEntity::getId).containsExactly(child1Id, child2Id);
+    }
+
     @Test
     void findRootNode_shouldReturnRootNode() {
         // Arrange
@@ -0,0 +1,165 @@
+package com.reythecoder.organization.repository;
+
+import com.reythecoder.organization.dto.response.PersonnelPositionRsp;
+import com.reythecoder.organization.entity.DepartmentEntity;
+import com.reythecoder.organization.entity.PersonnelEntity;
+import com.reythecoder.organization.entity.PersonnelPositionEntity;
+import com.reythecoder.organization.entity.PositionEntity;
+import io.github.robsonkades.uuidv7.UUIDv7;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the name-joined projections of PersonnelPositionRepository.
+ */
+@Testcontainers
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Tag("integration")
+class PersonnelPositionRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:15-alpine")
+            .withDatabaseName("organization_db")
+            .withUsername("postgres")
+            .withPassword("postgres")
+            .withInitScript("01-init-department-personnel-group-tables.sql")
+            .withEnv("POSTGRES_INITDB_ARGS", "--encoding=UTF8")
+            .withReuse(false);
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private PersonnelPositionRepository personnelPositionRepository;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    @Autowired
+    private PositionRepository positionRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UUID departmentId;
+    private UUID positionId;
+
+    @BeforeEach
+    void setUp() {
+        personnelPositionRepository.deleteAll();
+        personnelRepository.deleteAll();
+        positionRepository.deleteAll();
+        departmentRepository.deleteAll();
+
+        OffsetDateTime now = OffsetDateTime.now();
+        UUID tenantId = UUIDv7.randomUUID();
+        departmentId = UUIDv7.randomUUID();
+        positionId = UUIDv7.randomUUID();
+        departmentRepository.save(new DepartmentEntity(departmentId, "技术部", "Technology Department", "技术",
+                "TECH-001", "123456789", "987654321", "tech@example.com", "科技园区", "100000",
+                now, now, tenantId, false));
+        positionRepository.save(new PositionEntity(positionId, "软件工程师", "POS-DEV-001", "负责软件开发",
+                "P2", "Technical", null, null, 1, now, now, tenantId));
+
+        for (int i = 0; i < 5; i++) {
+            UUID personnelId = UUIDv7.randomUUID();
+            personnelRepository.save(new PersonnelEntity(personnelId, "人员" + i, "M", "11010119900101" + (1000 + i),
+                    "1380013800" + i, "010-12345678", "010-87654321", "p" + i + "@example.com", null,
+                    now, now, tenantId, false));
+            personnelPositionRepository.save(new PersonnelPositionEntity(personnelId, positionId,
+                    i % 2 == 0 ? departmentId : null, i == 0, LocalDate.now(), null, 1));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findAllWithNames_shouldJoinNamesInOneStatement() {
+        // Arrange
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        List<PersonnelPositionRsp> result = personnelPositionRepository.findAllWithNames();
+
+        // Assert
+        assertThat(result).hasSize(5);
+        assertThat(result).allSatisfy(rsp -> {
+            assertThat(rsp.getPersonnelName()).startsWith("人员");
+            assertThat(rsp.getPositionName()).isEqualTo("软件工程师");
+        });
+        assertThat(result).filteredOn(rsp -> rsp.getDepartmentId() == null)
+                .extracting(PersonnelPositionRsp::getDepartmentName).containsOnly("");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findWithNamesByDepartmentId_shouldFilterAndJoinInOneStatement() {
+        // Arrange
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        List<PersonnelPositionRsp> byDepartment = personnelPositionRepository.findWithNamesByDepartmentId(departmentId);
+        List<PersonnelPositionRsp> byPosition = personnelPositionRepository.findWithNamesByPositionId(positionId);
+
+        // Assert
+        assertThat(byDepartment).hasSize(3)
+                .extracting(PersonnelPositionRsp::getDepartmentName).containsOnly("技术部");
+        assertThat(byPosition).hasSize(5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void countPersonnelByDepartment_shouldGroupInOneStatementWithFilters() {
+        // Arrange
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        List<PersonnelPositionRepository.DepartmentHeadcount> all =
+                personnelPositionRepository.countPersonnelByDepartment(null, null);
+
+        // Assert
+        assertThat(all).hasSize(1);
+        assertThat(all.get(0).getDepartmentId()).isEqualTo(departmentId);
+        assertThat(all.get(0).getPersonCount()).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        // Inactive assignments and dates before the start date are excluded
+        assertThat(personnelPositionRepository.countPersonnelByDepartment(0, null)).isEmpty();
+        assertThat(personnelPositionRepository.countPersonnelByDepartment(1, LocalDate.now().minusDays(1))).isEmpty();
+        assertThat(personnelPositionRepository.countPersonnelByDepartment(1, LocalDate.now()))
+                .extracting(PersonnelPositionRepository.DepartmentHeadcount::getPersonCount).containsExactly(3L);
+    }
+}
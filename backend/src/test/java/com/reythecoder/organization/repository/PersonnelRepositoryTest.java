@@ -1,5 +1,10 @@
 package com.reythecoder.organization.repository;
 
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.KeysetPaginator;
+import com.reythecoder.common.page.KeysetSort;
+import com.reythecoder.common.page.PageProperties;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.entity.PersonnelEntity;
 import io.github.robsonkades.uuidv7.UUIDv7;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +12,8 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.junit.jupiter.Container;
@@ -14,6 +21,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.postgresql.PostgreSQLContainer;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -122,4 +130,53 @@ class PersonnelRepositoryTest {
         // Assert
         assertThat(personnelRepository.findAll()).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void keysetPage_shouldWalkAllPersonnelByNameWithoutGapsOrDuplicates() {
+        // Arrange: duplicate names force the id tie-breaker
+        List<String> names = List.of("王五", "李四", "张三", "李四", "赵六");
+        for (String name : names) {
+            personnelRepository.save(new PersonnelEntity(UUIDv7.randomUUID(), name, "M", "", "", "", "", "",
+                    null, OffsetDateTime.now(), OffsetDateTime.now(), UUIDv7.randomUUID(), false));
+        }
+        KeysetPaginator paginator = new KeysetPaginator(new PageProperties());
+
+        // Act
+        List<PersonnelEntity> walked = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        do {
+            CursorPage<PersonnelEntity> page = paginator.page(personnelRepository, Specification.unrestricted(),
+                    new PageQuery(token, 2, KeysetSort.NAME, Sort.Direction.ASC),
+                    PersonnelEntity::getId, PersonnelEntity::getName, entity -> entity);
+            walked.addAll(page.getItems());
+            token = page.getNextPageToken();
+            pages++;
+        } while (token != null);
+
+        // Assert
+        assertThat(pages).isEqualTo(3);
+        List<PersonnelEntity> expected = personnelRepository.findAll(
+                Sort.by(Sort.Direction.ASC, "name", "id"));
+        assertThat(walked).extracting(PersonnelEntity::getId)
+                .containsExactlyElementsOf(expected.stream().map(PersonnelEntity::getId).toList());
+    }
+
+    @Test
+    void keysetPage_shouldApplyIndexedFilter() {
+        // Arrange
+        personnelRepository.save(personnelEntity);
+        personnelRepository.save(new PersonnelEntity(UUIDv7.randomUUID(), "李四", "F", "", "13900139000", "", "",
+                "", null, OffsetDateTime.now(), OffsetDateTime.now(), UUIDv7.randomUUID(), false));
+        KeysetPaginator paginator = new KeysetPaginator(new PageProperties());
+
+        // Act
+        CursorPage<PersonnelEntity> page = paginator.page(personnelRepository,
+                KeysetPaginator.equalTo("mobile", "13800138000"), PageQuery.firstPage(),
+                PersonnelEntity::getId, PersonnelEntity::getName, entity -> entity);
+
+        // Assert
+        assertThat(page.getItems()).extracting(PersonnelEntity::getId).containsExactly(personnelId);
+        assertThat(page.isHasMore()).isFalse();
+    }
+}
@@ -1,5 +1,9 @@
 package com.reythecoder.organization.service;
 
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.KeysetPaginator;
+import com.reythecoder.common.page.KeysetSort;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.request.DepartmentPositionReq;
 import com.reythecoder.organization.dto.response.DepartmentPositionRsp;
 import com.reythecoder.organization.entity.DepartmentEntity;
@@ -24,6 +28,7 @@ import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -43,6 +48,9 @@ class DepartmentPositionServiceTest {
     @Mock
     private PositionRepository positionRepository;
 
+    @Mock
+    private KeysetPaginator paginator;
+
     @InjectMocks
     private DepartmentPositionServiceImpl departmentPositionService;
 
@@ -122,6 +130,29 @@ class DepartmentPositionServiceTest {
         verify(departmentPositionRepository, times(1)).findAll();
     }
 
+    @Test
+    void getDepartmentPositionPage_shouldResolveNamesPerPage() {
+        // Arrange
+        PageQuery query = new PageQuery(null, 10, KeysetSort.ID, null);
+        when(paginator.<DepartmentPositionEntity, DepartmentPositionEntity>page(eq(departmentPositionRepository),
+                any(), eq(query), any(), isNull(), any()))
+                .thenReturn(new CursorPage<>(List.of(relationEntity), "next", true));
+        when(departmentRepository.findAllById(Set.of(departmentId))).thenReturn(List.of(departmentEntity));
+        when(positionRepository.findAllById(Set.of(positionId))).thenReturn(List.of(positionEntity));
+
+        // Act
+        CursorPage<DepartmentPositionRsp> result =
+                departmentPositionService.getDepartmentPositionPage(departmentId, null, query);
+
+        // Assert
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getItems().get(0).getDepartmentName()).isEqualTo(departmentEntity.getName());
+        assertThat(result.getItems().get(0).getPositionName()).isEqualTo(positionEntity.getName());
+        assertThat(result.getNextPageToken()).isEqualTo("next");
+        verify(departmentRepository, never()).findById(any());
+        verify(positionRepository, never()).findById(any());
+    }
+
     @Test
     void getPositionsByDepartmentId_shouldReturnPositionsForDepartment() {
         // Arrange
@@ -241,6 +272,6 @@ class DepartmentPositionServiceTest {
         assertThatThrownBy(() -> departmentPositionService.deleteDepartmentPosition(departmentId, positionId))
                 .isInstanceOf(ApiException.class)
                 .hasMessage("部门岗位关联不存在");
-        verify(departmentPositionRepository, never()).delete(any());
+        verify(departmentPositionRepository, never()).delete(any(DepartmentPositionEntity.class));
     }
 }
@@ -1,5 +1,9 @@
 package com.reythecoder.organization.service;
 
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.KeysetPaginator;
+import com.reythecoder.common.page.KeysetSort;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.request.DepartmentCreateReq;
 import com.reythecoder.organization.dto.request.DepartmentUpdateReq;
 import com.reythecoder.organization.dto.response.DepartmentRsp;
@@ -19,6 +23,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -39,6 +44,9 @@ class DepartmentServiceTest {
     @Mock
     private PersonnelPositionRepository personnelPositionRepository;
 
+    @Mock
+    private KeysetPaginator paginator;
+
     @InjectMocks
     private DepartmentServiceImpl departmentService;
 
@@ -113,7 +121,7 @@ class DepartmentServiceTest {
     void getAllDepartments_shouldReturnAllDepartments() {
         // Arrange
         when(departmentRepository.findAll()).thenReturn(List.of(departmentEntity));
-        when(personnelPositionRepository.findByDepartmentId(departmentId)).thenReturn(Collections.emptyList());
+        when(personnelPositionRepository.countPersonnelByDepartment(null, null)).thenReturn(Collections.emptyList());
 
         // Act
         List<DepartmentRsp> result = departmentService.getAllDepartments();
@@ -122,9 +130,27 @@ class DepartmentServiceTest {
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getId()).isEqualTo(departmentEntity.getId());
         assertThat(result.get(0).getName()).isEqualTo(departmentEntity.getName());
+        assertThat(result.get(0).getPersonCount()).isZero();
         verify(departmentRepository, times(1)).findAll();
     }
 
+    @Test
+    void getAllDepartments_shouldTakeCountsFromOneGroupedQuery() {
+        // Arrange
+        LocalDate effectiveDate = LocalDate.of(2026, 1, 1);
+        when(departmentRepository.findAll()).thenReturn(List.of(departmentEntity));
+        when(personnelPositionRepository.countPersonnelByDepartment(1, effectiveDate))
+                .thenReturn(List.of(headcount(departmentId, 7)));
+
+        // Act
+        List<DepartmentRsp> result = departmentService.getAllDepartments(1, effectiveDate);
+
+        // Assert
+        assertThat(result.get(0).getPersonCount()).isEqualTo(7);
+        verify(personnelPositionRepository, times(1)).countPersonnelByDepartment(1, effectiveDate);
+        verify(personnelPositionRepository, never()).findByDepartmentId(any());
+    }
+
     @Test
     void getAllDepartments_shouldReturnEmptyListWhenNoDepartments() {
         // Arrange
@@ -138,6 +164,42 @@ class DepartmentServiceTest {
         verify(departmentRepository, times(1)).findAll();
     }
 
+    @Test
+    void getDepartmentPage_shouldCountOnlyDepartmentsOnPage() {
+        // Arrange
+        PageQuery query = new PageQuery(null, 10, KeysetSort.NAME, null);
+        when(paginator.<DepartmentEntity, DepartmentRsp>page(eq(departmentRepository), any(), eq(query),
+                any(), any(), any()))
+                .thenReturn(new CursorPage<>(List.of(departmentRsp), "next", true));
+        when(personnelPositionRepository.countPersonnelInDepartments(List.of(departmentId)))
+                .thenReturn(List.of(headcount(departmentId, 4L)));
+
+        // Act
+        CursorPage<DepartmentRsp> result = departmentService.getDepartmentPage(null, null, query);
+
+        // Assert
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getItems().get(0).getPersonCount()).isEqualTo(4);
+        assertThat(result.isHasMore()).isTrue();
+        verify(personnelPositionRepository, never()).countPersonnelByDepartment(any(), any());
+    }
+
+    @Test
+    void getDepartmentPage_shouldSkipCountingForEmptyPage() {
+        // Arrange
+        PageQuery query = PageQuery.firstPage();
+        when(paginator.<DepartmentEntity, DepartmentRsp>page(eq(departmentRepository), any(), eq(query),
+                any(), any(), any()))
+                .thenReturn(new CursorPage<>(List.of(), null, false));
+
+        // Act
+        CursorPage<DepartmentRsp> result = departmentService.getDepartmentPage("不存在", null, query);
+
+        // Assert
+        assertThat(result.getItems()).isEmpty();
+        verifyNoInteractions(personnelPositionRepository);
+    }
+
     @Test
     void getDepartmentById_shouldReturnDepartmentWhenExists() {
         // Arrange
@@ -249,6 +311,20 @@ class DepartmentServiceTest {
                 .isInstanceOf(ApiException.class)
                 .hasMessage("部门不存在");
         verify(departmentRepository, times(1)).findById(departmentId);
-        verify(departmentRepository, never()).delete(any());
+        verify(departmentRepository, never()).delete(any(DepartmentEntity.class));
+    }
+
+    private static PersonnelPositionRepository.DepartmentHeadcount headcount(UUID departmentId, long personCount) {
+        return new PersonnelPositionRepository.DepartmentHeadcount() {
+            @Override
+            public UUID getDepartmentId() {
+                return departmentId;
+            }
+
+            @Override
+            public long getPersonCount() {
+                return personCount;
+            }
+        };
     }
-}
\ No newline at end of file
+}
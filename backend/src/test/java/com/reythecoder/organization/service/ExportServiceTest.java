@@ -0,0 +1,142 @@
+package com.reythecoder.organization.service;
+
+import com.reythecoder.organization.config.ExportProperties;
+import com.reythecoder.organization.dto.request.ExportType;
+import com.reythecoder.organization.dto.request.TreeExportFormat;
+import com.reythecoder.organization.repository.BulkExportRepository;
+import com.reythecoder.organization.service.impl.ExportServiceImpl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    private static final UUID POSITION_ID = UUID.fromString("01920000-0000-7000-8000-000000000001");
+    private static final OffsetDateTime TIME = OffsetDateTime.of(2026, 1, 2, 3, 4, 5, 0, ZoneOffset.ofHours(8));
+
+    @Mock
+    private BulkExportRepository bulkExportRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExportProperties properties;
+    private ExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ExportProperties();
+        exportService = new ExportServiceImpl(bulkExportRepository, transactionManager, properties);
+    }
+
+    @Test
+    void export_ShouldWriteCsvWithHeaderQuotingAndEmptyNulls() {
+        streamPositions();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.export(ExportType.POSITION, TreeExportFormat.CSV, out);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,name,code,description,job_level,job_category,min_salary,max_salary,status,"
+                        + "create_time,update_time\r\n"
+                        + POSITION_ID + ",\"研发,\"\"一\"\"部\",POS-DEV,,P2,技术,10000.00,20000,1,"
+                        + "2026-01-02T03:04:05+08:00,2026-01-02T03:04:05+08:00\r\n"
+                        + POSITION_ID + ",测试,POS-QA,,,,,,0,2026-01-02T03:04:05+08:00,2026-01-02T03:04:05+08:00\r\n");
+    }
+
+    @Test
+    void export_ShouldWriteNdjsonWithCamelCaseKeysAndTypedValues() {
+        streamPositions();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(ExportType.POSITION, TreeExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("{\"id\":\"" + POSITION_ID + "\",\"name\":\"研发,\\\"一\\\"部\","
+                + "\"code\":\"POS-DEV\",\"description\":null,\"jobLevel\":\"P2\",\"jobCategory\":\"技术\","
+                + "\"minSalary\":10000.00,\"maxSalary\":20000,\"status\":1,"
+                + "\"createTime\":\"2026-01-02T03:04:05+08:00\",\"updateTime\":\"2026-01-02T03:04:05+08:00\"}");
+        assertThat(lines[1]).contains("\"name\":\"测试\"", "\"minSalary\":null", "\"status\":0");
+    }
+
+    @Test
+    void export_ShouldWriteDatesAndBooleansForAssignments() {
+        when(bulkExportRepository.stream(eq(ExportType.PERSONNEL_POSITION), anyInt(), any())).thenAnswer(i -> {
+            Consumer<Object[]> consumer = i.getArgument(2);
+            consumer.accept(new Object[]{POSITION_ID, POSITION_ID, "110101199001011234", POSITION_ID, "POS-DEV",
+                    null, null, true, LocalDate.of(2024, 1, 1), null, 1, TIME, TIME});
+            return 1L;
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(ExportType.PERSONNEL_POSITION, TreeExportFormat.NDJSON, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("\"idCard\":\"110101199001011234\"",
+                "\"departmentId\":null", "\"orgCode\":null", "\"isPrimary\":true",
+                "\"startDate\":\"2024-01-01\"", "\"endDate\":null");
+    }
+
+    @Test
+    void export_ShouldWriteOnlyHeaderWhenEmpty() {
+        when(bulkExportRepository.stream(eq(ExportType.PERSONNEL), anyInt(), any())).thenReturn(0L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.export(ExportType.PERSONNEL, TreeExportFormat.CSV, out);
+
+        assertThat(count).isZero();
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo("id,name,gender,id_card,mobile,telephone,fax,email,create_time,update_time\r\n");
+    }
+
+    @Test
+    void export_ShouldReadInOneReadOnlySnapshotWithConfiguredFetchSize() {
+        properties.setFetchSize(250);
+        when(bulkExportRepository.stream(eq(ExportType.DEPARTMENT), eq(250), any())).thenReturn(0L);
+
+        exportService.export(ExportType.DEPARTMENT, TreeExportFormat.NDJSON, new ByteArrayOutputStream());
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().isReadOnly()).isTrue();
+        assertThat(definition.getValue().getIsolationLevel())
+                .isEqualTo(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        verify(bulkExportRepository).stream(eq(ExportType.DEPARTMENT), eq(250), any());
+    }
+
+    /**
+     * Streams two positions through one reused row array, as the repository does.
+     */
+    private void streamPositions() {
+        when(bulkExportRepository.stream(eq(ExportType.POSITION), eq(5000), any())).thenAnswer(i -> {
+            Consumer<Object[]> consumer = i.getArgument(2);
+            Object[] row = {POSITION_ID, "研发,\"一\"部", "POS-DEV", null, "P2", "技术",
+                    new BigDecimal("10000.00"), new BigDecimal("2E+4"), 1, TIME, TIME};
+            consumer.accept(row);
+            Object[] second = {POSITION_ID, "测试", "POS-QA", null, null, null, null, null, 0, TIME, TIME};
+            System.arraycopy(second, 0, row, 0, row.length);
+            consumer.accept(row);
+            return 2L;
+        });
+    }
+}
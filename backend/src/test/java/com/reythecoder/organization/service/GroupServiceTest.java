@@ -1,5 +1,9 @@
 package com.reythecoder.organization.service;
 
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.KeysetPaginator;
+import com.reythecoder.common.page.KeysetSort;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.request.GroupCreateReq;
 import com.reythecoder.organization.dto.request.GroupUpdateReq;
 import com.reythecoder.organization.dto.response.GroupRsp;
@@ -34,6 +38,9 @@ class GroupServiceTest {
     @Mock
     private GroupRepository groupRepository;
 
+    @Mock
+    private KeysetPaginator paginator;
+
     @InjectMocks
     private GroupServiceImpl groupService;
 
@@ -95,6 +102,22 @@ class GroupServiceTest {
         verify(groupRepository, times(1)).findAll();
     }
 
+    @Test
+    void getGroupPage_shouldDelegateToKeysetPaginator() {
+        // Arrange
+        PageQuery query = new PageQuery(null, 10, KeysetSort.NAME, null);
+        when(paginator.<GroupEntity, GroupRsp>page(eq(groupRepository), any(), eq(query), any(), any(), any()))
+                .thenReturn(new CursorPage<>(List.of(groupRsp), "next", true));
+
+        // Act
+        CursorPage<GroupRsp> result = groupService.getGroupPage("测试分组", query);
+
+        // Assert
+        assertThat(result.getItems()).containsExactly(groupRsp);
+        assertThat(result.getNextPageToken()).isEqualTo("next");
+        verify(groupRepository, never()).findAll();
+    }
+
     @Test
     void getGroupById_shouldReturnGroupWhenExists() {
         when(groupRepository.findById(groupId)).thenReturn(Optional.of(groupEntity));
@@ -180,6 +203,6 @@ class GroupServiceTest {
                 .isInstanceOf(ApiException.class)
                 .hasMessage("分组不存在");
         verify(groupRepository, times(1)).findById(groupId);
-        verify(groupRepository, never()).delete(any());
+        verify(groupRepository, never()).delete(any(GroupEntity.class));
     }
 }
\ No newline at end of file
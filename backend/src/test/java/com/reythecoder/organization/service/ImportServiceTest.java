@@ -0,0 +1,406 @@
+package com.reythecoder.organization.service;
+
+import com.reythecoder.common.exception.ApiException;
+import com.reythecoder.organization.config.ImportProperties;
+import com.reythecoder.organization.dto.response.ImportErrorRsp;
+import com.reythecoder.organization.dto.response.ImportJobRsp;
+import com.reythecoder.organization.entity.ImportErrorEntity;
+import com.reythecoder.organization.entity.ImportJobEntity;
+import com.reythecoder.organization.entity.ImportStatus;
+import com.reythecoder.organization.entity.ImportType;
+import com.reythecoder.organization.entity.PersonnelEntity;
+import com.reythecoder.organization.entity.PersonnelPositionEntity;
+import com.reythecoder.organization.entity.PositionEntity;
+import com.reythecoder.organization.repository.ImportBatchRepository.AssignmentKey;
+import com.reythecoder.organization.repository.ImportErrorRepository;
+import com.reythecoder.organization.repository.ImportJobRepository;
+import com.reythecoder.organization.service.impl.ImportServiceImpl;
+
+import io.github.robsonkades.uuidv7.UUIDv7;
+import jakarta.validation.Validation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportServiceTest {
+
+    private static final String PERSONNEL_CSV = "\uFEFFname,gender,id_card,mobile,email\r\n"
+            + "张三,M,110101199001011234,13800000001,zhangsan@company.com\r\n"
+            + "\"王, 五\",M,110101199001019012,13800000002,\"wang\"\"wu\"\"@company.com\"\r\n"
+            + "\r\n"
+            + "赵六,F,110101199001013456,13800000004,\r\n"
+            + "赵六,F,110101199001013456,13800000004,\r\n"
+            + "李四,F,110101199001015678,,lisi@company.com\r\n";
+
+    @Mock
+    private ImportJobRepository importJobRepository;
+
+    @Mock
+    private ImportErrorRepository importErrorRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ImportProperties properties;
+    private ImportServiceImpl importService;
+    private List<List<PersonnelEntity>> insertedPersonnel;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ImportProperties();
+        properties.setBatchSize(2);
+        importService = new ImportServiceImpl(importJobRepository, importErrorRepository, transactionManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), properties);
+        insertedPersonnel = new ArrayList<>();
+        lenient().when(importJobRepository.save(any(ImportJobEntity.class))).thenAnswer(i -> i.getArgument(0));
+        lenient().when(importJobRepository.recordBatch(any(), any(), anyLong(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(1);
+        lenient().when(importJobRepository.updateStatus(any(), any(), any(), any(), any())).thenReturn(1);
+        lenient().when(importJobRepository.insertPersonnel(anyList())).thenAnswer(i -> {
+            List<PersonnelEntity> batch = new ArrayList<>(i.getArgument(0));
+            insertedPersonnel.add(batch);
+            return batch.size();
+        });
+    }
+
+    @Test
+    void importCsv_ShouldStreamPersonnelInBatches() {
+        when(importJobRepository.findPersonnelIdsByIdCard(anyCollection())).thenAnswer(i -> {
+            Set<?> idCards = Set.copyOf(i.getArgument(0));
+            return idCards.contains("110101199001019012")
+                    ? Map.of("110101199001019012", UUIDv7.randomUUID()) : Collections.emptyMap();
+        });
+
+        ImportJobRsp result = importService.importCsv(ImportType.PERSONNEL, csv(PERSONNEL_CSV), null);
+
+        assertThat(result.getStatus()).isEqualTo(ImportStatus.COMPLETED);
+        assertThat(result.getType()).isEqualTo(ImportType.PERSONNEL);
+        assertThat(result.getProcessedRows()).isEqualTo(5);
+        assertThat(result.getBatchCount()).isEqualTo(3);
+        assertThat(result.getImportedCount()).isEqualTo(2);
+        assertThat(result.getSkippedCount()).isEqualTo(2);
+        assertThat(result.getErrorCount()).isEqualTo(1);
+
+        assertThat(insertedPersonnel).hasSize(2);
+        PersonnelEntity first = insertedPersonnel.get(0).get(0);
+        assertThat(first.getName()).isEqualTo("张三");
+        assertThat(first.getIdCard()).isEqualTo("110101199001011234");
+        assertThat(first.getId()).isNotNull();
+        assertThat(first.getTenantId()).isNotNull();
+        assertThat(insertedPersonnel.get(1)).extracting(PersonnelEntity::getName).containsExactly("赵六");
+
+        verify(importJobRepository, times(3)).lockImportType(ImportType.PERSONNEL);
+        verify(importJobRepository, times(2)).recordBatch(eq(result.getId()), any(UUID.class), eq(2L), eq(1L), eq(1L), eq(0L),
+                any(OffsetDateTime.class));
+        verify(importJobRepository).recordBatch(eq(result.getId()), any(UUID.class), eq(1L), eq(0L), eq(0L), eq(1L),
+                any(OffsetDateTime.class));
+        verify(importJobRepository).updateStatus(eq(result.getId()), any(UUID.class), eq(ImportStatus.COMPLETED), eq(""),
+                any(OffsetDateTime.class));
+    }
+
+    @Test
+    void importCsv_ShouldReportRejectedAndSkippedLinesWithoutValues() {
+        when(importJobRepository.findPersonnelIdsByIdCard(anyCollection())).thenAnswer(i -> {
+            Set<?> idCards = Set.copyOf(i.getArgument(0));
+            return idCards.contains("110101199001019012")
+                    ? Map.of("110101199001019012", UUIDv7.randomUUID()) : Collections.emptyMap();
+        });
+        List<ImportErrorEntity> errors = new ArrayList<>();
+        when(importJobRepository.insertErrors(anyList())).thenAnswer(i -> {
+            errors.addAll(i.getArgument(0));
+            return errors.size();
+        });
+
+        importService.importCsv(ImportType.PERSONNEL, csv(PERSONNEL_CSV), null);
+
+        assertThat(errors).extracting(ImportErrorEntity::getBatchNo).containsExactly(1, 2, 3);
+        assertThat(errors).extracting(ImportErrorEntity::getLineNumber).containsExactly(3L, 6L, 7L);
+        assertThat(errors.get(0).getMessage()).isEqualTo("已跳过：身份证号已存在");
+        assertThat(errors.get(1).getMessage()).isEqualTo("已跳过：身份证号在本批次中重复");
+        assertThat(errors.get(2).getMessage()).isEqualTo("手机号不能为空");
+        assertThat(errors).extracting(ImportErrorEntity::getMessage)
+                .noneMatch(message -> message.contains("1101011990"));
+    }
+
+    @Test
+    void importCsv_ShouldStopStoringErrorsAtQuota() {
+        properties.setMaxErrors(1);
+        when(importJobRepository.findPersonnelIdsByIdCard(anyCollection())).thenReturn(Collections.emptyMap());
+        String csv = "name,gender,idCard,mobile\n"
+                + "甲,M,,13800000001\n"
+                + "乙,M,,13800000002\n"
+                + "丙,M,,13800000003\n";
+
+        ImportJobRsp result = importService.importCsv(ImportType.PERSONNEL, csv(csv), null);
+
+        assertThat(result.getErrorCount()).isEqualTo(3);
+        verify(importJobRepository, times(1)).insertErrors(argThat(list -> list.size() == 1));
+    }
+
+    @Test
+    void importCsv_ShouldRejectUnknownColumnBeforeCreatingJob() {
+        assertThatThrownBy(() -> importService.importCsv(ImportType.PERSONNEL,
+                csv("name,salary\n张三,100\n"), null))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("不支持的列：salary");
+
+        verify(importJobRepository, never()).save(any(ImportJobEntity.class));
+    }
+
+    @Test
+    void importCsv_ShouldRejectEmptyFile() {
+        assertThatThrownBy(() -> importService.importCsv(ImportType.PERSONNEL, csv(""), null))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("导入文件为空");
+    }
+
+    @Test
+    void importCsv_ShouldResumeAfterProcessedRows() {
+        ImportJobEntity job = job(ImportType.PERSONNEL, ImportStatus.FAILED, 2);
+        when(importJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        when(importJobRepository.claim(eq(job.getId()), any(UUID.class), any(OffsetDateTime.class), any(OffsetDateTime.class),
+                eq(ImportStatus.RUNNING), eq(ImportStatus.FAILED))).thenReturn(1);
+        when(importJobRepository.findPersonnelIdsByIdCard(anyCollection())).thenReturn(Collections.emptyMap());
+
+        ImportJobRsp result = importService.importCsv(ImportType.PERSONNEL, csv(PERSONNEL_CSV), job.getId());
+
+        assertThat(result.getStatus()).isEqualTo(ImportStatus.COMPLETED);
+        assertThat(result.getProcessedRows()).isEqualTo(5);
+        assertThat(result.getBatchCount()).isEqualTo(4);
+        assertThat(insertedPersonnel).hasSize(1);
+        assertThat(insertedPersonnel.get(0)).extracting(PersonnelEntity::getName).containsExactly("赵六");
+        verify(importJobRepository).recordBatch(eq(job.getId()), any(UUID.class), eq(2L), eq(1L), eq(1L), eq(0L),
+                any(OffsetDateTime.class));
+        verify(importJobRepository, never()).save(any(ImportJobEntity.class));
+    }
+
+    @Test
+    void importCsv_ShouldAbortWhenJobIsTakenOver() {
+        when(importJobRepository.findPersonnelIdsByIdCard(anyCollection())).thenReturn(Collections.emptyMap());
+        when(importJobRepository.recordBatch(any(), any(), anyLong(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(0);
+        when(importJobRepository.updateStatus(any(), any(), any(), any(), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> importService.importCsv(ImportType.PERSONNEL, csv(PERSONNEL_CSV), null))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("导入任务已被其他请求接管")
+                .extracting("code").isEqualTo(409);
+        verify(importJobRepository, times(1)).recordBatch(any(), any(), anyLong(), anyLong(), anyLong(), anyLong(),
+                any());
+        verify(importJobRepository, never()).updateStatus(any(), any(), eq(ImportStatus.COMPLETED), any(), any());
+    }
+
+    @Test
+    void importCsv_ShouldRejectResumeOfRunningJob() {
+        ImportJobEntity job = job(ImportType.PERSONNEL, ImportStatus.RUNNING, 2);
+        when(importJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        when(importJobRepository.claim(eq(job.getId()), any(UUID.class), any(OffsetDateTime.class), any(OffsetDateTime.class),
+                eq(ImportStatus.RUNNING), eq(ImportStatus.FAILED))).thenReturn(0);
+
+        assertThatThrownBy(() -> importService.importCsv(ImportType.PERSONNEL, csv(PERSONNEL_CSV), job.getId()))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("导入任务正在执行")
+                .extracting("code").isEqualTo(409);
+    }
+
+    @Test
+    void importCsv_ShouldRejectResumeOfCompletedJob() {
+        ImportJobEntity job = job(ImportType.PERSONNEL, ImportStatus.COMPLETED, 5);
+        when(importJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+
+        assertThatThrownBy(() -> importService.importCsv(ImportType.PERSONNEL, csv(PERSONNEL_CSV), job.getId()))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("导入任务已完成")
+                .extracting("code").isEqualTo(409);
+        verify(importJobRepository, never()).claim(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void importCsv_ShouldRejectResumeWithDifferentType() {
+        ImportJobEntity job = job(ImportType.DEPARTMENT, ImportStatus.FAILED, 0);
+        when(importJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+
+        assertThatThrownBy(() -> importService.importCsv(ImportType.PERSONNEL, csv(PERSONNEL_CSV), job.getId()))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("导入任务类型不匹配");
+    }
+
+    @Test
+    void importCsv_ShouldMarkJobFailedAndKeepCheckpoint() {
+        when(importJobRepository.findPersonnelIdsByIdCard(anyCollection())).thenReturn(Collections.emptyMap());
+        when(importJobRepository.insertPersonnel(anyList()))
+                .thenReturn(2)
+                .thenThrow(new IllegalStateException("连接中断：id_card=110101199001015678"));
+
+        ImportJobRsp result = importService.importCsv(ImportType.PERSONNEL, csv(PERSONNEL_CSV), null);
+
+        assertThat(result.getStatus()).isEqualTo(ImportStatus.FAILED);
+        assertThat(result.getMessage()).isEqualTo("导入失败，请联系管理员查看服务日志");
+        assertThat(result.getProcessedRows()).isEqualTo(2);
+        assertThat(result.getBatchCount()).isEqualTo(1);
+        verify(importJobRepository).updateStatus(eq(result.getId()), any(UUID.class), eq(ImportStatus.FAILED),
+                eq("导入失败，请联系管理员查看服务日志"), any(OffsetDateTime.class));
+    }
+
+    @Test
+    void importCsv_ShouldFailOnUnterminatedQuote() {
+        String csv = "name,gender,idCard,mobile\n"
+                + "张三,M,110101199001011234,13800000001\n"
+                + "\"李四,F,110101199001015678,13800000002\n";
+
+        ImportJobRsp result = importService.importCsv(ImportType.PERSONNEL, csv(csv), null);
+
+        assertThat(result.getStatus()).isEqualTo(ImportStatus.FAILED);
+        assertThat(result.getMessage()).isEqualTo("第 3 行的引号未闭合");
+        assertThat(result.getProcessedRows()).isZero();
+    }
+
+    @Test
+    void importCsv_ShouldFailOnOverlongRecord() {
+        properties.setMaxRecordLength(30);
+        String csv = "name,gender,idCard,mobile\n"
+                + "张三,M,110101199001011234,13800000001\n";
+
+        ImportJobRsp result = importService.importCsv(ImportType.PERSONNEL, csv(csv), null);
+
+        assertThat(result.getStatus()).isEqualTo(ImportStatus.FAILED);
+        assertThat(result.getMessage()).isEqualTo("第 2 行的记录超过 30 个字符");
+        verify(importJobRepository, never()).insertPersonnel(anyList());
+    }
+
+    @Test
+    void importCsv_ShouldConvertPositionFieldsAndDefaultStatus() {
+        when(importJobRepository.findPositionIdsByCode(anyCollection()))
+                .thenReturn(Map.of("POS-OLD", UUIDv7.randomUUID()));
+        List<PositionEntity> inserted = new ArrayList<>();
+        when(importJobRepository.insertPositions(anyList())).thenAnswer(i -> {
+            inserted.addAll(i.getArgument(0));
+            return inserted.size();
+        });
+        String csv = "name,code,min_salary,max_salary,status\n"
+                + "工程师,POS-DEV,10000.50,20000,\n"
+                + "旧岗位,POS-OLD,,,0\n"
+                + "坏数据,POS-BAD,abc,,\n";
+        properties.setBatchSize(10);
+
+        ImportJobRsp result = importService.importCsv(ImportType.POSITION, csv(csv), null);
+
+        assertThat(result.getImportedCount()).isEqualTo(1);
+        assertThat(result.getSkippedCount()).isEqualTo(1);
+        assertThat(result.getErrorCount()).isEqualTo(1);
+        assertThat(inserted).hasSize(1);
+        assertThat(inserted.get(0).getMinSalary()).isEqualByComparingTo(new BigDecimal("10000.50"));
+        assertThat(inserted.get(0).getStatus()).isEqualTo(1);
+    }
+
+    @Test
+    void importCsv_ShouldResolveAssignmentsBySetLookups() {
+        UUID personnelId = UUIDv7.randomUUID();
+        UUID positionId = UUIDv7.randomUUID();
+        UUID departmentId = UUIDv7.randomUUID();
+        when(importJobRepository.findPersonnelIdsByIdCard(anyCollection()))
+                .thenReturn(Map.of("110101199001011234", personnelId));
+        when(importJobRepository.findPositionIdsByCode(anyCollection()))
+                .thenReturn(Map.of("POS-DEV", positionId));
+        when(importJobRepository.findDepartmentIdsByOrgCode(anyCollection()))
+                .thenReturn(Map.of("ORG-DEV", departmentId));
+        when(importJobRepository.findAssignments(anyCollection()))
+                .thenReturn(Set.of(new AssignmentKey(personnelId, positionId, null)));
+        List<PersonnelPositionEntity> inserted = new ArrayList<>();
+        when(importJobRepository.insertAssignments(anyList())).thenAnswer(i -> {
+            inserted.addAll(i.getArgument(0));
+            return inserted.size();
+        });
+        List<ImportErrorEntity> errors = new ArrayList<>();
+        when(importJobRepository.insertErrors(anyList())).thenAnswer(i -> {
+            errors.addAll(i.getArgument(0));
+            return errors.size();
+        });
+        String csv = "idCard,positionCode,orgCode,isPrimary,startDate,endDate\n"
+                + "110101199001011234,POS-DEV,ORG-DEV,true,2024-01-01,\n"
+                + "110101199001011234,POS-DEV,,false,,\n"
+                + "110101199001019999,POS-DEV,,,,\n"
+                + "110101199001011234,POS-NONE,,,,\n"
+                + "110101199001011234,POS-DEV,ORG-NONE,,,\n"
+                + "110101199001011234,POS-DEV,ORG-DEV,,2024-02-01,2024-01-01\n"
+                + "110101199001011234,POS-DEV,ORG-DEV,,2024/01/01,\n";
+        properties.setBatchSize(10);
+
+        ImportJobRsp result = importService.importCsv(ImportType.PERSONNEL_POSITION, csv(csv), null);
+
+        assertThat(result.getImportedCount()).isEqualTo(1);
+        assertThat(result.getSkippedCount()).isEqualTo(1);
+        assertThat(result.getErrorCount()).isEqualTo(5);
+        assertThat(inserted).hasSize(1);
+        PersonnelPositionEntity assignment = inserted.get(0);
+        assertThat(assignment.getPersonnelId()).isEqualTo(personnelId);
+        assertThat(assignment.getDepartmentId()).isEqualTo(departmentId);
+        assertThat(assignment.getIsPrimary()).isTrue();
+        assertThat(assignment.getStartDate()).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(assignment.getStatus()).isEqualTo(1);
+        assertThat(errors).extracting(ImportErrorEntity::getMessage).containsExactly(
+                "已跳过：该人员已配置此岗位",
+                "人员不存在",
+                "岗位不存在",
+                "部门不存在",
+                "结束日期不能早于开始日期",
+                "字段 startDate 格式不正确");
+        verify(importJobRepository).findAssignments(Set.of(personnelId));
+    }
+
+    @Test
+    void getImportErrors_ShouldFilterByBatch() {
+        ImportJobEntity job = job(ImportType.PERSONNEL, ImportStatus.COMPLETED, 5);
+        when(importJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        when(importErrorRepository.findByJobIdAndBatchNoOrderByIdAsc(job.getId(), 2)).thenReturn(List.of(
+                new ImportErrorEntity(1L, job.getId(), 2, 4L, "手机号不能为空", OffsetDateTime.now())));
+
+        List<ImportErrorRsp> result = importService.getImportErrors(job.getId(), 2);
+
+        assertThat(result).containsExactly(new ImportErrorRsp(2, 4L, "手机号不能为空"));
+        verify(importErrorRepository, never()).findByJobIdOrderByIdAsc(any());
+    }
+
+    @Test
+    void getImportJob_ShouldThrowWhenNotFound() {
+        UUID jobId = UUIDv7.randomUUID();
+        when(importJobRepository.findById(jobId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> importService.getImportJob(jobId))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("导入任务不存在");
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ImportJobEntity job(ImportType type, ImportStatus status, long processedRows) {
+        OffsetDateTime now = OffsetDateTime.now();
+        return new ImportJobEntity(UUIDv7.randomUUID(), type, status, UUIDv7.randomUUID(), processedRows, 2, processedRows, 0, 0, "",
+                now, now, UUID.fromString("00000000-0000-0000-0000-000000000000"));
+    }
+}
@@ -1,29 +1,69 @@
 package com.reythecoder.organization.service;
 
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.rank.RankRebalanceProperties;
+import com.reythecoder.common.rank.RankRebalanceReport;
+import com.reythecoder.common.rank.RankRebalancer;
+import com.reythecoder.common.utils.CursorTokenUtils;
+import com.reythecoder.common.utils.LexoRankUtils;
+import com.reythecoder.organization.cache.OrgTreeIndex;
+import com.reythecoder.organization.config.OrgTreeProperties;
+import com.reythecoder.organization.dto.request.BulkTreeNodeItem;
+import com.reythecoder.organization.dto.request.EntityRefItem;
+import com.reythecoder.organization.dto.request.ReorderMoveItem;
+import com.reythecoder.organization.dto.request.TreeExportFormat;
+import com.reythecoder.organization.dto.response.BreadcrumbItem;
+import com.reythecoder.organization.dto.response.BreadcrumbRsp;
+import com.reythecoder.organization.dto.response.BulkCreateTreeNodeRsp;
+import com.reythecoder.organization.dto.response.CloneTreeNodeRsp;
+import com.reythecoder.organization.dto.response.EntityNodesRsp;
+import com.reythecoder.organization.dto.response.RemoveNodeRsp;
+import com.reythecoder.organization.dto.response.ReorderTreeNodesRsp;
+import com.reythecoder.organization.dto.response.TreeChangeItem;
+import com.reythecoder.organization.dto.response.TreeChangesRsp;
 import com.reythecoder.organization.dto.response.TreeNodeRsp;
+import com.reythecoder.organization.dto.response.TreeStatistics;
 import com.reythecoder.organization.entity.EntityType;
+import com.reythecoder.organization.entity.OrgTreeChangeEntity;
 import com.reythecoder.organization.entity.OrgTreeNodeEntity;
+import com.reythecoder.organization.entity.OrgTreeStatsEntity;
+import com.reythecoder.organization.entity.TreeChangeType;
 import com.reythecoder.common.exception.ApiException;
 import com.reythecoder.organization.mapper.OrgTreeNodeMapper;
+import com.reythecoder.organization.repository.OrgTreeChangeLogRepository;
+import com.reythecoder.organization.repository.OrgTreeRemovalRepository;
 import com.reythecoder.organization.repository.OrgTreeNodeRepository;
+import com.reythecoder.organization.repository.OrgTreeStatsRepository;
 import com.reythecoder.organization.service.impl.OrgTreeNodeServiceImpl;
+import com.reythecoder.organization.service.impl.SiblingRankAllocator;
 
 import io.github.robsonkades.uuidv7.UUIDv7;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -40,9 +80,39 @@ class OrgTreeNodeServiceTest {
     @Mock
     private OrgTreeNodeRepository repository;
 
+    @Mock
+    private OrgTreeStatsRepository statsRepository;
+
+    @Mock
+    private OrgTreeChangeLogRepository changeLogRepository;
+
+    @Mock
+    private OrgTreeRemovalRepository removalRepository;
+
     @Mock
     private OrgTreeNodeMapper mapper;
 
+    @Mock
+    private OrgTreeIndex treeIndex;
+
+    @Mock
+    private SiblingRankAllocator rankAllocator;
+
+    @Mock
+    private RankRebalancer rankRebalancer;
+
+    @Spy
+    private RankRebalanceProperties rankProperties = new RankRebalanceProperties();
+
+    @Spy
+    private OrgTreeProperties properties = new OrgTreeProperties();
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TaskExecutor taskExecutor;
+
     @InjectMocks
     private OrgTreeNodeServiceImpl service;
 
@@ -100,6 +170,11 @@ class OrgTreeNodeServiceTest {
         grandChildNode.setCreateTime(OffsetDateTime.now());
         grandChildNode.setUpdateTime(OffsetDateTime.now());
         grandChildNode.setTenantId(UUID.fromString("00000000-0000-0000-0000-000000000000"));
+
+        // Rank allocation is covered by SiblingRankAllocatorTest
+        when(rankAllocator.allocateAppend(any(UUID.class))).thenReturn("b0");
+        when(rankAllocator.allocateAppend(any(UUID.class), anyInt()))
+                .thenAnswer(invocation -> LexoRankUtils.spread(null, null, invocation.getArgument(1)));
     }
 
     // =====================================================
@@ -119,7 +194,7 @@ class OrgTreeNodeServiceTest {
         UUID entityId = UUIDv7.randomUUID();
         when(repository.findByParentIdAndEntityTypeAndEntityId(eq(parentId), eq(EntityType.DEPARTMENT), any()))
                 .thenReturn(Optional.empty());
-        when(repository.findById(parentId)).thenReturn(Optional.empty());
+        when(repository.findLiveById(parentId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> service.createNode(parentId, EntityType.DEPARTMENT, entityId, "Test"))
                 .isInstanceOf(ApiException.class)
@@ -143,8 +218,8 @@ class OrgTreeNodeServiceTest {
 
         when(repository.findByParentIdAndEntityTypeAndEntityId(eq(rootNodeId), eq(EntityType.DEPARTMENT), eq(entityId)))
                 .thenReturn(Optional.empty());
-        when(repository.findById(rootNodeId)).thenReturn(Optional.of(rootNode));
-        when(repository.findByParentIdOrderBySortRankAsc(rootNodeId)).thenReturn(List.of(childNode));
+        when(repository.findLiveById(rootNodeId)).thenReturn(Optional.of(rootNode));
+        when(rankAllocator.allocateAppend(rootNodeId)).thenReturn("b0");
         when(repository.save(any(OrgTreeNodeEntity.class))).thenAnswer(invocation -> {
             OrgTreeNodeEntity entity = invocation.getArgument(0);
             return entity;
@@ -163,6 +238,10 @@ class OrgTreeNodeServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getName()).isEqualTo(alias);
         assertThat(result.getType()).isEqualTo(EntityType.DEPARTMENT);
+        verify(statsRepository, times(1)).initNode(result.getId());
+        verify(statsRepository, times(1)).addToAncestors(result.getId(), 0, 1, 0);
+        verify(repository).save(argThat(entity -> "b0".equals(entity.getSortRank())));
+        verify(repository, never()).findByParentIdOrderBySortRankAsc(any());
     }
 
     @Test
@@ -196,7 +275,7 @@ class OrgTreeNodeServiceTest {
     @Test
     void createNodeAfter_shouldThrowExceptionWhenAfterNodeNotFound() {
         UUID afterNodeId = UUIDv7.randomUUID();
-        when(repository.findById(afterNodeId)).thenReturn(Optional.empty());
+        when(repository.findLiveById(afterNodeId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> service.createNodeAfter(rootNodeId, EntityType.DEPARTMENT, UUIDv7.randomUUID(), "Test", afterNodeId))
                 .isInstanceOf(ApiException.class)
@@ -210,7 +289,7 @@ class OrgTreeNodeServiceTest {
         otherNode.setParentId(UUIDv7.randomUUID()); // Different parent
         otherNode.setSortRank("b0");
 
-        when(repository.findById(otherNode.getId())).thenReturn(Optional.of(otherNode));
+        when(repository.findLiveById(otherNode.getId())).thenReturn(Optional.of(otherNode));
 
         assertThatThrownBy(() -> service.createNodeAfter(rootNodeId, EntityType.DEPARTMENT, UUIDv7.randomUUID(), "Test", otherNode.getId()))
                 .isInstanceOf(ApiException.class)
@@ -223,11 +302,11 @@ class OrgTreeNodeServiceTest {
         UUID entityId = UUIDv7.randomUUID();
         String alias = "New Node After";
 
-        when(repository.findById(afterNodeId)).thenReturn(Optional.of(childNode));
-        when(repository.findById(rootNodeId)).thenReturn(Optional.of(rootNode));
+        when(repository.findLiveById(afterNodeId)).thenReturn(Optional.of(childNode));
+        when(repository.findLiveById(rootNodeId)).thenReturn(Optional.of(rootNode));
         when(repository.findByParentIdAndEntityTypeAndEntityId(eq(rootNodeId), eq(EntityType.DEPARTMENT), eq(entityId)))
                 .thenReturn(Optional.empty());
-        when(repository.findByParentIdOrderBySortRankAsc(rootNodeId)).thenReturn(List.of(childNode));
+        when(rankAllocator.allocateAfter(rootNodeId, afterNodeId)).thenReturn("a0i");
         when(repository.save(any(OrgTreeNodeEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(mapper.toTreeNodeRsp(any(OrgTreeNodeEntity.class))).thenAnswer(invocation -> {
             OrgTreeNodeEntity entity = invocation.getArgument(0);
@@ -242,6 +321,132 @@ class OrgTreeNodeServiceTest {
 
         assertThat(result).isNotNull();
         assertThat(result.getName()).isEqualTo(alias);
+        verify(repository).save(argThat(entity -> "a0i".equals(entity.getSortRank())));
+        verify(repository, never()).findByParentIdOrderBySortRankAsc(any());
+    }
+
+    // =====================================================
+    // createNodes tests
+    // =====================================================
+
+    @Test
+    void createNodes_shouldComputePositionsInMemoryAndBatchInsert() {
+        UUID sectionEntityId = UUIDv7.randomUUID();
+        BulkTreeNodeItem section = BulkTreeNodeItem.builder()
+                .ref("section").entityType(EntityType.DEPARTMENT).entityId(sectionEntityId).alias("Section")
+                .children(List.of(personnelItem("P1"), personnelItem("P2")))
+                .build();
+        BulkTreeNodeItem flatChild = personnelItem("P3");
+        flatChild.setParentRef("section");
+
+        when(repository.findLiveById(childNodeId)).thenReturn(Optional.of(childNode));
+        when(rankAllocator.allocateAppend(childNodeId, 1)).thenReturn(List.of("n0"));
+        when(repository.findByParentIdAndEntityIdIn(eq(childNodeId), any())).thenReturn(List.of());
+
+        BulkCreateTreeNodeRsp result = service.createNodes(childNodeId, List.of(section, flatChild));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OrgTreeNodeEntity>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(1)).batchInsert(inserted.capture(), anyInt());
+        List<OrgTreeNodeEntity> rows = inserted.getValue();
+
+        assertThat(result.getCreatedCount()).isEqualTo(4);
+        assertThat(result.getNodeIds()).hasSize(4);
+        assertThat(rows).hasSize(4);
+
+        OrgTreeNodeEntity sectionRow = rows.get(0);
+        assertThat(sectionRow.getEntityId()).isEqualTo(sectionEntityId);
+        assertThat(sectionRow.getParentId()).isEqualTo(childNodeId);
+        assertThat(sectionRow.getLevel()).isEqualTo(2);
+        assertThat(sectionRow.getPath()).containsExactly(rootNodeId, childNodeId);
+        assertThat(sectionRow.getSortRank()).isEqualTo("n0");
+
+        List<OrgTreeNodeEntity> personnel = rows.subList(1, 4);
+        assertThat(personnel).allSatisfy(row -> {
+            assertThat(row.getParentId()).isEqualTo(sectionRow.getId());
+            assertThat(row.getLevel()).isEqualTo(3);
+            assertThat(row.getPath()).containsExactly(rootNodeId, childNodeId, sectionRow.getId());
+        });
+        assertThat(personnel).extracting(OrgTreeNodeEntity::getAlias).containsExactly("P1", "P2", "P3");
+        assertThat(personnel).extracting(OrgTreeNodeEntity::getSortRank).isSorted();
+
+        verify(repository, times(1)).batchInsertStatistics(any(), anyInt());
+        verify(statsRepository, times(1)).addToAncestors(sectionRow.getId(), 0, 1, 3);
+    }
+
+    @Test
+    void createNodes_shouldRejectEntitiesAlreadyUnderParent() {
+        BulkTreeNodeItem item = personnelItem("P1");
+        OrgTreeNodeEntity existing = new OrgTreeNodeEntity();
+        existing.setEntityType(EntityType.PERSONNEL);
+        existing.setEntityId(item.getEntityId());
+
+        when(repository.findLiveById(childNodeId)).thenReturn(Optional.of(childNode));
+        when(repository.findByParentIdAndEntityIdIn(eq(childNodeId), any())).thenReturn(List.of(existing));
+
+        assertThatThrownBy(() -> service.createNodes(childNodeId, List.of(item)))
+                .isInstanceOf(ApiException.class)
+                .hasMessageStartingWith("该节点已存在于父节点下");
+
+        verify(repository, never()).batchInsert(any(), anyInt());
+    }
+
+    @Test
+    void createNodes_shouldRejectDuplicatesWithinRequest() {
+        BulkTreeNodeItem item = personnelItem("P1");
+        BulkTreeNodeItem duplicate = personnelItem("P1 again");
+        duplicate.setEntityId(item.getEntityId());
+
+        when(repository.findLiveById(childNodeId)).thenReturn(Optional.of(childNode));
+
+        assertThatThrownBy(() -> service.createNodes(childNodeId, List.of(item, duplicate)))
+                .isInstanceOf(ApiException.class)
+                .hasMessageStartingWith("批量数据中存在重复节点");
+
+        verify(repository, never()).batchInsert(any(), anyInt());
+    }
+
+    @Test
+    void createNodes_shouldRejectUnknownAndCyclicParentRefs() {
+        when(repository.findLiveById(childNodeId)).thenReturn(Optional.of(childNode));
+
+        BulkTreeNodeItem orphan = personnelItem("Orphan");
+        orphan.setParentRef("missing");
+        assertThatThrownBy(() -> service.createNodes(childNodeId, List.of(orphan)))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("父节点引用不存在：missing");
+
+        BulkTreeNodeItem first = personnelItem("First");
+        first.setRef("first");
+        first.setParentRef("second");
+        BulkTreeNodeItem second = personnelItem("Second");
+        second.setRef("second");
+        second.setParentRef("first");
+        assertThatThrownBy(() -> service.createNodes(childNodeId, List.of(first, second)))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("节点的父节点引用存在循环");
+
+        verify(repository, never()).batchInsert(any(), anyInt());
+    }
+
+    @Test
+    void createNodes_shouldRejectRequestsAboveMaxNodes() {
+        properties.getBulk().setMaxNodes(2);
+        when(repository.findLiveById(childNodeId)).thenReturn(Optional.of(childNode));
+
+        List<BulkTreeNodeItem> items = List.of(personnelItem("P1"), personnelItem("P2"), personnelItem("P3"));
+
+        assertThatThrownBy(() -> service.createNodes(childNodeId, items))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("批量创建的节点数量不能超过 2 个");
+    }
+
+    private BulkTreeNodeItem personnelItem(String alias) {
+        return BulkTreeNodeItem.builder()
+                .entityType(EntityType.PERSONNEL)
+                .entityId(UUIDv7.randomUUID())
+                .alias(alias)
+                .build();
     }
 
     // =====================================================
@@ -251,7 +456,7 @@ class OrgTreeNodeServiceTest {
     @Test
     void updateNode_shouldThrowExceptionWhenNodeNotFound() {
         UUID nodeId = UUIDv7.randomUUID();
-        when(repository.findById(nodeId)).thenReturn(Optional.empty());
+        when(repository.findLiveById(nodeId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> service.updateNode(nodeId, "New Alias", "b0"))
                 .isInstanceOf(ApiException.class)
@@ -261,7 +466,7 @@ class OrgTreeNodeServiceTest {
     @Test
     void updateNode_shouldUpdateNodeAliasSuccessfully() {
         String newAlias = "Updated Alias";
-        when(repository.findById(rootNodeId)).thenReturn(Optional.of(rootNode));
+        when(repository.findLiveById(rootNodeId)).thenReturn(Optional.of(rootNode));
         when(repository.save(any(OrgTreeNodeEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(mapper.toTreeNodeRsp(any(OrgTreeNodeEntity.class))).thenAnswer(invocation -> {
             OrgTreeNodeEntity entity = invocation.getArgument(0);
@@ -275,6 +480,7 @@ class OrgTreeNodeServiceTest {
 
         assertThat(result).isNotNull();
         assertThat(result.getName()).isEqualTo(newAlias);
+        verify(changeLogRepository, times(1)).recordNodes("UPDATED", List.of(rootNodeId));
     }
 
     // =====================================================
@@ -284,7 +490,7 @@ class OrgTreeNodeServiceTest {
     @Test
     void moveNode_shouldThrowExceptionWhenMovingRootNode() {
         UUID newParentId = UUIDv7.randomUUID();
-        when(repository.findById(rootNodeId)).thenReturn(Optional.of(rootNode));
+        when(repository.findLiveById(rootNodeId)).thenReturn(Optional.of(rootNode));
 
         assertThatThrownBy(() -> service.moveNode(rootNodeId, newParentId))
                 .isInstanceOf(ApiException.class)
@@ -294,8 +500,8 @@ class OrgTreeNodeServiceTest {
     @Test
     void moveNode_shouldThrowExceptionWhenNewParentNotFound() {
         UUID newParentId = UUIDv7.randomUUID();
-        when(repository.findById(childNodeId)).thenReturn(Optional.of(childNode));
-        when(repository.findById(newParentId)).thenReturn(Optional.empty());
+        when(repository.findLiveById(childNodeId)).thenReturn(Optional.of(childNode));
+        when(repository.findLiveById(newParentId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> service.moveNode(childNodeId, newParentId))
                 .isInstanceOf(ApiException.class)
@@ -304,8 +510,8 @@ class OrgTreeNodeServiceTest {
 
     @Test
     void moveNode_shouldThrowExceptionWhenMovingToDescendant() {
-        when(repository.findById(childNodeId)).thenReturn(Optional.of(childNode));
-        when(repository.findById(grandChildNodeId)).thenReturn(Optional.of(grandChildNode));
+        when(repository.findLiveById(childNodeId)).thenReturn(Optional.of(childNode));
+        when(repository.findLiveById(grandChildNodeId)).thenReturn(Optional.of(grandChildNode));
 
         // Try to move child to its own grandchild (circular reference)
         assertThatThrownBy(() -> service.moveNode(childNodeId, grandChildNodeId))
@@ -321,9 +527,9 @@ class OrgTreeNodeServiceTest {
         newParent.setLevel(0);
         newParent.setPath(new UUID[0]);
 
-        when(repository.findById(childNodeId)).thenReturn(Optional.of(childNode));
-        when(repository.findById(newParentId)).thenReturn(Optional.of(newParent));
-        when(repository.findByParentIdOrderBySortRankAsc(newParentId)).thenReturn(List.of());
+        when(repository.findLiveById(childNodeId)).thenReturn(Optional.of(childNode));
+        when(repository.findLiveById(newParentId)).thenReturn(Optional.of(newParent));
+        when(rankAllocator.allocateAppend(newParentId)).thenReturn("a0");
         when(repository.save(any(OrgTreeNodeEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(mapper.toTreeNodeRsp(any(OrgTreeNodeEntity.class))).thenAnswer(invocation -> {
             OrgTreeNodeEntity entity = invocation.getArgument(0);
@@ -336,6 +542,116 @@ class OrgTreeNodeServiceTest {
         TreeNodeRsp result = service.moveNode(childNodeId, newParentId);
 
         assertThat(result).isNotNull();
+        verify(repository, times(1)).repathDescendants(childNodeId);
+        verify(changeLogRepository, times(1)).recordNodes("MOVED", List.of(childNodeId));
+        verify(rankAllocator, times(1)).allocateAppend(newParentId);
+        verify(repository, never()).findByParentIdOrderBySortRankAsc(any());
+    }
+
+    @Test
+    void moveNode_shouldMoveSubtreeCountsBetweenAncestors() {
+        UUID newParentId = UUIDv7.randomUUID();
+        OrgTreeNodeEntity newParent = new OrgTreeNodeEntity();
+        newParent.setId(newParentId);
+        newParent.setLevel(0);
+        newParent.setPath(new UUID[0]);
+
+        when(repository.findLiveById(childNodeId)).thenReturn(Optional.of(childNode));
+        when(repository.findLiveById(newParentId)).thenReturn(Optional.of(newParent));
+        when(rankAllocator.allocateAppend(newParentId)).thenReturn("a0");
+        when(repository.save(any(OrgTreeNodeEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(statsRepository.findById(childNodeId))
+                .thenReturn(Optional.of(new OrgTreeStatsEntity(childNodeId, 1, 2, 30)));
+
+        service.moveNode(childNodeId, newParentId);
+
+        // The department itself plus its subtree leaves the old ancestors and joins the new ones
+        var order = inOrder(statsRepository, repository);
+        order.verify(statsRepository).addToAncestors(childNodeId, -1, -3, -30);
+        order.verify(repository).save(childNode);
+        order.verify(statsRepository).addToAncestors(childNodeId, 1, 3, 30);
+    }
+
+    // =====================================================
+    // cloneSubTree tests
+    // =====================================================
+
+    @Test
+    void cloneSubTree_shouldRejectRootNode() {
+        when(repository.findLiveById(rootNodeId)).thenReturn(Optional.of(rootNode));
+
+        assertThatThrownBy(() -> service.cloneSubTree(rootNodeId, childNodeId, null))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("不能复制根节点");
+        verify(repository, never()).cloneSubTree(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void cloneSubTree_shouldRejectMissingTargetAndDuplicateEntity() {
+        UUID missingId = UUIDv7.randomUUID();
+        when(repository.findLiveById(childNodeId)).thenReturn(Optional.of(childNode));
+        when(repository.findLiveById(missingId)).thenReturn(Optional.empty());
+        when(repository.findLiveById(rootNodeId)).thenReturn(Optional.of(rootNode));
+        when(repository.findByParentIdAndEntityTypeAndEntityId(rootNodeId, EntityType.DEPARTMENT,
+                childNode.getEntityId())).thenReturn(Optional.of(childNode));
+
+        assertThatThrownBy(() -> service.cloneSubTree(childNodeId, missingId, null))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("目标父节点不存在");
+        assertThatThrownBy(() -> service.cloneSubTree(childNodeId, rootNodeId, null))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("该节点已存在于父节点下");
+        verify(repository, never()).cloneSubTree(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void cloneSubTree_shouldCopyInOneStatementAndRollUpCounts() {
+        UUID targetId = UUIDv7.randomUUID();
+        OrgTreeNodeEntity target = new OrgTreeNodeEntity();
+        target.setId(targetId);
+        target.setParentId(rootNodeId);
+        target.setEntityType(EntityType.GROUP);
+        target.setLevel(1);
+        target.setPath(new UUID[]{rootNodeId});
+        UUID cloneId = UUIDv7.randomUUID();
+        UUID clonedChildId = UUIDv7.randomUUID();
+
+        when(repository.findLiveById(childNodeId)).thenReturn(Optional.of(childNode));
+        when(repository.findLiveById(targetId)).thenReturn(Optional.of(target));
+        when(rankAllocator.allocateAppend(targetId)).thenReturn("m0");
+        when(repository.cloneSubTree(childNodeId, Integer.MAX_VALUE, target, "m0"))
+                .thenReturn(List.of(cloneId, clonedChildId));
+        when(statsRepository.findById(cloneId))
+                .thenReturn(Optional.of(new OrgTreeStatsEntity(cloneId, 0, 0, 1)));
+
+        CloneTreeNodeRsp result = service.cloneSubTree(childNodeId, targetId, -1);
+
+        assertThat(result.getSourceId()).isEqualTo(childNodeId);
+        assertThat(result.getNodeId()).isEqualTo(cloneId);
+        assertThat(result.getParentId()).isEqualTo(targetId);
+        assertThat(result.getCreatedCount()).isEqualTo(2);
+        var order = inOrder(repository, statsRepository);
+        order.verify(repository).cloneSubTree(childNodeId, Integer.MAX_VALUE, target, "m0");
+        order.verify(statsRepository).rebuildSubTree(cloneId);
+        order.verify(statsRepository).addToAncestors(cloneId, 0, 1, 1);
+        verify(changeLogRepository).recordNodes("CREATED", List.of(cloneId, clonedChildId));
+        verify(repository, never()).save(any(OrgTreeNodeEntity.class));
+    }
+
+    @Test
+    void cloneSubTree_shouldBoundCopiedLevelsByDepth() {
+        when(repository.findLiveById(childNodeId)).thenReturn(Optional.of(childNode));
+        when(repository.findLiveById(rootNodeId)).thenReturn(Optional.of(rootNode));
+        when(rankAllocator.allocateAppend(rootNodeId)).thenReturn("m0");
+        UUID cloneId = UUIDv7.randomUUID();
+        when(repository.cloneSubTree(any(), anyInt(), any(), any())).thenReturn(List.of(cloneId));
+
+        service.cloneSubTree(childNodeId, rootNodeId, 2);
+        service.cloneSubTree(childNodeId, rootNodeId, 0);
+
+        // depth counts the copied root: the child sits at level 1
+        verify(repository).cloneSubTree(childNodeId, 2, rootNode, "m0");
+        verify(repository).cloneSubTree(childNodeId, 1, rootNode, "m0");
     }
 
     // =====================================================
@@ -346,7 +662,7 @@ class OrgTreeNodeServiceTest {
     void moveNodeAfter_shouldThrowExceptionWhenMovingRootNode() {
         UUID newParentId = UUIDv7.randomUUID();
         UUID afterNodeId = UUIDv7.randomUUID();
-        when(repository.findById(rootNodeId)).thenReturn(Optional.of(rootNode));
+        when(repository.findLiveById(rootNodeId)).thenReturn(Optional.of(rootNode));
 
         assertThatThrownBy(() -> service.moveNodeAfter(rootNodeId, newParentId, afterNodeId))
                 .isInstanceOf(ApiException.class)
@@ -356,8 +672,8 @@ class OrgTreeNodeServiceTest {
     @Test
     void moveNodeAfter_shouldThrowExceptionWhenAfterNodeNotFound() {
         UUID afterNodeId = UUIDv7.randomUUID();
-        when(repository.findById(childNodeId)).thenReturn(Optional.of(childNode));
-        when(repository.findById(afterNodeId)).thenReturn(Optional.empty());
+        when(repository.findLiveById(childNodeId)).thenReturn(Optional.of(childNode));
+        when(repository.findLiveById(afterNodeId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> service.moveNodeAfter(childNodeId, rootNodeId, afterNodeId))
                 .isInstanceOf(ApiException.class)
@@ -370,7 +686,7 @@ class OrgTreeNodeServiceTest {
 
     @Test
     void removeNode_shouldThrowExceptionWhenRemovingRootNode() {
-        when(repository.findById(rootNodeId)).thenReturn(Optional.of(rootNode));
+        when(repository.findLiveById(rootNodeId)).thenReturn(Optional.of(rootNode));
 
         assertThatThrownBy(() -> service.removeNode(rootNodeId))
                 .isInstanceOf(ApiException.class)
@@ -380,7 +696,7 @@ class OrgTreeNodeServiceTest {
     @Test
     void removeNode_shouldThrowExceptionWhenNodeNotFound() {
         UUID nodeId = UUIDv7.randomUUID();
-        when(repository.findById(nodeId)).thenReturn(Optional.empty());
+        when(repository.findLiveById(nodeId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> service.removeNode(nodeId))
                 .isInstanceOf(ApiException.class)
@@ -389,15 +705,314 @@ class OrgTreeNodeServiceTest {
 
     @Test
     void removeNode_shouldRemoveNodeAndDescendantsSuccessfully() {
-        when(repository.findById(childNodeId)).thenReturn(Optional.of(childNode));
-        when(repository.findAllDescendants(childNodeId)).thenReturn(List.of(grandChildNode));
-        doNothing().when(repository).deleteAll(List.of(grandChildNode));
-        doNothing().when(repository).delete(childNode);
+        when(repository.findLiveById(childNodeId)).thenReturn(Optional.of(childNode));
+        when(repository.countDescendants(childNodeId)).thenReturn(1L);
+        when(repository.deleteSubTree(childNodeId)).thenReturn(2);
+        when(statsRepository.findById(childNodeId))
+                .thenReturn(Optional.of(new OrgTreeStatsEntity(childNodeId, 0, 0, 1)));
+
+        RemoveNodeRsp result = service.removeNode(childNodeId);
+
+        assertThat(result.getRemovedCount()).isEqualTo(2);
+        assertThat(result.isAsync()).isFalse();
+        verify(repository, times(1)).deleteSubTree(childNodeId);
+        verify(statsRepository, times(1)).addToAncestors(childNodeId, 0, -1, -1);
+        verify(repository, never()).deleteDescendantBatch(any(), anyInt());
+        verify(repository, never()).findAllDescendants(any());
+        verify(treeIndex, times(1)).catchUp();
+    }
+
+    @Test
+    void removeNode_shouldDeleteLargeSubtreeInBatches() {
+        properties.getRemove().setBatchSize(2);
+        when(repository.findLiveById(childNodeId)).thenReturn(Optional.of(childNode));
+        when(repository.countDescendants(childNodeId)).thenReturn(5L);
+        when(repository.deleteDescendantBatch(childNodeId, 2)).thenReturn(2, 2, 1);
+        when(repository.deleteSubTree(childNodeId)).thenReturn(1);
+
+        RemoveNodeRsp result = service.removeNode(childNodeId);
+
+        assertThat(result.getRemovedCount()).isEqualTo(6);
+        verify(repository, times(3)).deleteDescendantBatch(childNodeId, 2);
+        verify(repository, times(1)).deleteSubTree(childNodeId);
+    }
+
+    @Test
+    void rebalanceRanks_shouldRebalanceEachOversizedParent() {
+        UUID otherParentId = UUIDv7.randomUUID();
+        when(rankRebalancer.findOversizedGroups(SiblingRankAllocator.ORG_TREE_RANKS, 8, 1000))
+                .thenReturn(List.of(new Object[]{rootNodeId}, new Object[]{otherParentId}));
+        when(rankAllocator.rebalance(any(UUID.class)))
+                .thenReturn(new RankRebalanceReport("org_tree", 1, 4, 40, 8, 12, 2));
+
+        RankRebalanceReport report = service.rebalanceRanks();
+
+        assertThat(report.getGroups()).isEqualTo(2);
+        assertThat(report.getRows()).isEqualTo(8);
+        assertThat(report.getReclaimedChars()).isEqualTo(64);
+        verify(rankAllocator, times(1)).rebalance(rootNodeId);
+        verify(rankAllocator, times(1)).rebalance(otherParentId);
+    }
+
+    // =====================================================
+    // exportSubTree tests
+    // =====================================================
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportSubTree_shouldWriteEscapedNdjsonLines() {
+        childNode.setAlias("研发 \"一\"部\n");
+        when(repository.streamSubTree(eq(rootNodeId), eq(Integer.MAX_VALUE), isNull(), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<OrgTreeNodeEntity> consumer = invocation.getArgument(4);
+                    consumer.accept(childNode);
+                    return 1L;
+                });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = service.exportSubTree(rootNodeId, null, null, TreeExportFormat.NDJSON, out);
+
+        assertThat(count).isEqualTo(1);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":\"" + childNodeId
+                + "\",\"parentId\":\"" + rootNodeId
+                + "\",\"type\":\"DEPARTMENT\",\"entityId\":\"" + childNode.getEntityId()
+                + "\",\"name\":\"研发 \\\"一\\\"部\\n\",\"level\":1,\"sortRank\":\"a0\"}\n");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportSubTree_shouldWriteCsvWithHeaderAndQuotedNames() {
+        childNode.setAlias("研发,\"一\"部");
+        when(repository.streamSubTree(eq(rootNodeId), eq(2), eq(EntityType.DEPARTMENT), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<OrgTreeNodeEntity> consumer = invocation.getArgument(4);
+                    consumer.accept(childNode);
+                    return 1L;
+                });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.exportSubTree(rootNodeId, 2, EntityType.DEPARTMENT, TreeExportFormat.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,parent_id,type,entity_id,name,level,sort_rank\r\n"
+                        + childNodeId + "," + rootNodeId + ",DEPARTMENT," + childNode.getEntityId()
+                        + ",\"研发,\"\"一\"\"部\",1,a0\r\n");
+    }
+
+    // =====================================================
+    // change feed tests
+    // =====================================================
+
+    @Test
+    void getChanges_shouldReturnChangesAndContinuationVersion() {
+        properties.getChanges().setDefaultSize(2);
+        when(changeLogRepository.findLatestVersion()).thenReturn(7L);
+        when(changeLogRepository.findChangesSince(3L, 3)).thenReturn(List.of(
+                changeRow(4L, TreeChangeType.CREATED), changeRow(5L, TreeChangeType.MOVED),
+                changeRow(7L, TreeChangeType.REMOVED)));
+
+        TreeChangesRsp result = service.getChanges(3L, null);
+
+        assertThat(result.getChanges()).extracting(TreeChangeItem::getVersion).containsExactly(4L, 5L);
+        assertThat(result.getChanges().get(1).getChangeType()).isEqualTo(TreeChangeType.MOVED);
+        assertThat(result.isHasMore()).isTrue();
+        assertThat(result.getVersion()).isEqualTo(5L);
+        assertThat(result.getLatestVersion()).isEqualTo(7L);
+    }
+
+    @Test
+    void getChanges_shouldSkipChangesCommittedAfterLatestVersion() {
+        when(changeLogRepository.findLatestVersion()).thenReturn(5L);
+        when(changeLogRepository.findChangesSince(4L, 1001)).thenReturn(List.of(
+                changeRow(5L, TreeChangeType.UPDATED), changeRow(6L, TreeChangeType.UPDATED)));
+
+        TreeChangesRsp result = service.getChanges(4L, null);
+
+        assertThat(result.getChanges()).extracting(TreeChangeItem::getVersion).containsExactly(5L);
+        assertThat(result.getVersion()).isEqualTo(5L);
+    }
+
+    @Test
+    void getSubtreeVersion_shouldIncludeAppliedVersionWhenIndexIsReady() {
+        when(statsRepository.findSubtreeVersion(childNodeId)).thenReturn(4L);
+        when(treeIndex.isReady()).thenReturn(true);
+        when(treeIndex.appliedVersion()).thenReturn(9L);
+
+        assertThat(service.getSubtreeVersion(childNodeId)).isEqualTo("4.9");
+        verify(treeIndex, never()).catchUp();
+    }
+
+    @Test
+    void getSubtreeVersion_shouldReturnSubtreeVersionWithoutIndex() {
+        when(statsRepository.findSubtreeVersion(childNodeId)).thenReturn(4L);
+
+        assertThat(service.getSubtreeVersion(childNodeId)).isEqualTo("4");
+    }
+
+    @Test
+    void getSubtreeVersion_shouldReturnNullForUnknownNode() {
+        when(statsRepository.findSubtreeVersion(childNodeId)).thenReturn(null);
+
+        assertThat(service.getSubtreeVersion(childNodeId)).isNull();
+    }
+
+    @Test
+    void moveNode_shouldBumpSubtreeVersionsOnBothPaths() {
+        UUID newParentId = UUIDv7.randomUUID();
+        OrgTreeNodeEntity newParent = new OrgTreeNodeEntity();
+        newParent.setId(newParentId);
+        newParent.setLevel(0);
+        newParent.setPath(new UUID[0]);
+        when(repository.findLiveById(childNodeId)).thenReturn(Optional.of(childNode));
+        when(repository.findLiveById(newParentId)).thenReturn(Optional.of(newParent));
+        when(rankAllocator.allocateAppend(newParentId)).thenReturn("a0");
+        when(repository.save(any(OrgTreeNodeEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapper.toTreeNodeRsp(any(OrgTreeNodeEntity.class))).thenReturn(new TreeNodeRsp());
+
+        service.moveNode(childNodeId, newParentId);
+
+        // Once under the old parent, once under the new one
+        verify(statsRepository, times(2)).touchPaths(List.of(childNodeId));
+        verify(statsRepository, times(1)).touchDescendants(childNodeId);
+    }
+
+    @Test
+    void getChanges_shouldRejectNegativeVersion() {
+        assertThatThrownBy(() -> service.getChanges(-1L, null))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("版本号不能为负数");
+    }
+
+    @Test
+    void removeNode_shouldRecordRemovalOfSubtreeRoot() {
+        when(repository.findLiveById(childNodeId)).thenReturn(Optional.of(childNode));
+        when(repository.countDescendants(childNodeId)).thenReturn(0L);
+        when(repository.deleteSubTree(childNodeId)).thenReturn(1);
 
         service.removeNode(childNodeId);
 
-        verify(repository, times(1)).deleteAll(List.of(grandChildNode));
-        verify(repository, times(1)).delete(childNode);
+        verify(changeLogRepository, times(1)).recordNodes("REMOVED", List.of(childNodeId));
+    }
+
+    // =====================================================
+    // reorderChildren tests
+    // =====================================================
+
+    @Test
+    void reorderChildren_shouldUpdateOnlyMovedSiblingsInOneBatch() {
+        List<OrgTreeNodeEntity> siblings = createSiblings(4);
+        List<UUID> ids = siblings.stream().map(OrgTreeNodeEntity::getId).toList();
+        when(repository.findLiveById(rootNodeId)).thenReturn(Optional.of(rootNode));
+        when(repository.findByParentIdOrderBySortRankAsc(rootNodeId)).thenReturn(siblings);
+
+        List<UUID> target = List.of(ids.get(3), ids.get(0), ids.get(1), ids.get(2));
+        ReorderTreeNodesRsp result = service.reorderChildren(rootNodeId, target, null);
+
+        assertThat(result.getChangedCount()).isEqualTo(1);
+        assertThat(result.getChanges().get(0).getId()).isEqualTo(ids.get(3));
+        assertThat(result.getChanges().get(0).getSortRank()).isLessThan("a0");
+        verify(rankAllocator, times(1)).lockChildren(rootNodeId);
+        verify(rankRebalancer, times(1)).applyRanks(SiblingRankAllocator.ORG_TREE_RANKS,
+                List.of(ids.get(3)), List.of(result.getChanges().get(0).getSortRank()));
+        verify(treeIndex, times(1)).catchUp();
+        verify(changeLogRepository, times(1)).recordNodes("UPDATED", List.of(ids.get(3)));
+    }
+
+    @Test
+    void reorderChildren_shouldApplyMoveInstructions() {
+        List<OrgTreeNodeEntity> siblings = createSiblings(3);
+        List<UUID> ids = siblings.stream().map(OrgTreeNodeEntity::getId).toList();
+        when(repository.findLiveById(rootNodeId)).thenReturn(Optional.of(rootNode));
+        when(repository.findByParentIdOrderBySortRankAsc(rootNodeId)).thenReturn(siblings);
+
+        ReorderTreeNodesRsp result = service.reorderChildren(rootNodeId, null,
+                List.of(new ReorderMoveItem(ids.get(0), ids.get(2))));
+
+        assertThat(result.getChangedCount()).isEqualTo(1);
+        assertThat(result.getChanges().get(0).getId()).isEqualTo(ids.get(0));
+        assertThat(result.getChanges().get(0).getSortRank()).isGreaterThan("a2");
+    }
+
+    @Test
+    void reorderChildren_shouldRejectIncompleteTargetOrder() {
+        List<OrgTreeNodeEntity> siblings = createSiblings(3);
+        when(repository.findLiveById(rootNodeId)).thenReturn(Optional.of(rootNode));
+        when(repository.findByParentIdOrderBySortRankAsc(rootNodeId)).thenReturn(siblings);
+
+        assertThatThrownBy(() -> service.reorderChildren(rootNodeId,
+                List.of(siblings.get(1).getId(), siblings.get(0).getId()), null))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("目标顺序必须包含父节点下的全部子节点");
+        verify(rankRebalancer, never()).applyRanks(any(), any(), any());
+    }
+
+    @Test
+    void reorderChildren_shouldRequireExactlyOneInput() {
+        assertThatThrownBy(() -> service.reorderChildren(rootNodeId, null, null))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("必须且只能提供目标顺序或移动指令之一");
+    }
+
+    @Test
+    void removeNode_shouldDetachAndScheduleBackgroundRemovalAboveThreshold() {
+        properties.getRemove().setAsyncThreshold(3);
+        when(repository.findLiveById(childNodeId)).thenReturn(Optional.of(childNode));
+        when(repository.countDescendants(childNodeId)).thenReturn(2L);
+        when(repository.deleteDescendantBatch(eq(childNodeId), anyInt())).thenReturn(2);
+        when(repository.deleteSubTree(childNodeId)).thenReturn(1);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+
+        RemoveNodeRsp result = service.removeNode(childNodeId);
+
+        assertThat(result.isAsync()).isTrue();
+        assertThat(result.getRemovedCount()).isEqualTo(3);
+        InOrder detach = inOrder(removalRepository, repository, taskExecutor);
+        detach.verify(removalRepository).insertPending(childNodeId);
+        detach.verify(repository).delete(childNode);
+        detach.verify(taskExecutor).execute(any(Runnable.class));
+        verify(repository, times(1)).deleteSubTree(childNodeId);
+        verify(removalRepository, times(1)).deleteById(childNodeId);
+        verify(removalRepository, never()).recordFailure(any());
+        verify(treeIndex, times(1)).catchUp();
+    }
+
+    @Test
+    void removeNode_shouldKeepPendingRemovalWhenBackgroundDeleteFails() {
+        properties.getRemove().setAsyncThreshold(3);
+        when(repository.findLiveById(childNodeId)).thenReturn(Optional.of(childNode));
+        when(repository.countDescendants(childNodeId)).thenReturn(2L);
+        when(repository.deleteDescendantBatch(eq(childNodeId), anyInt()))
+                .thenThrow(new IllegalStateException("连接中断"));
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+
+        RemoveNodeRsp result = service.removeNode(childNodeId);
+
+        assertThat(result.isAsync()).isTrue();
+        verify(removalRepository, times(1)).recordFailure(childNodeId);
+        verify(removalRepository, never()).deleteById(any());
+        verify(treeIndex, times(1)).catchUp();
+    }
+
+    @Test
+    void resumePendingRemovals_shouldRetryStalledRemovals() {
+        properties.getRemove().setRetryInterval(Duration.ofMinutes(5));
+        when(removalRepository.claimStalledNodeIds(any(OffsetDateTime.class))).thenReturn(List.of(childNodeId));
+        when(repository.deleteDescendantBatch(eq(childNodeId), anyInt())).thenReturn(2);
+        when(repository.deleteSubTree(childNodeId)).thenReturn(0);
+
+        int resumed = service.resumePendingRemovals();
+
+        assertThat(resumed).isEqualTo(1);
+        verify(repository, times(1)).deleteDescendantBatch(eq(childNodeId), anyInt());
+        verify(removalRepository, times(1)).deleteById(childNodeId);
+        verify(removalRepository).claimStalledNodeIds(argThat(before ->
+                before.isBefore(OffsetDateTime.now().minusMinutes(4))));
     }
 
     // =====================================================
@@ -407,7 +1022,7 @@ class OrgTreeNodeServiceTest {
     @Test
     void getNode_shouldThrowExceptionWhenNotFound() {
         UUID nodeId = UUIDv7.randomUUID();
-        when(repository.findById(nodeId)).thenReturn(Optional.empty());
+        when(repository.findLiveById(nodeId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> service.getNode(nodeId))
                 .isInstanceOf(ApiException.class)
@@ -416,7 +1031,7 @@ class OrgTreeNodeServiceTest {
 
     @Test
     void getNode_shouldReturnNodeSuccessfully() {
-        when(repository.findById(rootNodeId)).thenReturn(Optional.of(rootNode));
+        when(repository.findLiveById(rootNodeId)).thenReturn(Optional.of(rootNode));
         when(mapper.toTreeNodeRsp(rootNode)).thenAnswer(invocation -> {
             OrgTreeNodeEntity entity = invocation.getArgument(0);
             TreeNodeRsp rsp = new TreeNodeRsp();
@@ -463,6 +1078,79 @@ class OrgTreeNodeServiceTest {
         assertThat(result.get(0).getName()).isEqualTo("Child Department");
     }
 
+    @Test
+    void getChildren_shouldAttachStatisticsFromRollups() {
+        when(repository.findByParentIdOrderBySortRankAsc(rootNodeId)).thenReturn(List.of(childNode));
+        when(statsRepository.findChildStats(rootNodeId))
+                .thenReturn(List.of(new OrgTreeStatsEntity(childNodeId, 2, 5, 40)));
+
+        List<TreeNodeRsp> result = service.getChildren(rootNodeId);
+
+        assertThat(result.get(0).getStatistics()).isEqualTo(new TreeStatistics(2, 5, 40));
+        verify(statsRepository, times(1)).findChildStats(rootNodeId);
+    }
+
+    @Test
+    void getChildren_shouldBeServedFromIndexWhenReady() {
+        when(treeIndex.isReady()).thenReturn(true);
+        when(treeIndex.getChildren(rootNodeId)).thenReturn(List.of(
+                new OrgTreeIndex.IndexedNode(childNodeId, rootNodeId, EntityType.DEPARTMENT, "Child Department", 1, "a0")));
+
+        List<TreeNodeRsp> result = service.getChildren(rootNodeId);
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getId()).isEqualTo(childNodeId);
+        verifyNoInteractions(repository);
+    }
+
+    // =====================================================
+    // getChildrenPage tests
+    // =====================================================
+
+    @Test
+    void getChildrenPage_shouldReturnTokenWhenMoreChildrenFollow() {
+        OrgTreeNodeEntity second = new OrgTreeNodeEntity();
+        second.setId(UUIDv7.randomUUID());
+        second.setParentId(rootNodeId);
+        second.setEntityType(EntityType.PERSONNEL);
+        second.setAlias("Second");
+        second.setLevel(1);
+        second.setPath(new UUID[]{rootNodeId});
+        second.setSortRank("b0");
+        when(repository.findChildrenPage(rootNodeId, "", new UUID(0L, 0L), "", 2))
+                .thenReturn(List.of(childNode, second));
+
+        CursorPage<TreeNodeRsp> page = service.getChildrenPage(rootNodeId, null, 1, null);
+
+        assertThat(page.getItems()).extracting(TreeNodeRsp::getId).containsExactly(childNodeId);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(CursorTokenUtils.decode(page.getNextPageToken(), 2))
+                .containsExactly("a0", childNodeId.toString());
+    }
+
+    @Test
+    void getChildrenPage_shouldSeekAfterTokenAndCapPageSize() {
+        properties.getPage().setMaxSize(50);
+        String token = CursorTokenUtils.encode("a0", childNodeId.toString());
+        when(repository.findChildrenPage(rootNodeId, "a0", childNodeId, "PERSONNEL", 51)).thenReturn(List.of());
+
+        CursorPage<TreeNodeRsp> page = service.getChildrenPage(rootNodeId, token, 10_000, EntityType.PERSONNEL);
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextPageToken()).isNull();
+        verify(repository, times(1)).findChildrenPage(rootNodeId, "a0", childNodeId, "PERSONNEL", 51);
+    }
+
+    @Test
+    void getChildrenPage_shouldRejectInvalidToken() {
+        String token = CursorTokenUtils.encode("a0", "not-a-uuid");
+
+        assertThatThrownBy(() -> service.getChildrenPage(rootNodeId, token, 10, null))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("无效的分页令牌");
+    }
+
     // =====================================================
     // getSubTree tests
     // =====================================================
@@ -470,7 +1158,7 @@ class OrgTreeNodeServiceTest {
     @Test
     void getSubTree_shouldThrowExceptionWhenNodeNotFound() {
         UUID nodeId = UUIDv7.randomUUID();
-        when(repository.findById(nodeId)).thenReturn(Optional.empty());
+        when(repository.findLiveById(nodeId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> service.getSubTree(nodeId, 1))
                 .isInstanceOf(ApiException.class)
@@ -479,7 +1167,7 @@ class OrgTreeNodeServiceTest {
 
     @Test
     void getSubTree_shouldReturnSubTreeWithDepth1() {
-        when(repository.findById(rootNodeId)).thenReturn(Optional.of(rootNode));
+        when(repository.findLiveById(rootNodeId)).thenReturn(Optional.of(rootNode));
         when(mapper.toTreeNodeRsp(rootNode)).thenAnswer(invocation -> {
             OrgTreeNodeEntity entity = invocation.getArgument(0);
             TreeNodeRsp rsp = new TreeNodeRsp();
@@ -497,8 +1185,8 @@ class OrgTreeNodeServiceTest {
 
     @Test
     void getSubTree_shouldReturnSubTreeWithDepth2() {
-        when(repository.findById(rootNodeId)).thenReturn(Optional.of(rootNode));
-        when(repository.findByParentIdOrderBySortRankAsc(rootNodeId)).thenReturn(List.of(childNode));
+        when(repository.findLiveById(rootNodeId)).thenReturn(Optional.of(rootNode));
+        when(repository.findSubTreeNodes(rootNodeId, 1)).thenReturn(List.of(childNode));
         when(mapper.toTreeNodeRsp(rootNode)).thenAnswer(invocation -> {
             OrgTreeNodeEntity entity = invocation.getArgument(0);
             TreeNodeRsp rsp = new TreeNodeRsp();
@@ -520,6 +1208,22 @@ class OrgTreeNodeServiceTest {
         assertThat(result.getChildren()).hasSize(1);
     }
 
+    @Test
+    void getSubTree_shouldAssembleWholeTreeFromSingleQueryWhenDepthUnlimited() {
+        when(repository.findLiveById(rootNodeId)).thenReturn(Optional.of(rootNode));
+        when(repository.findSubTreeNodes(rootNodeId, Integer.MAX_VALUE))
+                .thenReturn(List.of(childNode, grandChildNode));
+
+        TreeNodeRsp result = service.getSubTree(rootNodeId, -1);
+
+        assertThat(result.getChildren()).hasSize(1);
+        assertThat(result.getChildren().get(0).getId()).isEqualTo(childNodeId);
+        assertThat(result.getChildren().get(0).getChildren()).hasSize(1);
+        assertThat(result.getChildren().get(0).getChildren().get(0).getId()).isEqualTo(grandChildNodeId);
+        verify(repository, times(1)).findSubTreeNodes(rootNodeId, Integer.MAX_VALUE);
+        verify(repository, never()).findByParentIdOrderBySortRankAsc(any());
+    }
+
     // =====================================================
     // getAllDescendants tests
     // =====================================================
@@ -527,7 +1231,7 @@ class OrgTreeNodeServiceTest {
     @Test
     void getAllDescendants_shouldThrowExceptionWhenNodeNotFound() {
         UUID nodeId = UUIDv7.randomUUID();
-        when(repository.findById(nodeId)).thenReturn(Optional.empty());
+        when(repository.findLiveById(nodeId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> service.getAllDescendants(nodeId))
                 .isInstanceOf(ApiException.class)
@@ -536,7 +1240,7 @@ class OrgTreeNodeServiceTest {
 
     @Test
     void getAllDescendants_shouldReturnAllDescendantsSuccessfully() {
-        when(repository.findById(rootNodeId)).thenReturn(Optional.of(rootNode));
+        when(repository.findLiveById(rootNodeId)).thenReturn(Optional.of(rootNode));
         when(repository.findAllDescendants(rootNodeId)).thenReturn(List.of(childNode, grandChildNode));
         when(mapper.toTreeNodeRsp(childNode)).thenAnswer(invocation -> {
             OrgTreeNodeEntity entity = invocation.getArgument(0);
@@ -558,6 +1262,54 @@ class OrgTreeNodeServiceTest {
         assertThat(result).hasSize(2);
     }
 
+    // =====================================================
+    // getDescendants tests
+    // =====================================================
+
+    @Test
+    void getDescendants_shouldQueryLevelRangeBelowNode() {
+        when(repository.findLiveById(childNodeId)).thenReturn(Optional.of(childNode));
+        when(repository.findDescendantsByLevel(childNodeId, 2, 3)).thenReturn(List.of(grandChildNode));
+        when(mapper.toTreeNodeRsp(grandChildNode)).thenAnswer(invocation -> {
+            TreeNodeRsp rsp = new TreeNodeRsp();
+            rsp.setId(grandChildNodeId);
+            return rsp;
+        });
+
+        List<TreeNodeRsp> result = service.getDescendants(childNodeId, 2, null);
+
+        assertThat(result).extracting(TreeNodeRsp::getId).containsExactly(grandChildNodeId);
+        verify(statsRepository).findSubTreeStats(childNodeId, 3);
+        verify(repository, never()).findAllDescendants(any());
+    }
+
+    @Test
+    void getDescendants_shouldFilterByTypeInQueryAndTreatMinusOneAsUnlimited() {
+        when(repository.findLiveById(rootNodeId)).thenReturn(Optional.of(rootNode));
+
+        service.getDescendants(rootNodeId, -1, EntityType.PERSONNEL);
+        service.getDescendants(rootNodeId, 0, EntityType.PERSONNEL);
+
+        verify(repository).findDescendantsByTypeAndLevel(rootNodeId, "PERSONNEL", 1, Integer.MAX_VALUE);
+        verify(repository).findDescendantsByTypeAndLevel(rootNodeId, "PERSONNEL", 1, 1);
+        verify(repository, never()).findDescendantsByLevel(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getDescendants_shouldUseIndexWhenReady() {
+        when(treeIndex.isReady()).thenReturn(true);
+        when(treeIndex.getNode(rootNodeId)).thenReturn(Optional.of(
+                new OrgTreeIndex.IndexedNode(rootNodeId, rootNodeId, EntityType.ROOT, "Root", 0, "a0")));
+        when(treeIndex.getSubTreeNodes(rootNodeId, 2)).thenReturn(List.of(
+                new OrgTreeIndex.IndexedNode(childNodeId, rootNodeId, EntityType.DEPARTMENT, "Child Department", 1, "a0"),
+                new OrgTreeIndex.IndexedNode(grandChildNodeId, childNodeId, EntityType.PERSONNEL, "Grandchild", 2, "a0")));
+
+        List<TreeNodeRsp> result = service.getDescendants(rootNodeId, 2, EntityType.PERSONNEL);
+
+        assertThat(result).extracting(TreeNodeRsp::getId).containsExactly(grandChildNodeId);
+        verifyNoInteractions(repository);
+    }
+
     // =====================================================
     // getAllAncestors tests
     // =====================================================
@@ -565,7 +1317,7 @@ class OrgTreeNodeServiceTest {
     @Test
     void getAllAncestors_shouldThrowExceptionWhenNodeNotFound() {
         UUID nodeId = UUIDv7.randomUUID();
-        when(repository.findById(nodeId)).thenReturn(Optional.empty());
+        when(repository.findLiveById(nodeId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> service.getAllAncestors(nodeId))
                 .isInstanceOf(ApiException.class)
@@ -574,9 +1326,8 @@ class OrgTreeNodeServiceTest {
 
     @Test
     void getAllAncestors_shouldReturnAllAncestorsSuccessfully() {
-        when(repository.findById(grandChildNodeId)).thenReturn(Optional.of(grandChildNode));
-        when(repository.findById(childNodeId)).thenReturn(Optional.of(childNode));
-        when(repository.findById(rootNodeId)).thenReturn(Optional.of(rootNode));
+        when(repository.findLiveById(grandChildNodeId)).thenReturn(Optional.of(grandChildNode));
+        when(repository.findAllById(any())).thenReturn(List.of(childNode, rootNode));
         when(mapper.toTreeNodeRsp(childNode)).thenAnswer(invocation -> {
             OrgTreeNodeEntity entity = invocation.getArgument(0);
             TreeNodeRsp rsp = new TreeNodeRsp();
@@ -597,12 +1348,134 @@ class OrgTreeNodeServiceTest {
         assertThat(result).hasSize(2);
         assertThat(result.get(0).getId()).isEqualTo(rootNodeId);
         assertThat(result.get(1).getId()).isEqualTo(childNodeId);
+        verify(repository, times(1)).findLiveById(any());
+        verify(repository, times(1)).findAllById(any());
+    }
+
+    // =====================================================
+    // getBreadcrumbs tests
+    // =====================================================
+
+    @Test
+    void getBreadcrumbs_shouldResolveAllPathsWithTwoQueries() {
+        UUID missingNodeId = UUIDv7.randomUUID();
+        when(repository.findAllLiveById(any())).thenReturn(List.of(grandChildNode, childNode));
+        when(repository.findAllById(any())).thenReturn(List.of(rootNode, childNode));
+
+        List<BreadcrumbRsp> result = service.getBreadcrumbs(List.of(grandChildNodeId, missingNodeId, childNodeId));
+
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getNodeId()).isEqualTo(grandChildNodeId);
+        assertThat(result.get(0).getPath()).extracting(BreadcrumbItem::getId)
+                .containsExactly(rootNodeId, childNodeId, grandChildNodeId);
+        assertThat(result.get(1).getNodeId()).isEqualTo(childNodeId);
+        assertThat(result.get(1).getPath()).extracting(BreadcrumbItem::getId)
+                .containsExactly(rootNodeId, childNodeId);
+        verify(repository, times(1)).findAllLiveById(any());
+        verify(repository, times(1)).findAllById(any());
+        verify(repository, never()).findLiveById(any());
+    }
+
+    // =====================================================
+    // searchNodes tests
+    // =====================================================
+
+    @Test
+    void searchNodes_shouldEscapeKeywordAndResolveBreadcrumbsInOneLookup() {
+        when(repository.searchByAlias("%50\\%\\_a%", "50\\%\\_a%", "PERSONNEL", 20))
+                .thenReturn(List.of(grandChildNode, childNode));
+        when(repository.findAllById(any())).thenReturn(List.of(rootNode, childNode));
+
+        List<BreadcrumbRsp> result = service.searchNodes(" 50%_a ", EntityType.PERSONNEL, null);
+
+        assertThat(result).extracting(BreadcrumbRsp::getNodeId).containsExactly(grandChildNodeId, childNodeId);
+        assertThat(result.get(0).getPath()).extracting(BreadcrumbItem::getId)
+                .containsExactly(rootNodeId, childNodeId, grandChildNodeId);
+        verify(repository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void searchNodes_shouldCapLimit() {
+        properties.getSearch().setMaxLimit(5);
+        when(repository.searchByAlias(anyString(), anyString(), eq(""), eq(5))).thenReturn(List.of());
+
+        assertThat(service.searchNodes("研发", null, 1000)).isEmpty();
+        verify(repository).searchByAlias("%研发%", "研发%", "", 5);
+    }
+
+    @Test
+    void searchNodes_shouldRejectBlankKeyword() {
+        assertThatThrownBy(() -> service.searchNodes("  ", null, null))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("搜索关键字不能为空");
+        verify(repository, never()).searchByAlias(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void searchNodes_shouldSearchIndexWhenReady() {
+        OrgTreeIndex.IndexedNode hit = new OrgTreeIndex.IndexedNode(childNodeId, rootNodeId, EntityType.DEPARTMENT, "Child Department", 1, "a0");
+        OrgTreeIndex.IndexedNode root = new OrgTreeIndex.IndexedNode(rootNodeId, null, EntityType.ROOT, "Root", 0, "a0");
+        when(treeIndex.isReady()).thenReturn(true);
+        when(treeIndex.searchByAlias("child", null, 20)).thenReturn(List.of(hit));
+        when(treeIndex.getAncestors(childNodeId)).thenReturn(List.of(root));
+
+        List<BreadcrumbRsp> result = service.searchNodes("child", null, null);
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getPath()).extracting(BreadcrumbItem::getName)
+                .containsExactly("Root", "Child Department");
+        verify(repository, never()).searchByAlias(any(), any(), any(), anyInt());
     }
 
     // =====================================================
     // getNodesByEntity tests
     // =====================================================
 
+    @Test
+    void getNodesByEntities_shouldMatchExactPairsInRequestOrder() {
+        UUID missingEntityId = UUIDv7.randomUUID();
+        // Same entity ID under another type: returned by the IN/IN query but not requested
+        OrgTreeNodeEntity crossMatch = new OrgTreeNodeEntity();
+        crossMatch.setId(UUIDv7.randomUUID());
+        crossMatch.setEntityType(EntityType.PERSONNEL);
+        crossMatch.setEntityId(childNode.getEntityId());
+        crossMatch.setPath(new UUID[]{rootNodeId});
+        when(repository.findAllByEntityTypeInAndEntityIdIn(any(), any()))
+                .thenReturn(List.of(grandChildNode, childNode, crossMatch));
+
+        List<EntityNodesRsp> result = service.getNodesByEntities(List.of(
+                new EntityRefItem(EntityType.PERSONNEL, grandChildNode.getEntityId()),
+                new EntityRefItem(EntityType.DEPARTMENT, childNode.getEntityId()),
+                new EntityRefItem(EntityType.PERSONNEL, missingEntityId),
+                new EntityRefItem(EntityType.DEPARTMENT, childNode.getEntityId())), false);
+
+        assertThat(result).extracting(EntityNodesRsp::getEntityId)
+                .containsExactly(grandChildNode.getEntityId(), childNode.getEntityId(), missingEntityId);
+        assertThat(result.get(0).getNodes()).extracting(TreeNodeRsp::getId).containsExactly(grandChildNodeId);
+        assertThat(result.get(1).getNodes()).extracting(TreeNodeRsp::getId).containsExactly(childNodeId);
+        assertThat(result.get(2).getNodes()).isEmpty();
+        assertThat(result.get(0).getPaths()).isNull();
+        verify(repository, times(1)).findAllByEntityTypeInAndEntityIdIn(
+                EnumSet.of(EntityType.DEPARTMENT, EntityType.PERSONNEL),
+                Set.of(grandChildNode.getEntityId(), childNode.getEntityId(), missingEntityId));
+        verify(repository, never()).findAllById(any());
+        verify(statsRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void getNodesByEntities_shouldResolveBreadcrumbsInOneLookup() {
+        when(repository.findAllByEntityTypeInAndEntityIdIn(any(), any())).thenReturn(List.of(grandChildNode));
+        when(repository.findAllById(any())).thenReturn(List.of(rootNode, childNode));
+
+        List<EntityNodesRsp> result = service.getNodesByEntities(
+                List.of(new EntityRefItem(EntityType.PERSONNEL, grandChildNode.getEntityId())), true);
+
+        assertThat(result.get(0).getPaths()).hasSize(1);
+        assertThat(result.get(0).getPaths().get(0).getPath()).extracting(BreadcrumbItem::getId)
+                .containsExactly(rootNodeId, childNodeId, grandChildNodeId);
+        verify(repository, times(1)).findAllById(any());
+    }
+
     @Test
     void getNodesByEntity_shouldReturnEmptyListWhenNotFound() {
         UUID entityId = UUIDv7.randomUUID();
@@ -653,4 +1526,34 @@ class OrgTreeNodeServiceTest {
 
         assertThat(result).isEqualTo(5);
     }
+
+    private List<OrgTreeNodeEntity> createSiblings(int count) {
+        List<OrgTreeNodeEntity> siblings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            OrgTreeNodeEntity sibling = new OrgTreeNodeEntity();
+            sibling.setId(UUIDv7.randomUUID());
+            sibling.setParentId(rootNodeId);
+            sibling.setEntityType(EntityType.DEPARTMENT);
+            sibling.setAlias("Department " + i);
+            sibling.setLevel(1);
+            sibling.setSortRank("a" + i);
+            siblings.add(sibling);
+        }
+        return siblings;
+    }
+
+    private OrgTreeChangeEntity changeRow(long version, TreeChangeType changeType) {
+        OrgTreeChangeEntity row = new OrgTreeChangeEntity();
+        row.setVersion(version);
+        row.setChangeType(changeType);
+        row.setNodeId(childNodeId);
+        row.setParentId(rootNodeId);
+        row.setEntityType(EntityType.DEPARTMENT);
+        row.setEntityId(childNode.getEntityId());
+        row.setAlias("Child Department");
+        row.setLevel(1);
+        row.setSortRank("a0");
+        row.setChangeTime(OffsetDateTime.now());
+        return row;
+    }
 }
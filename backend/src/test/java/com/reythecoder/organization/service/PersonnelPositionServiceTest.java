@@ -142,10 +142,7 @@ class PersonnelPositionServiceTest {
     @Test
     void getAllPersonnelPositions_shouldReturnAllRelations() {
         // Arrange
-        when(personnelPositionRepository.findAll()).thenReturn(List.of(relationEntity));
-        when(personnelRepository.findById(personnelId)).thenReturn(Optional.of(personnelEntity));
-        when(positionRepository.findById(positionId)).thenReturn(Optional.of(positionEntity));
-        when(departmentRepository.findById(departmentId)).thenReturn(Optional.of(departmentEntity));
+        when(personnelPositionRepository.findAllWithNames()).thenReturn(List.of(relationRsp()));
 
         // Act
         List<PersonnelPositionRsp> result = personnelPositionService.getAllPersonnelPositions();
@@ -154,41 +151,56 @@ class PersonnelPositionServiceTest {
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getPersonnelId()).isEqualTo(personnelId);
         assertThat(result.get(0).getPositionId()).isEqualTo(positionId);
-        verify(personnelPositionRepository, times(1)).findAll();
+        assertThat(result.get(0).getPersonnelName()).isEqualTo("张三");
+        verify(personnelPositionRepository, times(1)).findAllWithNames();
+        verifyNoInteractions(personnelRepository, positionRepository, departmentRepository);
     }
 
     @Test
     void getPositionsByPersonnelId_shouldReturnPositionsForPersonnel() {
         // Arrange
-        when(personnelPositionRepository.findByPersonnelId(personnelId))
-                .thenReturn(List.of(relationEntity));
-        when(personnelRepository.findById(personnelId)).thenReturn(Optional.of(personnelEntity));
-        when(positionRepository.findById(positionId)).thenReturn(Optional.of(positionEntity));
-        when(departmentRepository.findById(departmentId)).thenReturn(Optional.of(departmentEntity));
+        when(personnelPositionRepository.findWithNamesByPersonnelId(personnelId))
+                .thenReturn(List.of(relationRsp()));
 
         // Act
         List<PersonnelPositionRsp> result = personnelPositionService.getPositionsByPersonnelId(personnelId);
 
         // Assert
         assertThat(result).hasSize(1);
-        verify(personnelPositionRepository, times(1)).findByPersonnelId(personnelId);
+        assertThat(result.get(0).getPositionName()).isEqualTo("软件工程师");
+        verify(personnelPositionRepository, times(1)).findWithNamesByPersonnelId(personnelId);
+        verifyNoInteractions(personnelRepository, positionRepository, departmentRepository);
     }
 
     @Test
     void getPersonnelByPositionId_shouldReturnPersonnelForPosition() {
         // Arrange
-        when(personnelPositionRepository.findByPositionId(positionId))
-                .thenReturn(List.of(relationEntity));
-        when(personnelRepository.findById(personnelId)).thenReturn(Optional.of(personnelEntity));
-        when(positionRepository.findById(positionId)).thenReturn(Optional.of(positionEntity));
-        when(departmentRepository.findById(departmentId)).thenReturn(Optional.of(departmentEntity));
+        when(personnelPositionRepository.findWithNamesByPositionId(positionId))
+                .thenReturn(List.of(relationRsp()));
 
         // Act
         List<PersonnelPositionRsp> result = personnelPositionService.getPersonnelByPositionId(positionId);
 
         // Assert
         assertThat(result).hasSize(1);
-        verify(personnelPositionRepository, times(1)).findByPositionId(positionId);
+        verify(personnelPositionRepository, times(1)).findWithNamesByPositionId(positionId);
+        verifyNoInteractions(personnelRepository, positionRepository, departmentRepository);
+    }
+
+    @Test
+    void getPersonnelPositionsByDepartmentId_shouldReturnRelationsForDepartment() {
+        // Arrange
+        when(personnelPositionRepository.findWithNamesByDepartmentId(departmentId))
+                .thenReturn(List.of(relationRsp()));
+
+        // Act
+        List<PersonnelPositionRsp> result = personnelPositionService.getPersonnelPositionsByDepartmentId(departmentId);
+
+        // Assert
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getDepartmentName()).isEqualTo("技术部");
+        verify(personnelPositionRepository, times(1)).findWithNamesByDepartmentId(departmentId);
+        verifyNoInteractions(personnelRepository, positionRepository, departmentRepository);
     }
 
     @Test
@@ -326,4 +338,19 @@ class PersonnelPositionServiceTest {
                 .hasMessage("人员岗位关联不存在");
         verify(personnelPositionRepository, never()).delete(any());
     }
+
+    private PersonnelPositionRsp relationRsp() {
+        return PersonnelPositionRsp.builder()
+                .id(relationId)
+                .personnelId(personnelId)
+                .personnelName("张三")
+                .positionId(positionId)
+                .positionName("软件工程师")
+                .departmentId(departmentId)
+                .departmentName("技术部")
+                .isPrimary(true)
+                .startDate(LocalDate.now())
+                .status(1)
+                .build();
+    }
 }
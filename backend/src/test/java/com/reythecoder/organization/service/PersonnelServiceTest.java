@@ -1,5 +1,9 @@
 package com.reythecoder.organization.service;
 
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.KeysetPaginator;
+import com.reythecoder.common.page.KeysetSort;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.request.PersonnelCreateReq;
 import com.reythecoder.organization.dto.request.PersonnelUpdateReq;
 import com.reythecoder.organization.dto.response.PersonnelRsp;
@@ -32,6 +36,9 @@ class PersonnelServiceTest {
     @Mock
     private PersonnelRepository personnelRepository;
 
+    @Mock
+    private KeysetPaginator paginator;
+
     @InjectMocks
     private PersonnelServiceImpl personnelService;
 
@@ -126,6 +133,23 @@ class PersonnelServiceTest {
         verify(personnelRepository, times(1)).findAll();
     }
 
+    @Test
+    void getPersonnelPage_shouldDelegateToKeysetPaginator() {
+        // Arrange
+        PageQuery query = new PageQuery(null, 10, KeysetSort.NAME, null);
+        when(paginator.<PersonnelEntity, PersonnelRsp>page(eq(personnelRepository), any(), eq(query),
+                any(), any(), any()))
+                .thenReturn(new CursorPage<>(List.of(personnelRsp), null, false));
+
+        // Act
+        CursorPage<PersonnelRsp> result = personnelService.getPersonnelPage("张三", null, null, query);
+
+        // Assert
+        assertThat(result.getItems()).containsExactly(personnelRsp);
+        assertThat(result.isHasMore()).isFalse();
+        verify(personnelRepository, never()).findAll();
+    }
+
     @Test
     void getPersonnelById_shouldReturnPersonnelWhenExists() {
         // Arrange
@@ -237,6 +261,6 @@ class PersonnelServiceTest {
                 .isInstanceOf(ApiException.class)
                 .hasMessage("人员不存在");
         verify(personnelRepository, times(1)).findById(personnelId);
-        verify(personnelRepository, never()).delete(any());
+        verify(personnelRepository, never()).delete(any(PersonnelEntity.class));
     }
 }
\ No newline at end of file
@@ -1,5 +1,9 @@
 package com.reythecoder.organization.service;
 
+import com.reythecoder.common.dto.CursorPage;
+import com.reythecoder.common.page.KeysetPaginator;
+import com.reythecoder.common.page.KeysetSort;
+import com.reythecoder.common.page.PageQuery;
 import com.reythecoder.organization.dto.request.PositionCreateReq;
 import com.reythecoder.organization.dto.request.PositionUpdateReq;
 import com.reythecoder.organization.dto.response.PositionRsp;
@@ -35,6 +39,9 @@ class PositionServiceTest {
     @Mock
     private PositionRepository positionRepository;
 
+    @Mock
+    private KeysetPaginator paginator;
+
     @InjectMocks
     private PositionServiceImpl positionService;
 
@@ -127,6 +134,23 @@ class PositionServiceTest {
         verify(positionRepository, times(1)).findAll();
     }
 
+    @Test
+    void getPositionPage_shouldDelegateToKeysetPaginator() {
+        // Arrange
+        PageQuery query = PageQuery.firstPage();
+        when(paginator.<PositionEntity, PositionRsp>page(eq(positionRepository), any(), eq(query),
+                any(), any(), any()))
+                .thenReturn(new CursorPage<>(List.of(positionRsp), "next", true));
+
+        // Act
+        CursorPage<PositionRsp> result = positionService.getPositionPage(null, null, "P5", null, 1, query);
+
+        // Assert
+        assertThat(result.getItems()).containsExactly(positionRsp);
+        assertThat(result.getNextPageToken()).isEqualTo("next");
+        verify(positionRepository, never()).findAll();
+    }
+
     @Test
     void getPositionById_shouldReturnPositionWhenExists() {
         // Arrange
@@ -249,6 +273,6 @@ class PositionServiceTest {
                 .isInstanceOf(ApiException.class)
                 .hasMessage("岗位不存在");
         verify(positionRepository, times(1)).findById(positionId);
-        verify(positionRepository, never()).delete(any());
+        verify(positionRepository, never()).delete(any(PositionEntity.class));
     }
 }
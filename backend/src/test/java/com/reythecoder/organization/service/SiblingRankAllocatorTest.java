@@ -0,0 +1,215 @@
+package com.reythecoder.organization.service;
+
+import com.reythecoder.common.rank.RankRebalanceReport;
+import com.reythecoder.common.rank.RankRebalancer;
+import com.reythecoder.common.utils.LexoRankUtils;
+import com.reythecoder.organization.cache.OrgTreeIndex;
+import com.reythecoder.organization.repository.OrgTreeChangeLogRepository;
+import com.reythecoder.organization.repository.OrgTreeNodeRepository;
+import com.reythecoder.organization.service.impl.SiblingRankAllocator;
+import io.github.robsonkades.uuidv7.UUIDv7;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SiblingRankAllocator.
+ */
+class SiblingRankAllocatorTest {
+
+    private OrgTreeNodeRepository repository;
+    private OrgTreeChangeLogRepository changeLogRepository;
+    private RankRebalancer rebalancer;
+    private OrgTreeIndex treeIndex;
+    private SiblingRankAllocator allocator;
+    private UUID parentId;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(OrgTreeNodeRepository.class);
+        changeLogRepository = mock(OrgTreeChangeLogRepository.class);
+        rebalancer = mock(RankRebalancer.class);
+        treeIndex = mock(OrgTreeIndex.class);
+        allocator = new SiblingRankAllocator(repository, changeLogRepository, rebalancer, treeIndex);
+        parentId = UUIDv7.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete();
+        }
+    }
+
+    @Test
+    void allocateAppend_shouldReadOnlyTheTailRank() {
+        when(repository.findMaxSortRank(parentId)).thenReturn("b0");
+        TransactionSynchronizationManager.initSynchronization();
+
+        String rank = allocator.allocateAppend(parentId);
+
+        assertThat(rank).isGreaterThan("b0");
+        verify(repository, times(1)).lockChildren(parentId);
+        verify(repository, never()).findByParentIdOrderBySortRankAsc(any());
+    }
+
+    @Test
+    void allocateAppend_shouldStartFromInitialRankForFirstChild() {
+        when(repository.findMaxSortRank(parentId)).thenReturn(null);
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThat(allocator.allocateAppend(parentId)).isEqualTo("a0");
+
+        List<String> ranks = allocator.allocateAppend(parentId, 3);
+        assertThat(ranks).hasSize(3).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void allocateAppend_shouldNotRebalanceOnSequentialAppends() {
+        String[] tail = {"z0"};
+        when(repository.findMaxSortRank(parentId)).thenAnswer(invocation -> tail[0]);
+        TransactionSynchronizationManager.initSynchronization();
+
+        for (int i = 0; i < 10_000; i++) {
+            String rank = allocator.allocateAppend(parentId);
+            assertThat(rank).isGreaterThan(tail[0]).hasSizeLessThanOrEqualTo(LexoRankUtils.MAX_LENGTH);
+            tail[0] = rank;
+        }
+
+        verify(rebalancer, never()).rebalanceGroup(any(), any(), any());
+    }
+
+    @Test
+    void allocateAfter_shouldRankBetweenNeighbours() {
+        UUID afterNodeId = UUIDv7.randomUUID();
+        when(repository.findSortRankById(afterNodeId)).thenReturn("a0");
+        when(repository.findNextSortRank(parentId, "a0")).thenReturn("c0");
+        TransactionSynchronizationManager.initSynchronization();
+
+        String rank = allocator.allocateAfter(parentId, afterNodeId);
+
+        assertThat(rank).isGreaterThan("a0").isLessThan("c0");
+        verify(rebalancer, never()).rebalanceGroup(any(), any(), any());
+    }
+
+    @Test
+    void allocateAppend_shouldRebalanceWhenRankWouldOverflow() {
+        when(repository.findMaxSortRank(parentId)).thenReturn("zzzzzzzzzzzz", "i0");
+        when(rebalancer.rebalanceGroup(eq(SiblingRankAllocator.ORG_TREE_RANKS), any(), eq(parentId)))
+                .thenReturn(new RankRebalanceReport("org_tree"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        String rank = allocator.allocateAppend(parentId);
+
+        assertThat(rank).isGreaterThan("i0").hasSizeLessThanOrEqualTo(12);
+        verify(rebalancer, times(1)).rebalanceGroup(eq(SiblingRankAllocator.ORG_TREE_RANKS), any(), eq(parentId));
+    }
+
+    @Test
+    void allocateAfter_shouldRereadRankAfterRebalance() {
+        UUID afterNodeId = UUIDv7.randomUUID();
+        when(repository.findSortRankById(afterNodeId)).thenReturn("a00000000000", "a0");
+        when(repository.findNextSortRank(parentId, "a00000000000")).thenReturn("a00000000001");
+        when(repository.findNextSortRank(parentId, "a0")).thenReturn("c0");
+        TransactionSynchronizationManager.initSynchronization();
+
+        String rank = allocator.allocateAfter(parentId, afterNodeId);
+
+        assertThat(rank).isGreaterThan("a0").isLessThan("c0");
+        verify(rebalancer, times(1)).rebalanceGroup(eq(SiblingRankAllocator.ORG_TREE_RANKS), any(), eq(parentId));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebalance_shouldCatchUpIndexAfterCommit() {
+        List<UUID> ids = List.of(UUIDv7.randomUUID(), UUIDv7.randomUUID());
+        List<String> ranks = List.of("c0", "o0");
+        when(rebalancer.rebalanceGroup(eq(SiblingRankAllocator.ORG_TREE_RANKS), any(), eq(parentId)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(1, BiConsumer.class).accept(ids, ranks);
+                    return new RankRebalanceReport("org_tree");
+                });
+        TransactionSynchronizationManager.initSynchronization();
+
+        allocator.rebalance(parentId);
+        verify(changeLogRepository).recordChildren("UPDATED", parentId);
+        verify(treeIndex, never()).catchUp();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(treeIndex).catchUp();
+    }
+
+    @Test
+    void lockChildren_shouldHoldParentUntilTransactionCompletes() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        allocator.lockChildren(parentId);
+
+        CompletableFuture<Void> concurrent = CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                allocator.lockChildren(parentId);
+            } finally {
+                complete();
+            }
+        });
+
+        assertThatThrownBy(() -> concurrent.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+        complete();
+        concurrent.get(5, TimeUnit.SECONDS);
+        verify(repository, times(2)).lockChildren(parentId);
+    }
+
+    @Test
+    void lockChildren_shouldRequireTransaction() {
+        assertThatThrownBy(() -> allocator.lockChildren(parentId))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void planRanks_shouldKeepLongestAscendingRunAndRerankOthers() {
+        // "a4" moved to the front; the other four keep their ranks
+        List<String> planned = SiblingRankAllocator.planRanks(List.of("a4", "a0", "a1", "a2", "a3"));
+
+        assertThat(planned.subList(1, 5)).containsExactly("a0", "a1", "a2", "a3");
+        assertThat(planned.get(0)).isLessThan("a0");
+    }
+
+    @Test
+    void planRanks_shouldRerankConsecutiveGapsTogether() {
+        List<String> planned = SiblingRankAllocator.planRanks(List.of("a0", "a4", "a3", "a1", "a5"));
+
+        assertThat(planned).isSorted();
+        assertThat(planned.get(0)).isEqualTo("a0");
+        assertThat(planned.get(4)).isEqualTo("a5");
+        assertThat(planned).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void planRanks_shouldRewriteAllWhenThereIsNoRoom() {
+        // "a0" and "a00" are equal as fractions, nothing fits between them
+        List<String> planned = SiblingRankAllocator.planRanks(List.of("a0", "b0", "a00"));
+
+        assertThat(planned).isSorted().doesNotHaveDuplicates();
+        assertThat(planned).allSatisfy(rank -> assertThat(rank.length()).isLessThanOrEqualTo(12));
+    }
+
+    private static void complete() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+}
@@ -1,6 +1,10 @@
 package com.reythecoder.taglib.service;
 
 import com.reythecoder.common.exception.ApiException;
+import com.reythecoder.common.rank.RankRebalanceProperties;
+import com.reythecoder.common.rank.RankRebalanceReport;
+import com.reythecoder.common.rank.RankRebalancer;
+import com.reythecoder.common.rank.RankScope;
 import com.reythecoder.taglib.dto.request.TagCreateReq;
 import com.reythecoder.taglib.dto.request.TagUpdateReq;
 import com.reythecoder.taglib.dto.response.TagRsp;
@@ -16,15 +20,19 @@ import io.github.robsonkades.uuidv7.UUIDv7;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.BiConsumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -40,6 +48,15 @@ class TagServiceTest {
     @Mock
     private TagCategoryRepository tagCategoryRepository;
 
+    @Mock
+    private RankRebalancer rankRebalancer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private RankRebalanceProperties rankProperties = new RankRebalanceProperties();
+
     @InjectMocks
     private TagServiceImpl tagService;
 
@@ -249,4 +266,51 @@ class TagServiceTest {
         verify(tagRepository, times(1)).findByIdAndRemovedFalse(unknownId);
         verify(tagRepository, never()).save(any());
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void create_shouldRebalanceSiblingsWhenRankIsFull() {
+        // Arrange
+        TagEntity fullSibling = new TagEntity("兄弟标签", categoryId, parentTagEntity.getId(), "zzzzzzzzzzzz");
+        when(tagCategoryRepository.findById(categoryId)).thenReturn(Optional.of(categoryEntity));
+        when(tagRepository.findByIdAndRemovedFalse(parentTagEntity.getId())).thenReturn(Optional.of(parentTagEntity));
+        when(tagRepository.existsByCategoryIdAndNameAndRemovedFalse(categoryId, "子标签")).thenReturn(false);
+        when(tagRepository.findByParentIdAndRemovedFalseOrderBySortRankAsc(parentTagEntity.getId()))
+                .thenReturn(List.of(fullSibling));
+        when(rankRebalancer.rebalanceGroup(any(RankScope.class), any(), eq(categoryId), eq(parentTagEntity.getId())))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(1, BiConsumer.class).accept(List.of(UUIDv7.randomUUID()), List.of("i0"));
+                    return new RankRebalanceReport("taglib_tag");
+                });
+        when(tagRepository.save(any(TagEntity.class))).thenReturn(childTagEntity);
+
+        // Act
+        tagService.create(createChildReq);
+
+        // Assert
+        ArgumentCaptor<TagEntity> saved = ArgumentCaptor.forClass(TagEntity.class);
+        verify(tagRepository).save(saved.capture());
+        assertThat(saved.getValue().getSortRank()).isGreaterThan("i0").hasSizeLessThanOrEqualTo(12);
+    }
+
+    @Test
+    void rebalanceRanks_shouldAccumulateGroupReports() {
+        // Arrange
+        UUID otherCategoryId = UUIDv7.randomUUID();
+        when(rankRebalancer.findOversizedGroups(any(RankScope.class), eq(8), eq(1000)))
+                .thenReturn(List.of(new Object[]{categoryId, null}, new Object[]{otherCategoryId, null}));
+        when(rankRebalancer.rebalanceGroup(any(RankScope.class), isNull(), any(), isNull()))
+                .thenReturn(new RankRebalanceReport("taglib_tag", 1, 3, 30, 6, 10, 2));
+
+        // Act
+        RankRebalanceReport report = tagService.rebalanceRanks();
+
+        // Assert
+        assertThat(report.getGroups()).isEqualTo(2);
+        assertThat(report.getRows()).isEqualTo(6);
+        assertThat(report.getReclaimedChars()).isEqualTo(48);
+        assertThat(report.getMaxLengthAfter()).isEqualTo(2);
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
 }
@@ -1,3 +1,21 @@
+-- Trigram matching for org_tree alias search
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Scalar columns in composite GIN indexes (org_tree path + level + entity_type)
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+-- UUIDv7 (millisecond timestamp + random bits) for set-based inserts such as subtree clone
+CREATE OR REPLACE FUNCTION uuid_generate_v7()
+RETURNS uuid AS $$
+    SELECT encode(
+        set_bit(set_bit(
+            overlay(uuid_send(gen_random_uuid())
+                    PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                    FROM 1 FOR 6),
+            52, 1), 53, 1),
+        'hex')::uuid;
+$$ LANGUAGE sql VOLATILE;
+
 -- Create department table
 CREATE TABLE IF NOT EXISTS org_department (
     id UUID PRIMARY KEY, -- Primary key using 128-bit UUID v7 algorithm
@@ -16,8 +34,10 @@ CREATE TABLE IF NOT EXISTS org_department (
     tenant_id UUID NOT NULL DEFAULT '00000000-0000-0000-0000-000000000000' -- Tenant identifier for multi-tenant data isolation
 );
 
--- Add indexes on department table
-CREATE INDEX IF NOT EXISTS idx_org_department_name ON org_department(name);
+-- Add indexes on department table; name indexes include id for keyset paging by name
+-- 旧库中的 idx_org_department_name 只含 name，替换为包含 id 的索引
+DROP INDEX IF EXISTS idx_org_department_name;
+CREATE INDEX IF NOT EXISTS idx_org_department_name_id ON org_department(name, id);
 CREATE INDEX IF NOT EXISTS idx_org_department_org_code ON org_department(org_code);
 CREATE INDEX IF NOT EXISTS idx_org_department_tenant_id ON org_department(tenant_id);
 
@@ -54,7 +74,9 @@ CREATE TABLE IF NOT EXISTS org_personnel (
 );
 
 -- Add indexes on personnel table
-CREATE INDEX IF NOT EXISTS idx_org_personnel_name ON org_personnel(name);
+-- 旧库中的 idx_org_personnel_name 只含 name，替换为包含 id 的索引
+DROP INDEX IF EXISTS idx_org_personnel_name;
+CREATE INDEX IF NOT EXISTS idx_org_personnel_name_id ON org_personnel(name, id);
 CREATE INDEX IF NOT EXISTS idx_org_personnel_id_card ON org_personnel(id_card);
 CREATE INDEX IF NOT EXISTS idx_org_personnel_mobile ON org_personnel(mobile);
 CREATE INDEX IF NOT EXISTS idx_org_personnel_tenant_id ON org_personnel(tenant_id);
@@ -85,7 +107,9 @@ CREATE TABLE IF NOT EXISTS org_group (
 );
 
 -- Add indexes on group table
-CREATE INDEX IF NOT EXISTS idx_org_group_name ON org_group(name);
+-- 旧库中的 idx_org_group_name 只含 name，替换为包含 id 的索引
+DROP INDEX IF EXISTS idx_org_group_name;
+CREATE INDEX IF NOT EXISTS idx_org_group_name_id ON org_group(name, id);
 CREATE INDEX IF NOT EXISTS idx_org_group_tenant_id ON org_group(tenant_id);
 
 -- Add comments for group table columns
@@ -96,6 +120,49 @@ COMMENT ON COLUMN org_group.create_time IS 'Record creation time';
 COMMENT ON COLUMN org_group.update_time IS 'Record last update time';
 COMMENT ON COLUMN org_group.tenant_id IS 'Tenant identifier for multi-tenant data isolation';
 
+-- Create position table
+CREATE TABLE IF NOT EXISTS org_position (
+    id UUID PRIMARY KEY, -- Primary key using 128-bit UUID v7 algorithm
+    name VARCHAR(100) NOT NULL DEFAULT '', -- Position name
+    code VARCHAR(50) NOT NULL DEFAULT '', -- Position code
+    description VARCHAR(500) NOT NULL DEFAULT '', -- Position description
+    job_level VARCHAR(50) NOT NULL DEFAULT '', -- Job level (P1, P2, M1, M2, ...)
+    job_category VARCHAR(50) NOT NULL DEFAULT '', -- Job category
+    min_salary DECIMAL(12,2), -- Minimum salary
+    max_salary DECIMAL(12,2), -- Maximum salary
+    status INTEGER NOT NULL DEFAULT 1, -- Status: 1 = enabled, 0 = disabled
+    create_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT current_timestamp, -- Record creation time
+    update_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT current_timestamp, -- Record last update time
+    tenant_id UUID NOT NULL DEFAULT '00000000-0000-0000-0000-000000000000' -- Tenant identifier for multi-tenant data isolation
+);
+
+-- 旧库中的 idx_org_position_name 只含 name，替换为包含 id 的索引
+DROP INDEX IF EXISTS idx_org_position_name;
+CREATE INDEX IF NOT EXISTS idx_org_position_name_id ON org_position(name, id);
+CREATE INDEX IF NOT EXISTS idx_org_position_code ON org_position(code);
+CREATE INDEX IF NOT EXISTS idx_org_position_tenant_id ON org_position(tenant_id);
+
+-- Create personnel-position assignment table
+CREATE TABLE IF NOT EXISTS org_personnel_position (
+    id UUID PRIMARY KEY, -- Primary key
+    personnel_id UUID NOT NULL, -- Personnel ID
+    position_id UUID NOT NULL, -- Position ID
+    department_id UUID, -- Department of the assignment
+    is_primary BOOLEAN NOT NULL DEFAULT FALSE, -- Whether this is the primary position
+    start_date DATE, -- Assignment start date
+    end_date DATE, -- Assignment end date (NULL while active)
+    status INTEGER NOT NULL DEFAULT 1, -- Status: 1 = active, 0 = ended
+    create_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT current_timestamp, -- Record creation time
+    update_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT current_timestamp, -- Record last update time
+    tenant_id UUID NOT NULL DEFAULT '00000000-0000-0000-0000-000000000000', -- Tenant identifier for multi-tenant data isolation
+    UNIQUE (personnel_id, position_id, department_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_org_person_position_person_id ON org_personnel_position(personnel_id);
+CREATE INDEX IF NOT EXISTS idx_org_person_position_position_id ON org_personnel_position(position_id);
+CREATE INDEX IF NOT EXISTS idx_org_person_position_dept_id ON org_personnel_position(department_id);
+CREATE INDEX IF NOT EXISTS idx_org_person_position_status ON org_personnel_position(status);
+
 -- Create universal entity relation table (core table for unified management of all entity relationships and hierarchies)
 CREATE TABLE IF NOT EXISTS org_entity_relation (
     id UUID PRIMARY KEY, -- Primary key using 128-bit UUID v7 algorithm
@@ -229,6 +296,62 @@ CREATE INDEX IF NOT EXISTS idx_org_tree_entity ON org_tree(entity_type, entity_i
 -- GIN index for path array queries
 CREATE INDEX IF NOT EXISTS idx_org_tree_path_gin ON org_tree USING GIN (path);
 
+-- Composite GIN index for depth-bounded (and type-filtered) descendant queries
+CREATE INDEX IF NOT EXISTS idx_org_tree_path_level_gin ON org_tree USING GIN (path, level, entity_type);
+
+-- Trigram GIN index for alias prefix/infix search
+CREATE INDEX IF NOT EXISTS idx_org_tree_alias_trgm ON org_tree USING GIN (alias gin_trgm_ops);
+
+-- =====================================================
+-- Create org_tree_stats table
+-- =====================================================
+CREATE TABLE IF NOT EXISTS org_tree_stats (
+    node_id UUID NOT NULL,
+    sub_group_count INTEGER NOT NULL DEFAULT 0,
+    sub_department_count INTEGER NOT NULL DEFAULT 0,
+    personnel_count INTEGER NOT NULL DEFAULT 0,
+    subtree_version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_org_tree_stats PRIMARY KEY (node_id),
+    CONSTRAINT fk_org_tree_stats_node FOREIGN KEY (node_id) REFERENCES org_tree(id) ON DELETE CASCADE
+);
+
+COMMENT ON TABLE org_tree_stats IS 'Per-node subtree rollups maintained along path ancestors';
+COMMENT ON COLUMN org_tree_stats.node_id IS 'Organization tree node ID';
+COMMENT ON COLUMN org_tree_stats.sub_group_count IS 'GROUP nodes in the subtree, excluding the node itself';
+COMMENT ON COLUMN org_tree_stats.sub_department_count IS 'DEPARTMENT nodes in the subtree, excluding the node itself';
+COMMENT ON COLUMN org_tree_stats.personnel_count IS 'PERSONNEL nodes in the subtree, excluding the node itself';
+COMMENT ON COLUMN org_tree_stats.subtree_version IS 'Bumped whenever the node or anything in its subtree changes; backs ETags';
+
+-- =====================================================
+-- Create org_tree_change_log table
+-- =====================================================
+CREATE TABLE IF NOT EXISTS org_tree_change_log (
+    version BIGSERIAL NOT NULL,
+    node_id UUID NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    parent_id UUID,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id UUID NOT NULL,
+    alias VARCHAR(100) NOT NULL,
+    level INTEGER NOT NULL,
+    sort_rank VARCHAR(12) NOT NULL,
+    change_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    CONSTRAINT pk_org_tree_change_log PRIMARY KEY (version)
+);
+
+COMMENT ON TABLE org_tree_change_log IS 'Append-only log of tree node changes; version is the tree version';
+COMMENT ON COLUMN org_tree_change_log.change_type IS 'CREATED, UPDATED, MOVED or REMOVED; moves and removals cover the whole subtree';
+
+CREATE TABLE IF NOT EXISTS org_tree_removal (
+    node_id UUID NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    create_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    update_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    CONSTRAINT pk_org_tree_removal PRIMARY KEY (node_id)
+);
+
+COMMENT ON TABLE org_tree_removal IS 'Subtrees being removed in the background; their root row is already deleted';
+
 -- Unique constraint to prevent duplicate nodes under same parent
 ALTER TABLE org_tree
     ADD CONSTRAINT uk_org_tree_parent_entity
@@ -248,6 +371,38 @@ CREATE TRIGGER update_org_tree_updated_at
     FOR EACH ROW
     EXECUTE FUNCTION update_org_tree_updated_at();
 
+-- =====================================================
+-- Create import job and error tables
+-- =====================================================
+CREATE TABLE IF NOT EXISTS org_import_job (
+    id UUID PRIMARY KEY,
+    import_type VARCHAR(30) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    claim_token UUID NOT NULL,
+    processed_rows BIGINT NOT NULL DEFAULT 0,
+    batch_count INTEGER NOT NULL DEFAULT 0,
+    imported_count BIGINT NOT NULL DEFAULT 0,
+    skipped_count BIGINT NOT NULL DEFAULT 0,
+    error_count BIGINT NOT NULL DEFAULT 0,
+    message VARCHAR(500) NOT NULL DEFAULT '',
+    create_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT current_timestamp,
+    update_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT current_timestamp,
+    tenant_id UUID NOT NULL DEFAULT '00000000-0000-0000-0000-000000000000'
+);
+
+COMMENT ON COLUMN org_import_job.processed_rows IS 'Data rows committed so far; a resumed import skips them';
+
+CREATE TABLE IF NOT EXISTS org_import_error (
+    id BIGSERIAL PRIMARY KEY,
+    job_id UUID NOT NULL,
+    batch_no INTEGER NOT NULL,
+    line_number BIGINT NOT NULL,
+    message VARCHAR(500) NOT NULL,
+    create_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT current_timestamp
+);
+
+CREATE INDEX IF NOT EXISTS idx_org_import_error_job ON org_import_error(job_id, batch_no);
+
 -- Insert sample data for department
 -- Note: In a real application, UUIDs would be generated by the application
 INSERT INTO org_department (id, name, english_name, short_name, org_code, phone, fax, email, address, postal_code) VALUES 